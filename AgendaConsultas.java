@@ -0,0 +1,257 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Consulta;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Índices de agenda mantidos pelos DAOs de consulta: o {@link IndiceTemporal}
+ * (ordem cronológica, agrupado por veterinário) e o {@link MapaOcupacao} dos
+ * veterinários, usado para detectar conflitos de horário.
+ *
+ * A verificação de conflito de um veterinário consulta primeiro o mapa de
+ * bits; só quando algum slot do intervalo está ocupado as consultas próximas
+ * são conferidas uma a uma. Assim o custo não depende do tamanho do histórico.
+ *
+ * As escritas no mapa de um mesmo veterinário são serializadas por locks em
+ * listras, então esta classe pode ser usada tanto pelo DAO em memória quanto
+ * pelo DAO concorrente.
+ */
+public class AgendaConsultas {
+    private static final int LISTRAS = 64; // Potência de 2
+    private static final long DURACAO_MAXIMA_MILLIS = TimeUnit.MINUTES.toMillis(Consulta.DURACAO_MAXIMA_MINUTOS);
+    private static final long MILLIS_POR_DIA = TimeUnit.DAYS.toMillis(1);
+
+    // Intervalo que cada consulta ocupa atualmente no mapa
+    private static final class Reserva {
+        final int veterinarioId;
+        final long inicio;
+        final long fim;
+
+        Reserva(int veterinarioId, long inicio, long fim) {
+            this.veterinarioId = veterinarioId;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+    }
+
+    private final IndiceTemporal<Consulta> porInstante = new IndiceTemporal<>();
+    private final MapaOcupacao ocupacao = new MapaOcupacao();
+    private final ConcurrentHashMap<Integer, Reserva> reservas = new ConcurrentHashMap<>();
+    private final ReentrantLock[] listras = new ReentrantLock[LISTRAS];
+
+    public AgendaConsultas() {
+        for (int i = 0; i < LISTRAS; i++) {
+            listras[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Retorna o início de uma consulta, em milissegundos.
+     * @param consulta A consulta (com data).
+     * @return O instante de início.
+     */
+    public static long inicioDe(Consulta consulta) {
+        return consulta.getDataMillis();
+    }
+
+    /**
+     * Retorna o fim previsto de uma consulta (início + duração), em milissegundos.
+     * @param consulta A consulta (com data).
+     * @return O instante de fim.
+     */
+    public static long fimDe(Consulta consulta) {
+        return consulta.getDataMillis() + TimeUnit.MINUTES.toMillis(consulta.getDuracaoMinutos());
+    }
+
+    /**
+     * Verifica se uma consulta ocupa parte do intervalo [inicio, fim).
+     * @param consulta A consulta.
+     * @param inicio O início do intervalo, em milissegundos.
+     * @param fim O fim do intervalo, em milissegundos.
+     * @return true se houver sobreposição.
+     */
+    public static boolean sobrepoe(Consulta consulta, long inicio, long fim) {
+        return consulta.temData() && inicioDe(consulta) < fim && fimDe(consulta) > inicio;
+    }
+
+    /**
+     * Indexa (ou reindexa) uma consulta com o seu horário e veterinário atuais.
+     * @param consulta A consulta.
+     */
+    public void indexar(Consulta consulta) {
+        int id = consulta.getId();
+        if (!consulta.temData()) {
+            remover(id);
+            return;
+        }
+        int veterinarioId = consulta.getVeterinario() != null ? consulta.getVeterinario().getId() : IndiceTemporal.SEM_GRUPO;
+        Reserva nova = new Reserva(veterinarioId, inicioDe(consulta), fimDe(consulta));
+        porInstante.indexar(id, nova.inicio, veterinarioId, consulta);
+        Reserva anterior = reservas.put(id, nova);
+        if (anterior != null && (anterior.veterinarioId != nova.veterinarioId
+                || anterior.inicio != nova.inicio || anterior.fim != nova.fim)) {
+            liberar(anterior);
+        }
+        if (veterinarioId != IndiceTemporal.SEM_GRUPO) {
+            ReentrantLock lock = listra(veterinarioId);
+            lock.lock();
+            try {
+                ocupacao.marcar(veterinarioId, nova.inicio, nova.fim);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Remove uma consulta da agenda.
+     * @param id O ID da consulta.
+     */
+    public void remover(int id) {
+        porInstante.remover(id);
+        Reserva anterior = reservas.remove(id);
+        if (anterior != null) {
+            liberar(anterior);
+        }
+    }
+
+    /**
+     * Lista as consultas que começam no intervalo [inicio, fim).
+     * @param inicio O início do intervalo, em milissegundos (inclusivo).
+     * @param fim O fim do intervalo, em milissegundos (exclusivo).
+     * @return As consultas, em ordem cronológica.
+     */
+    public List<Consulta> listarEntre(long inicio, long fim) {
+        return porInstante.listarEntre(inicio, fim);
+    }
+
+    /**
+     * Lista as próximas consultas de um veterinário a partir de um instante.
+     * @param veterinarioId O ID do veterinário.
+     * @param aPartirDe O instante inicial, em milissegundos (inclusivo).
+     * @param quantidade A quantidade máxima de consultas.
+     * @return As consultas, em ordem cronológica.
+     */
+    public List<Consulta> proximasDoVeterinario(int veterinarioId, long aPartirDe, int quantidade) {
+        return porInstante.proximosDoGrupo(veterinarioId, aPartirDe, quantidade);
+    }
+
+    /**
+     * Lista as consultas em andamento em um instante (início <= instante < fim).
+     * @param instante O instante, em milissegundos.
+     * @return As consultas, em ordem cronológica.
+     */
+    public List<Consulta> listarEmAndamento(long instante) {
+        List<Consulta> resultado = new ArrayList<>();
+        for (Consulta consulta : porInstante.listarEntre(instante - DURACAO_MAXIMA_MILLIS + 1, instante + 1)) {
+            if (fimDe(consulta) > instante) {
+                resultado.add(consulta);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Verifica se um veterinário está livre em todo o intervalo [inicio, fim).
+     * @param veterinarioId O ID do veterinário.
+     * @param inicio O início do intervalo, em milissegundos.
+     * @param fim O fim do intervalo, em milissegundos.
+     * @return true se nenhuma consulta do veterinário se sobrepõe ao intervalo.
+     */
+    public boolean veterinarioLivre(int veterinarioId, long inicio, long fim) {
+        if (ocupacao.livre(veterinarioId, inicio, fim)) {
+            return true;
+        }
+        for (Consulta consulta : porInstante.listarDoGrupoEntre(veterinarioId, inicio - DURACAO_MAXIMA_MILLIS + 1, fim)) {
+            if (sobrepoe(consulta, inicio, fim)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calcula até onde a busca de horários livres pode pular: nenhum intervalo
+     * livre com a duração pedida começa entre aPartirDe e o instante devolvido.
+     *
+     * Um intervalo de pelo menos dois slots contém um slot inteiro, que precisa
+     * estar desmarcado no mapa; ele começa no máximo um slot depois do início do
+     * intervalo. Assim, o início possível fica no máximo um slot antes do
+     * primeiro slot livre do mapa. Intervalos mais curtos não permitem o pulo.
+     * @param veterinarioId O ID do veterinário.
+     * @param aPartirDe O instante inicial, em milissegundos.
+     * @param duracao A duração do intervalo procurado, em milissegundos.
+     * @param limite O fim da busca, em milissegundos.
+     * @return O primeiro início possível (>= aPartirDe), ou -1 se não houver até o limite.
+     */
+    public long proximoInicioPossivel(int veterinarioId, long aPartirDe, long duracao, long limite) {
+        if (duracao < 2 * MapaOcupacao.MILLIS_POR_SLOT) {
+            return aPartirDe;
+        }
+        long livre = ocupacao.proximoLivre(veterinarioId, aPartirDe, limite);
+        return livre < 0 ? -1 : Math.max(aPartirDe, livre - MapaOcupacao.MILLIS_POR_SLOT);
+    }
+
+    /**
+     * Lista as consultas que se sobrepõem ao intervalo [inicio, fim) e são do
+     * veterinário informado ou estão entre as consultas do pet informadas.
+     * As consultas de um pet são poucas, então elas são simplesmente conferidas
+     * uma a uma; as do veterinário passam antes pelo mapa de ocupação.
+     * @param veterinarioId O ID do veterinário.
+     * @param inicio O início do intervalo, em milissegundos.
+     * @param fim O fim do intervalo, em milissegundos.
+     * @param consultasDoPet As consultas do pet (do índice por pet do DAO).
+     * @return As consultas em conflito, em ordem cronológica (vazia se o horário estiver livre).
+     */
+    public List<Consulta> conflitos(int veterinarioId, long inicio, long fim, List<Consulta> consultasDoPet) {
+        List<Consulta> conflitos = new ArrayList<>();
+        if (!ocupacao.livre(veterinarioId, inicio, fim)) {
+            for (Consulta consulta : porInstante.listarDoGrupoEntre(veterinarioId, inicio - DURACAO_MAXIMA_MILLIS + 1, fim)) {
+                if (sobrepoe(consulta, inicio, fim)) {
+                    conflitos.add(consulta);
+                }
+            }
+        }
+        boolean acrescentou = false;
+        for (Consulta consulta : consultasDoPet) {
+            if (sobrepoe(consulta, inicio, fim) && !conflitos.contains(consulta)) {
+                conflitos.add(consulta);
+                acrescentou = true;
+            }
+        }
+        if (acrescentou) {
+            conflitos.sort(Comparator.comparingLong(AgendaConsultas::inicioDe).thenComparingInt(Consulta::getId));
+        }
+        return conflitos;
+    }
+
+    // Reconstrói os dias do mapa tocados por uma reserva que deixou de valer
+    private void liberar(Reserva reserva) {
+        if (reserva.veterinarioId == IndiceTemporal.SEM_GRUPO) {
+            return;
+        }
+        long primeiroDia = MapaOcupacao.inicioDoDia(reserva.inicio);
+        long aposUltimoDia = MapaOcupacao.inicioDoDia(reserva.fim - 1) + MILLIS_POR_DIA;
+        ReentrantLock lock = listra(reserva.veterinarioId);
+        lock.lock();
+        try {
+            List<Consulta> restantes = porInstante.listarDoGrupoEntre(reserva.veterinarioId,
+                    primeiroDia - DURACAO_MAXIMA_MILLIS, aposUltimoDia);
+            ocupacao.recalcular(reserva.veterinarioId, reserva.inicio, reserva.fim, restantes,
+                    AgendaConsultas::inicioDe, AgendaConsultas::fimDe);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock listra(int id) {
+        int h = id * 0x9E3779B9;
+        return listras[(h ^ (h >>> 16)) & (LISTRAS - 1)];
+    }
+}
\ No newline at end of file
@@ -1,40 +1,54 @@
 package br.com.veterinaria.gui;
 
-import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.adapter.DataAdapter;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
+import br.com.veterinaria.facade.ConflitoAgendamentoException;
+import br.com.veterinaria.facade.HorarioLivre;
+import br.com.veterinaria.facade.TipoEvento;
+import br.com.veterinaria.log.Registrador;
 import br.com.veterinaria.model.Cliente;
 import br.com.veterinaria.model.Consulta;
 import br.com.veterinaria.model.Pet;
 import br.com.veterinaria.model.Veterinario;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
 public class AgendarConsultaGUI extends JFrame {
-    private ClinicaFacade facade;
+    private static final Registrador LOG = Registrador.para("GUI");
+
+    private ClinicaFacadeAsync facade;
 
     // Componentes para agendar nova consulta
     private JComboBox<Cliente> cmbCliente;
     private JComboBox<Pet> cmbPet;
     private JComboBox<Veterinario> cmbVeterinario;
     private JTextField txtDataHora; // Formato esperado: dd/MM/yyyy HH:mm
+    private JComboBox<Integer> cmbDuracao; // Duração da consulta, em minutos
     private JButton btnAgendar;
+    private JLabel lblProximasConsultas; // Próximas consultas do veterinário selecionado
+    private JComboBox<HorarioLivre> cmbSugestoes; // Horários livres a partir da data digitada
+    private boolean atualizandoSugestoes; // Evita que preencher a data dispare uma nova busca
+    private int versaoSugestoes; // Descarta respostas de buscas que já foram substituídas por outra
+    private IndicadorCarregamento indicador; // Andamento das operações em segundo plano
 
     // Componentes para listar e remover consultas
     private JTable consultasTable;
-    private DefaultTableModel tableModel;
+    private TabelaEntidadesModel<Consulta> tableModel;
     private JButton btnRemoverConsulta;
 
-    // Formatador de data para exibir e interpretar as datas
-    private SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm");
+    // Quantidade de horários livres sugeridos
+    private static final int QUANTIDADE_SUGESTOES = 5;
 
-    public AgendarConsultaGUI(ClinicaFacade facade) {
+    public AgendarConsultaGUI(ClinicaFacadeAsync facade) {
         this.facade = facade;
         setTitle("Agendar e Gerenciar Consultas");
         setSize(800, 600);
@@ -42,8 +56,9 @@ public class AgendarConsultaGUI extends JFrame {
         setLocationRelativeTo(null);
 
         initComponents();
+        assinarEventos();  // Antes da carga, para não perder alterações feitas enquanto ela acontece
+        addListeners();    // Os combos de cliente e veterinário reagem à própria carga
         loadInitialData(); // Carrega clientes, pets, veterinários e consultas
-        addListeners();
     }
 
     private void initComponents() {
@@ -51,12 +66,12 @@ public class AgendarConsultaGUI extends JFrame {
         mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // --- Painel de Agendamento (Parte Superior) ---
-        JPanel agendamentoPanel = new JPanel(new GridLayout(5, 2, 10, 10));
+        JPanel agendamentoPanel = new JPanel(new GridLayout(8, 2, 10, 10));
         agendamentoPanel.setBorder(BorderFactory.createTitledBorder("Agendar Nova Consulta"));
 
         agendamentoPanel.add(new JLabel("Cliente:"));
         cmbCliente = new JComboBox<>();
-        agendamentoPanel.add(cmbCliente);
+        agendamentoPanel.add(comBusca(cmbCliente, new CampoBusca<Cliente>(facade::sugerirClientes, cmbCliente::setSelectedItem)));
 
         agendamentoPanel.add(new JLabel("Pet:"));
         cmbPet = new JComboBox<>();
@@ -64,12 +79,25 @@ public class AgendarConsultaGUI extends JFrame {
 
         agendamentoPanel.add(new JLabel("Veterinário:"));
         cmbVeterinario = new JComboBox<>();
-        agendamentoPanel.add(cmbVeterinario);
+        agendamentoPanel.add(comBusca(cmbVeterinario, new CampoBusca<Veterinario>(facade::sugerirVeterinarios, cmbVeterinario::setSelectedItem)));
+
+        agendamentoPanel.add(new JLabel("Próximas do veterinário:"));
+        lblProximasConsultas = new JLabel("-");
+        agendamentoPanel.add(lblProximasConsultas);
 
         agendamentoPanel.add(new JLabel("Data e Hora (dd/MM/yyyy HH:mm):"));
         txtDataHora = new JTextField();
         agendamentoPanel.add(txtDataHora);
 
+        agendamentoPanel.add(new JLabel("Duração (minutos):"));
+        cmbDuracao = new JComboBox<>(new Integer[]{15, 30, 45, 60, 90, 120});
+        cmbDuracao.setSelectedItem(Consulta.DURACAO_PADRAO_MINUTOS);
+        agendamentoPanel.add(cmbDuracao);
+
+        agendamentoPanel.add(new JLabel("Horários livres sugeridos:"));
+        cmbSugestoes = new JComboBox<>();
+        agendamentoPanel.add(cmbSugestoes);
+
         btnAgendar = new JButton("Agendar Consulta");
         agendamentoPanel.add(new JLabel("")); // Espaçador
         agendamentoPanel.add(btnAgendar);
@@ -80,13 +108,13 @@ public class AgendarConsultaGUI extends JFrame {
         JPanel listagemPanel = new JPanel(new BorderLayout(10, 10));
         listagemPanel.setBorder(BorderFactory.createTitledBorder("Consultas Agendadas"));
 
-        String[] columnNames = {"ID", "Pet", "Proprietário", "Veterinário", "Data e Hora"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        // A data é formatada apenas quando a linha é exibida
+        tableModel = new TabelaEntidadesModel<Consulta>()
+                .coluna("ID", Integer.class, Consulta::getId)
+                .coluna("Pet", String.class, consulta -> consulta.getPet().getNome())
+                .coluna("Proprietário", String.class, consulta -> consulta.getCliente().getNome())
+                .coluna("Veterinário", String.class, consulta -> consulta.getVeterinario().getNome())
+                .coluna("Data e Hora", String.class, consulta -> DataAdapter.formatarDataHora(consulta.getDataMillis()));
         consultasTable = new JTable(tableModel);
         consultasTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane scrollPane = new JScrollPane(consultasTable);
@@ -95,44 +123,103 @@ public class AgendarConsultaGUI extends JFrame {
         btnRemoverConsulta = new JButton("Remover Consulta Selecionada");
         JPanel removerPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         removerPanel.add(btnRemoverConsulta);
-        listagemPanel.add(removerPanel, BorderLayout.SOUTH);
+        indicador = new IndicadorCarregamento();
+        JPanel rodapePanel = new JPanel(new BorderLayout());
+        rodapePanel.add(indicador, BorderLayout.CENTER);
+        rodapePanel.add(removerPanel, BorderLayout.EAST);
+        listagemPanel.add(rodapePanel, BorderLayout.SOUTH);
 
         mainPanel.add(listagemPanel, BorderLayout.CENTER);
 
         add(mainPanel);
     }
 
-    private void loadInitialData() {
-        // Carrega clientes no ComboBox de clientes
-        List<Cliente> clientes = facade.getClientesCadastrados();
-        if (clientes.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Não há clientes cadastrados. Cadastre um cliente primeiro.", "Aviso", JOptionPane.WARNING_MESSAGE);
-            btnAgendar.setEnabled(false); // Desabilita o agendamento
-            return;
-        }
-        for (Cliente cliente : clientes) {
-            cmbCliente.addItem(cliente);
-        }
+    // Combo com um campo de busca por nome ao lado; a sugestão escolhida é selecionada no combo
+    private static JPanel comBusca(JComboBox<?> combo, CampoBusca<?> busca) {
+        busca.setColumns(10);
+        JPanel panel = new JPanel(new BorderLayout(5, 0));
+        panel.add(combo, BorderLayout.CENTER);
+        panel.add(busca, BorderLayout.EAST);
+        return panel;
+    }
 
-        // Adiciona um listener para atualizar o cmbPet quando o cliente muda
-        cmbCliente.addActionListener(e -> loadPetsForSelectedCliente());
-        // Carrega os pets inicialmente para o primeiro cliente (se houver)
-        loadPetsForSelectedCliente();
+    /**
+     * Mantém combos, tabela e agenda do veterinário em dia com as alterações
+     * feitas nesta ou em outras telas, aplicando só a mudança de cada evento.
+     */
+    private void assinarEventos() {
+        OuvintesTela ouvintes = new OuvintesTela(this, facade.getEventos());
+        ouvintes.aoOcorrer(TipoEvento.CONSULTA_AGENDADA, consulta -> {
+            tableModel.adicionar(consulta);
+            atualizarAgendaSeSelecionado(consulta.getVeterinario());
+        });
+        ouvintes.aoOcorrer(TipoEvento.CONSULTA_REMOVIDA, consulta -> {
+            tableModel.remover(consulta);
+            atualizarAgendaSeSelecionado(consulta.getVeterinario());
+        });
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_CADASTRADO, cliente -> {
+            cmbCliente.addItem(cliente);
+            atualizarBotaoAgendar();
+        });
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_REMOVIDO, cliente -> {
+            cmbCliente.removeItem(cliente);
+            atualizarBotaoAgendar();
+        });
+        ouvintes.aoOcorrer(TipoEvento.VETERINARIO_CADASTRADO, veterinario -> {
+            cmbVeterinario.addItem(veterinario);
+            atualizarBotaoAgendar();
+        });
+        ouvintes.aoOcorrer(TipoEvento.VETERINARIO_REMOVIDO, veterinario -> {
+            cmbVeterinario.removeItem(veterinario);
+            atualizarBotaoAgendar();
+        });
+        ouvintes.aoOcorrer(TipoEvento.PET_CADASTRADO, pet -> {
+            if (pet.getProprietario() == cmbCliente.getSelectedItem()) {
+                cmbPet.addItem(pet);
+            }
+        });
+        ouvintes.aoOcorrer(TipoEvento.PET_REMOVIDO, cmbPet::removeItem);
+    }
 
+    private void loadInitialData() {
+        btnAgendar.setEnabled(false); // Habilitado quando clientes e veterinários chegarem
+        // Carrega clientes no ComboBox de clientes; selecionar o primeiro carrega os pets dele
+        indicador.executar("Carregando clientes", facade.getClientesCadastrados(), clientes -> {
+            cmbCliente.removeAllItems(); // Descarta o que algum evento já tenha incluído
+            if (clientes.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "Não há clientes cadastrados. Cadastre um cliente primeiro.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            }
+            for (Cliente cliente : clientes) {
+                cmbCliente.addItem(cliente);
+            }
+            atualizarBotaoAgendar();
+        });
         // Carrega veterinários no ComboBox de veterinários
-        List<Veterinario> veterinarios = facade.getVeterinariosCadastrados();
-        if (veterinarios.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Não há veterinários cadastrados. Cadastre um veterinário primeiro.", "Aviso", JOptionPane.WARNING_MESSAGE);
-            btnAgendar.setEnabled(false); // Desabilita o agendamento
-            return;
-        }
-        for (Veterinario vet : veterinarios) {
-            cmbVeterinario.addItem(vet);
-        }
-
+        indicador.executar("Carregando veterinários", facade.getVeterinariosCadastrados(), veterinarios -> {
+            cmbVeterinario.removeAllItems();
+            if (veterinarios.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "Não há veterinários cadastrados. Cadastre um veterinário primeiro.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            }
+            for (Veterinario vet : veterinarios) {
+                cmbVeterinario.addItem(vet);
+            }
+            atualizarBotaoAgendar();
+        });
         loadConsultas(); // Carrega as consultas existentes na tabela
     }
 
+    private void atualizarBotaoAgendar() {
+        btnAgendar.setEnabled(cmbCliente.getItemCount() > 0 && cmbVeterinario.getItemCount() > 0);
+    }
+
+    // Recarrega a agenda e as sugestões quando a alteração é do veterinário selecionado
+    private void atualizarAgendaSeSelecionado(Veterinario veterinario) {
+        if (cmbVeterinario.getSelectedItem() == veterinario) {
+            loadProximasConsultas();
+            loadSugestoes();
+        }
+    }
+
     /**
      * Carrega os pets associados ao cliente selecionado no cmbCliente.
      */
@@ -140,21 +227,120 @@ public class AgendarConsultaGUI extends JFrame {
         cmbPet.removeAllItems(); // Limpa os pets anteriores
         Cliente selectedCliente = (Cliente) cmbCliente.getSelectedItem();
         if (selectedCliente != null) {
-            List<Pet> allPets = facade.getPetsCadastrados();
-            for (Pet pet : allPets) {
-                if (pet.getProprietario() != null && pet.getProprietario().getId() == selectedCliente.getId()) {
+            // Usa o índice por proprietário em vez de filtrar todos os pets
+            indicador.executar("Carregando pets", facade.getPetsDoCliente(selectedCliente), pets -> {
+                if (cmbCliente.getSelectedItem() != selectedCliente) {
+                    return; // O usuário já escolheu outro cliente
+                }
+                for (Pet pet : pets) {
                     cmbPet.addItem(pet);
                 }
-            }
-            if (cmbPet.getItemCount() == 0) {
-                JOptionPane.showMessageDialog(this, "O cliente selecionado não possui pets cadastrados.", "Aviso", JOptionPane.INFORMATION_MESSAGE);
-            }
+                if (cmbPet.getItemCount() == 0) {
+                    JOptionPane.showMessageDialog(this, "O cliente selecionado não possui pets cadastrados.", "Aviso", JOptionPane.INFORMATION_MESSAGE);
+                }
+            });
         }
     }
 
     private void addListeners() {
+        // Atualiza o cmbPet quando o cliente muda
+        cmbCliente.addActionListener(e -> loadPetsForSelectedCliente());
+        // Mostra a agenda do veterinário escolhido para ajudar a evitar horários ocupados
+        cmbVeterinario.addActionListener(e -> {
+            loadProximasConsultas();
+            loadSugestoes();
+        });
         btnAgendar.addActionListener(e -> agendarNovaConsulta());
         btnRemoverConsulta.addActionListener(e -> removerConsultaSelecionada());
+        cmbDuracao.addActionListener(e -> loadSugestoes());
+        // Escolher uma sugestão preenche a data e hora
+        cmbSugestoes.addActionListener(e -> {
+            HorarioLivre horario = (HorarioLivre) cmbSugestoes.getSelectedItem();
+            if (horario != null && !atualizandoSugestoes) {
+                atualizandoSugestoes = true;
+                try {
+                    txtDataHora.setText(DataAdapter.formatarDataHora(horario.getInicio()));
+                } finally {
+                    atualizandoSugestoes = false;
+                }
+            }
+        });
+        // As sugestões acompanham o que está sendo digitado
+        txtDataHora.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                loadSugestoes();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                loadSugestoes();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                loadSugestoes();
+            }
+        });
+    }
+
+    /**
+     * Atualiza a lista de horários livres do veterinário selecionado, a partir
+     * da data digitada (ou do dia digitado, ou de agora, se nada for válido).
+     */
+    private void loadSugestoes() {
+        if (atualizandoSugestoes) {
+            return;
+        }
+        Veterinario veterinario = (Veterinario) cmbVeterinario.getSelectedItem();
+        Integer duracao = (Integer) cmbDuracao.getSelectedItem();
+        int versao = ++versaoSugestoes;
+        if (veterinario == null || duracao == null) {
+            mostrarSugestoes(new ArrayList<>());
+            return;
+        }
+        Date agora = new Date();
+        Date aPartirDe = interpretarDataParcial(txtDataHora.getText().trim());
+        if (aPartirDe == null || aPartirDe.before(agora)) {
+            aPartirDe = agora;
+        }
+        // Sem indicador de progresso: a busca roda a cada tecla digitada
+        facade.getHorariosLivres(veterinario, aPartirDe, QUANTIDADE_SUGESTOES, duracao).whenCompleteAsync((horarios, erro) -> {
+            if (erro != null) {
+                LOG.aviso("Falha ao buscar horários livres: {}", erro);
+            } else if (versao == versaoSugestoes) {
+                mostrarSugestoes(horarios);
+            }
+        }, SwingUtilities::invokeLater);
+    }
+
+    private void mostrarSugestoes(List<HorarioLivre> horarios) {
+        atualizandoSugestoes = true;
+        try {
+            cmbSugestoes.removeAllItems();
+            for (HorarioLivre horario : horarios) {
+                cmbSugestoes.addItem(horario);
+            }
+            cmbSugestoes.setSelectedIndex(-1); // Nada escolhido até o usuário escolher
+        } finally {
+            atualizandoSugestoes = false;
+        }
+    }
+
+    // Interpreta "dd/MM/yyyy HH:mm" ou apenas "dd/MM/yyyy"; null se o texto ainda estiver incompleto
+    private Date interpretarDataParcial(String texto) {
+        if (texto.isEmpty()) {
+            return null;
+        }
+        try {
+            return DataAdapter.interpretarDataHora(texto);
+        } catch (DateTimeParseException ex) {
+            try {
+                return DataAdapter.interpretarDia(texto);
+            } catch (DateTimeParseException ex2) {
+                return null;
+            }
+        }
     }
 
     private void agendarNovaConsulta() {
@@ -170,8 +356,8 @@ public class AgendarConsultaGUI extends JFrame {
 
         Date dataHora;
         try {
-            dataHora = dateFormat.parse(dataHoraStr);
-        } catch (ParseException ex) {
+            dataHora = DataAdapter.interpretarDataHora(dataHoraStr);
+        } catch (DateTimeParseException ex) {
             JOptionPane.showMessageDialog(this, "Formato de data e hora inválido. Use dd/MM/yyyy HH:mm (ex: 25/06/2024 14:30).", "Erro de Formato", JOptionPane.ERROR_MESSAGE);
             return;
         }
@@ -181,32 +367,62 @@ public class AgendarConsultaGUI extends JFrame {
             return;
         }
 
-        facade.agendarConsulta(pet, cliente, veterinario, dataHora);
+        int duracao = (Integer) cmbDuracao.getSelectedItem();
+        indicador.executar("Agendando consulta", facade.agendarConsulta(pet, cliente, veterinario, dataHora, duracao),
+                this::consultaAgendada, this::falhaAoAgendar, btnAgendar);
+    }
+
+    private void consultaAgendada(Consulta novaConsulta) {
         JOptionPane.showMessageDialog(this, "Consulta agendada com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
 
         // Limpa o campo de data/hora após o agendamento
         txtDataHora.setText("");
-        loadConsultas(); // Recarrega a tabela de consultas
+        // A nova linha e a agenda do veterinário chegam pelo evento CONSULTA_AGENDADA
     }
 
-    private void loadConsultas() {
-        tableModel.setRowCount(0); // Limpa a tabela
-        List<Consulta> consultas = facade.buscarTodasAsConsultas();
-
-        if (consultas.isEmpty()) {
-            return; // Nenhuma consulta para exibir
+    private void falhaAoAgendar(Throwable erro) {
+        if (!(erro instanceof ConflitoAgendamentoException)) {
+            JOptionPane.showMessageDialog(this, "Não foi possível agendar a consulta: " + erro.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        // Mostra quais consultas ocupam o horário para o usuário escolher outro
+        StringBuilder mensagem = new StringBuilder("O horário escolhido não está disponível:\n");
+        for (Consulta conflito : ((ConflitoAgendamentoException) erro).getConflitos()) {
+            mensagem.append("- ").append(conflito.getPet().getNome())
+                    .append(" com ").append(conflito.getVeterinario().getNome())
+                    .append(" em ").append(DataAdapter.formatarDataHora(conflito.getDataMillis()))
+                    .append(" (").append(conflito.getDuracaoMinutos()).append(" min)\n");
         }
+        JOptionPane.showMessageDialog(this, mensagem.toString(), "Conflito de Horário", JOptionPane.ERROR_MESSAGE);
+    }
 
-        for (Consulta consulta : consultas) {
-            Object[] rowData = {
-                    consulta.getId(),
-                    consulta.getPet().getNome(),
-                    consulta.getCliente().getNome(),
-                    consulta.getVeterinario().getNome(),
-                    dateFormat.format(consulta.getData()) // Formata a data para exibição
-            };
-            tableModel.addRow(rowData);
+    private void loadProximasConsultas() {
+        Veterinario veterinario = (Veterinario) cmbVeterinario.getSelectedItem();
+        if (veterinario == null) {
+            lblProximasConsultas.setText("-");
+            return;
         }
+        indicador.executar("Carregando agenda do veterinário", facade.getProximasConsultasDoVeterinario(veterinario, 3), proximas -> {
+            if (cmbVeterinario.getSelectedItem() != veterinario) {
+                return; // O usuário já escolheu outro veterinário
+            }
+            if (proximas.isEmpty()) {
+                lblProximasConsultas.setText("Nenhuma consulta marcada");
+                return;
+            }
+            StringBuilder texto = new StringBuilder();
+            for (Consulta consulta : proximas) {
+                if (texto.length() > 0) {
+                    texto.append(", ");
+                }
+                texto.append(DataAdapter.formatarDataHora(consulta.getDataMillis()));
+            }
+            lblProximasConsultas.setText(texto.toString());
+        });
+    }
+
+    private void loadConsultas() {
+        indicador.executar("Carregando consultas", facade.buscarTodasAsConsultas(), tableModel::recarregar, btnRemoverConsulta);
     }
 
     private void removerConsultaSelecionada() {
@@ -216,27 +432,19 @@ public class AgendarConsultaGUI extends JFrame {
             return;
         }
 
-        int consultaId = (int) tableModel.getValueAt(selectedRow, 0); // Pega o ID da consulta na tabela
-
-        // Você precisa de um método na Facade para buscar a consulta pelo ID
-        // Como o `buscarTodasAsConsultas()` retorna a lista, vamos buscar na lista
-        Consulta consultaParaRemover = null;
-        for (Consulta c : facade.buscarTodasAsConsultas()) {
-            if (c.getId() == consultaId) {
-                consultaParaRemover = c;
-                break;
-            }
-        }
+        // O modelo guarda a própria consulta de cada linha
+        Consulta consultaParaRemover = tableModel.getEntidade(consultasTable.convertRowIndexToModel(selectedRow));
 
         if (consultaParaRemover != null) {
             int confirm = JOptionPane.showConfirmDialog(this,
-                    "Tem certeza que deseja remover a consulta do Pet '" + consultaParaRemover.getPet().getNome() + "' em " + dateFormat.format(consultaParaRemover.getData()) + "?",
+                    "Tem certeza que deseja remover a consulta do Pet '" + consultaParaRemover.getPet().getNome() + "' em " + DataAdapter.formatarDataHora(consultaParaRemover.getDataMillis()) + "?",
                     "Confirmar Remoção", JOptionPane.YES_NO_OPTION);
 
             if (confirm == JOptionPane.YES_OPTION) {
-                facade.removerConsulta(consultaParaRemover); // Chama a facade para remover
-                loadConsultas(); // Recarrega a tabela
-                JOptionPane.showMessageDialog(this, "Consulta removida com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                indicador.executar("Removendo consulta", facade.removerConsulta(consultaParaRemover), ok -> {
+                    // A linha sai pelo evento CONSULTA_REMOVIDA
+                    JOptionPane.showMessageDialog(this, "Consulta removida com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                }, btnRemoverConsulta);
             }
         } else {
             JOptionPane.showMessageDialog(this, "Erro: Consulta não encontrada no sistema.", "Erro", JOptionPane.ERROR_MESSAGE);
@@ -0,0 +1,82 @@
+package br.com.veterinaria.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Divide textos em português nos termos usados pela busca textual.
+ *
+ * O texto é normalizado ({@link NormalizadorTexto}: minúsculas, sem acentos) e
+ * dividido em palavras nas letras e dígitos. Cada palavra é reduzida ao
+ * singular por regras simples de plural ("otites" vira "otite", "lesões" vira
+ * "lesao", "animais" vira "animal"), para que a busca encontre as duas formas.
+ *
+ * Artigos, preposições e outras palavras sem valor de busca ("de", "com",
+ * "os"...) não geram termo, mas continuam ocupando a sua posição: a lista
+ * devolvida tem null no lugar delas. Assim a distância entre as palavras de
+ * uma frase é a mesma no texto e na consulta.
+ */
+public final class AnalisadorTexto {
+    private static final Set<String> PALAVRAS_VAZIAS = new HashSet<>(Arrays.asList(
+            "a", "o", "as", "os", "um", "uma", "uns", "umas", "e", "ou", "de", "da", "do", "das", "dos",
+            "em", "na", "no", "nas", "nos", "num", "numa", "ao", "aos", "com", "por", "para", "pra",
+            "pelo", "pela", "pelos", "pelas", "que", "se", "seu", "sua", "seus", "suas", "foi", "ser",
+            "esta", "este", "isto", "essa", "esse", "isso", "ja", "muito", "mais", "tambem"));
+
+    private AnalisadorTexto() {
+    }
+
+    /**
+     * Divide um texto em termos.
+     * @param texto O texto original (pode ser null).
+     * @return Uma nova lista com um termo por palavra, na ordem do texto, e null
+     *         no lugar das palavras sem valor de busca.
+     */
+    public static List<String> termos(String texto) {
+        String normalizado = NormalizadorTexto.normalizar(texto);
+        List<String> termos = new ArrayList<>();
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean letra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (letra && inicio == -1) {
+                inicio = i;
+            } else if (!letra && inicio != -1) {
+                String palavra = normalizado.substring(inicio, i);
+                termos.add(PALAVRAS_VAZIAS.contains(palavra) ? null : singular(palavra));
+                inicio = -1;
+            }
+        }
+        return termos;
+    }
+
+    /**
+     * Reduz uma palavra (já normalizada) ao singular. As regras cobrem os
+     * plurais regulares; palavras curtas e terminadas em "us" ou "ss" ("virus",
+     * "stress") ficam como estão.
+     */
+    static String singular(String palavra) {
+        int n = palavra.length();
+        if (n <= 3 || palavra.charAt(n - 1) != 's') {
+            return palavra;
+        }
+        if (palavra.endsWith("oes") || palavra.endsWith("aes")) {
+            return palavra.substring(0, n - 3) + "ao"; // lesoes -> lesao, caes -> cao
+        }
+        if (palavra.endsWith("ais") || palavra.endsWith("eis") || palavra.endsWith("ois")) {
+            return palavra.substring(0, n - 2) + "l"; // animais -> animal, papeis -> papel
+        }
+        if (palavra.endsWith("ns")) {
+            return palavra.substring(0, n - 2) + "m"; // jejuns -> jejum
+        }
+        if (palavra.endsWith("res") || palavra.endsWith("zes")) {
+            return palavra.substring(0, n - 2); // tumores -> tumor, luzes -> luz
+        }
+        if (palavra.endsWith("us") || palavra.endsWith("ss") || palavra.endsWith("is")) {
+            return palavra; // virus, stress, otitis (nomes técnicos latinos)
+        }
+        return palavra.substring(0, n - 1); // gatos -> gato, pulgas -> pulga
+    }
+}
\ No newline at end of file
@@ -0,0 +1,708 @@
+package br.com.veterinaria.api;
+
+import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.ConflitoAgendamentoException;
+import br.com.veterinaria.facade.HorarioLivre;
+import br.com.veterinaria.facade.Pagina;
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.metricas.Metricas;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.model.Dicionario;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.model.Veterinario;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * API HTTP com corpo em JSON sobre as operações da {@link ClinicaFacade},
+ * servida pelo {@link ServidorApi}. Rotas, todas sob /api:
+ * <pre>
+ *   GET    /api/clientes[?prefixo=Ana]                 clientes (com prefixo, sugestões pelo nome)
+ *   POST   /api/clientes                              {"nome", "telefone", "email"}
+ *   GET    /api/clientes/{id}       DELETE /api/clientes/{id}
+ *   GET    /api/clientes/{id}/pets
+ *   GET    /api/pets[?prefixo=Re | ?especie=Gato&amp;raca=Siamês]
+ *   POST   /api/pets                                  {"nome", "especie", "raca", "idade", "clienteId"}
+ *   GET    /api/pets/{id}           DELETE /api/pets/{id}
+ *   GET    /api/pets/{id}/consultas
+ *   GET    /api/pets/{id}/historico                   prescrições dos atendimentos realizados
+ *   GET    /api/veterinarios[?prefixo=Car]
+ *   POST   /api/veterinarios                          {"nome", "crmv"}
+ *   GET    /api/veterinarios/{id}   DELETE /api/veterinarios/{id}
+ *   GET    /api/veterinarios/{id}/consultas[?dia=2030-01-07 | ?proximas=5]
+ *   GET    /api/veterinarios/{id}/horarios-livres[?aPartirDe=2030-01-07T08:00&amp;quantidade=5&amp;duracao=30]
+ *   GET    /api/horarios-livres[?aPartirDe=...&amp;quantidade=5&amp;duracao=30]   de qualquer veterinário
+ *   GET    /api/consultas[?dia=2030-01-07 | ?de=...&amp;ate=... | ?emAndamento=true]
+ *   POST   /api/consultas                             {"petId", "veterinarioId", "inicio", "duracaoMinutos"}
+ *   GET    /api/consultas/{id}      DELETE /api/consultas/{id}
+ *   POST   /api/consultas/{id}/atendimento            {"diagnostico", "medicamentos": ["Amoxicilina", ...]}
+ *   GET    /api/prescricoes/{id}
+ *   GET    /api/diagnosticos[?texto=otite&amp;especie=&amp;raca=&amp;de=&amp;ate=]
+ *   GET    /api/medicamentos?prefixo=Amo
+ *   GET    /api/metricas                              relatório das {@link Metricas}, em texto
+ * </pre>
+ * Listagens devolvem {"total": n, "itens": [...]}, com no máximo "limite"
+ * itens (padrão {@value #LIMITE_PADRAO}, máximo {@value #LIMITE_MAXIMO}) a
+ * partir de "deslocamento"; com "prefixo", só as primeiras
+ * {@value #SUGESTOES_MAXIMAS} sugestões são paginadas. Datas e horários
+ * seguem a ISO-8601 sem fuso (ex: 2030-01-07T09:30), no fuso do servidor. Espécie e raça de um pet novo são
+ * gravadas como já cadastradas, ignorando maiúsculas e espaços repetidos; a
+ * API inclui no máximo {@value #VALORES_ESPECIES_API} espécies e
+ * {@value #VALORES_RACAS_API} raças distintas, e recusa com 400 as novas
+ * acima disso. Da mesma forma, um atendimento prescreve até
+ * {@value #MEDICAMENTOS_POR_ATENDIMENTO} medicamentos, e os que ainda não
+ * estão no catálogo só são aceitos enquanto ele tiver menos de
+ * {@value #MEDICAMENTOS_CATALOGO_API} entradas; são catalogados só se o
+ * atendimento for realizado.
+ *
+ * Erros devolvem {"erro": "mensagem"} com 400 (requisição inválida), 404,
+ * 405, 409 (horário em conflito, com as consultas em "conflitos", cliente
+ * que ainda tem pets ou consulta já atendida), 413 (corpo acima de {@value #TAMANHO_MAXIMO_CORPO}
+ * bytes) ou 500.
+ *
+ * Não guarda estado: pode atender quantas requisições simultâneas o
+ * armazenamento da facade suportar (concorrente ou persistente).
+ */
+public class ApiClinica implements HttpHandler {
+    private static final Registrador LOG = Registrador.para("Api");
+
+    /** Caminho sob o qual as rotas são registradas no servidor. */
+    public static final String CAMINHO = "/api/";
+    static final int TAMANHO_MAXIMO_CORPO = 64 * 1024;
+    private static final int TAMANHO_MAXIMO_TEXTO = 200; // Campos de texto (nome, raça...)
+    private static final int LIMITE_PADRAO = 100;
+    private static final int LIMITE_MAXIMO = 1000;
+    // Sugestões por prefixo pedidas ao índice no máximo: além disso a página vem vazia
+    private static final int SUGESTOES_MAXIMAS = LIMITE_MAXIMO * 10;
+    // Valores distintos que a API aceita incluir em cada Dicionario (espécies, raças): os
+    // códigos nunca são liberados, e o restante da tabela fica para as telas e a recarga
+    private static final int VALORES_ESPECIES_API = 1024;
+    private static final int VALORES_RACAS_API = 16384;
+    // Tamanho do catálogo de medicamentos até o qual a API aceita medicamentos novos, e
+    // quantos medicamentos um atendimento pode prescrever
+    private static final int MEDICAMENTOS_CATALOGO_API = 4096;
+    private static final int MEDICAMENTOS_POR_ATENDIMENTO = 50;
+    private static final String TIPO_JSON = "application/json; charset=utf-8";
+
+    private final ClinicaFacade facade;
+
+    public ApiClinica(ClinicaFacade facade) {
+        this.facade = facade;
+    }
+
+    /** Dados de uma requisição já separados: método, trechos do caminho e parâmetros. */
+    private static final class Requisicao {
+        final HttpExchange troca;
+        final String metodo;
+        final String[] trechos; // Caminho depois de /api/, ex: {"pets", "12", "consultas"}
+        final Map<String, String> parametros;
+
+        Requisicao(HttpExchange troca) {
+            this.troca = troca;
+            this.metodo = troca.getRequestMethod().toUpperCase();
+            String caminho = troca.getRequestURI().getRawPath().substring(CAMINHO.length());
+            this.trechos = caminho.isEmpty() ? new String[0] : caminho.split("/");
+            this.parametros = lerParametros(troca.getRequestURI().getRawQuery());
+        }
+
+        boolean e(String metodo, int trechos) {
+            return this.metodo.equals(metodo) && this.trechos.length == trechos;
+        }
+
+        String parametro(String nome) {
+            String valor = parametros.get(nome);
+            return valor == null || valor.isEmpty() ? null : valor;
+        }
+
+        int parametroInteiro(String nome, int padrao) {
+            String valor = parametro(nome);
+            try {
+                return valor != null ? Integer.parseInt(valor) : padrao;
+            } catch (NumberFormatException e) {
+                throw new ErroApi(400, "O parâmetro '" + nome + "' deve ser um número inteiro.");
+            }
+        }
+
+        // Corpo da requisição como objeto JSON, recusando corpos grandes demais
+        Map<String, Object> corpo() throws IOException {
+            byte[] bytes;
+            try (InputStream entrada = troca.getRequestBody()) {
+                bytes = entrada.readNBytes(TAMANHO_MAXIMO_CORPO + 1);
+            }
+            if (bytes.length > TAMANHO_MAXIMO_CORPO) {
+                throw new ErroApi(413, "Corpo da requisição acima de " + TAMANHO_MAXIMO_CORPO + " bytes.");
+            }
+            Object valor = Json.ler(new String(bytes, StandardCharsets.UTF_8));
+            if (!(valor instanceof Map)) {
+                throw new ErroApi(400, "O corpo da requisição deve ser um objeto JSON.");
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> objeto = (Map<String, Object>) valor;
+            return objeto;
+        }
+    }
+
+    @Override
+    public void handle(HttpExchange troca) throws IOException {
+        int status;
+        Object corpo;
+        try {
+            Requisicao requisicao = new Requisicao(troca);
+            if (requisicao.trechos.length == 1 && requisicao.trechos[0].equals("metricas") && requisicao.metodo.equals("GET")) {
+                enviar(troca, 200, "text/plain; charset=utf-8", Metricas.getRelatorio());
+                return;
+            }
+            corpo = rotear(requisicao);
+            status = corpo == null ? 204 : requisicao.metodo.equals("POST") ? 201 : 200;
+        } catch (ErroApi e) {
+            status = e.getStatus();
+            corpo = erro(e.getMessage());
+        } catch (ConflitoAgendamentoException e) {
+            status = 409;
+            Map<String, Object> conflito = erro(e.getMessage());
+            conflito.put("conflitos", converter(e.getConflitos(), ApiClinica::consulta));
+            corpo = conflito;
+        } catch (IllegalArgumentException e) {
+            status = 400; // JSON inválido e argumentos recusados pela facade
+            corpo = erro(e.getMessage());
+        } catch (RuntimeException e) {
+            LOG.erro("Erro ao atender {} {}", troca.getRequestMethod(), troca.getRequestURI(), e);
+            status = 500;
+            corpo = erro("Erro interno."); // Os detalhes ficam só no log, não vão para o cliente
+        }
+        enviar(troca, status, TIPO_JSON, corpo != null ? Json.escrever(corpo) : null);
+    }
+
+    private static void enviar(HttpExchange troca, int status, String tipo, String corpo) throws IOException {
+        if (corpo == null) {
+            troca.sendResponseHeaders(status, -1); // Sem corpo
+            troca.close();
+            return;
+        }
+        byte[] bytes = corpo.getBytes(StandardCharsets.UTF_8);
+        troca.getResponseHeaders().set("Content-Type", tipo);
+        troca.sendResponseHeaders(status, bytes.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(bytes);
+        }
+    }
+
+    /**
+     * Responde a uma requisição recusada antes de chegar às rotas (por exemplo,
+     * por excesso de requisições simultâneas).
+     * @param troca A requisição.
+     * @param status O código HTTP.
+     * @param mensagem A mensagem do campo "erro".
+     * @throws IOException Se a resposta não puder ser enviada.
+     */
+    static void recusar(HttpExchange troca, int status, String mensagem) throws IOException {
+        enviar(troca, status, TIPO_JSON, Json.escrever(erro(mensagem)));
+    }
+
+    private static Map<String, Object> erro(String mensagem) {
+        Map<String, Object> erro = new LinkedHashMap<>();
+        erro.put("erro", mensagem);
+        return erro;
+    }
+
+    // Devolve o corpo da resposta (null para 204) ou lança ErroApi
+    private Object rotear(Requisicao req) throws IOException {
+        if (req.trechos.length == 0) {
+            throw new ErroApi(404, "Recurso não informado.");
+        }
+        switch (req.trechos[0]) {
+            case "clientes":
+                return clientes(req);
+            case "pets":
+                return pets(req);
+            case "veterinarios":
+                return veterinarios(req);
+            case "consultas":
+                return consultas(req);
+            case "horarios-livres":
+                if (req.e("GET", 1)) {
+                    return pagina(req, horariosLivres(req, null), ApiClinica::horario);
+                }
+                break;
+            case "prescricoes":
+                if (req.e("GET", 2)) {
+                    return prescricao(encontrado(facade.buscarPrescricao(id(req.trechos[1])), "Prescrição não encontrada."));
+                }
+                break;
+            case "diagnosticos":
+                if (req.e("GET", 1)) {
+                    return pagina(req, facade.buscarDiagnosticos(req.parametro("texto"), req.parametro("especie"),
+                            req.parametro("raca"), dia(req.parametro("de"), "de"), dia(req.parametro("ate"), "ate")),
+                            ApiClinica::diagnostico);
+                }
+                break;
+            case "medicamentos":
+                if (req.e("GET", 1)) {
+                    String prefixo = req.parametro("prefixo");
+                    return pagina(req, facade.sugerirMedicamentos(prefixo != null ? prefixo : "", quantidadeSugestoes(req)),
+                            ApiClinica::medicamento);
+                }
+                break;
+            default:
+                throw new ErroApi(404, "Recurso desconhecido: " + req.trechos[0] + ".");
+        }
+        throw naoEncontrada(req);
+    }
+
+    private Object clientes(Requisicao req) throws IOException {
+        if (req.e("GET", 1)) {
+            String prefixo = req.parametro("prefixo");
+            if (prefixo != null) {
+                return pagina(req, facade.sugerirClientes(prefixo, quantidadeSugestoes(req)), ApiClinica::cliente);
+            }
+            return pagina(facade.getClientesCadastrados(deslocamento(req), limite(req)), ApiClinica::cliente);
+        }
+        if (req.e("POST", 1)) {
+            Map<String, Object> dados = req.corpo();
+            Cliente cliente = new Cliente(texto(dados, "nome"), textoOpcional(dados, "telefone"), textoOpcional(dados, "email"));
+            facade.cadastrarCliente(cliente);
+            return cliente(cliente);
+        }
+        if (req.trechos.length < 2) {
+            throw naoEncontrada(req);
+        }
+        Cliente cliente = encontrado(facade.buscarCliente(id(req.trechos[1])), "Cliente não encontrado.");
+        if (req.e("GET", 2)) {
+            return cliente(cliente);
+        }
+        if (req.e("DELETE", 2)) {
+            if (facade.clientePossuiPets(cliente)) {
+                throw new ErroApi(409, "O cliente possui pets cadastrados.");
+            }
+            facade.removerCliente(cliente);
+            return null;
+        }
+        if (req.e("GET", 3) && req.trechos[2].equals("pets")) {
+            return pagina(req, facade.getPetsDoCliente(cliente), ApiClinica::pet);
+        }
+        throw naoEncontrada(req);
+    }
+
+    private Object pets(Requisicao req) throws IOException {
+        if (req.e("GET", 1)) {
+            String prefixo = req.parametro("prefixo");
+            if (prefixo != null) {
+                return pagina(req, facade.sugerirPets(prefixo, quantidadeSugestoes(req)), ApiClinica::pet);
+            }
+            return pagina(facade.buscarPets(req.parametro("especie"), req.parametro("raca"), deslocamento(req), limite(req)),
+                    ApiClinica::pet);
+        }
+        if (req.e("POST", 1)) {
+            Map<String, Object> dados = req.corpo();
+            Cliente proprietario = encontrado(facade.buscarCliente(inteiro(dados, "clienteId")), "Cliente não encontrado.");
+            String especie = valorDicionario(Dicionario.ESPECIES, texto(dados, "especie"), VALORES_ESPECIES_API, "especie");
+            String raca = valorDicionario(Dicionario.RACAS, textoOpcional(dados, "raca"), VALORES_RACAS_API, "raca");
+            Pet pet = new Pet(texto(dados, "nome"), especie, raca, inteiro(dados, "idade"), proprietario);
+            facade.cadastrarPet(pet);
+            return pet(pet);
+        }
+        if (req.trechos.length < 2) {
+            throw naoEncontrada(req);
+        }
+        Pet pet = encontrado(facade.buscarPet(id(req.trechos[1])), "Pet não encontrado.");
+        if (req.e("GET", 2)) {
+            return pet(pet);
+        }
+        if (req.e("DELETE", 2)) {
+            facade.removerPet(pet);
+            return null;
+        }
+        if (req.e("GET", 3) && req.trechos[2].equals("consultas")) {
+            return pagina(req, facade.getConsultasDoPet(pet), ApiClinica::consulta);
+        }
+        if (req.e("GET", 3) && req.trechos[2].equals("historico")) {
+            return pagina(req, facade.getHistoricoDoPet(pet), ApiClinica::prescricao);
+        }
+        throw naoEncontrada(req);
+    }
+
+    private Object veterinarios(Requisicao req) throws IOException {
+        if (req.e("GET", 1)) {
+            String prefixo = req.parametro("prefixo");
+            if (prefixo != null) {
+                return pagina(req, facade.sugerirVeterinarios(prefixo, quantidadeSugestoes(req)), ApiClinica::veterinario);
+            }
+            return pagina(facade.getVeterinariosCadastrados(deslocamento(req), limite(req)), ApiClinica::veterinario);
+        }
+        if (req.e("POST", 1)) {
+            Map<String, Object> dados = req.corpo();
+            Veterinario veterinario = new Veterinario(texto(dados, "nome"), texto(dados, "crmv"));
+            facade.cadastrarVeterinario(veterinario);
+            return veterinario(veterinario);
+        }
+        if (req.trechos.length < 2) {
+            throw naoEncontrada(req);
+        }
+        Veterinario veterinario = encontrado(facade.buscarVeterinario(id(req.trechos[1])), "Veterinário não encontrado.");
+        if (req.e("GET", 2)) {
+            return veterinario(veterinario);
+        }
+        if (req.e("DELETE", 2)) {
+            facade.removerVeterinario(veterinario);
+            return null;
+        }
+        if (req.e("GET", 3) && req.trechos[2].equals("consultas")) {
+            List<Consulta> consultas;
+            if (req.parametro("proximas") != null) {
+                consultas = facade.getProximasConsultasDoVeterinario(veterinario, req.parametroInteiro("proximas", LIMITE_PADRAO));
+            } else if (req.parametro("dia") != null) {
+                consultas = facade.getConsultasDoVeterinario(veterinario, dia(req.parametro("dia"), "dia"));
+            } else {
+                consultas = facade.getConsultasDoVeterinario(veterinario);
+            }
+            return pagina(req, consultas, ApiClinica::consulta);
+        }
+        if (req.e("GET", 3) && req.trechos[2].equals("horarios-livres")) {
+            return pagina(req, horariosLivres(req, veterinario), ApiClinica::horario);
+        }
+        throw naoEncontrada(req);
+    }
+
+    private Object consultas(Requisicao req) throws IOException {
+        if (req.e("GET", 1)) {
+            List<Consulta> consultas;
+            if (req.parametro("dia") != null) {
+                consultas = facade.getConsultasDoDia(dia(req.parametro("dia"), "dia"));
+            } else if (req.parametro("de") != null || req.parametro("ate") != null) {
+                consultas = facade.getConsultasNoPeriodo(data(req.parametro("de"), "de"), data(req.parametro("ate"), "ate"));
+            } else if (Boolean.parseBoolean(req.parametro("emAndamento"))) {
+                consultas = facade.getConsultasEmAndamento();
+            } else {
+                return pagina(facade.buscarTodasAsConsultas(deslocamento(req), limite(req)), ApiClinica::consulta);
+            }
+            return pagina(req, consultas, ApiClinica::consulta);
+        }
+        if (req.e("POST", 1)) {
+            Map<String, Object> dados = req.corpo();
+            Pet pet = encontrado(facade.buscarPet(inteiro(dados, "petId")), "Pet não encontrado.");
+            Veterinario veterinario = encontrado(facade.buscarVeterinario(inteiro(dados, "veterinarioId")), "Veterinário não encontrado.");
+            Object duracao = dados.get("duracaoMinutos");
+            Consulta consulta = facade.agendarConsulta(pet, pet.getProprietario(), veterinario, data(texto(dados, "inicio"), "inicio"),
+                    duracao != null ? inteiro(dados, "duracaoMinutos") : Consulta.DURACAO_PADRAO_MINUTOS);
+            return consulta(consulta);
+        }
+        if (req.trechos.length < 2) {
+            throw naoEncontrada(req);
+        }
+        Consulta consulta = encontrado(facade.buscarConsulta(id(req.trechos[1])), "Consulta não encontrada.");
+        if (req.e("GET", 2)) {
+            return consulta(consulta);
+        }
+        if (req.e("DELETE", 2)) {
+            if (!facade.removerConsulta(consulta)) {
+                throw new ErroApi(404, "Consulta não encontrada.");
+            }
+            return null;
+        }
+        if (req.e("POST", 3) && req.trechos[2].equals("atendimento")) {
+            Map<String, Object> dados = req.corpo();
+            List<Medicamento> prescritos = medicamentos(dados.get("medicamentos"));
+            String diagnostico = texto(dados, "diagnostico");
+            try {
+                return prescricao(facade.realizarAtendimento(consulta, diagnostico, prescritos));
+            } catch (IllegalStateException e) {
+                throw new ErroApi(409, e.getMessage()); // Atendida por outra requisição
+            }
+        }
+        throw naoEncontrada(req);
+    }
+
+    // Entradas do catálogo para os nomes recebidos; um nome fora do catálogo vira um medicamento
+    // novo, que a facade só inclui no catálogo depois que a consulta sai da agenda
+    private List<Medicamento> medicamentos(Object lista) {
+        if (lista == null) {
+            return new ArrayList<>();
+        }
+        if (!(lista instanceof List)) {
+            throw new ErroApi(400, "O campo 'medicamentos' deve ser uma lista de nomes.");
+        }
+        List<?> nomes = (List<?>) lista;
+        if (nomes.size() > MEDICAMENTOS_POR_ATENDIMENTO) {
+            throw new ErroApi(400, "Um atendimento prescreve no máximo " + MEDICAMENTOS_POR_ATENDIMENTO + " medicamentos.");
+        }
+        List<Medicamento> medicamentos = new ArrayList<>(nomes.size());
+        for (Object nome : nomes) {
+            if (!(nome instanceof String) || ((String) nome).trim().isEmpty()) {
+                throw new ErroApi(400, "O campo 'medicamentos' deve ser uma lista de nomes não vazios.");
+            }
+            String texto = limitar(((String) nome).trim(), "medicamentos");
+            Medicamento existente = facade.buscarMedicamento(texto);
+            if (existente != null) {
+                medicamentos.add(existente);
+            } else if (facade.contarMedicamentos() >= MEDICAMENTOS_CATALOGO_API) {
+                throw new ErroApi(400, "Medicamento fora do catálogo recusado: '" + texto + "'. O limite de "
+                        + MEDICAMENTOS_CATALOGO_API + " medicamentos foi atingido; use um já cadastrado.");
+            } else {
+                medicamentos.add(new Medicamento(texto, ClinicaFacade.DESCRICAO_PADRAO_MEDICAMENTO,
+                        ClinicaFacade.DOSAGEM_PADRAO_MEDICAMENTO));
+            }
+        }
+        return medicamentos;
+    }
+
+    // Horários livres de um veterinário (ou de qualquer um, se null) a partir de agora ou de "aPartirDe"
+    private List<HorarioLivre> horariosLivres(Requisicao req, Veterinario veterinario) {
+        Date aPartirDe = req.parametro("aPartirDe") != null ? data(req.parametro("aPartirDe"), "aPartirDe") : new Date();
+        int quantidade = Math.min(req.parametroInteiro("quantidade", 5), LIMITE_MAXIMO);
+        int duracao = req.parametroInteiro("duracao", Consulta.DURACAO_PADRAO_MINUTOS);
+        return veterinario != null
+                ? facade.getHorariosLivres(veterinario, aPartirDe, quantidade, duracao)
+                : facade.getHorariosLivres(aPartirDe, quantidade, duracao);
+    }
+
+    // --- Paginação e validação ---
+
+    // Recorta uma lista já calculada (buscas por dia, pet, prefixo...), que só tem os itens encontrados
+    private static <T> Map<String, Object> pagina(Requisicao req, List<T> itens, Function<T, Map<String, Object>> conversor) {
+        int limite = limite(req);
+        int deslocamento = deslocamento(req);
+        List<T> trecho = deslocamento >= itens.size() ? Collections.emptyList()
+                : itens.subList(deslocamento, Math.min(itens.size(), deslocamento + limite));
+        return pagina(new Pagina<>(trecho, itens.size()), conversor);
+    }
+
+    // Listagens de tabelas inteiras: o trecho já vem recortado do DAO, e o total do contar()
+    private static <T> Map<String, Object> pagina(Pagina<T> trecho, Function<T, Map<String, Object>> conversor) {
+        Map<String, Object> pagina = new LinkedHashMap<>();
+        pagina.put("total", trecho.getTotal());
+        pagina.put("itens", converter(trecho.getItens(), conversor));
+        return pagina;
+    }
+
+    private static int limite(Requisicao req) {
+        return Math.min(Math.max(req.parametroInteiro("limite", LIMITE_PADRAO), 0), LIMITE_MAXIMO);
+    }
+
+    private static int deslocamento(Requisicao req) {
+        return Math.max(req.parametroInteiro("deslocamento", 0), 0);
+    }
+
+    // As sugestões por prefixo já vêm limitadas do índice: pede o suficiente para a página, sem
+    // passar de SUGESTOES_MAXIMAS (a soma em long não estoura com deslocamentos perto de Integer.MAX_VALUE)
+    private static int quantidadeSugestoes(Requisicao req) {
+        return (int) Math.min((long) deslocamento(req) + limite(req), SUGESTOES_MAXIMAS);
+    }
+
+    private static <T> List<Map<String, Object>> converter(List<T> itens, Function<T, Map<String, Object>> conversor) {
+        List<Map<String, Object>> convertidos = new ArrayList<>(itens.size());
+        for (T item : itens) {
+            convertidos.add(conversor.apply(item));
+        }
+        return convertidos;
+    }
+
+    private static <T> T encontrado(T entidade, String mensagem) {
+        if (entidade == null) {
+            throw new ErroApi(404, mensagem);
+        }
+        return entidade;
+    }
+
+    private static ErroApi naoEncontrada(Requisicao req) {
+        return new ErroApi(req.trechos.length <= 3 ? 405 : 404,
+                "Rota não suportada: " + req.metodo + " " + req.troca.getRequestURI().getPath());
+    }
+
+    private static int id(String texto) {
+        try {
+            return Integer.parseInt(texto);
+        } catch (NumberFormatException e) {
+            throw new ErroApi(404, "ID inválido: '" + texto + "'.");
+        }
+    }
+
+    private static String texto(Map<String, Object> dados, String campo) {
+        Object valor = dados.get(campo);
+        if (!(valor instanceof String) || ((String) valor).trim().isEmpty()) {
+            throw new ErroApi(400, "O campo '" + campo + "' é obrigatório e deve ser um texto.");
+        }
+        return limitar(((String) valor).trim(), campo);
+    }
+
+    private static String textoOpcional(Map<String, Object> dados, String campo) {
+        Object valor = dados.get(campo);
+        return valor == null ? "" : limitar(String.valueOf(valor).trim(), campo);
+    }
+
+    private static String limitar(String texto, String campo) {
+        if (texto.length() > TAMANHO_MAXIMO_TEXTO) {
+            throw new ErroApi(400, "O campo '" + campo + "' passa de " + TAMANHO_MAXIMO_TEXTO + " caracteres.");
+        }
+        return texto;
+    }
+
+    /*
+     * Espécie ou raça como já cadastrada (ignorando maiúsculas e espaços repetidos),
+     * ou um valor novo enquanto a API não tiver incluído a sua cota na tabela. Sem
+     * isso, valores inventados encheriam a tabela (ver Dicionario) e nenhum pet com
+     * valor novo poderia mais ser cadastrado, nem pelas telas nem pela recarga do log.
+     */
+    private static String valorDicionario(Dicionario dicionario, String texto, int cota, String campo) {
+        String valor = texto.trim().replaceAll("\\s+", " ");
+        if (dicionario.contem(valor)) {
+            return valor;
+        }
+        BitSet iguais = dicionario.codigosQue(t -> t.equalsIgnoreCase(valor));
+        if (!iguais.isEmpty()) {
+            return dicionario.texto(iguais.nextSetBit(0));
+        }
+        if (dicionario.tamanho() >= cota) {
+            throw new ErroApi(400, "Valor novo recusado em '" + campo + "': o limite de " + cota
+                    + " valores distintos foi atingido. Use um valor já cadastrado.");
+        }
+        return valor;
+    }
+
+    private static int inteiro(Map<String, Object> dados, String campo) {
+        Object valor = dados.get(campo);
+        if (!(valor instanceof Long) || (Long) valor != ((Long) valor).intValue()) {
+            throw new ErroApi(400, "O campo '" + campo + "' é obrigatório e deve ser um número inteiro.");
+        }
+        return ((Long) valor).intValue();
+    }
+
+    private static Date data(String texto, String campo) {
+        if (texto == null) {
+            throw new ErroApi(400, "O parâmetro '" + campo + "' é obrigatório (ex: 2030-01-07T09:30).");
+        }
+        try {
+            return Date.from(LocalDateTime.parse(texto).atZone(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new ErroApi(400, "Data e hora inválidas em '" + campo + "': '" + texto + "' (ex: 2030-01-07T09:30).");
+        }
+    }
+
+    // Início do dia informado, ou null sem o parâmetro
+    private static Date dia(String texto, String campo) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            return Date.from(LocalDate.parse(texto).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException e) {
+            throw new ErroApi(400, "Data inválida em '" + campo + "': '" + texto + "' (ex: 2030-01-07).");
+        }
+    }
+
+    private static Map<String, String> lerParametros(String consulta) {
+        Map<String, String> parametros = new HashMap<>();
+        if (consulta == null) {
+            return parametros;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            String nome = igual >= 0 ? par.substring(0, igual) : par;
+            String valor = igual >= 0 ? par.substring(igual + 1) : "";
+            parametros.put(URLDecoder.decode(nome, StandardCharsets.UTF_8), URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+        return parametros;
+    }
+
+    // --- Conversão das entidades para JSON ---
+
+    private static String dataHora(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault()).toString();
+    }
+
+    private static Map<String, Object> cliente(Cliente cliente) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", cliente.getId());
+        json.put("nome", cliente.getNome());
+        json.put("telefone", cliente.getTelefone());
+        json.put("email", cliente.getEmail());
+        return json;
+    }
+
+    private static Map<String, Object> pet(Pet pet) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", pet.getId());
+        json.put("nome", pet.getNome());
+        json.put("especie", pet.getEspecie());
+        json.put("raca", pet.getRaca());
+        json.put("idade", pet.getIdade());
+        json.put("clienteId", pet.getProprietario() != null ? pet.getProprietario().getId() : null);
+        return json;
+    }
+
+    private static Map<String, Object> veterinario(Veterinario veterinario) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", veterinario.getId());
+        json.put("nome", veterinario.getNome());
+        json.put("crmv", veterinario.getCrmv());
+        return json;
+    }
+
+    private static Map<String, Object> consulta(Consulta consulta) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", consulta.getId());
+        json.put("petId", consulta.getPet() != null ? consulta.getPet().getId() : null);
+        json.put("clienteId", consulta.getCliente() != null ? consulta.getCliente().getId() : null);
+        json.put("veterinarioId", consulta.getVeterinario() != null ? consulta.getVeterinario().getId() : null);
+        json.put("inicio", consulta.temData() ? dataHora(consulta.getDataMillis()) : null);
+        json.put("duracaoMinutos", consulta.getDuracaoMinutos());
+        return json;
+    }
+
+    private static Map<String, Object> horario(HorarioLivre horario) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("veterinarioId", horario.getVeterinario().getId());
+        json.put("inicio", dataHora(horario.getInicioMillis()));
+        json.put("duracaoMinutos", horario.getDuracaoMinutos());
+        return json;
+    }
+
+    private static Map<String, Object> medicamento(Medicamento medicamento) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", medicamento.getId());
+        json.put("nome", medicamento.getNome());
+        json.put("descricao", medicamento.getDescricao());
+        json.put("dosagem", medicamento.getDosagem());
+        return json;
+    }
+
+    private static Map<String, Object> diagnostico(Diagnostico diagnostico) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", diagnostico.getId());
+        json.put("consulta", diagnostico.getConsulta() != null ? consulta(diagnostico.getConsulta()) : null);
+        json.put("descricao", diagnostico.getDescricao());
+        return json;
+    }
+
+    private static Map<String, Object> prescricao(Prescricao prescricao) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("id", prescricao.getId());
+        json.put("consulta", prescricao.getConsulta() != null ? consulta(prescricao.getConsulta()) : null);
+        json.put("diagnostico", prescricao.getDiagnostico() != null ? prescricao.getDiagnostico().getDescricao() : null);
+        json.put("medicamentos", converter(prescricao.getMedicamentos(), ApiClinica::medicamento));
+        return json;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,87 @@
+package br.com.veterinaria.log;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Arquivo de log com rotação por tamanho: quando o arquivo atual passaria do
+ * tamanho máximo, ele é renomeado para "nome.1" (o "nome.1" anterior vira
+ * "nome.2", e assim por diante) e um arquivo novo é aberto. São mantidos no
+ * máximo {@code quantidadeArquivos} arquivos antigos.
+ *
+ * Usado apenas pela thread de log.
+ */
+final class ArquivoRotativo {
+    private final Path arquivo;
+    private final long tamanhoMaximo;
+    private final int quantidadeArquivos;
+    private OutputStream saida;
+    private long tamanho;
+
+    /**
+     * @param arquivo O arquivo atual do log.
+     * @param tamanhoMaximo O tamanho, em bytes, que provoca a rotação.
+     * @param quantidadeArquivos Quantos arquivos antigos são mantidos.
+     * @throws IOException Se o arquivo não puder ser aberto.
+     */
+    ArquivoRotativo(Path arquivo, long tamanhoMaximo, int quantidadeArquivos) throws IOException {
+        this.arquivo = arquivo;
+        this.tamanhoMaximo = tamanhoMaximo;
+        this.quantidadeArquivos = quantidadeArquivos;
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        abrir();
+    }
+
+    /**
+     * Grava uma linha já codificada, rotacionando o arquivo antes se necessário.
+     */
+    void gravar(byte[] linha, int comprimento) throws IOException {
+        if (tamanho > 0 && tamanho + comprimento > tamanhoMaximo) {
+            rotacionar();
+        }
+        saida.write(linha, 0, comprimento);
+        tamanho += comprimento;
+    }
+
+    void descarregar() throws IOException {
+        saida.flush();
+    }
+
+    void fechar() throws IOException {
+        saida.close();
+    }
+
+    private void abrir() throws IOException {
+        saida = new BufferedOutputStream(Files.newOutputStream(arquivo,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+        tamanho = Files.size(arquivo);
+    }
+
+    private void rotacionar() throws IOException {
+        saida.close();
+        if (quantidadeArquivos > 0) {
+            Files.deleteIfExists(antigo(quantidadeArquivos));
+            for (int i = quantidadeArquivos - 1; i >= 1; i--) {
+                if (Files.exists(antigo(i))) {
+                    Files.move(antigo(i), antigo(i + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(arquivo, antigo(1), StandardCopyOption.REPLACE_EXISTING);
+        } else {
+            Files.delete(arquivo);
+        }
+        abrir();
+    }
+
+    private Path antigo(int numero) {
+        return arquivo.resolveSibling(arquivo.getFileName() + "." + numero);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package br.com.veterinaria.facade;
+
+import br.com.veterinaria.log.Registrador;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de eventos em processo usado pela {@link ClinicaFacade} para
+ * avisar as telas sobre alterações (pet cadastrado, consulta agendada etc.),
+ * para que cada tela aplique só a mudança em vez de recarregar listas inteiras.
+ *
+ * Os ouvintes de cada {@link TipoEvento} ficam em uma CopyOnWriteArrayList:
+ * publicar não usa locks nem cria objetos quando ninguém assina o tipo, e
+ * assinar ou cancelar (raro) copia apenas a lista daquele tipo.
+ *
+ * Um ouvinte pode ser executado na própria thread que publica ou em um
+ * executor informado na assinatura (por exemplo, SwingUtilities::invokeLater
+ * para telas Swing). Eventos publicados por uma mesma thread chegam a cada
+ * ouvinte na ordem de publicação.
+ */
+public class BarramentoEventos {
+    private static final Registrador LOG = Registrador.para("Eventos");
+
+    /** Assinatura de um ouvinte, usada para deixar de receber eventos. */
+    public interface Assinatura {
+        void cancelar();
+    }
+
+    // Ouvinte e, opcionalmente, o executor em que ele deve ser chamado
+    private static final class Ouvinte<T> {
+        final Consumer<? super T> acao;
+        final Executor executor;
+
+        Ouvinte(Consumer<? super T> acao, Executor executor) {
+            this.acao = acao;
+            this.executor = executor;
+        }
+    }
+
+    // Uma lista por tipo, na posição do índice do tipo; preenchida só no construtor
+    private final List<CopyOnWriteArrayList<Ouvinte<?>>> ouvintes = new ArrayList<>(TipoEvento.QUANTIDADE);
+
+    public BarramentoEventos() {
+        for (int i = 0; i < TipoEvento.QUANTIDADE; i++) {
+            ouvintes.add(new CopyOnWriteArrayList<>());
+        }
+    }
+
+    /**
+     * Assina um tipo de evento; o ouvinte é chamado na thread que publica.
+     * @param tipo O tipo de evento.
+     * @param ouvinte Recebe a entidade de cada evento publicado.
+     * @param <T> O tipo da entidade do evento.
+     * @return A assinatura, para cancelamento.
+     */
+    public <T> Assinatura assinar(TipoEvento<T> tipo, Consumer<? super T> ouvinte) {
+        return assinar(tipo, ouvinte, null);
+    }
+
+    /**
+     * Assina um tipo de evento; o ouvinte é chamado pelo executor informado.
+     * @param tipo O tipo de evento.
+     * @param ouvinte Recebe a entidade de cada evento publicado.
+     * @param executor Onde o ouvinte é executado (null para a thread que publica).
+     * @param <T> O tipo da entidade do evento.
+     * @return A assinatura, para cancelamento.
+     */
+    public <T> Assinatura assinar(TipoEvento<T> tipo, Consumer<? super T> ouvinte, Executor executor) {
+        Ouvinte<T> registro = new Ouvinte<>(ouvinte, executor);
+        CopyOnWriteArrayList<Ouvinte<?>> doTipo = ouvintes.get(tipo.getIndice());
+        doTipo.add(registro);
+        return () -> doTipo.remove(registro);
+    }
+
+    /**
+     * Publica um evento para todos os ouvintes do tipo.
+     * Uma exceção em um ouvinte é registrada e não impede os demais de receberem o evento.
+     * @param tipo O tipo de evento.
+     * @param entidade A entidade afetada.
+     * @param <T> O tipo da entidade do evento.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> void publicar(TipoEvento<T> tipo, T entidade) {
+        for (Ouvinte<?> registro : ouvintes.get(tipo.getIndice())) {
+            Ouvinte<T> ouvinte = (Ouvinte<T>) registro;
+            if (ouvinte.executor == null) {
+                entregar(tipo, ouvinte.acao, entidade);
+            } else {
+                ouvinte.executor.execute(() -> entregar(tipo, ouvinte.acao, entidade));
+            }
+        }
+    }
+
+    private static <T> void entregar(TipoEvento<T> tipo, Consumer<? super T> acao, T entidade) {
+        try {
+            acao.accept(entidade);
+        } catch (RuntimeException e) {
+            LOG.erro("Erro em um ouvinte de {}", tipo, e); // O stack trace vai para o log
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package br.com.veterinaria.gui;
+
+import br.com.veterinaria.adapter.DataAdapter;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
+import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.model.Pet;
+
+import javax.swing.*;
+import java.awt.*;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Tela de busca no histórico de diagnósticos: por palavras da descrição
+ * (com frases entre aspas, OU e exclusões com hífen), espécie, raça e período.
+ */
+public class BuscaDiagnosticosGUI extends JFrame {
+    private ClinicaFacadeAsync facade;
+
+    private JTextField txtConsulta;
+    private JTextField txtEspecie;
+    private JTextField txtRaca;
+    private JTextField txtDe;
+    private JTextField txtAte;
+    private JButton btnBuscar;
+    private JLabel lblResultado;
+    private TabelaEntidadesModel<Diagnostico> tableModel;
+    private IndicadorCarregamento indicador; // Andamento das operações em segundo plano
+
+    /**
+     * Construtor da tela de busca.
+     * @param facade A facade assíncrona para interagir com a lógica de negócio.
+     */
+    public BuscaDiagnosticosGUI(ClinicaFacadeAsync facade) {
+        this.facade = facade;
+        setTitle("Buscar Diagnósticos");
+        setSize(850, 500);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        initComponents();
+        addListeners();
+    }
+
+    private void initComponents() {
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel filtrosPanel = new JPanel(new GridLayout(4, 4, 10, 5));
+        filtrosPanel.setBorder(BorderFactory.createTitledBorder("Filtros"));
+        filtrosPanel.add(new JLabel("Palavras do diagnóstico:"));
+        txtConsulta = new JTextField();
+        txtConsulta.setToolTipText("Ex: dermatite \"otite externa\" OU sarna -fungica");
+        filtrosPanel.add(txtConsulta);
+        filtrosPanel.add(new JLabel(""));
+        filtrosPanel.add(new JLabel(""));
+
+        filtrosPanel.add(new JLabel("Espécie:"));
+        txtEspecie = new JTextField();
+        filtrosPanel.add(txtEspecie);
+        filtrosPanel.add(new JLabel("Raça:"));
+        txtRaca = new JTextField();
+        filtrosPanel.add(txtRaca);
+
+        filtrosPanel.add(new JLabel("De (dd/MM/yyyy):"));
+        txtDe = new JTextField();
+        filtrosPanel.add(txtDe);
+        filtrosPanel.add(new JLabel("Até (dd/MM/yyyy):"));
+        txtAte = new JTextField();
+        filtrosPanel.add(txtAte);
+
+        lblResultado = new JLabel("");
+        filtrosPanel.add(lblResultado);
+        filtrosPanel.add(new JLabel(""));
+        filtrosPanel.add(new JLabel(""));
+        btnBuscar = new JButton("Buscar");
+        filtrosPanel.add(btnBuscar);
+        mainPanel.add(filtrosPanel, BorderLayout.NORTH);
+
+        // As células são calculadas a partir do diagnóstico só quando a linha é exibida
+        tableModel = new TabelaEntidadesModel<Diagnostico>()
+                .coluna("Data", String.class, d -> DataAdapter.formatarDataHora(d.getConsulta().getDataMillis()))
+                .coluna("Pet", String.class, doPet(Pet::getNome))
+                .coluna("Espécie", String.class, doPet(Pet::getEspecie))
+                .coluna("Raça", String.class, doPet(Pet::getRaca))
+                .coluna("Veterinário", String.class, d -> d.getConsulta().getVeterinario() != null ? d.getConsulta().getVeterinario().getNome() : "N/A")
+                .coluna("Diagnóstico", String.class, Diagnostico::getDescricao);
+        JTable tabela = new JTable(tableModel);
+        tabela.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        tabela.getColumnModel().getColumn(5).setPreferredWidth(300);
+        JScrollPane scrollPane = new JScrollPane(tabela);
+        scrollPane.setBorder(BorderFactory.createTitledBorder("Diagnósticos Encontrados"));
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        indicador = new IndicadorCarregamento();
+        mainPanel.add(indicador, BorderLayout.SOUTH);
+
+        add(mainPanel);
+    }
+
+    private static Function<Diagnostico, Object> doPet(Function<Pet, String> campo) {
+        return d -> d.getConsulta().getPet() != null ? campo.apply(d.getConsulta().getPet()) : "N/A";
+    }
+
+    private void addListeners() {
+        btnBuscar.addActionListener(e -> buscar());
+        txtConsulta.addActionListener(e -> buscar()); // Enter no campo de palavras também busca
+        getRootPane().setDefaultButton(btnBuscar);
+    }
+
+    private void buscar() {
+        Date de;
+        Date ate;
+        try {
+            de = txtDe.getText().trim().isEmpty() ? null : DataAdapter.interpretarDia(txtDe.getText());
+            // O último dia do período entra inteiro na busca
+            ate = txtAte.getText().trim().isEmpty() ? null
+                    : new Date(DataAdapter.interpretarDia(txtAte.getText()).getTime() + TimeUnit.DAYS.toMillis(1));
+        } catch (DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Datas devem estar no formato dd/MM/yyyy.", "Erro de Validação", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+
+        indicador.executar("Buscando diagnósticos",
+                facade.buscarDiagnosticos(txtConsulta.getText(), txtEspecie.getText(), txtRaca.getText(), de, ate),
+                diagnosticos -> {
+                    tableModel.recarregar(diagnosticos);
+                    lblResultado.setText(diagnosticos.size() + " diagnóstico(s) encontrado(s)");
+                }, btnBuscar);
+    }
+}
\ No newline at end of file
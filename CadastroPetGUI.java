@@ -1,6 +1,7 @@
 package br.com.veterinaria.gui;
 
-import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
+import br.com.veterinaria.facade.TipoEvento;
 import br.com.veterinaria.model.Cliente;
 import br.com.veterinaria.model.Pet;
 
@@ -8,10 +9,9 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 
 public class CadastroPetGUI extends JFrame {
-    private ClinicaFacade facade;
+    private ClinicaFacadeAsync facade;
 
     private JTextField txtNome;
     private JTextField txtEspecie;
@@ -19,22 +19,24 @@ public class CadastroPetGUI extends JFrame {
     private JTextField txtIdade;
     private JComboBox<Cliente> cmbProprietario; // NOVO: ComboBox para selecionar o proprietário
     private JButton btnCadastrar;
+    private IndicadorCarregamento indicador; // Andamento das operações em segundo plano
 
-    public CadastroPetGUI(ClinicaFacade facade) {
+    public CadastroPetGUI(ClinicaFacadeAsync facade) {
         this.facade = facade;
         setTitle("Cadastrar Novo Pet");
-        setSize(400, 300);
+        setSize(400, 340);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setLocationRelativeTo(null); // Centraliza a janela
 
         initComponents();
+        assinarEventos();    // Mantém a lista de proprietários em dia com as outras telas
         loadProprietarios(); // Carrega os clientes no ComboBox
         addListeners();
     }
 
     private void initComponents() {
         // Ajustamos o layout para acomodar o novo campo "Proprietário"
-        JPanel panel = new JPanel(new GridLayout(6, 2, 10, 10)); // Agora 6 linhas para 5 campos + 1 botão
+        JPanel panel = new JPanel(new GridLayout(7, 2, 10, 10)); // 6 campos + 1 botão
         panel.setBorder(BorderFactory.createEmptyBorder(15, 15, 15, 15));
 
         panel.add(new JLabel("Nome:"));
@@ -58,6 +60,10 @@ public class CadastroPetGUI extends JFrame {
         cmbProprietario = new JComboBox<>();
         panel.add(cmbProprietario);
 
+        // Busca do proprietário pelo nome, em vez de percorrer a lista de todos os clientes
+        panel.add(new JLabel("Buscar proprietário:"));
+        panel.add(new CampoBusca<Cliente>(facade::sugerirClientes, cmbProprietario::setSelectedItem));
+
         btnCadastrar = new JButton("Cadastrar Pet");
         // O botão ocupa as duas colunas na última linha
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
@@ -66,21 +72,40 @@ public class CadastroPetGUI extends JFrame {
         panel.add(btnCadastrar); // Adiciona o botão
 
         add(panel, BorderLayout.CENTER);
+
+        indicador = new IndicadorCarregamento();
+        indicador.setBorder(BorderFactory.createEmptyBorder(0, 15, 10, 15));
+        add(indicador, BorderLayout.SOUTH);
+    }
+
+    private void assinarEventos() {
+        OuvintesTela ouvintes = new OuvintesTela(this, facade.getEventos());
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_CADASTRADO, cliente -> {
+            cmbProprietario.addItem(cliente);
+            btnCadastrar.setEnabled(true);
+        });
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_REMOVIDO, cliente -> {
+            cmbProprietario.removeItem(cliente);
+            btnCadastrar.setEnabled(cmbProprietario.getItemCount() > 0);
+        });
     }
 
     /**
      * Carrega a lista de clientes cadastrados no ComboBox de proprietários.
      */
     private void loadProprietarios() {
-        List<Cliente> clientes = facade.getClientesCadastrados();
-        if (clientes.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Não há clientes cadastrados. Por favor, cadastre um cliente primeiro.", "Aviso", JOptionPane.WARNING_MESSAGE);
-            btnCadastrar.setEnabled(false); // Desabilita o botão de cadastro se não houver clientes
-            return;
-        }
-        for (Cliente cliente : clientes) {
-            cmbProprietario.addItem(cliente);
-        }
+        btnCadastrar.setEnabled(false); // Habilitado quando os clientes chegarem
+        indicador.executar("Carregando clientes", facade.getClientesCadastrados(), clientes -> {
+            cmbProprietario.removeAllItems(); // A lista carregada já inclui clientes que chegaram por evento
+            if (clientes.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "Não há clientes cadastrados. Por favor, cadastre um cliente primeiro.", "Aviso", JOptionPane.WARNING_MESSAGE);
+                return; // O botão de cadastro continua desabilitado se não houver clientes
+            }
+            for (Cliente cliente : clientes) {
+                cmbProprietario.addItem(cliente);
+            }
+            btnCadastrar.setEnabled(true);
+        });
     }
 
     private void addListeners() {
@@ -120,15 +145,16 @@ public class CadastroPetGUI extends JFrame {
         // Cria o objeto Pet, AGORA PASSANDO O PROPRIETÁRIO CORRETAMENTE
         Pet novoPet = new Pet(nome, especie, raca, idade, proprietario);
 
-        facade.cadastrarPet(novoPet);
-        JOptionPane.showMessageDialog(this, "Pet cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-
-        // Limpa os campos após o cadastro bem-sucedido
-        txtNome.setText("");
-        txtEspecie.setText("");
-        txtRaca.setText("");
-        txtIdade.setText("");
-        // Não é necessário resetar o cmbProprietario a menos que você queira que ele volte a "nenhum selecionado"
-        // cmbProprietario.setSelectedIndex(0); // Pode ser usado se houver um item "Selecione"
+        indicador.executar("Cadastrando pet", facade.cadastrarPet(novoPet), ok -> {
+            JOptionPane.showMessageDialog(this, "Pet cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+
+            // Limpa os campos após o cadastro bem-sucedido
+            txtNome.setText("");
+            txtEspecie.setText("");
+            txtRaca.setText("");
+            txtIdade.setText("");
+            // Não é necessário resetar o cmbProprietario a menos que você queira que ele volte a "nenhum selecionado"
+            // cmbProprietario.setSelectedIndex(0); // Pode ser usado se houver um item "Selecione"
+        }, btnCadastrar);
     }
 }
\ No newline at end of file
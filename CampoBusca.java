@@ -0,0 +1,157 @@
+package br.com.veterinaria.gui;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+
+/**
+ * Campo de texto com sugestões enquanto o usuário digita (typeahead).
+ *
+ * Depois de uma pausa na digitação o campo pede à facade as entidades cujo
+ * nome começa com o texto (ver os métodos sugerir* da ClinicaFacadeAsync) e
+ * mostra o resultado em uma lista logo abaixo. A escolha é feita com as setas
+ * e Enter ou com um clique; Esc fecha a lista. Respostas que chegam depois de
+ * o texto ter mudado são descartadas.
+ *
+ * Deve ser usado apenas na thread de eventos.
+ * @param <T> O tipo de entidade sugerida.
+ */
+public class CampoBusca<T> extends JTextField {
+    private static final int MAXIMO_SUGESTOES = 10;
+    private static final int ESPERA_DIGITACAO_MS = 150;
+
+    private final BiFunction<String, Integer, CompletableFuture<List<T>>> buscar;
+    private final Consumer<? super T> aoEscolher;
+    private final DefaultListModel<T> sugestoesModel = new DefaultListModel<>();
+    private final JList<T> lstSugestoes = new JList<>(sugestoesModel);
+    private final JPopupMenu popup = new JPopupMenu();
+    private final Timer timer;
+
+    /**
+     * @param buscar Busca as sugestões a partir do prefixo e da quantidade máxima, por exemplo facade::sugerirClientes.
+     * @param aoEscolher Recebe a entidade escolhida pelo usuário.
+     */
+    public CampoBusca(BiFunction<String, Integer, CompletableFuture<List<T>>> buscar, Consumer<? super T> aoEscolher) {
+        this.buscar = buscar;
+        this.aoEscolher = aoEscolher;
+        setToolTipText("Digite o início do nome");
+
+        lstSugestoes.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        lstSugestoes.setFocusable(false); // O foco continua no campo enquanto o usuário digita
+        popup.setFocusable(false);
+        popup.add(new JScrollPane(lstSugestoes));
+
+        timer = new Timer(ESPERA_DIGITACAO_MS, e -> loadSugestoes());
+        timer.setRepeats(false);
+        addListeners();
+    }
+
+    private void addListeners() {
+        getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timer.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (!popup.isVisible()) {
+                    return;
+                }
+                int selecionado = lstSugestoes.getSelectedIndex();
+                switch (e.getKeyCode()) {
+                    case KeyEvent.VK_DOWN:
+                        selecionarSugestao(Math.min(selecionado + 1, sugestoesModel.size() - 1));
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_UP:
+                        selecionarSugestao(Math.max(selecionado - 1, 0));
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_ENTER:
+                        escolher(lstSugestoes.getSelectedValue());
+                        e.consume();
+                        break;
+                    case KeyEvent.VK_ESCAPE:
+                        popup.setVisible(false);
+                        e.consume();
+                        break;
+                    default:
+                        break;
+                }
+            }
+        });
+        lstSugestoes.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int indice = lstSugestoes.locationToIndex(e.getPoint());
+                if (indice != -1) {
+                    escolher(sugestoesModel.get(indice));
+                }
+            }
+        });
+    }
+
+    private void loadSugestoes() {
+        String prefixo = getText().trim();
+        if (prefixo.isEmpty()) {
+            popup.setVisible(false);
+            return;
+        }
+        buscar.apply(prefixo, MAXIMO_SUGESTOES).thenAccept(sugestoes -> SwingUtilities.invokeLater(() -> {
+            if (!prefixo.equals(getText().trim())) {
+                return; // O usuário continuou digitando; outra busca já foi agendada
+            }
+            mostrarSugestoes(sugestoes);
+        }));
+    }
+
+    private void mostrarSugestoes(List<T> sugestoes) {
+        sugestoesModel.clear();
+        for (T sugestao : sugestoes) {
+            sugestoesModel.addElement(sugestao);
+        }
+        if (sugestoes.isEmpty() || !isShowing()) {
+            popup.setVisible(false);
+            return;
+        }
+        lstSugestoes.setVisibleRowCount(Math.min(sugestoes.size(), MAXIMO_SUGESTOES));
+        selecionarSugestao(0);
+        popup.setPopupSize(Math.max(getWidth(), lstSugestoes.getPreferredScrollableViewportSize().width + 10),
+                lstSugestoes.getPreferredScrollableViewportSize().height + 6);
+        popup.show(this, 0, getHeight());
+        requestFocusInWindow();
+    }
+
+    private void selecionarSugestao(int indice) {
+        if (indice >= 0) {
+            lstSugestoes.setSelectedIndex(indice);
+            lstSugestoes.ensureIndexIsVisible(indice);
+        }
+    }
+
+    private void escolher(T entidade) {
+        popup.setVisible(false);
+        if (entidade != null) {
+            aoEscolher.accept(entidade);
+        }
+    }
+}
\ No newline at end of file
@@ -1,8 +1,10 @@
 package br.com.veterinaria.model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Cliente {
-    // Contador estático para gerar IDs únicos para cada novo cliente
-    private static int nextId = 1;
+    // Contador estático para gerar IDs únicos para cada novo cliente (atômico, seguro para uso por várias threads)
+    private static final AtomicInteger nextId = new AtomicInteger(1);
 
     // Atributos do cliente
     private int id; // ID único do cliente
@@ -18,12 +20,21 @@ public class Cliente {
      * @param email O endereço de e-mail do cliente (opcional).
      */
     public Cliente(String nome, String telefone, String email) {
-        this.id = nextId++; // Atribui um ID único e incrementa o contador
+        this.id = nextId.getAndIncrement(); // Atribui um ID único e incrementa o contador
         this.nome = nome;
         this.telefone = telefone;
         this.email = email;
     }
 
+    /**
+     * Garante que os próximos IDs gerados sejam maiores que o ID informado.
+     * Usado ao recarregar dados persistidos, para não repetir IDs já gravados.
+     * @param id O maior ID já existente.
+     */
+    public static void reservarIdsAte(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
     // --- Getters ---
 
     /**
@@ -0,0 +1,19 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Cliente;
+
+import java.util.List;
+
+/**
+ * Contrato de armazenamento da entidade Cliente.
+ */
+public interface ClienteDAO extends Repositorio<Cliente> {
+    /**
+     * Lista os clientes cujo nome começa com o prefixo, em ordem alfabética (busca
+     * enquanto o usuário digita). O nome é comparado sem diferenciar maiúsculas nem acentos.
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de resultados.
+     * @return Uma nova lista com até {@code limite} clientes.
+     */
+    List<Cliente> listarPorPrefixo(String prefixo, int limite);
+}
\ No newline at end of file
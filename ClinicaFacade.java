@@ -1,20 +1,41 @@
 package br.com.veterinaria.facade;
 
-import br.com.veterinaria.dao.InMemoryClienteDAO;
-import br.com.veterinaria.dao.InMemoryConsultaDAO;
-import br.com.veterinaria.dao.InMemoryPetDAO;
-import br.com.veterinaria.dao.InMemoryVeterinarioDAO;
+import br.com.veterinaria.adapter.DataAdapter;
+import br.com.veterinaria.busca.NormalizadorTexto;
+import br.com.veterinaria.dao.ClienteDAO;
+import br.com.veterinaria.dao.ConsultaDAO;
+import br.com.veterinaria.dao.DiagnosticoDAO;
+import br.com.veterinaria.dao.FabricaDAO;
+import br.com.veterinaria.dao.MedicamentoDAO;
+import br.com.veterinaria.dao.MeteredFabricaDAO;
+import br.com.veterinaria.dao.PetDAO;
+import br.com.veterinaria.dao.PrescricaoDAO;
+import br.com.veterinaria.dao.VeterinarioDAO;
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.metricas.Contador;
+import br.com.veterinaria.metricas.EventoFacade;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.metricas.Metricas;
 import br.com.veterinaria.model.Cliente;
 import br.com.veterinaria.model.Consulta;
 import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.model.Dicionario;
 import br.com.veterinaria.model.Medicamento;
 import br.com.veterinaria.model.Pet;
 import br.com.veterinaria.model.Prescricao;
 import br.com.veterinaria.model.Veterinario;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 
 /**
  * A ClinicaFacade atua como uma interface simplificada para o subsistema da clínica veterinária.
@@ -22,151 +43,969 @@ import java.util.List;
  * com os objetos DAO (Data Access Object) e modelos.
  */
 public class ClinicaFacade {
-    // Instâncias dos DAOs (Data Access Objects) em memória.
-    private InMemoryPetDAO petDAO;
-    private InMemoryClienteDAO clienteDAO;
-    private InMemoryVeterinarioDAO veterinarioDAO;
-    private InMemoryConsultaDAO consultaDAO;
+    private static final Registrador LOG = Registrador.para("Facade");
 
-    // NOVO: Adicionar um DAO para Diagnosticos e Prescricoes se quiser persistir
-    // Por enquanto, vamos apenas criar os objetos
-    // private InMemoryDiagnosticoDAO diagnosticoDAO;
-    // private InMemoryPrescricaoDAO prescricaoDAO;
+    // Mecanismo de armazenamento que forneceu os DAOs
+    private FabricaDAO fabrica;
+    // Instâncias dos DAOs (Data Access Objects), fornecidas pelo mecanismo de armazenamento configurado.
+    private PetDAO petDAO;
+    private ClienteDAO clienteDAO;
+    private VeterinarioDAO veterinarioDAO;
+    private ConsultaDAO consultaDAO;
+    // Histórico clínico: diagnósticos e prescrições dos atendimentos realizados
+    private DiagnosticoDAO diagnosticoDAO;
+    private PrescricaoDAO prescricaoDAO;
+    // Catálogo de medicamentos referenciado pelas prescrições
+    private MedicamentoDAO medicamentoDAO;
 
+    // Locks em listras que serializam a verificação de conflito e o agendamento
+    // para um mesmo veterinário ou pet (sem bloquear agendamentos de outros)
+    private static final int LISTRAS_AGENDA = 64; // Potência de 2
+    private final ReentrantLock[] travasAgenda = new ReentrantLock[LISTRAS_AGENDA];
+    // Serializa a verificação "já está no catálogo?" e a inclusão de um medicamento novo
+    private final ReentrantLock travaCatalogo = new ReentrantLock();
 
+    /** Descrição dada a um medicamento incluído no catálogo só pelo nome. */
+    public static final String DESCRICAO_PADRAO_MEDICAMENTO = "Descrição Padrão";
+    /** Dosagem dada a um medicamento incluído no catálogo só pelo nome. */
+    public static final String DOSAGEM_PADRAO_MEDICAMENTO = "1x ao dia";
+
+    // Latência de cada operação (ver Metricas); as chamadas aos DAOs são medidas pelos DAOs decorados (MeteredFabricaDAO).
+    // Cada operação também emite um EventoFacade, gravado quando o Java Flight Recorder está ligado (ver medir)
+    private static final Medidor MEDIDOR_CADASTRAR_PET = Metricas.medidor("facade.cadastrarPet");
+    private static final Medidor MEDIDOR_GET_PETS_CADASTRADOS = Metricas.medidor("facade.getPetsCadastrados");
+    private static final Medidor MEDIDOR_BUSCAR_PET = Metricas.medidor("facade.buscarPet");
+    private static final Medidor MEDIDOR_GET_PETS_DO_CLIENTE = Metricas.medidor("facade.getPetsDoCliente");
+    private static final Medidor MEDIDOR_CLIENTE_POSSUI_PETS = Metricas.medidor("facade.clientePossuiPets");
+    private static final Medidor MEDIDOR_SUGERIR_PETS = Metricas.medidor("facade.sugerirPets");
+    private static final Medidor MEDIDOR_BUSCAR_PETS = Metricas.medidor("facade.buscarPets");
+    private static final Medidor MEDIDOR_REMOVER_PET = Metricas.medidor("facade.removerPet");
+    private static final Medidor MEDIDOR_CADASTRAR_CLIENTE = Metricas.medidor("facade.cadastrarCliente");
+    private static final Medidor MEDIDOR_GET_CLIENTES_CADASTRADOS = Metricas.medidor("facade.getClientesCadastrados");
+    private static final Medidor MEDIDOR_BUSCAR_CLIENTE = Metricas.medidor("facade.buscarCliente");
+    private static final Medidor MEDIDOR_SUGERIR_CLIENTES = Metricas.medidor("facade.sugerirClientes");
+    private static final Medidor MEDIDOR_REMOVER_CLIENTE = Metricas.medidor("facade.removerCliente");
+    private static final Medidor MEDIDOR_CADASTRAR_VETERINARIO = Metricas.medidor("facade.cadastrarVeterinario");
+    private static final Medidor MEDIDOR_GET_VETERINARIOS_CADASTRADOS = Metricas.medidor("facade.getVeterinariosCadastrados");
+    private static final Medidor MEDIDOR_BUSCAR_VETERINARIO = Metricas.medidor("facade.buscarVeterinario");
+    private static final Medidor MEDIDOR_SUGERIR_VETERINARIOS = Metricas.medidor("facade.sugerirVeterinarios");
+    private static final Medidor MEDIDOR_REMOVER_VETERINARIO = Metricas.medidor("facade.removerVeterinario");
+    private static final Medidor MEDIDOR_AGENDAR_CONSULTA = Metricas.medidor("facade.agendarConsulta");
+    private static final Medidor MEDIDOR_VERIFICAR_CONFLITOS = Metricas.medidor("facade.verificarConflitos");
+    private static final Medidor MEDIDOR_GET_HORARIOS_LIVRES = Metricas.medidor("facade.getHorariosLivres");
+    private static final Medidor MEDIDOR_BUSCAR_TODAS_AS_CONSULTAS = Metricas.medidor("facade.buscarTodasAsConsultas");
+    private static final Medidor MEDIDOR_BUSCAR_CONSULTA = Metricas.medidor("facade.buscarConsulta");
+    private static final Medidor MEDIDOR_GET_CONSULTAS_DO_VETERINARIO = Metricas.medidor("facade.getConsultasDoVeterinario");
+    private static final Medidor MEDIDOR_GET_CONSULTAS_DO_PET = Metricas.medidor("facade.getConsultasDoPet");
+    private static final Medidor MEDIDOR_GET_CONSULTAS_DO_DIA = Metricas.medidor("facade.getConsultasDoDia");
+    private static final Medidor MEDIDOR_GET_CONSULTAS_NO_PERIODO = Metricas.medidor("facade.getConsultasNoPeriodo");
+    private static final Medidor MEDIDOR_GET_PROXIMAS_CONSULTAS_DO_VETERINARIO = Metricas.medidor("facade.getProximasConsultasDoVeterinario");
+    private static final Medidor MEDIDOR_GET_CONSULTAS_EM_ANDAMENTO = Metricas.medidor("facade.getConsultasEmAndamento");
+    private static final Medidor MEDIDOR_REMOVER_CONSULTA = Metricas.medidor("facade.removerConsulta");
+    private static final Medidor MEDIDOR_REALIZAR_ATENDIMENTO = Metricas.medidor("facade.realizarAtendimento");
+    private static final Medidor MEDIDOR_GET_HISTORICO_DO_PET = Metricas.medidor("facade.getHistoricoDoPet");
+    private static final Medidor MEDIDOR_BUSCAR_DIAGNOSTICOS = Metricas.medidor("facade.buscarDiagnosticos");
+    private static final Medidor MEDIDOR_BUSCAR_PRESCRICAO = Metricas.medidor("facade.buscarPrescricao");
+    private static final Medidor MEDIDOR_CATALOGAR_MEDICAMENTO = Metricas.medidor("facade.catalogarMedicamento");
+    private static final Medidor MEDIDOR_CATALOGAR_MEDICAMENTOS = Metricas.medidor("facade.catalogarMedicamentos");
+    private static final Medidor MEDIDOR_SUGERIR_MEDICAMENTOS = Metricas.medidor("facade.sugerirMedicamentos");
+    private static final Medidor MEDIDOR_BUSCAR_MEDICAMENTO = Metricas.medidor("facade.buscarMedicamento");
+    private static final Medidor MEDIDOR_CONTAR_MEDICAMENTOS = Metricas.medidor("facade.contarMedicamentos");
+    private static final Contador CONFLITOS_AGENDAMENTO = Metricas.contador("facade.conflitosAgendamento");
+
+    // Avisa as telas sobre cada alteração feita pela facade
+    private final BarramentoEventos eventos = new BarramentoEventos();
+
+    // Horário de funcionamento respeitado pela busca de horários livres
+    private Expediente expediente;
+    // Até quantos dias à frente a busca de horários livres procura
+    private static final int HORIZONTE_BUSCA_DIAS = 366;
+
+    /**
+     * Cria a facade usando o mecanismo de armazenamento definido na configuração
+     * (propriedade de sistema clinica.armazenamento).
+     */
     public ClinicaFacade() {
-        this.petDAO = new InMemoryPetDAO();
-        this.clienteDAO = new InMemoryClienteDAO();
-        this.veterinarioDAO = new InMemoryVeterinarioDAO();
-        this.consultaDAO = new InMemoryConsultaDAO();
-
-        System.out.println("--- Iniciando ClinicaFacade: Carregando dados de exemplo ---");
-
-        Cliente cliente1 = new Cliente("João Silva", "11987654321", "joao.silva@email.com");
-        Cliente cliente2 = new Cliente("Maria Souza", "11991234567", "maria.souza@email.com");
-        clienteDAO.adicionar(cliente1);
-        clienteDAO.adicionar(cliente2);
-        System.out.println("   Clientes de exemplo adicionados.");
-
-        Veterinario vet1 = new Veterinario("Dr. Carlos Almeida", "CRM-SP 12345");
-        Veterinario vet2 = new Veterinario("Dra. Ana Paula Costa", "CRM-SP 67890");
-        veterinarioDAO.adicionar(vet1);
-        veterinarioDAO.adicionar(vet2);
-        System.out.println("   Veterinários de exemplo adicionados.");
-
-        Pet pet1 = new Pet("Fred", "Cachorro", "Poodle", 5, cliente1);
-        Pet pet2 = new Pet("Miau", "Gato", "Siamês", 2, cliente2);
-        Pet pet3 = new Pet("Bob", "Cachorro", "Labrador", 8, cliente1);
-        petDAO.adicionar(pet1);
-        petDAO.adicionar(pet2);
-        petDAO.adicionar(pet3);
-        System.out.println("   Pets de exemplo adicionados.");
-
-        // Consulta de exemplo (para testes iniciais)
-        agendarConsulta(pet1, cliente1, vet1, new Date());
-        // Agendar uma segunda consulta para testar a remoção
-        agendarConsulta(pet2, cliente2, vet2, new Date(System.currentTimeMillis() + 3600 * 1000 * 24)); // Amanhã
-        System.out.println("   Consultas de exemplo agendadas.");
-
-        System.out.println("--- Dados de exemplo carregados com sucesso! ---");
+        this(FabricaDAO.porConfiguracao());
+    }
+
+    /**
+     * Cria a facade usando os DAOs de um mecanismo de armazenamento específico
+     * e os dados iniciais definidos na configuração ({@link DadosIniciais#porConfiguracao()}).
+     * @param fabrica A fábrica que fornece os DAOs.
+     */
+    public ClinicaFacade(FabricaDAO fabrica) {
+        this(fabrica, DadosIniciais.porConfiguracao());
+    }
+
+    /**
+     * Cria a facade usando os DAOs de um mecanismo de armazenamento específico.
+     * @param fabrica A fábrica que fornece os DAOs.
+     * @param dadosIniciais Os dados cadastrados se o armazenamento estiver vazio.
+     */
+    public ClinicaFacade(FabricaDAO fabrica, DadosIniciais dadosIniciais) {
+        this.fabrica = fabrica;
+        // Com as métricas ligadas, cada DAO é decorado para medir as suas operações
+        FabricaDAO daos = Metricas.isAtivas() && Metricas.getAmostragemDAO() > 0 ? new MeteredFabricaDAO(fabrica) : fabrica;
+        this.petDAO = daos.criarPetDAO();
+        this.clienteDAO = daos.criarClienteDAO();
+        this.veterinarioDAO = daos.criarVeterinarioDAO();
+        this.consultaDAO = daos.criarConsultaDAO();
+        this.diagnosticoDAO = daos.criarDiagnosticoDAO();
+        this.prescricaoDAO = daos.criarPrescricaoDAO();
+        this.medicamentoDAO = daos.criarMedicamentoDAO();
+        registrarIndicadores();
+        this.expediente = Expediente.porConfiguracao();
+        for (int i = 0; i < LISTRAS_AGENDA; i++) {
+            travasAgenda[i] = new ReentrantLock();
+        }
+
+        // Com armazenamento persistente os dados da execução anterior já foram carregados
+        if (clienteDAO.contar() == 0 && veterinarioDAO.contar() == 0 && petDAO.contar() == 0) {
+            dadosIniciais.carregar(this);
+        }
+    }
+
+    // Indicadores exibidos com as métricas: registros de cada entidade e tamanho dos índices
+    private void registrarIndicadores() {
+        Metricas.indicador("entidades.clientes", clienteDAO::contar);
+        Metricas.indicador("entidades.pets", petDAO::contar);
+        Metricas.indicador("entidades.veterinarios", veterinarioDAO::contar);
+        Metricas.indicador("entidades.consultas", consultaDAO::contar);
+        Metricas.indicador("entidades.diagnosticos", diagnosticoDAO::contar);
+        Metricas.indicador("entidades.prescricoes", prescricaoDAO::contar);
+        Metricas.indicador("entidades.medicamentos", medicamentoDAO::contar);
+        Metricas.indicador("indices.termosDiagnosticos", diagnosticoDAO::contarTermosIndexados);
+        Metricas.indicador("indices.especies", Dicionario.ESPECIES::tamanho);
+        Metricas.indicador("indices.racas", Dicionario.RACAS::tamanho);
+    }
+
+    // Executa uma operação registrando a sua latência no medidor e gravando o
+    // seu evento (iniciado por quem chama, que pode completá-lo), também quando ela falha.
+    // Só as operações públicas passam por aqui: o que uma delas reaproveita de outra fica em
+    // um auxiliar privado sem medição, para que a chamada não seja contada nas duas
+    private static <T> T medir(Medidor medidor, EventoFacade evento, Supplier<T> operacao) {
+        long inicioMedicao = medidor.iniciar();
+        try {
+            return operacao.get();
+        } finally {
+            medidor.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    private static void medir(Medidor medidor, EventoFacade evento, Runnable operacao) {
+        long inicioMedicao = medidor.iniciar();
+        try {
+            operacao.run();
+        } finally {
+            medidor.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    /**
+     * Libera os recursos do armazenamento (por exemplo, fecha o log de persistência).
+     * Deve ser chamado ao encerrar a aplicação.
+     */
+    public void fechar() {
+        fabrica.fechar();
+    }
+
+    /**
+     * Retorna o barramento em que a facade publica os eventos de alteração
+     * (ver {@link TipoEvento}). Os eventos são publicados na thread que fez a
+     * alteração, depois de ela ter sido gravada no DAO.
+     * @return O barramento de eventos.
+     */
+    public BarramentoEventos getEventos() {
+        return eventos;
     }
 
     // --- Métodos para Gerenciar Pets ---
     public void cadastrarPet(Pet pet) {
-        petDAO.adicionar(pet);
-        System.out.println("[Facade] Pet '" + pet.getNome() + "' cadastrado.");
+        EventoFacade evento = EventoFacade.iniciar("cadastrarPet").pet(pet);
+        medir(MEDIDOR_CADASTRAR_PET, evento, () -> {
+            petDAO.adicionar(pet);
+            LOG.info("Pet '{}' cadastrado.", pet.getNome());
+            eventos.publicar(TipoEvento.PET_CADASTRADO, pet);
+        });
     }
 
     public List<Pet> getPetsCadastrados() {
-        return petDAO.listarTodos();
+        EventoFacade evento = EventoFacade.iniciar("getPetsCadastrados");
+        return medir(MEDIDOR_GET_PETS_CADASTRADOS, evento, () -> evento.resultados(petDAO.listarTodos()));
+    }
+
+    /**
+     * Busca um pet pelo ID.
+     * @param id O ID.
+     * @return O pet, ou null se não existir.
+     */
+    public Pet buscarPet(int id) {
+        EventoFacade evento = EventoFacade.iniciar("buscarPet");
+        return medir(MEDIDOR_BUSCAR_PET, evento, () -> {
+            Pet encontrado = petDAO.buscarPorId(id);
+            evento.pet(encontrado);
+            return encontrado;
+        });
+    }
+
+    /**
+     * Retorna os pets de um cliente usando o índice por proprietário do DAO.
+     * @param cliente O cliente proprietário.
+     * @return A lista de pets do cliente.
+     */
+    public List<Pet> getPetsDoCliente(Cliente cliente) {
+        EventoFacade evento = EventoFacade.iniciar("getPetsDoCliente").cliente(cliente);
+        return medir(MEDIDOR_GET_PETS_DO_CLIENTE, evento, () -> evento.resultados(petDAO.listarPorProprietario(cliente.getId())));
+    }
+
+    /**
+     * Verifica se um cliente possui algum pet cadastrado, sem listar os pets.
+     * @param cliente O cliente proprietário.
+     * @return true se o cliente tiver pelo menos um pet.
+     */
+    public boolean clientePossuiPets(Cliente cliente) {
+        EventoFacade evento = EventoFacade.iniciar("clientePossuiPets").cliente(cliente);
+        return medir(MEDIDOR_CLIENTE_POSSUI_PETS, evento, () -> possuiPets(cliente));
+    }
+
+    // Usado por clientePossuiPets e removerCliente
+    private boolean possuiPets(Cliente cliente) {
+        return petDAO.contarPorProprietario(cliente.getId()) > 0;
+    }
+
+    /**
+     * Sugere pets cujo nome começa com o texto digitado (sem diferenciar maiúsculas nem acentos).
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de sugestões.
+     * @return Os pets encontrados, em ordem alfabética.
+     */
+    public List<Pet> sugerirPets(String prefixo, int limite) {
+        EventoFacade evento = EventoFacade.iniciar("sugerirPets");
+        return medir(MEDIDOR_SUGERIR_PETS, evento, () -> evento.resultados(petDAO.listarPorPrefixo(prefixo, limite)));
+    }
+
+    /**
+     * Lista os pets de uma espécie e/ou raça. Os textos são comparados sem
+     * diferenciar maiúsculas nem acentos, mas uma única vez por valor distinto
+     * da tabela de códigos ({@link Dicionario}); o DAO filtra cada pet só pelos
+     * códigos e copia apenas os encontrados.
+     * @param especie A espécie; vazia ou null para qualquer uma.
+     * @param raca A raça; vazia ou null para qualquer uma.
+     * @return Os pets encontrados.
+     */
+    public List<Pet> buscarPets(String especie, String raca) {
+        EventoFacade evento = EventoFacade.iniciar("buscarPets");
+        return medir(MEDIDOR_BUSCAR_PETS, evento, () -> {
+            BitSet especies = codigosEquivalentes(Dicionario.ESPECIES, especie);
+            BitSet racas = codigosEquivalentes(Dicionario.RACAS, raca);
+            if (especies == null && racas == null) {
+                return evento.resultados(petDAO.listarTodos());
+            }
+            return evento.resultados(petDAO.listarPorEspecieERaca(especies, racas));
+        });
+    }
+
+    /**
+     * Lista um trecho dos pets de uma espécie e/ou raça, como em
+     * {@link #buscarPets(String, String)}; o DAO copia só os pets do trecho.
+     * @param especie A espécie; vazia ou null para qualquer uma.
+     * @param raca A raça; vazia ou null para qualquer uma.
+     * @param deslocamento Quantos pets encontrados pular desde o início.
+     * @param limite A quantidade máxima de pets.
+     * @return Os pets do trecho e o total encontrado.
+     */
+    public Pagina<Pet> buscarPets(String especie, String raca, int deslocamento, int limite) {
+        EventoFacade evento = EventoFacade.iniciar("buscarPets");
+        return medir(MEDIDOR_BUSCAR_PETS, evento, () -> {
+            BitSet especies = codigosEquivalentes(Dicionario.ESPECIES, especie);
+            BitSet racas = codigosEquivalentes(Dicionario.RACAS, raca);
+            if (especies == null && racas == null) {
+                return new Pagina<>(evento.resultados(petDAO.listar(deslocamento, limite)), petDAO.contar());
+            }
+            return new Pagina<>(evento.resultados(petDAO.listarPorEspecieERaca(especies, racas, deslocamento, limite)),
+                    petDAO.contarPorEspecieERaca(especies, racas));
+        });
+    }
+
+    // Códigos da tabela cujo texto é equivalente ao informado, ou null se o filtro estiver vazio
+    private static BitSet codigosEquivalentes(Dicionario dicionario, String texto) {
+        String buscado = NormalizadorTexto.normalizar(texto);
+        if (buscado.isEmpty()) {
+            return null;
+        }
+        return dicionario.codigosQue(valor -> buscado.equals(NormalizadorTexto.normalizar(valor)));
+    }
+
+    // Verdadeiro se a espécie e a raça do pet estão nos conjuntos de códigos (null aceita qualquer uma)
+    private static boolean atende(Pet pet, BitSet especies, BitSet racas) {
+        return pet != null
+                && (especies == null || especies.get(pet.getCodigoEspecie()))
+                && (racas == null || racas.get(pet.getCodigoRaca()));
     }
 
     public void removerPet(Pet pet) {
-        petDAO.remover(pet);
-        System.out.println("[Facade] Pet '" + pet.getNome() + "' removido.");
+        EventoFacade evento = EventoFacade.iniciar("removerPet").pet(pet);
+        medir(MEDIDOR_REMOVER_PET, evento, () -> {
+            petDAO.remover(pet);
+            LOG.info("Pet '{}' removido.", pet.getNome());
+            eventos.publicar(TipoEvento.PET_REMOVIDO, pet);
+        });
     }
 
     // --- Métodos para Gerenciar Clientes (Proprietários) ---
     public void cadastrarCliente(Cliente cliente) {
-        clienteDAO.adicionar(cliente);
-        System.out.println("[Facade] Cliente '" + cliente.getNome() + "' cadastrado.");
+        EventoFacade evento = EventoFacade.iniciar("cadastrarCliente").cliente(cliente);
+        medir(MEDIDOR_CADASTRAR_CLIENTE, evento, () -> {
+            clienteDAO.adicionar(cliente);
+            LOG.info("Cliente '{}' cadastrado.", cliente.getNome());
+            eventos.publicar(TipoEvento.CLIENTE_CADASTRADO, cliente);
+        });
     }
 
     public List<Cliente> getClientesCadastrados() {
-        return clienteDAO.listarTodos();
+        EventoFacade evento = EventoFacade.iniciar("getClientesCadastrados");
+        return medir(MEDIDOR_GET_CLIENTES_CADASTRADOS, evento, () -> evento.resultados(clienteDAO.listarTodos()));
+    }
+
+    /**
+     * Lista um trecho dos clientes cadastrados, na ordem de cadastro, sem copiar os demais.
+     * @param deslocamento Quantos clientes pular desde o início.
+     * @param limite A quantidade máxima de clientes.
+     * @return Os clientes do trecho e o total cadastrado.
+     */
+    public Pagina<Cliente> getClientesCadastrados(int deslocamento, int limite) {
+        EventoFacade evento = EventoFacade.iniciar("getClientesCadastrados");
+        return medir(MEDIDOR_GET_CLIENTES_CADASTRADOS, evento,
+                () -> new Pagina<>(evento.resultados(clienteDAO.listar(deslocamento, limite)), clienteDAO.contar()));
+    }
+
+    /**
+     * Busca um cliente pelo ID.
+     * @param id O ID.
+     * @return O cliente, ou null se não existir.
+     */
+    public Cliente buscarCliente(int id) {
+        EventoFacade evento = EventoFacade.iniciar("buscarCliente");
+        return medir(MEDIDOR_BUSCAR_CLIENTE, evento, () -> {
+            Cliente encontrado = clienteDAO.buscarPorId(id);
+            evento.cliente(encontrado);
+            return encontrado;
+        });
+    }
+
+    /**
+     * Sugere clientes cujo nome começa com o texto digitado (sem diferenciar maiúsculas nem acentos).
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de sugestões.
+     * @return Os clientes encontrados, em ordem alfabética.
+     */
+    public List<Cliente> sugerirClientes(String prefixo, int limite) {
+        EventoFacade evento = EventoFacade.iniciar("sugerirClientes");
+        return medir(MEDIDOR_SUGERIR_CLIENTES, evento, () -> evento.resultados(clienteDAO.listarPorPrefixo(prefixo, limite)));
     }
 
     public void removerCliente(Cliente cliente) {
-        for (Pet pet : petDAO.listarTodos()) {
-            if (pet.getProprietario() != null && pet.getProprietario().getId() == cliente.getId()) {
-                System.out.println("[Facade] Não foi possível remover o cliente '" + cliente.getNome() + "': possui pets cadastrados.");
+        EventoFacade evento = EventoFacade.iniciar("removerCliente").cliente(cliente);
+        medir(MEDIDOR_REMOVER_CLIENTE, evento, () -> {
+            if (possuiPets(cliente)) {
+                LOG.aviso("Não foi possível remover o cliente '{}': possui pets cadastrados.", cliente.getNome());
                 return;
             }
-        }
-        clienteDAO.remover(cliente);
-        System.out.println("[Facade] Cliente '" + cliente.getNome() + "' removido.");
+            clienteDAO.remover(cliente);
+            LOG.info("Cliente '{}' removido.", cliente.getNome());
+            eventos.publicar(TipoEvento.CLIENTE_REMOVIDO, cliente);
+        });
     }
 
     // --- Métodos para Gerenciar Veterinários ---
     public void cadastrarVeterinario(Veterinario veterinario) {
-        veterinarioDAO.adicionar(veterinario);
-        System.out.println("[Facade] Veterinário '" + veterinario.getNome() + "' cadastrado.");
+        EventoFacade evento = EventoFacade.iniciar("cadastrarVeterinario").veterinario(veterinario);
+        medir(MEDIDOR_CADASTRAR_VETERINARIO, evento, () -> {
+            veterinarioDAO.adicionar(veterinario);
+            LOG.info("Veterinário '{}' cadastrado.", veterinario.getNome());
+            eventos.publicar(TipoEvento.VETERINARIO_CADASTRADO, veterinario);
+        });
     }
 
     public List<Veterinario> getVeterinariosCadastrados() {
-        return veterinarioDAO.listarTodos();
+        EventoFacade evento = EventoFacade.iniciar("getVeterinariosCadastrados");
+        return medir(MEDIDOR_GET_VETERINARIOS_CADASTRADOS, evento, () -> evento.resultados(veterinarioDAO.listarTodos()));
+    }
+
+    /**
+     * Lista um trecho dos veterinários cadastrados, na ordem de cadastro, sem copiar os demais.
+     * @param deslocamento Quantos veterinários pular desde o início.
+     * @param limite A quantidade máxima de veterinários.
+     * @return Os veterinários do trecho e o total cadastrado.
+     */
+    public Pagina<Veterinario> getVeterinariosCadastrados(int deslocamento, int limite) {
+        EventoFacade evento = EventoFacade.iniciar("getVeterinariosCadastrados");
+        return medir(MEDIDOR_GET_VETERINARIOS_CADASTRADOS, evento,
+                () -> new Pagina<>(evento.resultados(veterinarioDAO.listar(deslocamento, limite)), veterinarioDAO.contar()));
+    }
+
+    /**
+     * Busca um veterinário pelo ID.
+     * @param id O ID.
+     * @return O veterinário, ou null se não existir.
+     */
+    public Veterinario buscarVeterinario(int id) {
+        EventoFacade evento = EventoFacade.iniciar("buscarVeterinario");
+        return medir(MEDIDOR_BUSCAR_VETERINARIO, evento, () -> {
+            Veterinario encontrado = veterinarioDAO.buscarPorId(id);
+            evento.veterinario(encontrado);
+            return encontrado;
+        });
+    }
+
+    /**
+     * Sugere veterinários cujo nome começa com o texto digitado (sem diferenciar maiúsculas nem acentos).
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de sugestões.
+     * @return Os veterinários encontrados, em ordem alfabética.
+     */
+    public List<Veterinario> sugerirVeterinarios(String prefixo, int limite) {
+        EventoFacade evento = EventoFacade.iniciar("sugerirVeterinarios");
+        return medir(MEDIDOR_SUGERIR_VETERINARIOS, evento,
+                () -> evento.resultados(veterinarioDAO.listarPorPrefixo(prefixo, limite)));
     }
 
     public void removerVeterinario(Veterinario veterinario) {
-        veterinarioDAO.remover(veterinario);
-        System.out.println("[Facade] Veterinário '" + veterinario.getNome() + "' removido.");
+        EventoFacade evento = EventoFacade.iniciar("removerVeterinario").veterinario(veterinario);
+        medir(MEDIDOR_REMOVER_VETERINARIO, evento, () -> {
+            veterinarioDAO.remover(veterinario);
+            LOG.info("Veterinário '{}' removido.", veterinario.getNome());
+            eventos.publicar(TipoEvento.VETERINARIO_REMOVIDO, veterinario);
+        });
     }
 
     // --- Métodos para Gerenciar Consultas ---
     public void agendarConsulta(Pet pet, Cliente cliente, Veterinario veterinario, Date data) {
-        Consulta novaConsulta = new Consulta(pet, cliente, veterinario, data);
-        consultaDAO.adicionar(novaConsulta);
-        System.out.println("[Facade] Consulta agendada para '" + pet.getNome() + "' em " + data);
+        agendarConsulta(pet, cliente, veterinario, data, Consulta.DURACAO_PADRAO_MINUTOS);
+    }
+
+    /**
+     * Agenda uma consulta com duração definida, recusando horários em que o
+     * veterinário ou o pet já tenham outra consulta.
+     * @param pet O pet atendido.
+     * @param cliente O proprietário.
+     * @param veterinario O veterinário responsável.
+     * @param data O início da consulta.
+     * @param duracaoMinutos A duração, entre 1 e {@link Consulta#DURACAO_MAXIMA_MINUTOS} minutos.
+     * @return A consulta agendada.
+     * @throws ConflitoAgendamentoException Se o horário se sobrepõe a outra consulta do veterinário ou do pet.
+     * @throws IllegalArgumentException Se a duração estiver fora dos limites.
+     */
+    public Consulta agendarConsulta(Pet pet, Cliente cliente, Veterinario veterinario, Date data, int duracaoMinutos) {
+        EventoFacade evento = EventoFacade.iniciar("agendarConsulta").pet(pet).cliente(cliente).veterinario(veterinario);
+        return medir(MEDIDOR_AGENDAR_CONSULTA, evento, () -> {
+            validarDuracao(duracaoMinutos);
+            int listraVeterinario = listraAgenda(veterinario.getId());
+            int listraPet = listraAgenda(-pet.getId()); // Sinal negativo: pets e veterinários não compartilham chaves
+            // Adquire sempre na ordem das listras para não haver deadlock entre dois agendamentos
+            ReentrantLock primeira = travasAgenda[Math.min(listraVeterinario, listraPet)];
+            ReentrantLock segunda = travasAgenda[Math.max(listraVeterinario, listraPet)];
+            Consulta novaConsulta;
+            primeira.lock();
+            segunda.lock();
+            try {
+                List<Consulta> conflitos = conflitos(pet, veterinario, data.getTime(), duracaoMinutos);
+                if (!conflitos.isEmpty()) {
+                    CONFLITOS_AGENDAMENTO.incrementar();
+                    throw new ConflitoAgendamentoException(conflitos);
+                }
+                novaConsulta = new Consulta(pet, cliente, veterinario, data, duracaoMinutos);
+                consultaDAO.adicionar(novaConsulta);
+                evento.consulta(novaConsulta);
+                // O Date recebido é de quem chamou e pode mudar antes de a linha ser montada na thread de log
+                LOG.info("Consulta agendada para '{}' em {}", pet.getNome(), DataAdapter.formatarDataHora(novaConsulta.getDataMillis()));
+            } finally {
+                segunda.unlock();
+                primeira.unlock();
+            }
+            eventos.publicar(TipoEvento.CONSULTA_AGENDADA, novaConsulta); // Fora dos locks: ouvintes não atrasam outros agendamentos
+            return novaConsulta;
+        });
+    }
+
+    /**
+     * Lista as consultas que impediriam um agendamento: as do mesmo veterinário
+     * ou do mesmo pet que se sobrepõem ao horário pedido.
+     * @param pet O pet.
+     * @param veterinario O veterinário.
+     * @param data O início pretendido.
+     * @param duracaoMinutos A duração pretendida, em minutos.
+     * @return As consultas em conflito (vazia se o horário estiver livre).
+     */
+    public List<Consulta> verificarConflitos(Pet pet, Veterinario veterinario, Date data, int duracaoMinutos) {
+        EventoFacade evento = EventoFacade.iniciar("verificarConflitos").pet(pet).veterinario(veterinario);
+        return medir(MEDIDOR_VERIFICAR_CONFLITOS, evento,
+                () -> evento.resultados(conflitos(pet, veterinario, data.getTime(), duracaoMinutos)));
+    }
+
+    // Consultas do veterinário ou do pet que se sobrepõem ao intervalo (verificarConflitos e agendarConsulta)
+    private List<Consulta> conflitos(Pet pet, Veterinario veterinario, long inicio, int duracaoMinutos) {
+        return consultaDAO.listarConflitos(veterinario.getId(), pet.getId(), inicio,
+                inicio + TimeUnit.MINUTES.toMillis(duracaoMinutos));
+    }
+
+    /**
+     * Busca os primeiros horários livres de um veterinário a partir de um
+     * instante, dentro do expediente da clínica. Os horários devolvidos não se
+     * sobrepõem entre si, então cada um pode ser agendado independentemente.
+     * @param veterinario O veterinário.
+     * @param aPartirDe O instante a partir do qual procurar.
+     * @param quantidade A quantidade máxima de horários.
+     * @param duracaoMinutos A duração da consulta pretendida, em minutos.
+     * @return Os horários encontrados, em ordem cronológica (podem ser menos que a quantidade pedida).
+     * @throws IllegalArgumentException Se a duração estiver fora dos limites.
+     */
+    public List<HorarioLivre> getHorariosLivres(Veterinario veterinario, Date aPartirDe, int quantidade, int duracaoMinutos) {
+        EventoFacade evento = EventoFacade.iniciar("getHorariosLivres").veterinario(veterinario);
+        return medir(MEDIDOR_GET_HORARIOS_LIVRES, evento, () -> {
+            validarDuracao(duracaoMinutos);
+            List<HorarioLivre> horarios = new ArrayList<>();
+            buscarHorariosLivres(veterinario, aPartirDe.getTime(), quantidade, duracaoMinutos, horarios);
+            return evento.resultados(horarios);
+        });
+    }
+
+    /**
+     * Busca os primeiros horários livres de qualquer veterinário a partir de um
+     * instante, dentro do expediente da clínica.
+     * @param aPartirDe O instante a partir do qual procurar.
+     * @param quantidade A quantidade máxima de horários.
+     * @param duracaoMinutos A duração da consulta pretendida, em minutos.
+     * @return Os horários encontrados, em ordem cronológica (empates na ordem dos veterinários).
+     * @throws IllegalArgumentException Se a duração estiver fora dos limites.
+     */
+    public List<HorarioLivre> getHorariosLivres(Date aPartirDe, int quantidade, int duracaoMinutos) {
+        EventoFacade evento = EventoFacade.iniciar("getHorariosLivres");
+        return medir(MEDIDOR_GET_HORARIOS_LIVRES, evento, () -> {
+            validarDuracao(duracaoMinutos);
+            // Os N primeiros horários gerais estão entre os N primeiros de cada veterinário
+            List<HorarioLivre> horarios = new ArrayList<>();
+            for (Veterinario veterinario : veterinarioDAO.listarTodos()) {
+                buscarHorariosLivres(veterinario, aPartirDe.getTime(), quantidade, duracaoMinutos, horarios);
+            }
+            horarios.sort(Comparator.comparingLong(HorarioLivre::getInicioMillis)); // Estável: mantém a ordem dos veterinários
+            return evento.resultados(horarios.size() > quantidade ? new ArrayList<>(horarios.subList(0, quantidade)) : horarios);
+        });
+    }
+
+    public Expediente getExpediente() {
+        return expediente;
+    }
+
+    public void setExpediente(Expediente expediente) {
+        this.expediente = expediente;
+    }
+
+    /**
+     * Percorre os dias de expediente testando os horários da grade (abertura +
+     * múltiplos do intervalo). Quando um horário está ocupado, o mapa de
+     * ocupação do DAO indica até onde é seguro pular, então semanas lotadas
+     * custam poucas verificações.
+     */
+    private void buscarHorariosLivres(Veterinario veterinario, long aPartirDe, int quantidade, int duracaoMinutos,
+                                      List<HorarioLivre> destino) {
+        ZoneId fuso = ZoneId.systemDefault();
+        Expediente exp = this.expediente;
+        long duracao = TimeUnit.MINUTES.toMillis(duracaoMinutos);
+        long passo = TimeUnit.MINUTES.toMillis(exp.getIntervaloMinutos());
+        int encontrados = 0;
+        LocalDate dia = Instant.ofEpochMilli(aPartirDe).atZone(fuso).toLocalDate();
+        for (int d = 0; d < HORIZONTE_BUSCA_DIAS && encontrados < quantidade; d++, dia = dia.plusDays(1)) {
+            if (!exp.atende(dia.getDayOfWeek())) {
+                continue;
+            }
+            long abertura = dia.atTime(exp.getAbertura()).atZone(fuso).toInstant().toEpochMilli();
+            long fechamento = dia.atTime(exp.getFechamento()).atZone(fuso).toInstant().toEpochMilli();
+            long candidato = Math.max(aPartirDe, abertura);
+            while (true) {
+                long possivel = consultaDAO.proximoInicioPossivel(veterinario.getId(), candidato, duracao, fechamento);
+                if (possivel < 0) {
+                    break; // Ocupado até o fechamento
+                }
+                candidato = alinharNaGrade(possivel, abertura, passo);
+                if (candidato + duracao > fechamento) {
+                    break;
+                }
+                if (consultaDAO.veterinarioLivre(veterinario.getId(), candidato, candidato + duracao)) {
+                    destino.add(new HorarioLivre(veterinario, candidato, duracaoMinutos));
+                    if (++encontrados == quantidade) {
+                        return;
+                    }
+                    candidato += duracao; // Os horários sugeridos não se sobrepõem
+                } else {
+                    candidato += passo;
+                }
+            }
+        }
+    }
+
+    // Primeiro horário da grade (abertura + k * passo) que não é anterior ao instante
+    private static long alinharNaGrade(long instante, long abertura, long passo) {
+        if (instante <= abertura) {
+            return abertura;
+        }
+        return abertura + (instante - abertura + passo - 1) / passo * passo;
+    }
+
+    private static void validarDuracao(int duracaoMinutos) {
+        if (duracaoMinutos <= 0 || duracaoMinutos > Consulta.DURACAO_MAXIMA_MINUTOS) {
+            throw new IllegalArgumentException("Duração inválida: " + duracaoMinutos + " minutos (máximo "
+                    + Consulta.DURACAO_MAXIMA_MINUTOS + ").");
+        }
+    }
+
+    private static int listraAgenda(int chave) {
+        int h = chave * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (LISTRAS_AGENDA - 1);
     }
 
     public List<Consulta> buscarTodasAsConsultas() {
-        return consultaDAO.listarTodos();
+        EventoFacade evento = EventoFacade.iniciar("buscarTodasAsConsultas");
+        return medir(MEDIDOR_BUSCAR_TODAS_AS_CONSULTAS, evento, () -> evento.resultados(consultaDAO.listarTodos()));
+    }
+
+    /**
+     * Lista um trecho das consultas, na ordem de agendamento, sem copiar as demais.
+     * @param deslocamento Quantas consultas pular desde o início.
+     * @param limite A quantidade máxima de consultas.
+     * @return As consultas do trecho e o total agendado.
+     */
+    public Pagina<Consulta> buscarTodasAsConsultas(int deslocamento, int limite) {
+        EventoFacade evento = EventoFacade.iniciar("buscarTodasAsConsultas");
+        return medir(MEDIDOR_BUSCAR_TODAS_AS_CONSULTAS, evento,
+                () -> new Pagina<>(evento.resultados(consultaDAO.listar(deslocamento, limite)), consultaDAO.contar()));
+    }
+
+    /**
+     * Busca uma consulta pelo ID.
+     * @param id O ID.
+     * @return A consulta, ou null se não existir.
+     */
+    public Consulta buscarConsulta(int id) {
+        EventoFacade evento = EventoFacade.iniciar("buscarConsulta");
+        return medir(MEDIDOR_BUSCAR_CONSULTA, evento, () -> {
+            Consulta encontrado = consultaDAO.buscarPorId(id);
+            evento.consulta(encontrado);
+            return encontrado;
+        });
+    }
+
+    /**
+     * Retorna todas as consultas de um veterinário.
+     * @param veterinario O veterinário.
+     * @return A lista de consultas do veterinário.
+     */
+    public List<Consulta> getConsultasDoVeterinario(Veterinario veterinario) {
+        EventoFacade evento = EventoFacade.iniciar("getConsultasDoVeterinario").veterinario(veterinario);
+        return medir(MEDIDOR_GET_CONSULTAS_DO_VETERINARIO, evento,
+                () -> evento.resultados(consultaDAO.listarPorVeterinario(veterinario.getId())));
+    }
+
+    /**
+     * Retorna as consultas de um veterinário em um dia do calendário.
+     * @param veterinario O veterinário.
+     * @param dia Qualquer instante do dia desejado.
+     * @return A lista de consultas do veterinário naquele dia.
+     */
+    public List<Consulta> getConsultasDoVeterinario(Veterinario veterinario, Date dia) {
+        EventoFacade evento = EventoFacade.iniciar("getConsultasDoVeterinario").veterinario(veterinario);
+        return medir(MEDIDOR_GET_CONSULTAS_DO_VETERINARIO, evento,
+                () -> evento.resultados(consultaDAO.listarPorVeterinarioEDia(veterinario.getId(), paraDia(dia))));
+    }
+
+    /**
+     * Retorna todas as consultas de um pet.
+     * @param pet O pet.
+     * @return A lista de consultas do pet.
+     */
+    public List<Consulta> getConsultasDoPet(Pet pet) {
+        EventoFacade evento = EventoFacade.iniciar("getConsultasDoPet").pet(pet);
+        return medir(MEDIDOR_GET_CONSULTAS_DO_PET, evento, () -> evento.resultados(consultaDAO.listarPorPet(pet.getId())));
+    }
+
+    /**
+     * Retorna todas as consultas marcadas para um dia do calendário.
+     * @param dia Qualquer instante do dia desejado.
+     * @return A lista de consultas do dia.
+     */
+    public List<Consulta> getConsultasDoDia(Date dia) {
+        EventoFacade evento = EventoFacade.iniciar("getConsultasDoDia");
+        return medir(MEDIDOR_GET_CONSULTAS_DO_DIA, evento, () -> evento.resultados(consultaDAO.listarPorDia(paraDia(dia))));
+    }
+
+    /**
+     * Retorna as consultas que começam no período [inicio, fim), em ordem cronológica.
+     * @param inicio O início do período (inclusivo).
+     * @param fim O fim do período (exclusivo).
+     * @return A lista de consultas do período.
+     */
+    public List<Consulta> getConsultasNoPeriodo(Date inicio, Date fim) {
+        EventoFacade evento = EventoFacade.iniciar("getConsultasNoPeriodo");
+        return medir(MEDIDOR_GET_CONSULTAS_NO_PERIODO, evento,
+                () -> evento.resultados(consultaDAO.listarPorPeriodo(inicio.getTime(), fim.getTime())));
+    }
+
+    /**
+     * Retorna as próximas consultas de um veterinário a partir de agora.
+     * @param veterinario O veterinário.
+     * @param quantidade A quantidade máxima de consultas.
+     * @return As próximas consultas do veterinário, em ordem cronológica.
+     */
+    public List<Consulta> getProximasConsultasDoVeterinario(Veterinario veterinario, int quantidade) {
+        EventoFacade evento = EventoFacade.iniciar("getProximasConsultasDoVeterinario").veterinario(veterinario);
+        return medir(MEDIDOR_GET_PROXIMAS_CONSULTAS_DO_VETERINARIO, evento,
+                () -> evento.resultados(consultaDAO.listarProximasDoVeterinario(veterinario.getId(), System.currentTimeMillis(), quantidade)));
+    }
+
+    /**
+     * Retorna as consultas que estão acontecendo agora.
+     * @return As consultas em andamento, em ordem cronológica.
+     */
+    public List<Consulta> getConsultasEmAndamento() {
+        EventoFacade evento = EventoFacade.iniciar("getConsultasEmAndamento");
+        return medir(MEDIDOR_GET_CONSULTAS_EM_ANDAMENTO, evento,
+                () -> evento.resultados(consultaDAO.listarEmAndamento(System.currentTimeMillis())));
+    }
+
+    private static LocalDate paraDia(Date data) {
+        return data.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    /**
+     * Remove uma consulta da agenda.
+     * @param consulta A consulta.
+     * @return true se a consulta foi removida; false se já não estava na agenda
+     *         (removida ou atendida antes, por exemplo por outra thread).
+     */
+    public boolean removerConsulta(Consulta consulta) {
+        EventoFacade evento = EventoFacade.iniciar("removerConsulta").consulta(consulta);
+        return medir(MEDIDOR_REMOVER_CONSULTA, evento, () -> desagendar(consulta));
     }
 
-    public void removerConsulta(Consulta consulta) {
-        consultaDAO.remover(consulta);
-        System.out.println("[Facade] Consulta para Pet '" + consulta.getPet().getNome() + "' em " + consulta.getData() + " removida.");
+    // Tira a consulta da agenda e avisa as telas; false se outra chamada já a tirou
+    private boolean desagendar(Consulta consulta) {
+        if (!consultaDAO.remover(consulta)) {
+            return false;
+        }
+        LOG.info("Consulta para Pet '{}' em {} removida.", consulta.getPet().getNome(),
+                DataAdapter.formatarDataHora(consulta.getDataMillis()));
+        eventos.publicar(TipoEvento.CONSULTA_REMOVIDA, consulta);
+        return true;
     }
 
     // --- Métodos para Realizar Atendimento e Gerar Prescrições ---
 
     /**
      * Realiza um atendimento para uma consulta, registrando o diagnóstico e gerando uma prescrição.
-     * Após a realização, a consulta é removida da lista de agendadas.
+     * A consulta é removida da lista de agendadas e, só se esta chamada a
+     * removeu, o diagnóstico e a prescrição são guardados no histórico clínico
+     * do pet: dois atendimentos simultâneos da mesma consulta não duplicam o histórico.
      * @param consulta A consulta que está sendo atendida.
      * @param diagnosticoDescricao A descrição do diagnóstico.
-     * @param medicamentos Uma lista de objetos Medicamento a serem incluídos na prescrição.
+     * @param medicamentos Uma lista de objetos Medicamento a serem incluídos na prescrição; os que
+     *        ainda não estão no catálogo são incluídos nele só se o atendimento for realizado.
      * @return O objeto Prescricao gerado para este atendimento.
+     * @throws IllegalStateException Se a consulta não estiver mais na agenda (já atendida ou removida).
      */
     public Prescricao realizarAtendimento(Consulta consulta, String diagnosticoDescricao, List<Medicamento> medicamentos) {
-        System.out.println("\n[Facade] --- Atendimento Iniciado ---");
-        System.out.println("[Facade] Atendendo consulta para Pet: " + consulta.getPet().getNome());
+        EventoFacade evento = EventoFacade.iniciar("realizarAtendimento").consulta(consulta);
+        return medir(MEDIDOR_REALIZAR_ATENDIMENTO, evento, () -> {
+            // A remoção decide qual atendimento vale: o histórico guarda os dados da consulta
+            if (!desagendar(consulta)) {
+                throw new IllegalStateException("A consulta " + consulta.getId() + " não está mais na agenda (já atendida ou removida).");
+            }
+            Diagnostico diagnostico = new Diagnostico(consulta, diagnosticoDescricao);
+            Prescricao prescricao = new Prescricao(consulta, doCatalogo(medicamentos));
+            prescricao.setDiagnostico(diagnostico); // Garantir que o diagnóstico esteja associado à prescrição
+
+            // O diagnóstico é gravado antes da prescrição que o referencia
+            diagnosticoDAO.adicionar(diagnostico);
+            prescricaoDAO.adicionar(prescricao);
+
+            LOG.info("Atendimento de '{}' realizado. Diagnóstico: {}. Prescrição com {} medicamentos.",
+                    consulta.getPet().getNome(), diagnostico.getDescricao(), prescricao.getMedicamentos().size());
+            eventos.publicar(TipoEvento.ATENDIMENTO_REALIZADO, prescricao);
+
+            return prescricao;
+        });
+    }
+
+    /**
+     * Retorna o histórico clínico de um pet: as prescrições (com os seus
+     * diagnósticos) de todos os atendimentos realizados, em ordem cronológica.
+     * Usa o índice por pet, então o custo depende só dos atendimentos do pet.
+     * @param pet O pet.
+     * @return As prescrições do pet, da consulta mais antiga para a mais recente.
+     */
+    public List<Prescricao> getHistoricoDoPet(Pet pet) {
+        EventoFacade evento = EventoFacade.iniciar("getHistoricoDoPet").pet(pet);
+        return medir(MEDIDOR_GET_HISTORICO_DO_PET, evento, () -> {
+            List<Prescricao> historico = prescricaoDAO.listarPorPet(pet.getId());
+            historico.sort(Comparator.comparingLong(p -> p.getConsulta().getDataMillis()));
+            return evento.resultados(historico);
+        });
+    }
+
+    /**
+     * Busca diagnósticos já registrados pelo texto da descrição, filtrando pela
+     * espécie e raça do pet e pela data do atendimento. O texto é resolvido no
+     * índice invertido do DAO; os filtros são aplicados só aos diagnósticos
+     * encontrados. Sem texto, os filtros são aplicados a todos os diagnósticos.
+     * @see br.com.veterinaria.busca.ConsultaTexto#interpretar(String) Sintaxe da consulta.
+     * @param texto A consulta textual (ex: {@code dermatite -fungica}); vazia para não filtrar pelo texto.
+     * @param especie A espécie do pet, sem diferenciar maiúsculas nem acentos; vazia ou null para qualquer uma.
+     * @param raca A raça do pet, da mesma forma; vazia ou null para qualquer uma.
+     * @param de Início do período (inclusivo), ou null.
+     * @param ate Fim do período (exclusivo), ou null.
+     * @return Os diagnósticos encontrados, do atendimento mais recente para o mais antigo.
+     */
+    public List<Diagnostico> buscarDiagnosticos(String texto, String especie, String raca, Date de, Date ate) {
+        EventoFacade evento = EventoFacade.iniciar("buscarDiagnosticos");
+        return medir(MEDIDOR_BUSCAR_DIAGNOSTICOS, evento, () -> {
+            List<Diagnostico> candidatos = texto == null || texto.trim().isEmpty()
+                    ? diagnosticoDAO.listarTodos()
+                    : diagnosticoDAO.buscarPorTexto(texto);
+            BitSet especies = codigosEquivalentes(Dicionario.ESPECIES, especie);
+            BitSet racas = codigosEquivalentes(Dicionario.RACAS, raca);
+            long inicio = de != null ? de.getTime() : Long.MIN_VALUE;
+            long fim = ate != null ? ate.getTime() : Long.MAX_VALUE;
+
+            List<Diagnostico> encontrados = new ArrayList<>();
+            for (Diagnostico diagnostico : candidatos) {
+                Consulta consulta = diagnostico.getConsulta();
+                if (consulta == null || consulta.getDataMillis() < inicio || consulta.getDataMillis() >= fim) {
+                    continue;
+                }
+                if ((especies != null || racas != null) && !atende(consulta.getPet(), especies, racas)) {
+                    continue;
+                }
+                encontrados.add(diagnostico);
+            }
+            encontrados.sort(Comparator.comparingLong((Diagnostico d) -> d.getConsulta().getDataMillis()).reversed());
+            LOG.debug("Busca de diagnósticos '{}': {} de {} candidatos.", texto, encontrados.size(), candidatos.size());
+            return evento.resultados(encontrados);
+        });
+    }
+
+    /**
+     * Busca uma prescrição de um atendimento já realizado.
+     * @param id O ID da prescrição.
+     * @return A prescrição, ou null se não existir.
+     */
+    public Prescricao buscarPrescricao(int id) {
+        EventoFacade evento = EventoFacade.iniciar("buscarPrescricao");
+        return medir(MEDIDOR_BUSCAR_PRESCRICAO, evento, () -> {
+            Prescricao prescricao = prescricaoDAO.buscarPorId(id);
+            evento.consulta(prescricao != null ? prescricao.getConsulta() : null);
+            return prescricao;
+        });
+    }
 
-        Diagnostico diagnostico = new Diagnostico(consulta, diagnosticoDescricao);
-        Prescricao prescricao = new Prescricao(consulta, medicamentos);
-        prescricao.setDiagnostico(diagnostico); // Garantir que o diagnóstico esteja associado à prescrição
+    // --- Catálogo de Medicamentos ---
 
-        // --- AÇÃO PRINCIPAL: REMOVER A CONSULTA AGENDADA ---
-        removerConsulta(consulta); // Chama o método de remoção de consulta
+    /**
+     * Retorna a entrada do catálogo com o nome informado, incluindo-a se ainda
+     * não existir. Nomes são comparados sem diferenciar maiúsculas, acentos nem
+     * espaços extras, então "amoxicilina " e "Amoxicilina" são o mesmo medicamento.
+     * @param nome O nome do medicamento.
+     * @param descricao A descrição, usada só se o medicamento for incluído agora.
+     * @param dosagem A dosagem padrão, usada só se o medicamento for incluído agora.
+     * @return A entrada (única) do catálogo.
+     */
+    public Medicamento catalogarMedicamento(String nome, String descricao, String dosagem) {
+        EventoFacade evento = EventoFacade.iniciar("catalogarMedicamento");
+        return medir(MEDIDOR_CATALOGAR_MEDICAMENTO, evento, () -> catalogar(nome, descricao, dosagem));
+    }
 
-        // Em um sistema real, você salvaria Diagnostico e Prescricao em seus DAOs
-        // diagnosticoDAO.adicionar(diagnostico);
-        // prescricaoDAO.adicionar(prescricao);
+    // Entrada do catálogo para o nome, incluída agora se ainda não existir
+    private Medicamento catalogar(String nome, String descricao, String dosagem) {
+        Medicamento existente = medicamentoDAO.buscarPorNome(nome);
+        if (existente != null) {
+            return existente; // Caso comum: sem lock
+        }
+        travaCatalogo.lock();
+        try {
+            existente = medicamentoDAO.buscarPorNome(nome); // Outra thread pode ter incluído enquanto esperávamos
+            if (existente != null) {
+                return existente;
+            }
+            Medicamento medicamento = new Medicamento(nome.trim(), descricao, dosagem);
+            medicamentoDAO.adicionar(medicamento);
+            LOG.info("Medicamento '{}' incluído no catálogo.", medicamento.getNome());
+            return medicamento;
+        } finally {
+            travaCatalogo.unlock();
+        }
+    }
 
-        System.out.println("[Facade] Diagnóstico: " + diagnostico.getDescricao());
-        System.out.println("[Facade] Prescrição gerada com " + medicamentos.size() + " medicamentos.");
-        System.out.println("[Facade] --- Atendimento Finalizado ---");
+    /**
+     * Retorna as entradas do catálogo para uma lista de nomes digitados,
+     * incluindo com descrição e dosagem padrão os que ainda não existirem.
+     * @param nomes Os nomes dos medicamentos.
+     * @return As entradas do catálogo, na ordem dos nomes.
+     */
+    public List<Medicamento> catalogarMedicamentos(List<String> nomes) {
+        EventoFacade evento = EventoFacade.iniciar("catalogarMedicamentos");
+        return medir(MEDIDOR_CATALOGAR_MEDICAMENTOS, evento, () -> {
+            List<Medicamento> medicamentos = new ArrayList<>(nomes.size());
+            for (String nome : nomes) {
+                medicamentos.add(catalogar(nome, DESCRICAO_PADRAO_MEDICAMENTO, DOSAGEM_PADRAO_MEDICAMENTO));
+            }
+            return evento.resultados(medicamentos);
+        });
+    }
 
-        return prescricao;
+    /**
+     * Sugere medicamentos do catálogo cujo nome começa com o texto digitado.
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de sugestões.
+     * @return Os medicamentos encontrados, em ordem alfabética.
+     */
+    public List<Medicamento> sugerirMedicamentos(String prefixo, int limite) {
+        EventoFacade evento = EventoFacade.iniciar("sugerirMedicamentos");
+        return medir(MEDIDOR_SUGERIR_MEDICAMENTOS, evento,
+                () -> evento.resultados(medicamentoDAO.listarPorPrefixo(prefixo, limite)));
+    }
+
+    /**
+     * Busca um medicamento do catálogo pelo nome, sem incluí-lo se não existir.
+     * @param nome O nome, comparado sem diferenciar maiúsculas, acentos nem espaços extras.
+     * @return A entrada do catálogo, ou null se o medicamento não estiver catalogado.
+     */
+    public Medicamento buscarMedicamento(String nome) {
+        EventoFacade evento = EventoFacade.iniciar("buscarMedicamento");
+        return medir(MEDIDOR_BUSCAR_MEDICAMENTO, evento, () -> medicamentoDAO.buscarPorNome(nome));
+    }
+
+    /**
+     * Retorna quantos medicamentos estão no catálogo.
+     * @return O número de entradas do catálogo.
+     */
+    public int contarMedicamentos() {
+        EventoFacade evento = EventoFacade.iniciar("contarMedicamentos");
+        return medir(MEDIDOR_CONTAR_MEDICAMENTOS, evento, () -> medicamentoDAO.contar());
+    }
+
+    // Troca cada medicamento pela sua entrada no catálogo, para que as prescrições compartilhem os objetos
+    private List<Medicamento> doCatalogo(List<Medicamento> medicamentos) {
+        List<Medicamento> canonicos = new ArrayList<>(medicamentos != null ? medicamentos.size() : 0);
+        if (medicamentos != null) {
+            for (Medicamento medicamento : medicamentos) {
+                if (medicamentoDAO.buscarPorId(medicamento.getId()) == medicamento) {
+                    canonicos.add(medicamento); // Já é a entrada do catálogo
+                } else {
+                    canonicos.add(catalogar(medicamento.getNome(), medicamento.getDescricao(), medicamento.getDosagem()));
+                }
+            }
+        }
+        return canonicos;
     }
 }
\ No newline at end of file
@@ -0,0 +1,222 @@
+package br.com.veterinaria.facade;
+
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.model.Veterinario;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Versão assíncrona da {@link ClinicaFacade}, usada pelas telas para não
+ * bloquear a thread de eventos do Swing enquanto o armazenamento trabalha.
+ *
+ * Cada método executa a operação correspondente da facade em um executor de
+ * fundo e devolve um CompletableFuture com o resultado (ou com a exceção da
+ * operação, por exemplo uma {@link ConflitoAgendamentoException}).
+ *
+ * Por padrão o executor tem uma única thread: as operações são executadas na
+ * ordem em que foram pedidas e os DAOs em memória, que não são thread-safe,
+ * continuam sendo acessados por uma thread de cada vez.
+ */
+public class ClinicaFacadeAsync {
+    private static final Registrador LOG = Registrador.para("Facade");
+
+    private final ClinicaFacade facade;
+    private final ExecutorService executor;
+
+    /**
+     * Cria a facade assíncrona com um executor de uma única thread.
+     * @param facade A facade que executa as operações.
+     */
+    public ClinicaFacadeAsync(ClinicaFacade facade) {
+        this(facade, Executors.newSingleThreadExecutor(tarefa -> {
+            Thread thread = new Thread(tarefa, "clinica-facade");
+            thread.setDaemon(true); // Não impede o encerramento da aplicação
+            return thread;
+        }));
+    }
+
+    /**
+     * Cria a facade assíncrona com um executor específico. Um executor com
+     * várias threads só deve ser usado com DAOs thread-safe (armazenamento
+     * concorrente ou persistente).
+     * @param facade A facade que executa as operações.
+     * @param executor O executor das operações.
+     */
+    public ClinicaFacadeAsync(ClinicaFacade facade, ExecutorService executor) {
+        this.facade = facade;
+        this.executor = executor;
+    }
+
+    /**
+     * Retorna a facade síncrona usada por esta facade assíncrona.
+     * @return A facade.
+     */
+    public ClinicaFacade getFacade() {
+        return facade;
+    }
+
+    /**
+     * Retorna o barramento de eventos da facade. Os eventos são publicados na
+     * thread do executor; telas Swing devem assinar com SwingUtilities::invokeLater.
+     * @return O barramento de eventos.
+     */
+    public BarramentoEventos getEventos() {
+        return facade.getEventos();
+    }
+
+    /**
+     * Encerra o executor, esperando as operações já pedidas terminarem.
+     * Não fecha a facade síncrona.
+     */
+    public void fechar() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOG.aviso("Operações assíncronas ainda em andamento ao encerrar.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // --- Pets ---
+
+    public CompletableFuture<Void> cadastrarPet(Pet pet) {
+        return executar(() -> facade.cadastrarPet(pet));
+    }
+
+    public CompletableFuture<List<Pet>> getPetsCadastrados() {
+        return consultar(facade::getPetsCadastrados);
+    }
+
+    public CompletableFuture<List<Pet>> getPetsDoCliente(Cliente cliente) {
+        return consultar(() -> facade.getPetsDoCliente(cliente));
+    }
+
+    public CompletableFuture<List<Pet>> sugerirPets(String prefixo, int limite) {
+        return consultar(() -> facade.sugerirPets(prefixo, limite));
+    }
+
+    public CompletableFuture<List<Pet>> buscarPets(String especie, String raca) {
+        return consultar(() -> facade.buscarPets(especie, raca));
+    }
+
+    public CompletableFuture<Void> removerPet(Pet pet) {
+        return executar(() -> facade.removerPet(pet));
+    }
+
+    // --- Clientes ---
+
+    public CompletableFuture<Void> cadastrarCliente(Cliente cliente) {
+        return executar(() -> facade.cadastrarCliente(cliente));
+    }
+
+    public CompletableFuture<List<Cliente>> getClientesCadastrados() {
+        return consultar(facade::getClientesCadastrados);
+    }
+
+    public CompletableFuture<Boolean> clientePossuiPets(Cliente cliente) {
+        return consultar(() -> facade.clientePossuiPets(cliente));
+    }
+
+    public CompletableFuture<List<Cliente>> sugerirClientes(String prefixo, int limite) {
+        return consultar(() -> facade.sugerirClientes(prefixo, limite));
+    }
+
+    public CompletableFuture<Void> removerCliente(Cliente cliente) {
+        return executar(() -> facade.removerCliente(cliente));
+    }
+
+    // --- Veterinários ---
+
+    public CompletableFuture<Void> cadastrarVeterinario(Veterinario veterinario) {
+        return executar(() -> facade.cadastrarVeterinario(veterinario));
+    }
+
+    public CompletableFuture<List<Veterinario>> getVeterinariosCadastrados() {
+        return consultar(facade::getVeterinariosCadastrados);
+    }
+
+    public CompletableFuture<List<Veterinario>> sugerirVeterinarios(String prefixo, int limite) {
+        return consultar(() -> facade.sugerirVeterinarios(prefixo, limite));
+    }
+
+    public CompletableFuture<Void> removerVeterinario(Veterinario veterinario) {
+        return executar(() -> facade.removerVeterinario(veterinario));
+    }
+
+    // --- Consultas ---
+
+    /**
+     * Agenda uma consulta em segundo plano.
+     * @see ClinicaFacade#agendarConsulta(Pet, Cliente, Veterinario, Date, int)
+     * @return A consulta agendada; falha com {@link ConflitoAgendamentoException} se o horário estiver ocupado.
+     */
+    public CompletableFuture<Consulta> agendarConsulta(Pet pet, Cliente cliente, Veterinario veterinario, Date data, int duracaoMinutos) {
+        return consultar(() -> facade.agendarConsulta(pet, cliente, veterinario, data, duracaoMinutos));
+    }
+
+    public CompletableFuture<List<Consulta>> buscarTodasAsConsultas() {
+        return consultar(facade::buscarTodasAsConsultas);
+    }
+
+    public CompletableFuture<List<Consulta>> getProximasConsultasDoVeterinario(Veterinario veterinario, int quantidade) {
+        return consultar(() -> facade.getProximasConsultasDoVeterinario(veterinario, quantidade));
+    }
+
+    public CompletableFuture<List<Consulta>> getConsultasEmAndamento() {
+        return consultar(facade::getConsultasEmAndamento);
+    }
+
+    public CompletableFuture<List<HorarioLivre>> getHorariosLivres(Veterinario veterinario, Date aPartirDe, int quantidade, int duracaoMinutos) {
+        return consultar(() -> facade.getHorariosLivres(veterinario, aPartirDe, quantidade, duracaoMinutos));
+    }
+
+    public CompletableFuture<Void> removerConsulta(Consulta consulta) {
+        return executar(() -> facade.removerConsulta(consulta));
+    }
+
+    public CompletableFuture<Prescricao> realizarAtendimento(Consulta consulta, String diagnosticoDescricao, List<Medicamento> medicamentos) {
+        return consultar(() -> facade.realizarAtendimento(consulta, diagnosticoDescricao, medicamentos));
+    }
+
+    public CompletableFuture<List<Medicamento>> catalogarMedicamentos(List<String> nomes) {
+        return consultar(() -> facade.catalogarMedicamentos(nomes));
+    }
+
+    public CompletableFuture<List<Medicamento>> sugerirMedicamentos(String prefixo, int limite) {
+        return consultar(() -> facade.sugerirMedicamentos(prefixo, limite));
+    }
+
+    public CompletableFuture<List<Prescricao>> getHistoricoDoPet(Pet pet) {
+        return consultar(() -> facade.getHistoricoDoPet(pet));
+    }
+
+    public CompletableFuture<List<Diagnostico>> buscarDiagnosticos(String texto, String especie, String raca, Date de, Date ate) {
+        return consultar(() -> facade.buscarDiagnosticos(texto, especie, raca, de, ate));
+    }
+
+    public CompletableFuture<Prescricao> buscarPrescricao(int id) {
+        return consultar(() -> facade.buscarPrescricao(id));
+    }
+
+    private <T> CompletableFuture<T> consultar(Supplier<T> operacao) {
+        return CompletableFuture.supplyAsync(operacao, executor);
+    }
+
+    private CompletableFuture<Void> executar(Runnable operacao) {
+        return CompletableFuture.runAsync(operacao, executor);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,424 @@
+package br.com.veterinaria.persistencia;
+
+import br.com.veterinaria.dao.ClienteDAO;
+import br.com.veterinaria.dao.ConsultaDAO;
+import br.com.veterinaria.dao.DiagnosticoDAO;
+import br.com.veterinaria.dao.MedicamentoDAO;
+import br.com.veterinaria.dao.PetDAO;
+import br.com.veterinaria.dao.PrescricaoDAO;
+import br.com.veterinaria.dao.VeterinarioDAO;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.model.Veterinario;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converte as operações dos DAOs em registros binários compactos para o
+ * {@link LogEscrita} e aplica esses registros de volta na reprodução do log.
+ *
+ * Formato: [byte operação][byte tipo de entidade][int id][campos...].
+ * Textos são gravados como [int tamanho em bytes][UTF-8], com -1 para null.
+ * Referências a outras entidades são gravadas pelo ID (0 quando ausentes).
+ * Campos acrescentados depois (como a duração da consulta) ficam no final do
+ * registro e recebem o valor padrão quando um registro antigo não os tem.
+ *
+ * Salvar é um "upsert": ao reproduzir, se a entidade já existe ela é
+ * atualizada no lugar, preservando a identidade do objeto que as outras
+ * entidades (por exemplo, consultas) já referenciam.
+ *
+ * Diagnósticos e prescrições copiam os dados da consulta atendida (ID, pet,
+ * cliente, veterinário, data e duração) para o próprio registro, porque a
+ * consulta é removida da agenda logo depois do atendimento. Os medicamentos
+ * de uma prescrição são entradas do catálogo (registros próprios, gravados
+ * antes da prescrição) e vão pelo ID; o nome, a descrição e a dosagem também
+ * são gravados, para que o registro continue autocontido caso a entrada do
+ * catálogo não exista na reprodução (registros anteriores ao catálogo).
+ */
+public final class CodificadorRegistros {
+    public static final byte OP_SALVAR = 1;
+    public static final byte OP_REMOVER = 2;
+
+    public static final byte TIPO_CLIENTE = 1;
+    public static final byte TIPO_VETERINARIO = 2;
+    public static final byte TIPO_PET = 3;
+    public static final byte TIPO_CONSULTA = 4;
+    public static final byte TIPO_DIAGNOSTICO = 5;
+    public static final byte TIPO_PRESCRICAO = 6;
+    public static final byte TIPO_MEDICAMENTO = 7;
+
+    private CodificadorRegistros() {
+    }
+
+    // --- Codificação ---
+
+    public static byte[] salvar(Cliente cliente) {
+        return codificar(OP_SALVAR, TIPO_CLIENTE, cliente.getId(), out -> {
+            escreverTexto(out, cliente.getNome());
+            escreverTexto(out, cliente.getTelefone());
+            escreverTexto(out, cliente.getEmail());
+        });
+    }
+
+    public static byte[] salvar(Veterinario veterinario) {
+        return codificar(OP_SALVAR, TIPO_VETERINARIO, veterinario.getId(), out -> {
+            escreverTexto(out, veterinario.getNome());
+            escreverTexto(out, veterinario.getCrmv());
+        });
+    }
+
+    public static byte[] salvar(Pet pet) {
+        return codificar(OP_SALVAR, TIPO_PET, pet.getId(), out -> {
+            escreverTexto(out, pet.getNome());
+            escreverTexto(out, pet.getEspecie());
+            escreverTexto(out, pet.getRaca());
+            out.writeInt(pet.getIdade());
+            out.writeInt(pet.getProprietario() != null ? pet.getProprietario().getId() : 0);
+        });
+    }
+
+    public static byte[] salvar(Consulta consulta) {
+        return codificar(OP_SALVAR, TIPO_CONSULTA, consulta.getId(), out -> {
+            out.writeInt(consulta.getPet() != null ? consulta.getPet().getId() : 0);
+            out.writeInt(consulta.getCliente() != null ? consulta.getCliente().getId() : 0);
+            out.writeInt(consulta.getVeterinario() != null ? consulta.getVeterinario().getId() : 0);
+            out.writeLong(consulta.getDataMillis()); // Consulta.SEM_DATA se não houver data
+            out.writeInt(consulta.getDuracaoMinutos());
+        });
+    }
+
+    public static byte[] salvar(Diagnostico diagnostico) {
+        return codificar(OP_SALVAR, TIPO_DIAGNOSTICO, diagnostico.getId(), out -> {
+            escreverConsultaAtendida(out, diagnostico.getConsulta());
+            escreverTexto(out, diagnostico.getDescricao());
+        });
+    }
+
+    public static byte[] salvar(Prescricao prescricao) {
+        return codificar(OP_SALVAR, TIPO_PRESCRICAO, prescricao.getId(), out -> {
+            escreverConsultaAtendida(out, prescricao.getConsulta());
+            out.writeInt(prescricao.getDiagnostico() != null ? prescricao.getDiagnostico().getId() : 0);
+            out.writeInt(prescricao.getMedicamentos().size());
+            for (Medicamento medicamento : prescricao.getMedicamentos()) {
+                out.writeInt(medicamento.getId());
+                escreverTexto(out, medicamento.getNome());
+                escreverTexto(out, medicamento.getDescricao());
+                escreverTexto(out, medicamento.getDosagem());
+            }
+        });
+    }
+
+    public static byte[] salvar(Medicamento medicamento) {
+        return codificar(OP_SALVAR, TIPO_MEDICAMENTO, medicamento.getId(), out -> {
+            escreverTexto(out, medicamento.getNome());
+            escreverTexto(out, medicamento.getDescricao());
+            escreverTexto(out, medicamento.getDosagem());
+        });
+    }
+
+    public static byte[] remover(byte tipo, int id) {
+        return codificar(OP_REMOVER, tipo, id, out -> { });
+    }
+
+    // --- Reprodução ---
+
+    /**
+     * Aplica um registro do log diretamente nos DAOs internos (sem gerar novos registros).
+     * @param registro O conteúdo do registro.
+     * @return O tipo de entidade afetada e o seu ID, como {tipo, id}.
+     */
+    public static int[] aplicar(ByteBuffer registro, ClienteDAO clientes, VeterinarioDAO veterinarios,
+                                PetDAO pets, ConsultaDAO consultas, MedicamentoDAO medicamentos,
+                                DiagnosticoDAO diagnosticos, PrescricaoDAO prescricoes) {
+        byte operacao = registro.get();
+        byte tipo = registro.get();
+        int id = registro.getInt();
+        switch (tipo) {
+            case TIPO_CLIENTE: {
+                Cliente existente = clientes.buscarPorId(id);
+                if (operacao == OP_REMOVER) {
+                    if (existente != null) {
+                        clientes.remover(existente);
+                    }
+                    break;
+                }
+                String nome = lerTexto(registro);
+                String telefone = lerTexto(registro);
+                String email = lerTexto(registro);
+                if (existente != null) {
+                    existente.setNome(nome);
+                    existente.setTelefone(telefone);
+                    existente.setEmail(email);
+                    clientes.atualizar(existente);
+                } else {
+                    Cliente cliente = new Cliente(nome, telefone, email);
+                    cliente.setId(id);
+                    clientes.adicionar(cliente);
+                }
+                break;
+            }
+            case TIPO_VETERINARIO: {
+                Veterinario existente = veterinarios.buscarPorId(id);
+                if (operacao == OP_REMOVER) {
+                    if (existente != null) {
+                        veterinarios.remover(existente);
+                    }
+                    break;
+                }
+                String nome = lerTexto(registro);
+                String crmv = lerTexto(registro);
+                if (existente != null) {
+                    existente.setNome(nome);
+                    existente.setCrmv(crmv);
+                    veterinarios.atualizar(existente);
+                } else {
+                    Veterinario veterinario = new Veterinario(nome, crmv);
+                    veterinario.setId(id);
+                    veterinarios.adicionar(veterinario);
+                }
+                break;
+            }
+            case TIPO_PET: {
+                Pet existente = pets.buscarPorId(id);
+                if (operacao == OP_REMOVER) {
+                    if (existente != null) {
+                        pets.remover(existente);
+                    }
+                    break;
+                }
+                String nome = lerTexto(registro);
+                String especie = lerTexto(registro);
+                String raca = lerTexto(registro);
+                int idade = registro.getInt();
+                Cliente proprietario = clientes.buscarPorId(registro.getInt());
+                if (existente != null) {
+                    existente.setNome(nome);
+                    existente.setEspecie(especie);
+                    existente.setRaca(raca);
+                    existente.setIdade(idade);
+                    existente.setProprietario(proprietario);
+                    pets.atualizar(existente);
+                } else {
+                    Pet pet = new Pet(nome, especie, raca, idade, proprietario);
+                    pet.setId(id);
+                    pets.adicionar(pet);
+                }
+                break;
+            }
+            case TIPO_CONSULTA: {
+                Consulta existente = consultas.buscarPorId(id);
+                if (operacao == OP_REMOVER) {
+                    if (existente != null) {
+                        consultas.remover(existente);
+                    }
+                    break;
+                }
+                Pet pet = pets.buscarPorId(registro.getInt());
+                Cliente cliente = clientes.buscarPorId(registro.getInt());
+                Veterinario veterinario = veterinarios.buscarPorId(registro.getInt());
+                long millis = registro.getLong();
+                int duracao = registro.hasRemaining() ? registro.getInt() : Consulta.DURACAO_PADRAO_MINUTOS;
+                if (existente != null) {
+                    existente.setPet(pet);
+                    existente.setCliente(cliente);
+                    existente.setVeterinario(veterinario);
+                    existente.setDataMillis(millis);
+                    existente.setDuracaoMinutos(duracao);
+                    consultas.atualizar(existente);
+                } else {
+                    Consulta consulta = new Consulta(pet, cliente, veterinario, millis, duracao);
+                    consulta.setId(id);
+                    consultas.adicionar(consulta);
+                }
+                break;
+            }
+            case TIPO_DIAGNOSTICO: {
+                Diagnostico existente = diagnosticos.buscarPorId(id);
+                if (operacao == OP_REMOVER) {
+                    if (existente != null) {
+                        diagnosticos.remover(existente);
+                    }
+                    break;
+                }
+                Consulta consulta = lerConsultaAtendida(registro, clientes, veterinarios, pets);
+                String descricao = lerTexto(registro);
+                if (existente != null) {
+                    existente.setConsulta(consulta);
+                    existente.setDescricao(descricao);
+                    diagnosticos.atualizar(existente);
+                } else {
+                    Diagnostico diagnostico = new Diagnostico(consulta, descricao);
+                    diagnostico.setId(id);
+                    diagnosticos.adicionar(diagnostico);
+                }
+                break;
+            }
+            case TIPO_PRESCRICAO: {
+                Prescricao existente = prescricoes.buscarPorId(id);
+                if (operacao == OP_REMOVER) {
+                    if (existente != null) {
+                        prescricoes.remover(existente);
+                    }
+                    break;
+                }
+                Consulta consulta = lerConsultaAtendida(registro, clientes, veterinarios, pets);
+                Diagnostico diagnostico = diagnosticos.buscarPorId(registro.getInt());
+                if (diagnostico != null && consulta != null && diagnostico.getConsulta() != null
+                        && diagnostico.getConsulta().getId() == consulta.getId()) {
+                    consulta = diagnostico.getConsulta(); // Mesmo atendimento: compartilha a consulta
+                }
+                int quantidade = registro.getInt();
+                List<Medicamento> prescritos = new ArrayList<>(quantidade);
+                for (int i = 0; i < quantidade; i++) {
+                    int medicamentoId = registro.getInt();
+                    String nome = lerTexto(registro);
+                    String descricao = lerTexto(registro);
+                    String dosagem = lerTexto(registro);
+                    prescritos.add(doCatalogo(medicamentos, medicamentoId, nome, descricao, dosagem));
+                }
+                Prescricao prescricao = existente != null ? existente : new Prescricao(consulta, prescritos);
+                prescricao.setConsulta(consulta);
+                prescricao.setDiagnostico(diagnostico);
+                prescricao.setMedicamentos(prescritos);
+                if (existente != null) {
+                    prescricoes.atualizar(prescricao);
+                } else {
+                    prescricao.setId(id);
+                    prescricoes.adicionar(prescricao);
+                }
+                break;
+            }
+            case TIPO_MEDICAMENTO: {
+                Medicamento existente = medicamentos.buscarPorId(id);
+                if (operacao == OP_REMOVER) {
+                    if (existente != null) {
+                        medicamentos.remover(existente);
+                    }
+                    break;
+                }
+                String nome = lerTexto(registro);
+                String descricao = lerTexto(registro);
+                String dosagem = lerTexto(registro);
+                if (existente != null) {
+                    existente.setNome(nome);
+                    existente.setDescricao(descricao);
+                    existente.setDosagem(dosagem);
+                    medicamentos.atualizar(existente);
+                } else {
+                    Medicamento medicamento = new Medicamento(nome, descricao, dosagem);
+                    medicamento.setId(id);
+                    medicamentos.adicionar(medicamento);
+                }
+                break;
+            }
+            default:
+                throw new IllegalStateException("Tipo de registro desconhecido no log: " + tipo);
+        }
+        return new int[]{tipo, id};
+    }
+
+    // --- Auxiliares ---
+
+    private interface Campos {
+        void escrever(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] codificar(byte operacao, byte tipo, int id, Campos campos) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(operacao);
+            out.writeByte(tipo);
+            out.writeInt(id);
+            campos.escrever(out);
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Não ocorre ao escrever em memória
+        }
+    }
+
+    /**
+     * Retorna a entrada do catálogo referenciada por uma prescrição. Se o ID
+     * não estiver no catálogo (dados gravados antes dele), usa a entrada de
+     * mesmo nome ou inclui uma nova com os dados gravados na prescrição.
+     */
+    static Medicamento doCatalogo(MedicamentoDAO catalogo, int id, String nome, String descricao, String dosagem) {
+        Medicamento medicamento = catalogo.buscarPorId(id);
+        if (medicamento == null) {
+            medicamento = catalogo.buscarPorNome(nome);
+        }
+        if (medicamento == null) {
+            medicamento = new Medicamento(nome, descricao, dosagem);
+            medicamento.setId(id);
+            catalogo.adicionar(medicamento);
+        }
+        return medicamento;
+    }
+
+    /** Grava os dados da consulta atendida, ou apenas o ID 0 se não houver consulta. */
+    private static void escreverConsultaAtendida(DataOutputStream out, Consulta consulta) throws IOException {
+        if (consulta == null) {
+            out.writeInt(0);
+            return;
+        }
+        out.writeInt(consulta.getId());
+        out.writeInt(consulta.getPet() != null ? consulta.getPet().getId() : 0);
+        out.writeInt(consulta.getCliente() != null ? consulta.getCliente().getId() : 0);
+        out.writeInt(consulta.getVeterinario() != null ? consulta.getVeterinario().getId() : 0);
+        out.writeLong(consulta.getDataMillis());
+        out.writeInt(consulta.getDuracaoMinutos());
+    }
+
+    /** Reconstrói a consulta atendida gravada por {@link #escreverConsultaAtendida}. */
+    private static Consulta lerConsultaAtendida(ByteBuffer registro, ClienteDAO clientes, VeterinarioDAO veterinarios,
+                                                PetDAO pets) {
+        int consultaId = registro.getInt();
+        if (consultaId == 0) {
+            return null;
+        }
+        Pet pet = pets.buscarPorId(registro.getInt());
+        Cliente cliente = clientes.buscarPorId(registro.getInt());
+        Veterinario veterinario = veterinarios.buscarPorId(registro.getInt());
+        long millis = registro.getLong();
+        int duracao = registro.getInt();
+        Consulta consulta = new Consulta(pet, cliente, veterinario, millis, duracao);
+        consulta.setId(consultaId);
+        return consulta;
+    }
+
+    static void escreverTexto(DataOutputStream out, String texto) throws IOException {
+        if (texto == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    static String lerTexto(ByteBuffer buffer) {
+        int tamanho = buffer.getInt();
+        if (tamanho < 0) {
+            return null;
+        }
+        if (buffer.hasArray()) {
+            String texto = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), tamanho, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + tamanho);
+            return texto;
+        }
+        byte[] utf8 = new byte[tamanho]; // Buffers diretos ou mapeados em memória
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,38 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.busca.IndicePrefixos;
+import br.com.veterinaria.model.Cliente;
+
+import java.util.List;
+
+/**
+ * DAO concorrente da entidade Cliente: leituras sem lock e escritas com lock por listra, com índice pelo nome.
+ */
+public class ConcurrentClienteDAO extends ConcurrentRepositorio<Cliente> implements ClienteDAO {
+    private final IndicePrefixos<Cliente> porNome = new IndicePrefixos<>();
+
+    @Override
+    protected int idDe(Cliente cliente) {
+        return cliente.getId();
+    }
+
+    @Override
+    protected String descricao() {
+        return "um cliente";
+    }
+
+    @Override
+    protected void aoIndexar(Cliente cliente) {
+        porNome.indexar(cliente.getNome(), cliente.getId(), cliente);
+    }
+
+    @Override
+    protected void aoDesindexar(int id) {
+        porNome.remover(id);
+    }
+
+    @Override
+    public List<Cliente> listarPorPrefixo(String prefixo, int limite) {
+        return porNome.buscar(prefixo, limite);
+    }
+}
\ No newline at end of file
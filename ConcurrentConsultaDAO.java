@@ -0,0 +1,114 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Consulta;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO concorrente da entidade Consulta, com índices secundários por
+ * veterinário, por pet e por dia do calendário, além da agenda
+ * ({@link AgendaConsultas}) usada nas consultas por horário e de conflitos.
+ */
+public class ConcurrentConsultaDAO extends ConcurrentRepositorio<Consulta> implements ConsultaDAO {
+    private final IndiceMultiploConcorrente<Consulta> consultasPorVeterinario = new IndiceMultiploConcorrente<>(Consulta::getId);
+    private final IndiceMultiploConcorrente<Consulta> consultasPorPet = new IndiceMultiploConcorrente<>(Consulta::getId);
+    private final IndiceMultiploConcorrente<Consulta> consultasPorDia = new IndiceMultiploConcorrente<>(Consulta::getId);
+    private final AgendaConsultas agenda = new AgendaConsultas();
+
+    @Override
+    protected int idDe(Consulta consulta) {
+        return consulta.getId();
+    }
+
+    @Override
+    protected String descricao() {
+        return "uma consulta";
+    }
+
+    @Override
+    protected void aoIndexar(Consulta consulta) {
+        int id = consulta.getId();
+        if (consulta.getVeterinario() != null) {
+            consultasPorVeterinario.indexar(consulta.getVeterinario().getId(), id, consulta);
+        } else {
+            consultasPorVeterinario.remover(id);
+        }
+        if (consulta.getPet() != null) {
+            consultasPorPet.indexar(consulta.getPet().getId(), id, consulta);
+        } else {
+            consultasPorPet.remover(id);
+        }
+        if (consulta.temData()) {
+            consultasPorDia.indexar(ConsultaDAO.diaDe(consulta.getDataMillis()), id, consulta);
+        } else {
+            consultasPorDia.remover(id);
+        }
+        agenda.indexar(consulta);
+    }
+
+    @Override
+    protected void aoDesindexar(int id) {
+        consultasPorVeterinario.remover(id);
+        consultasPorPet.remover(id);
+        consultasPorDia.remover(id);
+        agenda.remover(id);
+    }
+
+    @Override
+    public List<Consulta> listarPorVeterinario(int veterinarioId) {
+        return consultasPorVeterinario.listar(veterinarioId);
+    }
+
+    @Override
+    public List<Consulta> listarPorPet(int petId) {
+        return consultasPorPet.listar(petId);
+    }
+
+    @Override
+    public List<Consulta> listarPorDia(LocalDate dia) {
+        return consultasPorDia.listar((int) dia.toEpochDay());
+    }
+
+    @Override
+    public List<Consulta> listarPorVeterinarioEDia(int veterinarioId, LocalDate dia) {
+        List<Consulta> resultado = new ArrayList<>();
+        for (Consulta consulta : consultasPorDia.listar((int) dia.toEpochDay())) {
+            if (consulta.getVeterinario() != null && consulta.getVeterinario().getId() == veterinarioId) {
+                resultado.add(consulta);
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public List<Consulta> listarPorPeriodo(long inicio, long fim) {
+        return agenda.listarEntre(inicio, fim);
+    }
+
+    @Override
+    public List<Consulta> listarProximasDoVeterinario(int veterinarioId, long aPartirDe, int quantidade) {
+        return agenda.proximasDoVeterinario(veterinarioId, aPartirDe, quantidade);
+    }
+
+    @Override
+    public List<Consulta> listarEmAndamento(long instante) {
+        return agenda.listarEmAndamento(instante);
+    }
+
+    @Override
+    public List<Consulta> listarConflitos(int veterinarioId, int petId, long inicio, long fim) {
+        return agenda.conflitos(veterinarioId, inicio, fim, consultasPorPet.listar(petId));
+    }
+
+    @Override
+    public boolean veterinarioLivre(int veterinarioId, long inicio, long fim) {
+        return agenda.veterinarioLivre(veterinarioId, inicio, fim);
+    }
+
+    @Override
+    public long proximoInicioPossivel(int veterinarioId, long aPartirDe, long duracao, long limite) {
+        return agenda.proximoInicioPossivel(veterinarioId, aPartirDe, duracao, limite);
+    }
+}
\ No newline at end of file
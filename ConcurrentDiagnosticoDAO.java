@@ -0,0 +1,61 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.busca.IndiceTexto;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Diagnostico;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DAO concorrente da entidade Diagnostico, indexado por consulta, pet, veterinário e pelo texto da descrição.
+ */
+public class ConcurrentDiagnosticoDAO extends ConcurrentHistoricoDAO<Diagnostico> implements DiagnosticoDAO {
+    // Índice invertido das descrições, para a busca textual
+    private final IndiceTexto porTexto = new IndiceTexto();
+
+    @Override
+    protected int idDe(Diagnostico diagnostico) {
+        return diagnostico.getId();
+    }
+
+    @Override
+    protected Consulta consultaDe(Diagnostico diagnostico) {
+        return diagnostico.getConsulta();
+    }
+
+    @Override
+    protected String descricao() {
+        return "um diagnóstico";
+    }
+
+    @Override
+    protected void aoIndexar(Diagnostico diagnostico) {
+        super.aoIndexar(diagnostico);
+        porTexto.indexar(diagnostico.getId(), diagnostico.getDescricao());
+    }
+
+    @Override
+    protected void aoDesindexar(int id) {
+        super.aoDesindexar(id);
+        porTexto.remover(id);
+    }
+
+    @Override
+    public List<Diagnostico> buscarPorTexto(String consulta) {
+        int[] ids = porTexto.buscar(consulta);
+        List<Diagnostico> encontrados = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Diagnostico diagnostico = buscarPorId(id);
+            if (diagnostico != null) { // Removido entre a busca e a leitura
+                encontrados.add(diagnostico);
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public int contarTermosIndexados() {
+        return porTexto.getTermos();
+    }
+}
\ No newline at end of file
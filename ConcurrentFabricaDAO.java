@@ -0,0 +1,42 @@
+package br.com.veterinaria.dao;
+
+/**
+ * Fábrica dos DAOs concorrentes, seguros para uso simultâneo por várias threads
+ * (vários balcões de recepção e veterinários sobre a mesma ClinicaFacade).
+ */
+public class ConcurrentFabricaDAO implements FabricaDAO {
+    @Override
+    public PetDAO criarPetDAO() {
+        return new ConcurrentPetDAO();
+    }
+
+    @Override
+    public ClienteDAO criarClienteDAO() {
+        return new ConcurrentClienteDAO();
+    }
+
+    @Override
+    public VeterinarioDAO criarVeterinarioDAO() {
+        return new ConcurrentVeterinarioDAO();
+    }
+
+    @Override
+    public ConsultaDAO criarConsultaDAO() {
+        return new ConcurrentConsultaDAO();
+    }
+
+    @Override
+    public DiagnosticoDAO criarDiagnosticoDAO() {
+        return new ConcurrentDiagnosticoDAO();
+    }
+
+    @Override
+    public PrescricaoDAO criarPrescricaoDAO() {
+        return new ConcurrentPrescricaoDAO();
+    }
+
+    @Override
+    public MedicamentoDAO criarMedicamentoDAO() {
+        return new ConcurrentMedicamentoDAO();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,60 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Consulta;
+
+import java.util.List;
+
+/**
+ * Base dos DAOs concorrentes do histórico clínico (diagnósticos e prescrições),
+ * com índices secundários por consulta, pet e veterinário. As listagens são
+ * ordenadas pelo ID, que acompanha a ordem dos atendimentos.
+ * @param <T> O tipo de registro armazenado.
+ */
+public abstract class ConcurrentHistoricoDAO<T> extends ConcurrentRepositorio<T> {
+    private final IndiceMultiploConcorrente<T> porConsulta = new IndiceMultiploConcorrente<>(this::idDe);
+    private final IndiceMultiploConcorrente<T> porPet = new IndiceMultiploConcorrente<>(this::idDe);
+    private final IndiceMultiploConcorrente<T> porVeterinario = new IndiceMultiploConcorrente<>(this::idDe);
+
+    /** Retorna a consulta atendida a que o registro se refere. */
+    protected abstract Consulta consultaDe(T registro);
+
+    @Override
+    protected void aoIndexar(T registro) {
+        int id = idDe(registro);
+        Consulta consulta = consultaDe(registro);
+        if (consulta == null) {
+            aoDesindexar(id);
+            return;
+        }
+        porConsulta.indexar(consulta.getId(), id, registro);
+        if (consulta.getPet() != null) {
+            porPet.indexar(consulta.getPet().getId(), id, registro);
+        } else {
+            porPet.remover(id);
+        }
+        if (consulta.getVeterinario() != null) {
+            porVeterinario.indexar(consulta.getVeterinario().getId(), id, registro);
+        } else {
+            porVeterinario.remover(id);
+        }
+    }
+
+    @Override
+    protected void aoDesindexar(int id) {
+        porConsulta.remover(id);
+        porPet.remover(id);
+        porVeterinario.remover(id);
+    }
+
+    public List<T> listarPorConsulta(int consultaId) {
+        return porConsulta.listar(consultaId);
+    }
+
+    public List<T> listarPorPet(int petId) {
+        return porPet.listar(petId);
+    }
+
+    public List<T> listarPorVeterinario(int veterinarioId) {
+        return porVeterinario.listar(veterinarioId);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.busca.IndicePrefixos;
+import br.com.veterinaria.model.Medicamento;
+
+import java.util.List;
+
+/**
+ * DAO concorrente do catálogo de medicamentos, com índice pelo nome normalizado.
+ */
+public class ConcurrentMedicamentoDAO extends ConcurrentRepositorio<Medicamento> implements MedicamentoDAO {
+    private final IndicePrefixos<Medicamento> porNome = new IndicePrefixos<>();
+
+    @Override
+    protected int idDe(Medicamento medicamento) {
+        return medicamento.getId();
+    }
+
+    @Override
+    protected String descricao() {
+        return "um medicamento";
+    }
+
+    @Override
+    protected void aoIndexar(Medicamento medicamento) {
+        porNome.indexar(medicamento.getNome(), medicamento.getId(), medicamento);
+    }
+
+    @Override
+    protected void aoDesindexar(int id) {
+        porNome.remover(id);
+    }
+
+    @Override
+    public Medicamento buscarPorNome(String nome) {
+        return porNome.buscarExato(nome);
+    }
+
+    @Override
+    public List<Medicamento> listarPorPrefixo(String prefixo, int limite) {
+        return porNome.buscar(prefixo, limite);
+    }
+}
\ No newline at end of file
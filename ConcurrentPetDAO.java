@@ -0,0 +1,76 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.busca.IndicePrefixos;
+import br.com.veterinaria.model.Pet;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * DAO concorrente da entidade Pet, com índices secundários por proprietário e por nome.
+ */
+public class ConcurrentPetDAO extends ConcurrentRepositorio<Pet> implements PetDAO {
+    private final IndiceMultiploConcorrente<Pet> petsPorProprietario = new IndiceMultiploConcorrente<>(Pet::getId);
+    private final IndicePrefixos<Pet> porNome = new IndicePrefixos<>();
+
+    @Override
+    protected int idDe(Pet pet) {
+        return pet.getId();
+    }
+
+    @Override
+    protected String descricao() {
+        return "um pet";
+    }
+
+    @Override
+    protected void aoIndexar(Pet pet) {
+        porNome.indexar(pet.getNome(), pet.getId(), pet);
+        if (pet.getProprietario() != null) {
+            petsPorProprietario.indexar(pet.getProprietario().getId(), pet.getId(), pet);
+        } else {
+            petsPorProprietario.remover(pet.getId());
+        }
+    }
+
+    @Override
+    protected void aoDesindexar(int id) {
+        petsPorProprietario.remover(id);
+        porNome.remover(id);
+    }
+
+    @Override
+    public List<Pet> listarPorProprietario(int clienteId) {
+        return petsPorProprietario.listar(clienteId);
+    }
+
+    @Override
+    public int contarPorProprietario(int clienteId) {
+        return petsPorProprietario.contar(clienteId);
+    }
+
+    @Override
+    public List<Pet> listarPorPrefixo(String prefixo, int limite) {
+        return porNome.buscar(prefixo, limite);
+    }
+
+    @Override
+    public List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas) {
+        return listarQue(pet -> atende(pet, especies, racas));
+    }
+
+    @Override
+    public List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas, int deslocamento, int limite) {
+        return listarQue(pet -> atende(pet, especies, racas), deslocamento, limite);
+    }
+
+    @Override
+    public int contarPorEspecieERaca(BitSet especies, BitSet racas) {
+        return contarQue(pet -> atende(pet, especies, racas));
+    }
+
+    private static boolean atende(Pet pet, BitSet especies, BitSet racas) {
+        return (especies == null || especies.get(pet.getCodigoEspecie()))
+                && (racas == null || racas.get(pet.getCodigoRaca()));
+    }
+}
\ No newline at end of file
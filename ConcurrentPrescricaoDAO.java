@@ -0,0 +1,24 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Prescricao;
+
+/**
+ * DAO concorrente da entidade Prescricao, indexado por consulta, pet e veterinário.
+ */
+public class ConcurrentPrescricaoDAO extends ConcurrentHistoricoDAO<Prescricao> implements PrescricaoDAO {
+    @Override
+    protected int idDe(Prescricao prescricao) {
+        return prescricao.getId();
+    }
+
+    @Override
+    protected Consulta consultaDe(Prescricao prescricao) {
+        return prescricao.getConsulta();
+    }
+
+    @Override
+    protected String descricao() {
+        return "uma prescrição";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,249 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.log.Registrador;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * Base dos DAOs concorrentes, para uso simultâneo por vários balcões e veterinários.
+ *
+ * - Leituras (buscarPorId, listarTodos, contar) não usam locks: consultam
+ *   diretamente um ConcurrentHashMap e um ConcurrentSkipListMap.
+ * - Escritas são serializadas por ID usando locks em listras (lock striping):
+ *   o ID escolhe uma entre {@value #LISTRAS} listras, então operações sobre
+ *   entidades diferentes quase nunca disputam o mesmo lock.
+ * - A ordem de inserção é mantida por um número de sequência atômico.
+ *
+ * O ID de cada entidade é o atribuído pelo seu construtor (ou lido do
+ * snapshot); o repositório não gera IDs, então nunca há duas fontes de IDs.
+ *
+ * Subclasses informam como ler o ID e podem manter índices
+ * secundários sobrescrevendo {@link #aoIndexar} e {@link #aoDesindexar}, que
+ * são chamados com o lock da listra do ID já adquirido.
+ * @param <T> O tipo de entidade armazenada.
+ */
+public abstract class ConcurrentRepositorio<T> implements Repositorio<T> {
+    private static final Registrador LOG = Registrador.para("DAO");
+
+    private static final int LISTRAS = 64; // Potência de 2
+    private static final int LOTE_MINIMO_PARALELO = 16 * 1024;
+
+    // Par (sequência de inserção, entidade) guardado no índice por ID
+    private static final class Registro<T> {
+        final long sequencia;
+        final T valor;
+
+        Registro(long sequencia, T valor) {
+            this.sequencia = sequencia;
+            this.valor = valor;
+        }
+    }
+
+    private final ConcurrentHashMap<Integer, Registro<T>> porId = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, T> porOrdem = new ConcurrentSkipListMap<>();
+    private final AtomicLong sequencia = new AtomicLong();
+    private final ReentrantLock[] listras = new ReentrantLock[LISTRAS];
+
+    protected ConcurrentRepositorio() {
+        for (int i = 0; i < LISTRAS; i++) {
+            listras[i] = new ReentrantLock();
+        }
+    }
+
+    /** Retorna o ID da entidade. */
+    protected abstract int idDe(T entidade);
+
+    /** Nome da entidade usado nas mensagens de erro (ex: "um pet"). */
+    protected abstract String descricao();
+
+    /**
+     * Chamado após adicionar ou atualizar uma entidade, com o lock da listra adquirido.
+     * @param entidade O estado atual da entidade.
+     */
+    protected void aoIndexar(T entidade) {
+    }
+
+    /**
+     * Chamado após remover uma entidade, com o lock da listra adquirido.
+     * @param id O ID da entidade removida.
+     */
+    protected void aoDesindexar(int id) {
+    }
+
+    private ReentrantLock listra(int id) {
+        int h = id * 0x9E3779B9;
+        return listras[(h ^ (h >>> 16)) & (LISTRAS - 1)];
+    }
+
+    @Override
+    public void adicionar(T entidade) {
+        if (entidade == null) {
+            LOG.aviso("Não é possível adicionar {} nulo.", descricao());
+            return;
+        }
+        inserir(entidade, 0);
+    }
+
+    /**
+     * Adiciona um lote de entidades que já têm ID (por exemplo, lidas de um
+     * snapshot). As sequências de inserção são reservadas de uma vez, na ordem
+     * da lista, então o lote pode ser indexado em paralelo sem alterar a ordem
+     * de listagem.
+     */
+    @Override
+    public void adicionarTodos(List<T> entidades) {
+        long base = sequencia.getAndAdd(entidades.size());
+        int partes = entidades.size() < LOTE_MINIMO_PARALELO ? 1 : Runtime.getRuntime().availableProcessors();
+        IntStream.range(0, partes).parallel().forEach(parte -> {
+            int fim = (int) ((long) entidades.size() * (parte + 1) / partes);
+            for (int i = (int) ((long) entidades.size() * parte / partes); i < fim; i++) {
+                inserir(entidades.get(i), base + i + 1);
+            }
+        });
+    }
+
+    /**
+     * Insere ou substitui uma entidade sob o lock da sua listra.
+     * @param sequenciaNova A sequência a usar se a entidade for nova (0 para gerar uma).
+     */
+    private void inserir(T entidade, long sequenciaNova) {
+        int id = idDe(entidade);
+        ReentrantLock lock = listra(id);
+        lock.lock();
+        try {
+            Registro<T> existente = porId.get(id);
+            long seq = existente != null ? existente.sequencia
+                    : sequenciaNova != 0 ? sequenciaNova : sequencia.incrementAndGet();
+            porId.put(id, new Registro<>(seq, entidade));
+            porOrdem.put(seq, entidade);
+            aoIndexar(entidade);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public T buscarPorId(int id) {
+        Registro<T> registro = porId.get(id);
+        return registro != null ? registro.valor : null;
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return new ArrayList<>(porOrdem.values());
+    }
+
+    @Override
+    public List<T> listar(int deslocamento, int limite) {
+        return listarQue(entidade -> true, deslocamento, limite);
+    }
+
+    /**
+     * Lista, na ordem de inserção, só as entidades que atendem uma condição,
+     * percorrendo a tabela sem copiá-la; como em {@link #listarTodos}, sem locks.
+     * @param condicao A condição.
+     * @return Uma nova lista com as entidades aceitas.
+     */
+    protected List<T> listarQue(Predicate<? super T> condicao) {
+        List<T> lista = new ArrayList<>();
+        for (T entidade : porOrdem.values()) {
+            if (condicao.test(entidade)) {
+                lista.add(entidade);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Lista um trecho das entidades que atendem uma condição, percorrendo a
+     * tabela sem copiá-la: só as entidades do trecho entram na lista.
+     * @param condicao A condição.
+     * @param deslocamento Quantas entidades aceitas pular desde o início.
+     * @param limite A quantidade máxima de entidades.
+     * @return Uma nova lista com até {@code limite} entidades aceitas.
+     */
+    protected List<T> listarQue(Predicate<? super T> condicao, int deslocamento, int limite) {
+        List<T> lista = new ArrayList<>();
+        int pulados = 0;
+        for (T entidade : porOrdem.values()) {
+            if (lista.size() >= limite) {
+                break;
+            }
+            if (condicao.test(entidade) && pulados++ >= deslocamento) {
+                lista.add(entidade);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Conta as entidades que atendem uma condição, sem copiá-las.
+     * @param condicao A condição.
+     * @return O número de entidades aceitas.
+     */
+    protected int contarQue(Predicate<? super T> condicao) {
+        int quantidade = 0;
+        for (T entidade : porOrdem.values()) {
+            if (condicao.test(entidade)) {
+                quantidade++;
+            }
+        }
+        return quantidade;
+    }
+
+    @Override
+    public void atualizar(T entidade) {
+        if (entidade == null) {
+            LOG.aviso("Não é possível atualizar {} nulo.", descricao());
+            return;
+        }
+        int id = idDe(entidade);
+        ReentrantLock lock = listra(id);
+        lock.lock();
+        try {
+            Registro<T> existente = porId.get(id);
+            if (existente == null) {
+                return; // Nada a atualizar: a entidade não está armazenada
+            }
+            porId.put(id, new Registro<>(existente.sequencia, entidade));
+            porOrdem.put(existente.sequencia, entidade);
+            aoIndexar(entidade);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remover(T entidade) {
+        if (entidade == null) {
+            LOG.aviso("Não é possível remover {} nulo.", descricao());
+            return false;
+        }
+        int id = idDe(entidade);
+        ReentrantLock lock = listra(id);
+        lock.lock();
+        try {
+            Registro<T> removido = porId.remove(id);
+            if (removido == null) {
+                return false;
+            }
+            porOrdem.remove(removido.sequencia);
+            aoDesindexar(id);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int contar() {
+        return porId.size();
+    }
+}
\ No newline at end of file
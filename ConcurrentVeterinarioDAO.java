@@ -0,0 +1,38 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.busca.IndicePrefixos;
+import br.com.veterinaria.model.Veterinario;
+
+import java.util.List;
+
+/**
+ * DAO concorrente da entidade Veterinario: leituras sem lock e escritas com lock por listra, com índice pelo nome.
+ */
+public class ConcurrentVeterinarioDAO extends ConcurrentRepositorio<Veterinario> implements VeterinarioDAO {
+    private final IndicePrefixos<Veterinario> porNome = new IndicePrefixos<>();
+
+    @Override
+    protected int idDe(Veterinario veterinario) {
+        return veterinario.getId();
+    }
+
+    @Override
+    protected String descricao() {
+        return "um veterinário";
+    }
+
+    @Override
+    protected void aoIndexar(Veterinario veterinario) {
+        porNome.indexar(veterinario.getNome(), veterinario.getId(), veterinario);
+    }
+
+    @Override
+    protected void aoDesindexar(int id) {
+        porNome.remover(id);
+    }
+
+    @Override
+    public List<Veterinario> listarPorPrefixo(String prefixo, int limite) {
+        return porNome.buscar(prefixo, limite);
+    }
+}
\ No newline at end of file
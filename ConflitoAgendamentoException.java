@@ -0,0 +1,31 @@
+package br.com.veterinaria.facade;
+
+import br.com.veterinaria.model.Consulta;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lançada quando uma consulta não pode ser agendada porque o veterinário ou o
+ * pet já tem outra consulta em um horário que se sobrepõe ao pedido.
+ */
+public class ConflitoAgendamentoException extends RuntimeException {
+    private final List<Consulta> conflitos;
+
+    /**
+     * Cria a exceção com as consultas que ocupam o horário pedido.
+     * @param conflitos As consultas em conflito.
+     */
+    public ConflitoAgendamentoException(List<Consulta> conflitos) {
+        super("Horário indisponível: " + conflitos.size() + " consulta(s) em conflito.");
+        this.conflitos = new ArrayList<>(conflitos);
+    }
+
+    /**
+     * Retorna as consultas que ocupam o horário pedido.
+     * @return Uma cópia da lista de consultas em conflito.
+     */
+    public List<Consulta> getConflitos() {
+        return new ArrayList<>(conflitos);
+    }
+}
\ No newline at end of file
@@ -1,21 +1,60 @@
 package br.com.veterinaria.model;
 
-import java.util.Date; // Certifique-se de importar java.util.Date
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Consulta {
-    private static int nextId = 1; // Contador para gerar IDs únicos
+    /** Duração de uma consulta, em minutos, quando nenhuma outra é informada. */
+    public static final int DURACAO_PADRAO_MINUTOS = 30;
+    /** Maior duração aceita para uma consulta, em minutos. */
+    public static final int DURACAO_MAXIMA_MINUTOS = 8 * 60;
+
+    /** Valor de {@link #getDataMillis()} para uma consulta sem data. */
+    public static final long SEM_DATA = Long.MIN_VALUE;
+
+    private static final AtomicInteger nextId = new AtomicInteger(1); // Contador atômico para gerar IDs únicos
     private int id; // ID único da consulta
     private Pet pet;
     private Cliente cliente;
     private Veterinario veterinario;
-    private Date dataHora; // Nome da variável para a data e hora da consulta
+    // Data e hora da consulta em milissegundos desde a época (SEM_DATA se não houver).
+    // Um long em vez de um Date: sem objeto extra por consulta e sem uma chave
+    // dos índices que possa ser alterada por fora do DAO.
+    private long dataHora;
+    private int duracaoMinutos; // Duração prevista da consulta
 
     public Consulta(Pet pet, Cliente cliente, Veterinario veterinario, Date dataHora) {
-        this.id = nextId++; // Atribui um ID único
+        this(pet, cliente, veterinario, dataHora, DURACAO_PADRAO_MINUTOS);
+    }
+
+    public Consulta(Pet pet, Cliente cliente, Veterinario veterinario, Date dataHora, int duracaoMinutos) {
+        this(pet, cliente, veterinario, dataHora != null ? dataHora.getTime() : SEM_DATA, duracaoMinutos);
+    }
+
+    /**
+     * Cria uma consulta a partir do instante de início.
+     * @param pet O pet atendido.
+     * @param cliente O proprietário.
+     * @param veterinario O veterinário responsável.
+     * @param dataHoraMillis O início, em milissegundos desde a época (ou {@link #SEM_DATA}).
+     * @param duracaoMinutos A duração prevista, em minutos.
+     */
+    public Consulta(Pet pet, Cliente cliente, Veterinario veterinario, long dataHoraMillis, int duracaoMinutos) {
+        this.id = nextId.getAndIncrement(); // Atribui um ID único
         this.pet = pet;
         this.cliente = cliente;
         this.veterinario = veterinario;
-        this.dataHora = dataHora;
+        this.dataHora = dataHoraMillis;
+        this.duracaoMinutos = duracaoMinutos;
+    }
+
+    /**
+     * Garante que os próximos IDs gerados sejam maiores que o ID informado.
+     * Usado ao recarregar dados persistidos, para não repetir IDs já gravados.
+     * @param id O maior ID já existente.
+     */
+    public static void reservarIdsAte(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
     }
 
     // --- Getters ---
@@ -54,13 +93,38 @@ public class Consulta {
 
     /**
      * Retorna a data e hora da consulta.
-     * Este é o método que estava faltando ou com nome incorreto.
-     * @return O objeto Date representando a data e hora da consulta.
+     * Cada chamada cria um Date novo: alterá-lo não altera a consulta.
+     * Código que só compara horários deve usar {@link #getDataMillis()}.
+     * @return O objeto Date representando a data e hora da consulta, ou null se não houver.
+     */
+    public Date getData() {
+        return dataHora != SEM_DATA ? new Date(dataHora) : null;
+    }
+
+    /**
+     * Retorna a data e hora da consulta sem criar objetos.
+     * @return O início, em milissegundos desde a época, ou {@link #SEM_DATA}.
      */
-    public Date getData() { // <-- MÉTODO CORRIGIDO (ou altere para getDataHora() se preferir consistência)
+    public long getDataMillis() {
         return dataHora;
     }
 
+    /**
+     * Verifica se a consulta tem data definida.
+     * @return true se houver data e hora.
+     */
+    public boolean temData() {
+        return dataHora != SEM_DATA;
+    }
+
+    /**
+     * Retorna a duração prevista da consulta.
+     * @return A duração, em minutos.
+     */
+    public int getDuracaoMinutos() {
+        return duracaoMinutos;
+    }
+
     // --- Setters (se necessário, especialmente para o ID pelo DAO) ---
 
     /**
@@ -99,8 +163,24 @@ public class Consulta {
      * Define a data e hora da consulta.
      * @param dataHora O novo objeto Date representando a data e hora da consulta.
      */
-    public void setData(Date dataHora) { // <-- SETTER CORRIGIDO (ou altere para setDataHora())
-        this.dataHora = dataHora;
+    public void setData(Date dataHora) {
+        this.dataHora = dataHora != null ? dataHora.getTime() : SEM_DATA;
+    }
+
+    /**
+     * Define a data e hora da consulta.
+     * @param dataHoraMillis O início, em milissegundos desde a época (ou {@link #SEM_DATA}).
+     */
+    public void setDataMillis(long dataHoraMillis) {
+        this.dataHora = dataHoraMillis;
+    }
+
+    /**
+     * Define a duração prevista da consulta.
+     * @param duracaoMinutos A nova duração, em minutos.
+     */
+    public void setDuracaoMinutos(int duracaoMinutos) {
+        this.duracaoMinutos = duracaoMinutos;
     }
 
     /**
@@ -110,6 +190,6 @@ public class Consulta {
      */
     @Override
     public String toString() {
-        return "Consulta ID: " + id + " | Pet: " + pet.getNome() + " | Vet: " + veterinario.getNome() + " | Data: " + dataHora;
+        return "Consulta ID: " + id + " | Pet: " + pet.getNome() + " | Vet: " + veterinario.getNome() + " | Data: " + getData();
     }
 }
\ No newline at end of file
@@ -1,12 +1,125 @@
 package br.com.veterinaria.dao;
 
 import br.com.veterinaria.model.Consulta;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.List;
 
-public interface ConsultaDAO {
-    void salvar(Consulta consulta);
-    Consulta buscarPorId(int id);
-    List<Consulta> buscarTodos();
-    void atualizar(Consulta consulta);
-    void deletar(Consulta consulta);
+/**
+ * Contrato de armazenamento da entidade Consulta.
+ * Os métodos salvar, buscarTodos e deletar são mantidos como sinônimos
+ * dos métodos de {@link Repositorio} para compatibilidade.
+ */
+public interface ConsultaDAO extends Repositorio<Consulta> {
+    /**
+     * Lista as consultas de um veterinário.
+     * @param veterinarioId O ID do veterinário.
+     * @return Uma nova lista com as consultas do veterinário.
+     */
+    List<Consulta> listarPorVeterinario(int veterinarioId);
+
+    /**
+     * Lista as consultas de um pet.
+     * @param petId O ID do pet.
+     * @return Uma nova lista com as consultas do pet.
+     */
+    List<Consulta> listarPorPet(int petId);
+
+    /**
+     * Lista as consultas de um dia do calendário.
+     * @param dia O dia desejado.
+     * @return Uma nova lista com as consultas do dia.
+     */
+    List<Consulta> listarPorDia(LocalDate dia);
+
+    /**
+     * Lista as consultas de um veterinário em um dia do calendário.
+     * @param veterinarioId O ID do veterinário.
+     * @param dia O dia desejado.
+     * @return Uma nova lista com as consultas do veterinário no dia.
+     */
+    List<Consulta> listarPorVeterinarioEDia(int veterinarioId, LocalDate dia);
+
+    /**
+     * Lista as consultas que começam no intervalo [inicio, fim), em ordem cronológica.
+     * @param inicio O início do intervalo, em milissegundos desde 01/01/1970 (inclusivo).
+     * @param fim O fim do intervalo, em milissegundos desde 01/01/1970 (exclusivo).
+     * @return Uma nova lista com as consultas do período.
+     */
+    List<Consulta> listarPorPeriodo(long inicio, long fim);
+
+    /**
+     * Lista as próximas consultas de um veterinário, em ordem cronológica.
+     * @param veterinarioId O ID do veterinário.
+     * @param aPartirDe O instante inicial, em milissegundos desde 01/01/1970 (inclusivo).
+     * @param quantidade A quantidade máxima de consultas.
+     * @return Uma nova lista com até {@code quantidade} consultas.
+     */
+    List<Consulta> listarProximasDoVeterinario(int veterinarioId, long aPartirDe, int quantidade);
+
+    /**
+     * Lista as consultas em andamento em um instante: as que já começaram e
+     * ainda não terminaram, considerando a duração de cada uma.
+     * @param instante O instante, em milissegundos desde 01/01/1970.
+     * @return Uma nova lista com as consultas em andamento, em ordem cronológica.
+     */
+    List<Consulta> listarEmAndamento(long instante);
+
+    /**
+     * Lista as consultas que se sobrepõem ao intervalo [inicio, fim) e que são
+     * do mesmo veterinário ou do mesmo pet.
+     * @param veterinarioId O ID do veterinário.
+     * @param petId O ID do pet.
+     * @param inicio O início do intervalo, em milissegundos desde 01/01/1970.
+     * @param fim O fim do intervalo, em milissegundos desde 01/01/1970.
+     * @return Uma nova lista com as consultas em conflito, em ordem cronológica.
+     */
+    List<Consulta> listarConflitos(int veterinarioId, int petId, long inicio, long fim);
+
+    /**
+     * Verifica se um veterinário não tem nenhuma consulta no intervalo [inicio, fim).
+     * @param veterinarioId O ID do veterinário.
+     * @param inicio O início do intervalo, em milissegundos desde 01/01/1970.
+     * @param fim O fim do intervalo, em milissegundos desde 01/01/1970.
+     * @return true se o veterinário estiver livre em todo o intervalo.
+     */
+    boolean veterinarioLivre(int veterinarioId, long inicio, long fim);
+
+    /**
+     * Calcula o primeiro instante em que pode começar um intervalo livre do
+     * veterinário, para que a busca de horários pule rapidamente períodos
+     * lotados. Nenhum intervalo livre com a duração informada começa antes do
+     * instante devolvido; a disponibilidade a partir dele ainda deve ser
+     * confirmada com {@link #veterinarioLivre}.
+     * @param veterinarioId O ID do veterinário.
+     * @param aPartirDe O instante inicial, em milissegundos desde 01/01/1970.
+     * @param duracao A duração procurada, em milissegundos.
+     * @param limite O fim da busca, em milissegundos desde 01/01/1970.
+     * @return O instante encontrado, ou -1 se o veterinário estiver ocupado até o limite.
+     */
+    long proximoInicioPossivel(int veterinarioId, long aPartirDe, long duracao, long limite);
+
+    /**
+     * Converte um instante no dia do calendário correspondente (dias desde 01/01/1970),
+     * que é a chave usada pelos índices de consultas por dia.
+     * @param millis O instante, em milissegundos desde a época.
+     * @return A chave do dia no fuso horário do sistema.
+     */
+    static int diaDe(long millis) {
+        return (int) Instant.ofEpochMilli(millis).atZone(ZoneId.systemDefault()).toLocalDate().toEpochDay();
+    }
+
+    default void salvar(Consulta consulta) {
+        adicionar(consulta);
+    }
+
+    default List<Consulta> buscarTodos() {
+        return listarTodos();
+    }
+
+    default void deletar(Consulta consulta) {
+        remover(consulta);
+    }
 }
\ No newline at end of file
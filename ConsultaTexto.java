@@ -0,0 +1,123 @@
+package br.com.veterinaria.busca;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Consulta da busca textual, interpretada a partir do texto digitado:
+ * <ul>
+ *   <li>palavras separadas por espaço devem aparecer todas ({@code dermatite alergica});</li>
+ *   <li>um trecho entre aspas deve aparecer nessa ordem ({@code "otite externa"});</li>
+ *   <li>{@code OU} (ou {@code OR}), em maiúsculas, separa alternativas ({@code sarna OU escabiose});</li>
+ *   <li>um hífen antes da palavra ou das aspas exclui os textos que a contêm ({@code otite -fungica}).</li>
+ * </ul>
+ * {@code E}/{@code AND} em maiúsculas são aceitos e ignorados. As palavras
+ * passam pelo {@link AnalisadorTexto}, então acentos, maiúsculas e plurais
+ * não fazem diferença. Objetos desta classe são imutáveis.
+ */
+public final class ConsultaTexto {
+    /**
+     * Uma alternativa da consulta: os termos que devem aparecer (todos) e os
+     * que não podem aparecer. Cada item é uma frase, ou seja, uma lista de
+     * termos consecutivos (null ocupa a posição de uma palavra sem valor de busca).
+     */
+    static final class Alternativa {
+        final List<List<String>> exigidas = new ArrayList<>();
+        final List<List<String>> excluidas = new ArrayList<>();
+    }
+
+    private final List<Alternativa> alternativas;
+
+    private ConsultaTexto(List<Alternativa> alternativas) {
+        this.alternativas = Collections.unmodifiableList(alternativas);
+    }
+
+    /**
+     * Interpreta o texto de uma consulta. Nunca falha: aspas sem fechamento
+     * vão até o fim do texto e operadores sobrando são ignorados.
+     * @param texto O texto digitado (pode ser null).
+     * @return A consulta.
+     */
+    public static ConsultaTexto interpretar(String texto) {
+        List<Alternativa> alternativas = new ArrayList<>();
+        Alternativa atual = new Alternativa();
+        String s = texto == null ? "" : texto;
+        int i = 0;
+        while (i < s.length()) {
+            char c = s.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            boolean excluir = c == '-' && i + 1 < s.length() && !Character.isWhitespace(s.charAt(i + 1));
+            if (excluir) {
+                c = s.charAt(++i);
+            }
+            int fim;
+            String trecho;
+            if (c == '"') {
+                fim = s.indexOf('"', i + 1);
+                if (fim == -1) {
+                    fim = s.length();
+                }
+                trecho = s.substring(i + 1, fim);
+                i = fim + 1;
+            } else {
+                fim = i;
+                while (fim < s.length() && !Character.isWhitespace(s.charAt(fim)) && s.charAt(fim) != '"') {
+                    fim++;
+                }
+                trecho = s.substring(i, fim);
+                i = fim;
+                if (!excluir && (trecho.equals("OU") || trecho.equals("OR"))) {
+                    adicionarSeNaoVazia(alternativas, atual);
+                    atual = new Alternativa();
+                    continue;
+                }
+                if (!excluir && (trecho.equals("E") || trecho.equals("AND"))) {
+                    continue;
+                }
+            }
+            List<String> frase = aparar(AnalisadorTexto.termos(trecho));
+            if (!frase.isEmpty()) {
+                (excluir ? atual.excluidas : atual.exigidas).add(frase);
+            }
+        }
+        adicionarSeNaoVazia(alternativas, atual);
+        return new ConsultaTexto(alternativas);
+    }
+
+    /**
+     * Verdadeiro se a consulta não tem nenhum termo exigido (texto vazio ou só
+     * com palavras sem valor de busca ou exclusões); ela não encontra nada.
+     * @return true se a consulta for vazia.
+     */
+    public boolean isVazia() {
+        return alternativas.isEmpty();
+    }
+
+    List<Alternativa> getAlternativas() {
+        return alternativas;
+    }
+
+    // Uma alternativa só com exclusões não tem por onde começar a busca e é descartada
+    private static void adicionarSeNaoVazia(List<Alternativa> alternativas, Alternativa alternativa) {
+        if (!alternativa.exigidas.isEmpty()) {
+            alternativas.add(alternativa);
+        }
+    }
+
+    // Remove as palavras sem valor de busca do início e do fim da frase
+    private static List<String> aparar(List<String> termos) {
+        int inicio = 0;
+        int fim = termos.size();
+        while (inicio < fim && termos.get(inicio) == null) {
+            inicio++;
+        }
+        while (fim > inicio && termos.get(fim - 1) == null) {
+            fim--;
+        }
+        return termos.subList(inicio, fim);
+    }
+}
\ No newline at end of file
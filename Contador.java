@@ -0,0 +1,47 @@
+package br.com.veterinaria.metricas;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de eventos (por exemplo, conflitos de agendamento), incrementado
+ * por várias threads sem disputa: usa um LongAdder, que espalha os
+ * incrementos simultâneos em células separadas.
+ */
+public final class Contador {
+    private final String nome;
+    private final LongAdder valor = new LongAdder();
+
+    Contador(String nome) {
+        this.nome = nome;
+    }
+
+    /** Soma 1 ao contador. */
+    public void incrementar() {
+        if (Metricas.isAtivas()) {
+            valor.increment();
+        }
+    }
+
+    /**
+     * Soma uma quantidade ao contador.
+     * @param quantidade A quantidade.
+     */
+    public void adicionar(long quantidade) {
+        if (Metricas.isAtivas()) {
+            valor.add(quantidade);
+        }
+    }
+
+    public long getValor() {
+        return valor.sum();
+    }
+
+    /** Volta o contador a zero. */
+    public void zerar() {
+        valor.reset();
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,57 @@
+package br.com.veterinaria.facade;
+
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Veterinario;
+
+import java.util.Date;
+
+/**
+ * Os dados de exemplo da clínica: dois clientes, dois veterinários, três pets,
+ * duas consultas (hoje e amanhã) e um pequeno catálogo de medicamentos.
+ */
+class DadosExemplo implements DadosIniciais {
+    private static final Registrador LOG = Registrador.para("Facade");
+
+    @Override
+    public void carregar(ClinicaFacade facade) {
+        LOG.info("Carregando dados de exemplo...");
+
+        Cliente cliente1 = new Cliente("João Silva", "11987654321", "joao.silva@email.com");
+        Cliente cliente2 = new Cliente("Maria Souza", "11991234567", "maria.souza@email.com");
+        facade.cadastrarCliente(cliente1);
+        facade.cadastrarCliente(cliente2);
+        LOG.debug("Clientes de exemplo adicionados.");
+
+        Veterinario vet1 = new Veterinario("Dr. Carlos Almeida", "CRM-SP 12345");
+        Veterinario vet2 = new Veterinario("Dra. Ana Paula Costa", "CRM-SP 67890");
+        facade.cadastrarVeterinario(vet1);
+        facade.cadastrarVeterinario(vet2);
+        LOG.debug("Veterinários de exemplo adicionados.");
+
+        Pet pet1 = new Pet("Fred", "Cachorro", "Poodle", 5, cliente1);
+        Pet pet2 = new Pet("Miau", "Gato", "Siamês", 2, cliente2);
+        Pet pet3 = new Pet("Bob", "Cachorro", "Labrador", 8, cliente1);
+        facade.cadastrarPet(pet1);
+        facade.cadastrarPet(pet2);
+        facade.cadastrarPet(pet3);
+        LOG.debug("Pets de exemplo adicionados.");
+
+        // Consulta de exemplo (para testes iniciais)
+        facade.agendarConsulta(pet1, cliente1, vet1, new Date());
+        // Agendar uma segunda consulta para testar a remoção
+        facade.agendarConsulta(pet2, cliente2, vet2, new Date(System.currentTimeMillis() + 3600 * 1000 * 24)); // Amanhã
+        LOG.debug("Consultas de exemplo agendadas.");
+
+        // Já existentes no catálogo (armazenamento persistente) são mantidos como estão
+        facade.catalogarMedicamento("Amoxicilina", "Antibiótico", "1 comprimido a cada 12h");
+        facade.catalogarMedicamento("Dipirona", "Analgésico e antitérmico", "1 gota/kg a cada 8h");
+        facade.catalogarMedicamento("Meloxicam", "Anti-inflamatório", "1x ao dia");
+        facade.catalogarMedicamento("Prednisolona", "Corticoide", "1x ao dia");
+        facade.catalogarMedicamento("Ivermectina", "Antiparasitário", "Dose única");
+        LOG.debug("Medicamentos de exemplo incluídos no catálogo.");
+
+        LOG.info("Dados de exemplo carregados com sucesso.");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package br.com.veterinaria.facade;
+
+import br.com.veterinaria.carga.GeradorClinica;
+
+/**
+ * Dados cadastrados pela {@link ClinicaFacade} quando ela é criada sobre um
+ * armazenamento vazio (sem clientes, pets nem veterinários). Com armazenamento
+ * persistente os dados da execução anterior são mantidos e nada é cadastrado.
+ *
+ * A escolha padrão vem da propriedade de sistema {@value #PROPRIEDADE_DADOS_INICIAIS}:
+ * "exemplo" (padrão: alguns clientes, pets e consultas para demonstração),
+ * "nenhum" ou "sintetico" (uma clínica inteira gerada pelo
+ * {@link GeradorClinica}, configurada pelas propriedades clinica.carga.*).
+ */
+@FunctionalInterface
+public interface DadosIniciais {
+    /** Propriedade de sistema com os dados iniciais (exemplo, nenhum ou sintetico). */
+    String PROPRIEDADE_DADOS_INICIAIS = "clinica.dadosIniciais";
+
+    /** Os poucos registros de demonstração usados desde a primeira versão. */
+    DadosIniciais EXEMPLO = new DadosExemplo();
+    /** Começa sem nenhum registro. */
+    DadosIniciais NENHUM = facade -> { };
+
+    /**
+     * Cadastra os dados usando as operações da facade.
+     * @param facade A facade recém-criada.
+     */
+    void carregar(ClinicaFacade facade);
+
+    /**
+     * Retorna os dados iniciais definidos na propriedade {@value #PROPRIEDADE_DADOS_INICIAIS}.
+     * @return Os dados iniciais configurados.
+     * @throws IllegalArgumentException Se o valor da propriedade for desconhecido.
+     */
+    static DadosIniciais porConfiguracao() {
+        String nome = System.getProperty(PROPRIEDADE_DADOS_INICIAIS, "exemplo");
+        switch (nome.trim().toLowerCase()) {
+            case "exemplo":
+                return EXEMPLO;
+            case "nenhum":
+                return NENHUM;
+            case "sintetico":
+                return GeradorClinica.porConfiguracao();
+            default:
+                throw new IllegalArgumentException("Dados iniciais desconhecidos: '" + nome
+                        + "'. Use exemplo, nenhum ou sintetico.");
+        }
+    }
+}
\ No newline at end of file
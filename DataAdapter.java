@@ -1,15 +1,152 @@
 package br.com.veterinaria.adapter;
 
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.Date;
 
+/**
+ * Formatação e interpretação das datas exibidas e digitadas nas telas.
+ *
+ * Usa apenas DateTimeFormatter e tipos java.time, que são imutáveis, então
+ * os métodos podem ser chamados por várias threads ao mesmo tempo sem locks
+ * (ao contrário do SimpleDateFormat, que corrompe o resultado quando
+ * compartilhado). Datas são interpretadas no fuso horário do sistema e de
+ * forma estrita: "31/02/2025" é rejeitado em vez de virar 03/03/2025. Na
+ * digitação, dia, mês e hora podem ter um ou dois dígitos ("5/3/2025 9:00").
+ *
+ * Cada formato guarda os textos gerados recentemente em um pequeno cache: a
+ * agenda repete sempre os mesmos horários (08:00, 08:15...), então a maioria
+ * das linhas da tabela é exibida sem formatar nada.
+ */
 public class DataAdapter {
-    private static final SimpleDateFormat formatter = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+    private static final ZoneId ZONA = ZoneId.systemDefault();
 
+    private static final Formato DATA_HORA_SEGUNDOS = new Formato("dd/MM/uuuu HH:mm:ss", 1000);
+    private static final Formato DATA_HORA = new Formato("dd/MM/uuuu HH:mm", 60 * 1000);
+    private static final Formato DIA = new Formato("dd/MM/uuuu", 60 * 1000);
+
+    private static final DateTimeFormatter LEITURA_DATA_HORA = estrito("d/M/uuuu H:mm");
+    private static final DateTimeFormatter LEITURA_DIA = estrito("d/M/uuuu");
+
+    private DataAdapter() {
+    }
+
+    /**
+     * Formata uma data como "dd/MM/yyyy HH:mm:ss".
+     * @param data A data.
+     * @return O texto, ou null se a data for null.
+     */
     public static String formatarData(Date data) {
         if (data == null) {
             return null;
         }
-        return formatter.format(data);
+        return DATA_HORA_SEGUNDOS.formatar(data.getTime());
+    }
+
+    /**
+     * Formata uma data como "dd/MM/yyyy HH:mm", o formato usado nas telas de agenda.
+     * @param data A data.
+     * @return O texto, ou null se a data for null.
+     */
+    public static String formatarDataHora(Date data) {
+        if (data == null) {
+            return null;
+        }
+        return DATA_HORA.formatar(data.getTime());
+    }
+
+    /**
+     * Formata um instante como "dd/MM/yyyy HH:mm".
+     * @param millis O instante, em milissegundos desde a época.
+     * @return O texto.
+     */
+    public static String formatarDataHora(long millis) {
+        return DATA_HORA.formatar(millis);
+    }
+
+    /**
+     * Formata apenas o dia de uma data, como "dd/MM/yyyy".
+     * @param data A data.
+     * @return O texto, ou null se a data for null.
+     */
+    public static String formatarDia(Date data) {
+        if (data == null) {
+            return null;
+        }
+        return DIA.formatar(data.getTime());
+    }
+
+    /**
+     * Interpreta uma data e hora digitada ("dd/MM/yyyy HH:mm").
+     * @param texto O texto digitado.
+     * @return A data correspondente.
+     * @throws DateTimeParseException Se o texto não for uma data e hora válida.
+     */
+    public static Date interpretarDataHora(String texto) {
+        LocalDateTime dataHora = LocalDateTime.parse(texto.trim(), LEITURA_DATA_HORA);
+        return Date.from(dataHora.atZone(ZONA).toInstant());
+    }
+
+    /**
+     * Interpreta um dia digitado ("dd/MM/yyyy"), retornando o início desse dia.
+     * @param texto O texto digitado.
+     * @return A data do início do dia.
+     * @throws DateTimeParseException Se o texto não for um dia válido.
+     */
+    public static Date interpretarDia(String texto) {
+        LocalDate dia = LocalDate.parse(texto.trim(), LEITURA_DIA);
+        return Date.from(dia.atStartOfDay(ZONA).toInstant());
+    }
+
+    private static DateTimeFormatter estrito(String padrao) {
+        return DateTimeFormatter.ofPattern(padrao).withResolverStyle(ResolverStyle.STRICT).withZone(ZONA);
+    }
+
+    /**
+     * Um formato de saída com cache de acesso direto: cada instante (truncado
+     * na precisão do formato) ocupa uma posição fixa de um vetor. Cada posição
+     * guarda uma {@link Entrada} imutável, então threads diferentes podem ler
+     * e substituir posições sem locks; no pior caso duas threads formatam o
+     * mesmo instante e uma das entradas é descartada.
+     */
+    private static final class Formato {
+        private static final int TAMANHO_CACHE = 1024; // Potência de 2
+
+        private final DateTimeFormatter formatador;
+        private final long precisaoMillis;
+        private final Entrada[] cache = new Entrada[TAMANHO_CACHE];
+
+        Formato(String padrao, long precisaoMillis) {
+            this.formatador = estrito(padrao);
+            this.precisaoMillis = precisaoMillis;
+        }
+
+        String formatar(long millis) {
+            long chave = Math.floorDiv(millis, precisaoMillis);
+            int posicao = (int) (chave ^ (chave >>> 32)) & (TAMANHO_CACHE - 1);
+            Entrada entrada = cache[posicao];
+            if (entrada != null && entrada.chave == chave) {
+                return entrada.texto;
+            }
+            String texto = formatador.format(Instant.ofEpochMilli(millis));
+            cache[posicao] = new Entrada(chave, texto);
+            return texto;
+        }
+    }
+
+    // Campos final: a entrada pode ser publicada no vetor sem sincronização
+    private static final class Entrada {
+        final long chave;
+        final String texto;
+
+        Entrada(long chave, String texto) {
+            this.chave = chave;
+            this.texto = texto;
+        }
     }
 }
\ No newline at end of file
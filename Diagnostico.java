@@ -1,13 +1,15 @@
 package br.com.veterinaria.model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Diagnostico {
-    private static int nextId = 1;
+    private static final AtomicInteger nextId = new AtomicInteger(1); // Atômico: seguro para uso por várias threads
     private int id;
     private Consulta consulta; // A qual consulta este diagnóstico se refere
     private String descricao;  // A descrição detalhada do diagnóstico
 
     public Diagnostico(Consulta consulta, String descricao) {
-        this.id = nextId++;
+        this.id = nextId.getAndIncrement();
         this.consulta = consulta;
         this.descricao = descricao;
     }
@@ -20,6 +22,15 @@ public class Diagnostico {
     public void setConsulta(Consulta consulta) { this.consulta = consulta; }
     public void setDescricao(String descricao) { this.descricao = descricao; }
 
+    /**
+     * Garante que os próximos IDs gerados sejam maiores que o ID informado.
+     * Usado ao recarregar dados persistidos, para não repetir IDs já gravados.
+     * @param id O maior ID já existente.
+     */
+    public static void reservarIdsAte(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
     @Override
     public String toString() {
         return "Diagnóstico [ID=" + id + ", Consulta=" + consulta.getId() + ", Descrição=" + descricao + "]";
@@ -0,0 +1,48 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Diagnostico;
+
+import java.util.List;
+
+/**
+ * Contrato de armazenamento da entidade Diagnostico.
+ * Diagnósticos só são incluídos (um por atendimento) e as listagens devolvem
+ * os registros na ordem em que foram incluídos, ou seja, na ordem dos atendimentos.
+ */
+public interface DiagnosticoDAO extends Repositorio<Diagnostico> {
+    /**
+     * Lista os diagnósticos de uma consulta.
+     * @param consultaId O ID da consulta atendida.
+     * @return Uma nova lista com os diagnósticos da consulta.
+     */
+    List<Diagnostico> listarPorConsulta(int consultaId);
+
+    /**
+     * Lista os diagnósticos de um pet (o seu histórico clínico).
+     * @param petId O ID do pet.
+     * @return Uma nova lista com os diagnósticos do pet.
+     */
+    List<Diagnostico> listarPorPet(int petId);
+
+    /**
+     * Lista os diagnósticos feitos por um veterinário.
+     * @param veterinarioId O ID do veterinário.
+     * @return Uma nova lista com os diagnósticos do veterinário.
+     */
+    List<Diagnostico> listarPorVeterinario(int veterinarioId);
+
+    /**
+     * Busca os diagnósticos cuja descrição atende uma consulta textual, usando
+     * o índice invertido do DAO em vez de ler todas as descrições.
+     * @see br.com.veterinaria.busca.ConsultaTexto#interpretar(String) Sintaxe da consulta.
+     * @param consulta O texto da consulta (palavras, "frases", OU, -exclusões).
+     * @return Uma nova lista com os diagnósticos encontrados, na ordem dos atendimentos.
+     */
+    List<Diagnostico> buscarPorTexto(String consulta);
+
+    /**
+     * Retorna o tamanho do índice invertido usado por {@link #buscarPorTexto}.
+     * @return A quantidade de termos distintos indexados.
+     */
+    int contarTermosIndexados();
+}
\ No newline at end of file
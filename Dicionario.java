@@ -0,0 +1,118 @@
+package br.com.veterinaria.model;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Tabela de códigos compartilhada para atributos de texto que se repetem
+ * muito, como a espécie e a raça dos pets ("Cachorro", "Gato", "Poodle").
+ *
+ * Cada texto distinto recebe um código pequeno (até 65535), e os objetos
+ * guardam só o código: o texto existe uma única vez na tabela, em vez de uma
+ * String por pet, e filtros comparam inteiros em vez de chamar equals. O
+ * código 0 representa null.
+ *
+ * Os códigos valem apenas durante a execução: a persistência continua gravando
+ * os textos, e a tabela é montada de novo conforme os dados são carregados.
+ *
+ * É thread-safe. Consultar um texto ou código não usa locks; só a inclusão de
+ * um texto novo (rara) é sincronizada.
+ */
+public final class Dicionario {
+    /** Espécies dos pets. */
+    public static final Dicionario ESPECIES = new Dicionario("espécies");
+    /** Raças dos pets. */
+    public static final Dicionario RACAS = new Dicionario("raças");
+
+    /** Maior código possível (os códigos são guardados em 16 bits). */
+    public static final int CODIGO_MAXIMO = 0xFFFF;
+
+    private final String nome;
+    private final ConcurrentHashMap<String, Integer> codigos = new ConcurrentHashMap<>();
+    // Texto de cada código; substituído por uma cópia maior quando enche
+    private volatile String[] textos = new String[64];
+    private int quantidade = 1; // O código 0 é reservado para null
+
+    private Dicionario(String nome) {
+        this.nome = nome;
+    }
+
+    /**
+     * Retorna o código de um texto, incluindo-o na tabela se ainda não existir.
+     * @param texto O texto (pode ser null).
+     * @return O código (0 para null).
+     * @throws IllegalStateException Se a tabela já tiver {@link #CODIGO_MAXIMO} textos.
+     */
+    public int codificar(String texto) {
+        if (texto == null) {
+            return 0;
+        }
+        Integer codigo = codigos.get(texto);
+        return codigo != null ? codigo : incluir(texto);
+    }
+
+    /**
+     * Retorna o texto de um código.
+     * @param codigo O código.
+     * @return O texto (null para o código 0).
+     */
+    public String texto(int codigo) {
+        return textos[codigo];
+    }
+
+    /**
+     * Retorna o conjunto de códigos cujos textos atendem uma condição, para
+     * filtrar objetos comparando só os códigos. A condição é avaliada uma vez
+     * por texto distinto da tabela, não por objeto.
+     * @param condicao A condição sobre o texto (não é chamada para null).
+     * @return Um novo conjunto com os códigos aceitos.
+     */
+    public BitSet codigosQue(Predicate<String> condicao) {
+        String[] atuais = textos;
+        BitSet aceitos = new BitSet();
+        for (int codigo = 1; codigo < atuais.length && atuais[codigo] != null; codigo++) {
+            if (condicao.test(atuais[codigo])) {
+                aceitos.set(codigo);
+            }
+        }
+        return aceitos;
+    }
+
+    /**
+     * Indica se um texto já está na tabela, sem incluí-lo.
+     * @param texto O texto (não pode ser null).
+     * @return true se o texto já tem um código.
+     */
+    public boolean contem(String texto) {
+        return codigos.containsKey(texto);
+    }
+
+    /**
+     * Retorna a quantidade de textos distintos na tabela.
+     * Textos incluídos nunca são removidos, mesmo que nenhum objeto os use mais.
+     * @return A quantidade de textos.
+     */
+    public int tamanho() {
+        return codigos.size();
+    }
+
+    private synchronized int incluir(String texto) {
+        Integer existente = codigos.get(texto);
+        if (existente != null) {
+            return existente; // Incluído por outra thread
+        }
+        if (quantidade > CODIGO_MAXIMO) {
+            throw new IllegalStateException("Tabela de " + nome + " cheia: mais de " + CODIGO_MAXIMO + " valores distintos.");
+        }
+        String[] atuais = textos;
+        if (quantidade == atuais.length) {
+            atuais = Arrays.copyOf(atuais, atuais.length * 2);
+        }
+        atuais[quantidade] = texto;
+        textos = atuais; // Escrita volátil: publica o texto antes do código
+        codigos.put(texto, quantidade);
+        return quantidade++;
+    }
+}
\ No newline at end of file
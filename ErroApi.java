@@ -0,0 +1,18 @@
+package br.com.veterinaria.api;
+
+/**
+ * Erro de uma requisição à {@link ApiClinica}, respondido com o código HTTP
+ * informado e a mensagem no campo "erro" do corpo.
+ */
+public class ErroApi extends RuntimeException {
+    private final int status;
+
+    public ErroApi(int status, String mensagem) {
+        super(mensagem);
+        this.status = status;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+}
\ No newline at end of file
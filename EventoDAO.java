@@ -0,0 +1,94 @@
+package br.com.veterinaria.metricas;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.Collection;
+
+/**
+ * Evento do Java Flight Recorder emitido pelas leituras e escritas dos DAOs
+ * medidos ({@link br.com.veterinaria.dao.MeteredRepositorio}), com a entidade,
+ * a operação, o ID envolvido e a quantidade de resultados.
+ *
+ * As operações dos DAOs em memória levam frações de microssegundo e são
+ * chamadas muitas vezes por operação da facade, então por padrão só são
+ * gravadas as que passam de {@value #LIMITE_PADRAO} (o limite pode ser
+ * alterado nas configurações da gravação, como em um arquivo .jfc). Como o
+ * {@link EventoFacade}, não custa nada sem gravação em andamento. Só é
+ * emitido com os DAOs decorados: com as {@link Metricas} ligadas e
+ * {@link Metricas#getAmostragemDAO()} maior que 0.
+ */
+@Name("br.com.veterinaria.DAO")
+@Label("Operação de DAO")
+@Category({"Clínica Veterinária", "DAO"})
+@Description("Uma leitura ou escrita em um DAO")
+@StackTrace(false)
+@Threshold(EventoDAO.LIMITE_PADRAO)
+public final class EventoDAO extends Event {
+    static final String LIMITE_PADRAO = "100 us";
+
+    @Label("Entidade")
+    private String entidade;
+
+    @Label("Operação")
+    private String operacao;
+
+    @Label("ID")
+    @Description("ID da entidade lida ou alterada, ou do filtro da listagem (ex: o pet em listarPorPet); 0 se não se aplica")
+    private int id;
+
+    @Label("Resultados")
+    @Description("Quantidade de itens encontrados pelas leituras")
+    private int resultados;
+
+    /**
+     * Cria o evento de uma operação e marca o seu início.
+     * @param entidade O nome da entidade (ex: "consulta").
+     * @param operacao O nome do método do DAO (ex: "listarPorPet").
+     * @return O evento.
+     */
+    public static EventoDAO iniciar(String entidade, String operacao) {
+        EventoDAO evento = new EventoDAO();
+        evento.entidade = entidade;
+        evento.operacao = operacao;
+        evento.begin();
+        return evento;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public void setResultados(int resultados) {
+        this.resultados = resultados;
+    }
+
+    /**
+     * Registra a quantidade de resultados de uma listagem.
+     * @param lista O resultado da operação.
+     * @param <C> O tipo do resultado.
+     * @return O próprio resultado, para ser devolvido diretamente.
+     */
+    public <C extends Collection<?>> C resultados(C lista) {
+        if (lista != null) {
+            resultados = lista.size();
+        }
+        return lista;
+    }
+
+    /**
+     * Registra se uma busca encontrou a entidade.
+     * @param encontrada O resultado da busca.
+     * @param <E> O tipo da entidade.
+     * @return O próprio resultado, para ser devolvido diretamente.
+     */
+    public <E> E encontrada(E encontrada) {
+        resultados = encontrada != null ? 1 : 0;
+        return encontrada;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package br.com.veterinaria.metricas;
+
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Veterinario;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.util.Collection;
+
+/**
+ * Evento do Java Flight Recorder emitido por cada operação de negócio da
+ * {@link br.com.veterinaria.facade.ClinicaFacade}, com a duração, os IDs das
+ * entidades envolvidas e a quantidade de resultados. Em uma gravação, permite
+ * atribuir um pico de latência a um agendamento, atendimento ou atualização
+ * de lista específico.
+ *
+ * Sem gravação em andamento o JFR não instrumenta a classe: begin() e
+ * commit() não fazem nada e o objeto, que não escapa do método, nem chega a
+ * ser alocado. Os IDs valem 0 quando não se aplicam à operação.
+ *
+ * Na facade, o evento é gravado junto com o {@link Medidor} da operação:
+ * <pre>
+ *   EventoFacade evento = EventoFacade.iniciar("getConsultasDoPet").pet(pet);
+ *   return medir(MEDIDOR_GET_CONSULTAS_DO_PET, evento,
+ *           () -> evento.resultados(consultaDAO.listarPorPet(pet.getId())));
+ * </pre>
+ */
+@Name("br.com.veterinaria.Facade")
+@Label("Operação da Facade")
+@Category({"Clínica Veterinária", "Facade"})
+@Description("Uma chamada a uma operação de negócio da ClinicaFacade")
+@StackTrace(false)
+public final class EventoFacade extends Event {
+    @Label("Operação")
+    private String operacao;
+
+    @Label("Cliente")
+    private int clienteId;
+
+    @Label("Pet")
+    private int petId;
+
+    @Label("Veterinário")
+    private int veterinarioId;
+
+    @Label("Consulta")
+    private int consultaId;
+
+    @Label("Resultados")
+    @Description("Quantidade de itens devolvidos pelas operações de listagem")
+    private int resultados;
+
+    /**
+     * Cria o evento de uma operação e marca o seu início.
+     * @param operacao O nome do método da facade (ex: "agendarConsulta").
+     * @return O evento.
+     */
+    public static EventoFacade iniciar(String operacao) {
+        EventoFacade evento = new EventoFacade();
+        evento.operacao = operacao;
+        evento.begin();
+        return evento;
+    }
+
+    public EventoFacade cliente(Cliente cliente) {
+        if (cliente != null) {
+            clienteId = cliente.getId();
+        }
+        return this;
+    }
+
+    public EventoFacade pet(Pet pet) {
+        if (pet != null) {
+            petId = pet.getId();
+        }
+        return this;
+    }
+
+    public EventoFacade veterinario(Veterinario veterinario) {
+        if (veterinario != null) {
+            veterinarioId = veterinario.getId();
+        }
+        return this;
+    }
+
+    /**
+     * Registra a consulta e também o seu pet, cliente e veterinário.
+     * @param consulta A consulta (pode ser null).
+     * @return O próprio evento.
+     */
+    public EventoFacade consulta(Consulta consulta) {
+        if (consulta != null) {
+            consultaId = consulta.getId();
+            pet(consulta.getPet());
+            cliente(consulta.getCliente());
+            veterinario(consulta.getVeterinario());
+        }
+        return this;
+    }
+
+    /**
+     * Registra a quantidade de resultados de uma listagem.
+     * @param lista O resultado da operação.
+     * @param <C> O tipo do resultado.
+     * @return O próprio resultado, para ser devolvido diretamente.
+     */
+    public <C extends Collection<?>> C resultados(C lista) {
+        if (lista != null) {
+            resultados = lista.size();
+        }
+        return lista;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,102 @@
+package br.com.veterinaria.facade;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Horário de funcionamento da clínica, usado na busca de horários livres.
+ * Define os dias de atendimento, a abertura e o fechamento (no fuso horário
+ * local) e o intervalo entre os horários oferecidos (por exemplo, de 15 em 15
+ * minutos a partir da abertura).
+ *
+ * Os valores podem ser definidos pelas propriedades de sistema
+ * {@value #PROPRIEDADE_ABERTURA}, {@value #PROPRIEDADE_FECHAMENTO},
+ * {@value #PROPRIEDADE_DIAS} (números ISO, 1 = segunda a 7 = domingo,
+ * separados por vírgula) e {@value #PROPRIEDADE_INTERVALO}.
+ */
+public class Expediente {
+    /** Propriedade de sistema com o horário de abertura (HH:mm). */
+    public static final String PROPRIEDADE_ABERTURA = "clinica.expediente.abertura";
+    /** Propriedade de sistema com o horário de fechamento (HH:mm). */
+    public static final String PROPRIEDADE_FECHAMENTO = "clinica.expediente.fechamento";
+    /** Propriedade de sistema com os dias de atendimento (por exemplo, 1,2,3,4,5,6). */
+    public static final String PROPRIEDADE_DIAS = "clinica.expediente.dias";
+    /** Propriedade de sistema com o intervalo entre horários oferecidos, em minutos. */
+    public static final String PROPRIEDADE_INTERVALO = "clinica.expediente.intervaloMinutos";
+
+    private static final String ABERTURA_PADRAO = "08:00";
+    private static final String FECHAMENTO_PADRAO = "18:00";
+    private static final String DIAS_PADRAO = "1,2,3,4,5,6"; // Segunda a sábado
+    private static final int INTERVALO_PADRAO = 15;
+
+    private final LocalTime abertura;
+    private final LocalTime fechamento;
+    private final Set<DayOfWeek> dias;
+    private final int intervaloMinutos;
+
+    /**
+     * Cria um expediente.
+     * @param abertura O horário de abertura.
+     * @param fechamento O horário de fechamento (posterior à abertura).
+     * @param dias Os dias da semana com atendimento.
+     * @param intervaloMinutos O intervalo entre horários oferecidos, em minutos (maior que zero).
+     */
+    public Expediente(LocalTime abertura, LocalTime fechamento, Set<DayOfWeek> dias, int intervaloMinutos) {
+        if (!fechamento.isAfter(abertura)) {
+            throw new IllegalArgumentException("O fechamento (" + fechamento + ") deve ser posterior à abertura (" + abertura + ").");
+        }
+        if (intervaloMinutos <= 0) {
+            throw new IllegalArgumentException("Intervalo inválido: " + intervaloMinutos + " minutos.");
+        }
+        this.abertura = abertura;
+        this.fechamento = fechamento;
+        this.dias = dias.isEmpty() ? EnumSet.noneOf(DayOfWeek.class) : EnumSet.copyOf(dias);
+        this.intervaloMinutos = intervaloMinutos;
+    }
+
+    /**
+     * Cria o expediente definido nas propriedades de sistema (ou o padrão:
+     * segunda a sábado, das 08:00 às 18:00, horários de 15 em 15 minutos).
+     * @return O expediente configurado.
+     */
+    public static Expediente porConfiguracao() {
+        Set<DayOfWeek> dias = EnumSet.noneOf(DayOfWeek.class);
+        for (String dia : System.getProperty(PROPRIEDADE_DIAS, DIAS_PADRAO).split(",")) {
+            if (!dia.trim().isEmpty()) {
+                dias.add(DayOfWeek.of(Integer.parseInt(dia.trim())));
+            }
+        }
+        return new Expediente(LocalTime.parse(System.getProperty(PROPRIEDADE_ABERTURA, ABERTURA_PADRAO)),
+                LocalTime.parse(System.getProperty(PROPRIEDADE_FECHAMENTO, FECHAMENTO_PADRAO)),
+                dias,
+                Integer.getInteger(PROPRIEDADE_INTERVALO, INTERVALO_PADRAO));
+    }
+
+    /**
+     * Verifica se a clínica atende em um dia da semana.
+     * @param dia O dia da semana.
+     * @return true se houver expediente nesse dia.
+     */
+    public boolean atende(DayOfWeek dia) {
+        return dias.contains(dia);
+    }
+
+    public LocalTime getAbertura() {
+        return abertura;
+    }
+
+    public LocalTime getFechamento() {
+        return fechamento;
+    }
+
+    public Set<DayOfWeek> getDias() {
+        return Collections.unmodifiableSet(dias);
+    }
+
+    public int getIntervaloMinutos() {
+        return intervaloMinutos;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+package br.com.veterinaria.dao;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+
+/**
+ * Fábrica abstrata dos DAOs usados pela ClinicaFacade.
+ * Cada mecanismo de armazenamento fornece a sua fábrica, e o mecanismo usado
+ * é escolhido na inicialização pela propriedade de sistema
+ * {@value #PROPRIEDADE_ARMAZENAMENTO} (por exemplo, -Dclinica.armazenamento=memoria).
+ */
+public interface FabricaDAO {
+    /** Nome da propriedade de sistema que escolhe o mecanismo de armazenamento. */
+    String PROPRIEDADE_ARMAZENAMENTO = "clinica.armazenamento";
+    /** Mecanismo usado quando a propriedade não é informada. */
+    String ARMAZENAMENTO_PADRAO = "memoria";
+    /** Diretório de dados do armazenamento persistente (padrão: "dados"). */
+    String PROPRIEDADE_DIRETORIO_DADOS = "clinica.dados.dir";
+    /** Se "false", o log do armazenamento persistente não chama fsync a cada lote (padrão: "true"). */
+    String PROPRIEDADE_FSYNC = "clinica.wal.fsync";
+    /** Intervalo entre snapshots do armazenamento persistente, em minutos (padrão: 10; 0 desativa). */
+    String PROPRIEDADE_SNAPSHOT_INTERVALO = "clinica.snapshot.intervaloMinutos";
+    /** Tamanho do log, em MB, que provoca um snapshot antecipado (padrão: 64; 0 desativa). */
+    String PROPRIEDADE_SNAPSHOT_LIMITE_LOG = "clinica.snapshot.limiteLogMB";
+
+    PetDAO criarPetDAO();
+
+    ClienteDAO criarClienteDAO();
+
+    VeterinarioDAO criarVeterinarioDAO();
+
+    ConsultaDAO criarConsultaDAO();
+
+    DiagnosticoDAO criarDiagnosticoDAO();
+
+    PrescricaoDAO criarPrescricaoDAO();
+
+    MedicamentoDAO criarMedicamentoDAO();
+
+    /**
+     * Libera os recursos do mecanismo (arquivos, threads). Mecanismos em memória não fazem nada.
+     */
+    default void fechar() {
+    }
+
+    /**
+     * Cria a fábrica indicada pela configuração do sistema.
+     * @return A fábrica do mecanismo configurado.
+     */
+    static FabricaDAO porConfiguracao() {
+        return porNome(System.getProperty(PROPRIEDADE_ARMAZENAMENTO, ARMAZENAMENTO_PADRAO));
+    }
+
+    /**
+     * Cria a fábrica de um mecanismo de armazenamento pelo nome.
+     * @param nome O nome do mecanismo ("memoria", "concorrente" ou "persistente").
+     * @return A fábrica correspondente.
+     * @throws IllegalArgumentException Se o nome não corresponder a nenhum mecanismo.
+     */
+    static FabricaDAO porNome(String nome) {
+        switch (nome.trim().toLowerCase()) {
+            case "memoria":
+                return new InMemoryFabricaDAO();
+            case "concorrente":
+                return new ConcurrentFabricaDAO();
+            case "persistente":
+                try {
+                    return new PersistentFabricaDAO(Paths.get(System.getProperty(PROPRIEDADE_DIRETORIO_DADOS, "dados")),
+                            Boolean.parseBoolean(System.getProperty(PROPRIEDADE_FSYNC, "true")),
+                            Long.getLong(PROPRIEDADE_SNAPSHOT_INTERVALO, PersistentFabricaDAO.INTERVALO_SNAPSHOT_PADRAO),
+                            Long.getLong(PROPRIEDADE_SNAPSHOT_LIMITE_LOG, PersistentFabricaDAO.LIMITE_LOG_PADRAO_MB));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Não foi possível abrir o armazenamento persistente", e);
+                }
+            default:
+                throw new IllegalArgumentException("Mecanismo de armazenamento desconhecido: '" + nome
+                        + "'. Opções válidas: memoria, concorrente, persistente.");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,116 @@
+package br.com.veterinaria.log;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fila circular, de tamanho fixo e sem locks, entre as threads que registram
+ * mensagens (várias produtoras) e a thread de log (uma única consumidora).
+ *
+ * As posições são objetos {@link Registro} criados uma única vez e
+ * reaproveitados: registrar uma mensagem só copia referências e números para
+ * a posição reservada, sem criar objetos. Cada posição tem um número de
+ * sequência que indica se ela está livre para a próxima volta das produtoras
+ * ou pronta para a consumidora (o esquema de fila limitada de D. Vyukov).
+ *
+ * Com a fila cheia a mensagem é descartada e contada, em vez de bloquear a
+ * thread que registra.
+ */
+final class FilaRegistros {
+    /** Uma mensagem ainda não formatada. */
+    static final class Registro {
+        volatile long sequencia;
+        long instante;
+        NivelLog nivel;
+        String origem;
+        String thread;
+        String modelo;
+        Object arg1;
+        Object arg2;
+        Object arg3;
+
+        void limpar() {
+            origem = null;
+            thread = null;
+            modelo = null;
+            arg1 = null;
+            arg2 = null;
+            arg3 = null;
+        }
+    }
+
+    private final Registro[] registros;
+    private final int mascara;
+    private final AtomicLong proximaEscrita = new AtomicLong();
+    private final AtomicLong descartados = new AtomicLong();
+    private long proximaLeitura; // Usado apenas pela consumidora
+
+    /**
+     * @param capacidade A quantidade de posições, arredondada para a próxima potência de 2.
+     */
+    FilaRegistros(int capacidade) {
+        int tamanho = Integer.highestOneBit(Math.max(2, capacidade - 1)) << 1;
+        registros = new Registro[tamanho];
+        mascara = tamanho - 1;
+        for (int i = 0; i < tamanho; i++) {
+            registros[i] = new Registro();
+            registros[i].sequencia = i;
+        }
+    }
+
+    /**
+     * Coloca uma mensagem na fila.
+     * @return false se a fila estava cheia e a mensagem foi descartada.
+     */
+    boolean oferecer(NivelLog nivel, String origem, String modelo, Object arg1, Object arg2, Object arg3) {
+        long posicao = proximaEscrita.get();
+        while (true) {
+            Registro registro = registros[(int) posicao & mascara];
+            long diferenca = registro.sequencia - posicao;
+            if (diferenca == 0) {
+                if (proximaEscrita.compareAndSet(posicao, posicao + 1)) {
+                    registro.instante = System.currentTimeMillis();
+                    registro.nivel = nivel;
+                    registro.origem = origem;
+                    registro.thread = Thread.currentThread().getName();
+                    registro.modelo = modelo;
+                    registro.arg1 = arg1;
+                    registro.arg2 = arg2;
+                    registro.arg3 = arg3;
+                    registro.sequencia = posicao + 1; // Publica para a consumidora
+                    return true;
+                }
+                posicao = proximaEscrita.get(); // Outra produtora reservou a posição
+            } else if (diferenca < 0) {
+                descartados.incrementAndGet(); // A consumidora ainda não liberou esta posição
+                return false;
+            } else {
+                posicao = proximaEscrita.get();
+            }
+        }
+    }
+
+    /**
+     * Retorna a próxima mensagem pronta, sem retirá-la; apenas para a consumidora.
+     * @return O registro, ou null se a fila estiver vazia.
+     */
+    Registro proximo() {
+        Registro registro = registros[(int) proximaLeitura & mascara];
+        return registro.sequencia == proximaLeitura + 1 ? registro : null;
+    }
+
+    /**
+     * Libera o registro retornado por {@link #proximo()} para as produtoras.
+     */
+    void liberar(Registro registro) {
+        registro.limpar();
+        registro.sequencia = proximaLeitura + registros.length;
+        proximaLeitura++;
+    }
+
+    /**
+     * Retorna e zera a quantidade de mensagens descartadas por fila cheia.
+     */
+    long retirarDescartados() {
+        return descartados.getAndSet(0);
+    }
+}
\ No newline at end of file
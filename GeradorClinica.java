@@ -0,0 +1,286 @@
+package br.com.veterinaria.carga;
+
+import br.com.veterinaria.busca.NormalizadorTexto;
+import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.ConflitoAgendamentoException;
+import br.com.veterinaria.facade.DadosIniciais;
+import br.com.veterinaria.facade.Expediente;
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Veterinario;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gera uma clínica sintética: clientes com um ou mais pets, veterinários e
+ * as agendas desses veterinários preenchidas por alguns dias, além do
+ * catálogo de medicamentos. Os dados são cadastrados pelas operações da
+ * {@link ClinicaFacade}, como se fossem digitados nas telas.
+ *
+ * É determinístico: a mesma semente, com os mesmos parâmetros e o mesmo dia
+ * de início, gera sempre os mesmos nomes, pets e consultas, na mesma ordem.
+ * Pode ser usado como {@link DadosIniciais} da facade no lugar dos dados de
+ * exemplo ({@code -Dclinica.dadosIniciais=sintetico}) e é a base do
+ * {@link TesteCarga}.
+ *
+ * Os parâmetros podem ser definidos pelas propriedades de sistema
+ * {@value #PROPRIEDADE_SEMENTE}, {@value #PROPRIEDADE_CLIENTES},
+ * {@value #PROPRIEDADE_VETERINARIOS}, {@value #PROPRIEDADE_DIAS},
+ * {@value #PROPRIEDADE_OCUPACAO} e {@value #PROPRIEDADE_INICIO}.
+ */
+public class GeradorClinica implements DadosIniciais {
+    private static final Registrador LOG = Registrador.para("Carga");
+
+    /** Propriedade de sistema com a semente dos números aleatórios. */
+    public static final String PROPRIEDADE_SEMENTE = "clinica.carga.semente";
+    /** Propriedade de sistema com a quantidade de clientes. */
+    public static final String PROPRIEDADE_CLIENTES = "clinica.carga.clientes";
+    /** Propriedade de sistema com a quantidade de veterinários. */
+    public static final String PROPRIEDADE_VETERINARIOS = "clinica.carga.veterinarios";
+    /** Propriedade de sistema com a quantidade de dias de agenda preenchidos. */
+    public static final String PROPRIEDADE_DIAS = "clinica.carga.dias";
+    /** Propriedade de sistema com a fração (0 a 1) dos horários de cada agenda que fica ocupada. */
+    public static final String PROPRIEDADE_OCUPACAO = "clinica.carga.ocupacao";
+    /** Propriedade de sistema com o primeiro dia da agenda (aaaa-mm-dd; padrão: amanhã). */
+    public static final String PROPRIEDADE_INICIO = "clinica.carga.inicio";
+
+    private static final long SEMENTE_PADRAO = 42;
+    private static final int CLIENTES_PADRAO = 2000;
+    private static final int VETERINARIOS_PADRAO = 20;
+    private static final int DIAS_PADRAO = 30;
+    private static final double OCUPACAO_PADRAO = 0.6;
+
+    private static final String[] NOMES = {
+            "Ana", "Bruno", "Carla", "Daniel", "Eduarda", "Felipe", "Gabriela", "Henrique", "Isabela", "João",
+            "Juliana", "Lucas", "Mariana", "Natália", "Otávio", "Paula", "Rafael", "Sofia", "Thiago", "Vitória"};
+    private static final String[] SOBRENOMES = {
+            "Silva", "Souza", "Oliveira", "Santos", "Pereira", "Costa", "Rodrigues", "Almeida", "Nascimento",
+            "Lima", "Araújo", "Fernandes", "Carvalho", "Gomes", "Martins", "Rocha", "Ribeiro", "Barbosa"};
+    private static final String[] NOMES_PETS = {
+            "Thor", "Luna", "Mel", "Bob", "Nina", "Fred", "Pipoca", "Max", "Belinha", "Simba", "Lola", "Toby",
+            "Amora", "Bidu", "Frida", "Miau", "Paçoca", "Zeus", "Jade", "Floquinho"};
+    // Espécie, percentual dos pets (acumulado) e raças
+    private static final String[] ESPECIES = {"Cachorro", "Gato", "Ave", "Coelho"};
+    private static final int[] PERCENTUAL_ACUMULADO_ESPECIES = {60, 90, 96, 100};
+    private static final String[][] RACAS = {
+            {"SRD", "Labrador", "Poodle", "Shih Tzu", "Golden Retriever", "Bulldog Francês"},
+            {"SRD", "Siamês", "Persa", "Maine Coon"},
+            {"Calopsita", "Periquito"},
+            {"Mini Lop"}};
+    // Quantidade de pets por cliente: 1 a 4, com percentual acumulado
+    private static final int[] PERCENTUAL_ACUMULADO_PETS = {55, 85, 95, 100};
+    private static final String[] DIAGNOSTICOS = {
+            "Dermatite alérgica por pulgas", "Otite externa bilateral", "Gastroenterite aguda", "Doença periodontal",
+            "Sarna demodécica", "Fratura de rádio e ulna", "Obesidade", "Conjuntivite", "Cistite idiopática",
+            "Check-up anual sem alterações", "Verminose", "Displasia coxofemoral"};
+    private static final String[][] MEDICAMENTOS = {
+            {"Amoxicilina", "Antibiótico", "1 comprimido a cada 12h"},
+            {"Dipirona", "Analgésico e antitérmico", "1 gota/kg a cada 8h"},
+            {"Meloxicam", "Anti-inflamatório", "1x ao dia"},
+            {"Prednisolona", "Corticoide", "1x ao dia"},
+            {"Ivermectina", "Antiparasitário", "Dose única"},
+            {"Cefalexina", "Antibiótico", "1 comprimido a cada 12h"},
+            {"Omeprazol", "Protetor gástrico", "1x ao dia em jejum"},
+            {"Metronidazol", "Antibiótico e antiprotozoário", "1 comprimido a cada 12h"},
+            {"Tramadol", "Analgésico", "1 comprimido a cada 8h"},
+            {"Simparic", "Antipulgas e carrapatos", "1 comprimido por mês"}};
+
+    private final long semente;
+    private final int clientes;
+    private final int veterinarios;
+    private final int dias;
+    private final double ocupacao;
+    private final LocalDate inicio;
+
+    /**
+     * Cria um gerador.
+     * @param semente A semente dos números aleatórios.
+     * @param clientes A quantidade de clientes (cada um com 1 a 4 pets).
+     * @param veterinarios A quantidade de veterinários (pelo menos 1).
+     * @param dias Quantos dias de agenda, a partir do início, são preenchidos.
+     * @param ocupacao A fração (0 a 1) dos horários de cada agenda que fica ocupada.
+     * @param inicio O primeiro dia da agenda.
+     */
+    public GeradorClinica(long semente, int clientes, int veterinarios, int dias, double ocupacao, LocalDate inicio) {
+        if (clientes < 1 || veterinarios < 1 || dias < 0) {
+            throw new IllegalArgumentException("Quantidades inválidas: " + clientes + " clientes, "
+                    + veterinarios + " veterinários, " + dias + " dias.");
+        }
+        if (ocupacao < 0 || ocupacao > 1) {
+            throw new IllegalArgumentException("Ocupação inválida: " + ocupacao + " (deve estar entre 0 e 1).");
+        }
+        this.semente = semente;
+        this.clientes = clientes;
+        this.veterinarios = veterinarios;
+        this.dias = dias;
+        this.ocupacao = ocupacao;
+        this.inicio = inicio;
+    }
+
+    /**
+     * Cria o gerador definido nas propriedades de sistema (ou o padrão: semente
+     * 42, 2000 clientes, 20 veterinários, 30 dias de agenda a partir de amanhã
+     * com 60% dos horários ocupados).
+     * @return O gerador configurado.
+     */
+    public static GeradorClinica porConfiguracao() {
+        String inicio = System.getProperty(PROPRIEDADE_INICIO);
+        return new GeradorClinica(Long.getLong(PROPRIEDADE_SEMENTE, SEMENTE_PADRAO),
+                Integer.getInteger(PROPRIEDADE_CLIENTES, CLIENTES_PADRAO),
+                Integer.getInteger(PROPRIEDADE_VETERINARIOS, VETERINARIOS_PADRAO),
+                Integer.getInteger(PROPRIEDADE_DIAS, DIAS_PADRAO),
+                Double.parseDouble(System.getProperty(PROPRIEDADE_OCUPACAO, String.valueOf(OCUPACAO_PADRAO))),
+                inicio != null ? LocalDate.parse(inicio.trim()) : LocalDate.now().plusDays(1));
+    }
+
+    @Override
+    public void carregar(ClinicaFacade facade) {
+        long comeco = System.nanoTime();
+        SplittableRandom aleatorio = new SplittableRandom(semente);
+        catalogarMedicamentos(facade);
+
+        List<Pet> pets = new ArrayList<>();
+        for (int i = 0; i < clientes; i++) {
+            Cliente cliente = gerarCliente(aleatorio, i);
+            facade.cadastrarCliente(cliente);
+            int quantidadePets = 1 + sortearFaixa(aleatorio, PERCENTUAL_ACUMULADO_PETS);
+            for (int p = 0; p < quantidadePets; p++) {
+                Pet pet = gerarPet(aleatorio, cliente);
+                facade.cadastrarPet(pet);
+                pets.add(pet);
+            }
+        }
+
+        List<Veterinario> equipe = new ArrayList<>(veterinarios);
+        for (int i = 0; i < veterinarios; i++) {
+            Veterinario veterinario = new Veterinario((i % 2 == 0 ? "Dr. " : "Dra. ") + nomeCompleto(aleatorio),
+                    "CRMV-SP " + (10000 + aleatorio.nextInt(90000)));
+            facade.cadastrarVeterinario(veterinario);
+            equipe.add(veterinario);
+        }
+
+        int consultas = preencherAgendas(facade, aleatorio, pets, equipe);
+        LOG.info("Clínica sintética gerada: {} clientes, {} pets e {} consultas.", clientes, pets.size(), consultas);
+        LOG.debug("Geração com a semente {} levou {} ms.", semente, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - comeco));
+    }
+
+    /**
+     * Inclui no catálogo os medicamentos usados pelo gerador (os que já existem são mantidos).
+     * @param facade A facade.
+     * @return As entradas do catálogo, sempre na mesma ordem.
+     */
+    public static List<Medicamento> catalogarMedicamentos(ClinicaFacade facade) {
+        List<Medicamento> catalogo = new ArrayList<>(MEDICAMENTOS.length);
+        for (String[] medicamento : MEDICAMENTOS) {
+            catalogo.add(facade.catalogarMedicamento(medicamento[0], medicamento[1], medicamento[2]));
+        }
+        return catalogo;
+    }
+
+    /**
+     * Sorteia a descrição de um diagnóstico.
+     * @param aleatorio O gerador de números aleatórios.
+     * @return A descrição.
+     */
+    public static String sortearDiagnostico(SplittableRandom aleatorio) {
+        return DIAGNOSTICOS[aleatorio.nextInt(DIAGNOSTICOS.length)];
+    }
+
+    public long getSemente() {
+        return semente;
+    }
+
+    public int getClientes() {
+        return clientes;
+    }
+
+    public int getVeterinarios() {
+        return veterinarios;
+    }
+
+    public int getDias() {
+        return dias;
+    }
+
+    public double getOcupacao() {
+        return ocupacao;
+    }
+
+    public LocalDate getInicio() {
+        return inicio;
+    }
+
+    /**
+     * Percorre os horários do expediente de cada dia e veterinário, ocupando
+     * cada um com a probabilidade configurada. Um pet sorteado que já tem
+     * consulta no horário (com outro veterinário) deixa o horário livre.
+     */
+    private int preencherAgendas(ClinicaFacade facade, SplittableRandom aleatorio, List<Pet> pets, List<Veterinario> equipe) {
+        Expediente expediente = facade.getExpediente();
+        ZoneId fuso = ZoneId.systemDefault();
+        long duracao = TimeUnit.MINUTES.toMillis(Consulta.DURACAO_PADRAO_MINUTOS);
+        int agendadas = 0;
+        LocalDate dia = inicio;
+        for (int d = 0; d < dias; d++, dia = dia.plusDays(1)) {
+            if (!expediente.atende(dia.getDayOfWeek())) {
+                continue;
+            }
+            long abertura = dia.atTime(expediente.getAbertura()).atZone(fuso).toInstant().toEpochMilli();
+            long fechamento = dia.atTime(expediente.getFechamento()).atZone(fuso).toInstant().toEpochMilli();
+            for (Veterinario veterinario : equipe) {
+                for (long horario = abertura; horario + duracao <= fechamento; horario += duracao) {
+                    if (aleatorio.nextDouble() >= ocupacao) {
+                        continue;
+                    }
+                    Pet pet = pets.get(aleatorio.nextInt(pets.size()));
+                    try {
+                        facade.agendarConsulta(pet, pet.getProprietario(), veterinario, new Date(horario),
+                                Consulta.DURACAO_PADRAO_MINUTOS);
+                        agendadas++;
+                    } catch (ConflitoAgendamentoException e) {
+                        // O pet já está em outra consulta nesse horário
+                    }
+                }
+            }
+        }
+        return agendadas;
+    }
+
+    private Cliente gerarCliente(SplittableRandom aleatorio, int numero) {
+        String nome = nomeCompleto(aleatorio);
+        String telefone = "11" + (900000000 + aleatorio.nextInt(100000000));
+        String email = NormalizadorTexto.normalizar(nome).replace(' ', '.') + numero + "@email.com";
+        return new Cliente(nome, telefone, email);
+    }
+
+    private static Pet gerarPet(SplittableRandom aleatorio, Cliente proprietario) {
+        int especie = sortearFaixa(aleatorio, PERCENTUAL_ACUMULADO_ESPECIES);
+        String[] racas = RACAS[especie];
+        return new Pet(NOMES_PETS[aleatorio.nextInt(NOMES_PETS.length)], ESPECIES[especie],
+                racas[aleatorio.nextInt(racas.length)], 1 + aleatorio.nextInt(15), proprietario);
+    }
+
+    private static String nomeCompleto(SplittableRandom aleatorio) {
+        return NOMES[aleatorio.nextInt(NOMES.length)] + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)]
+                + " " + SOBRENOMES[aleatorio.nextInt(SOBRENOMES.length)];
+    }
+
+    // Índice da primeira faixa cujo percentual acumulado passa do número sorteado (0 a 99)
+    private static int sortearFaixa(SplittableRandom aleatorio, int[] percentualAcumulado) {
+        int sorteado = aleatorio.nextInt(100);
+        int faixa = 0;
+        while (sorteado >= percentualAcumulado[faixa]) {
+            faixa++;
+        }
+        return faixa;
+    }
+}
\ No newline at end of file
@@ -1,20 +1,18 @@
 package br.com.veterinaria.gui;
 
-import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
+import br.com.veterinaria.facade.TipoEvento;
 import br.com.veterinaria.model.Cliente;
-import br.com.veterinaria.model.Pet;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 
 public class GerenciarClientesGUI extends JFrame {
-    private ClinicaFacade facade;
+    private ClinicaFacadeAsync facade;
     private JTable clientesTable;
-    private DefaultTableModel tableModel;
+    private TabelaEntidadesModel<Cliente> tableModel;
 
     // Componentes para Adicionar Cliente
     private JTextField txtNome;
@@ -24,8 +22,9 @@ public class GerenciarClientesGUI extends JFrame {
 
     // Componente para Remover Cliente
     private JButton btnRemover;
+    private IndicadorCarregamento indicador; // Andamento das operações em segundo plano
 
-    public GerenciarClientesGUI(ClinicaFacade facade) {
+    public GerenciarClientesGUI(ClinicaFacadeAsync facade) {
         this.facade = facade;
         setTitle("Gerenciar Clientes");
         setSize(700, 500);
@@ -33,6 +32,7 @@ public class GerenciarClientesGUI extends JFrame {
         setLocationRelativeTo(null);
 
         initComponents();
+        assinarEventos(); // Antes da carga, para não perder alterações feitas enquanto ela acontece
         loadClientes(); // Carrega clientes na tabela
         addListeners();
     }
@@ -67,22 +67,32 @@ public class GerenciarClientesGUI extends JFrame {
         JPanel listagemPanel = new JPanel(new BorderLayout(10, 10));
         listagemPanel.setBorder(BorderFactory.createTitledBorder("Clientes Cadastrados"));
 
-        String[] columnNames = {"ID", "Nome", "Telefone", "Email"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Células da tabela não editáveis
-            }
-        };
+        // As células são lidas do cliente apenas quando a linha é exibida
+        tableModel = new TabelaEntidadesModel<Cliente>()
+                .coluna("ID", Integer.class, Cliente::getId)
+                .coluna("Nome", String.class, Cliente::getNome)
+                .coluna("Telefone", String.class, Cliente::getTelefone)
+                .coluna("Email", String.class, Cliente::getEmail);
         clientesTable = new JTable(tableModel);
         clientesTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane scrollPane = new JScrollPane(clientesTable);
         listagemPanel.add(scrollPane, BorderLayout.CENTER);
 
+        // Busca por nome: a sugestão escolhida é selecionada na tabela
+        JPanel buscaPanel = new JPanel(new BorderLayout(5, 0));
+        buscaPanel.add(new JLabel("Buscar por nome:"), BorderLayout.WEST);
+        buscaPanel.add(new CampoBusca<Cliente>(facade::sugerirClientes, cliente -> tableModel.selecionar(clientesTable, cliente)), BorderLayout.CENTER);
+        listagemPanel.add(buscaPanel, BorderLayout.NORTH);
+
+
         btnRemover = new JButton("Remover Cliente Selecionado");
         JPanel removerPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         removerPanel.add(btnRemover);
-        listagemPanel.add(removerPanel, BorderLayout.SOUTH);
+        indicador = new IndicadorCarregamento();
+        JPanel rodapePanel = new JPanel(new BorderLayout());
+        rodapePanel.add(indicador, BorderLayout.CENTER);
+        rodapePanel.add(removerPanel, BorderLayout.EAST);
+        listagemPanel.add(rodapePanel, BorderLayout.SOUTH);
 
         mainPanel.add(listagemPanel, BorderLayout.CENTER);
 
@@ -108,32 +118,32 @@ public class GerenciarClientesGUI extends JFrame {
         }
 
         Cliente novoCliente = new Cliente(nome, telefone, email);
-        facade.cadastrarCliente(novoCliente);
-        JOptionPane.showMessageDialog(this, "Cliente '" + nome + "' cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-
-        // Limpa os campos após o cadastro
-        txtNome.setText("");
-        txtTelefone.setText("");
-        txtEmail.setText("");
-        loadClientes(); // Recarrega a tabela para mostrar o novo cliente
+        indicador.executar("Cadastrando cliente", facade.cadastrarCliente(novoCliente), ok -> {
+            JOptionPane.showMessageDialog(this, "Cliente '" + nome + "' cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+
+            // Limpa os campos após o cadastro
+            txtNome.setText("");
+            txtTelefone.setText("");
+            txtEmail.setText("");
+            // A nova linha chega pelo evento CLIENTE_CADASTRADO
+        }, btnAdicionar);
+    }
+
+    /**
+     * Aplica na tabela, linha a linha, os cadastros e remoções de clientes
+     * feitos nesta ou em outras telas.
+     */
+    private void assinarEventos() {
+        OuvintesTela ouvintes = new OuvintesTela(this, facade.getEventos());
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_CADASTRADO, tableModel::adicionar);
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_REMOVIDO, tableModel::remover);
     }
 
     /**
      * Carrega todos os clientes da ClinicaFacade e os exibe na tabela.
      */
     private void loadClientes() {
-        tableModel.setRowCount(0); // Limpa a tabela
-        List<Cliente> clientes = facade.getClientesCadastrados();
-
-        for (Cliente cliente : clientes) {
-            Object[] rowData = {
-                    cliente.getId(),
-                    cliente.getNome(),
-                    cliente.getTelefone(),
-                    cliente.getEmail()
-            };
-            tableModel.addRow(rowData);
-        }
+        indicador.executar("Carregando clientes", facade.getClientesCadastrados(), tableModel::recarregar, btnRemover);
     }
 
     /**
@@ -146,40 +156,27 @@ public class GerenciarClientesGUI extends JFrame {
             return;
         }
 
-        int clienteId = (int) tableModel.getValueAt(selectedRow, 0); // Pega o ID do cliente da linha selecionada
-
-        Cliente clienteParaRemover = null;
-        for (Cliente cliente : facade.getClientesCadastrados()) {
-            if (cliente.getId() == clienteId) {
-                clienteParaRemover = cliente;
-                break;
-            }
-        }
+        Cliente clienteParaRemover = tableModel.getEntidade(clientesTable.convertRowIndexToModel(selectedRow));
 
         if (clienteParaRemover != null) {
             // Verifica se o cliente possui pets antes de remover
-            boolean temPets = false;
-            for(Pet pet : facade.getPetsCadastrados()) {
-                if(pet.getProprietario() != null && pet.getProprietario().getId() == clienteParaRemover.getId()) {
-                    temPets = true;
-                    break;
+            indicador.executar("Verificando pets do cliente", facade.clientePossuiPets(clienteParaRemover), possuiPets -> {
+                if (possuiPets) {
+                    JOptionPane.showMessageDialog(this, "Não é possível remover este cliente. Ele possui pets cadastrados.", "Erro de Remoção", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                int confirm = JOptionPane.showConfirmDialog(this,
+                        "Tem certeza que deseja remover o cliente '" + clienteParaRemover.getNome() + "'?",
+                        "Confirmar Remoção", JOptionPane.YES_NO_OPTION);
+
+                if (confirm == JOptionPane.YES_OPTION) {
+                    // A linha sai pelo evento CLIENTE_REMOVIDO
+                    indicador.executar("Removendo cliente", facade.removerCliente(clienteParaRemover), ok -> {
+                        JOptionPane.showMessageDialog(this, "Cliente removido com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                    }, btnRemover);
                 }
-            }
-
-            if (temPets) {
-                JOptionPane.showMessageDialog(this, "Não é possível remover este cliente. Ele possui pets cadastrados.", "Erro de Remoção", JOptionPane.ERROR_MESSAGE);
-                return;
-            }
-
-            int confirm = JOptionPane.showConfirmDialog(this,
-                    "Tem certeza que deseja remover o cliente '" + clienteParaRemover.getNome() + "'?",
-                    "Confirmar Remoção", JOptionPane.YES_NO_OPTION);
-
-            if (confirm == JOptionPane.YES_OPTION) {
-                facade.removerCliente(clienteParaRemover); // Chama a facade para remover
-                loadClientes(); // Recarrega a tabela
-                JOptionPane.showMessageDialog(this, "Cliente removido com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-            }
+            }, btnRemover);
         } else {
             JOptionPane.showMessageDialog(this, "Erro: Cliente não encontrado para remoção.", "Erro", JOptionPane.ERROR_MESSAGE);
         }
@@ -1,20 +1,19 @@
 package br.com.veterinaria.gui;
 
-import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
+import br.com.veterinaria.facade.TipoEvento;
 import br.com.veterinaria.model.Cliente;
 import br.com.veterinaria.model.Pet;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 
 public class GerenciarPetsGUI extends JFrame {
-    private ClinicaFacade facade;
+    private ClinicaFacadeAsync facade;
     private JTable petsTable;
-    private DefaultTableModel tableModel;
+    private TabelaEntidadesModel<Pet> tableModel;
 
     // Componentes para Adicionar Pet
     private JTextField txtNome;
@@ -26,8 +25,9 @@ public class GerenciarPetsGUI extends JFrame {
 
     // Componente para Remover Pet
     private JButton btnRemover;
+    private IndicadorCarregamento indicador; // Andamento das operações em segundo plano
 
-    public GerenciarPetsGUI(ClinicaFacade facade) {
+    public GerenciarPetsGUI(ClinicaFacadeAsync facade) {
         this.facade = facade;
         setTitle("Gerenciar Pets");
         setSize(800, 600);
@@ -35,6 +35,7 @@ public class GerenciarPetsGUI extends JFrame {
         setLocationRelativeTo(null);
 
         initComponents();
+        assinarEventos();  // Antes da carga, para não perder alterações feitas enquanto ela acontece
         loadInitialData(); // Carrega clientes para o ComboBox e pets para a tabela
         addListeners();
     }
@@ -77,28 +78,58 @@ public class GerenciarPetsGUI extends JFrame {
         JPanel listagemPanel = new JPanel(new BorderLayout(10, 10));
         listagemPanel.setBorder(BorderFactory.createTitledBorder("Pets Cadastrados"));
 
-        String[] columnNames = {"ID", "Nome", "Espécie", "Raça", "Idade", "Proprietário"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Torna as células da tabela não editáveis
-            }
-        };
+        // As células são lidas do pet apenas quando a linha é exibida
+        tableModel = new TabelaEntidadesModel<Pet>()
+                .coluna("ID", Integer.class, Pet::getId)
+                .coluna("Nome", String.class, Pet::getNome)
+                .coluna("Espécie", String.class, Pet::getEspecie)
+                .coluna("Raça", String.class, Pet::getRaca)
+                .coluna("Idade", Integer.class, Pet::getIdade)
+                .coluna("Proprietário", String.class, pet -> (pet.getProprietario() != null) ? pet.getProprietario().getNome() : "N/A");
         petsTable = new JTable(tableModel);
         petsTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         JScrollPane scrollPane = new JScrollPane(petsTable);
         listagemPanel.add(scrollPane, BorderLayout.CENTER);
 
+        // Busca por nome: a sugestão escolhida é selecionada na tabela
+        JPanel buscaPanel = new JPanel(new BorderLayout(5, 0));
+        buscaPanel.add(new JLabel("Buscar por nome:"), BorderLayout.WEST);
+        buscaPanel.add(new CampoBusca<Pet>(facade::sugerirPets, pet -> tableModel.selecionar(petsTable, pet)), BorderLayout.CENTER);
+        listagemPanel.add(buscaPanel, BorderLayout.NORTH);
+
+
         btnRemover = new JButton("Remover Pet Selecionado");
         JPanel removerPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
         removerPanel.add(btnRemover);
-        listagemPanel.add(removerPanel, BorderLayout.SOUTH);
+        indicador = new IndicadorCarregamento();
+        JPanel rodapePanel = new JPanel(new BorderLayout());
+        rodapePanel.add(indicador, BorderLayout.CENTER);
+        rodapePanel.add(removerPanel, BorderLayout.EAST);
+        listagemPanel.add(rodapePanel, BorderLayout.SOUTH);
 
         mainPanel.add(listagemPanel, BorderLayout.CENTER);
 
         add(mainPanel);
     }
 
+    /**
+     * Aplica, item a item, os cadastros e remoções de pets (na tabela) e de
+     * clientes (na lista de proprietários) feitos nesta ou em outras telas.
+     */
+    private void assinarEventos() {
+        OuvintesTela ouvintes = new OuvintesTela(this, facade.getEventos());
+        ouvintes.aoOcorrer(TipoEvento.PET_CADASTRADO, tableModel::adicionar);
+        ouvintes.aoOcorrer(TipoEvento.PET_REMOVIDO, tableModel::remover);
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_CADASTRADO, cliente -> {
+            cmbProprietario.addItem(cliente);
+            btnAdicionar.setEnabled(true);
+        });
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_REMOVIDO, cliente -> {
+            cmbProprietario.removeItem(cliente);
+            btnAdicionar.setEnabled(cmbProprietario.getItemCount() > 0);
+        });
+    }
+
     private void loadInitialData() {
         loadProprietarios(); // **Carrega clientes no ComboBox**
         loadPets();          // Carrega pets na tabela
@@ -109,17 +140,18 @@ public class GerenciarPetsGUI extends JFrame {
      * Essencial para que o usuário possa selecionar o proprietário do novo pet.
      */
     private void loadProprietarios() {
-        cmbProprietario.removeAllItems();
-        List<Cliente> clientes = facade.getClientesCadastrados();
-        if (clientes.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Não há clientes cadastrados. Cadastre um cliente para adicionar um pet.", "Aviso", JOptionPane.WARNING_MESSAGE);
-            btnAdicionar.setEnabled(false); // Desabilita o botão de adicionar se não houver clientes
-            return;
-        }
-        for (Cliente cliente : clientes) {
-            cmbProprietario.addItem(cliente);
-        }
-        btnAdicionar.setEnabled(true); // Habilita o botão se houver clientes
+        indicador.executar("Carregando clientes", facade.getClientesCadastrados(), clientes -> {
+            cmbProprietario.removeAllItems(); // A lista carregada já inclui clientes que chegaram por evento
+            if (clientes.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "Não há clientes cadastrados. Cadastre um cliente para adicionar um pet.", "Aviso", JOptionPane.WARNING_MESSAGE);
+                btnAdicionar.setEnabled(false); // Desabilita o botão de adicionar se não houver clientes
+                return;
+            }
+            for (Cliente cliente : clientes) {
+                cmbProprietario.addItem(cliente);
+            }
+            btnAdicionar.setEnabled(true); // Habilita o botão se houver clientes
+        });
     }
 
     private void addListeners() {
@@ -155,36 +187,25 @@ public class GerenciarPetsGUI extends JFrame {
         }
 
         Pet novoPet = new Pet(nome, especie, raca, idade, proprietario);
-        facade.cadastrarPet(novoPet); // Chama o método da facade para cadastrar o pet
-        JOptionPane.showMessageDialog(this, "Pet '" + nome + "' cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
-
-        // Limpa os campos após o cadastro
-        txtNome.setText("");
-        txtEspecie.setText("");
-        txtRaca.setText("");
-        txtIdade.setText("");
-        // cmbProprietario.setSelectedIndex(0); // Opcional: resetar seleção do proprietário para o primeiro item
-        loadPets(); // Recarrega a tabela para mostrar o novo pet
+        // Chama o método da facade para cadastrar o pet, sem bloquear a tela
+        indicador.executar("Cadastrando pet", facade.cadastrarPet(novoPet), ok -> {
+            JOptionPane.showMessageDialog(this, "Pet '" + nome + "' cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+
+            // Limpa os campos após o cadastro
+            txtNome.setText("");
+            txtEspecie.setText("");
+            txtRaca.setText("");
+            txtIdade.setText("");
+            // cmbProprietario.setSelectedIndex(0); // Opcional: resetar seleção do proprietário para o primeiro item
+            // A nova linha chega pelo evento PET_CADASTRADO
+        }, btnAdicionar);
     }
 
     /**
      * Carrega todos os pets da ClinicaFacade e os exibe na tabela.
      */
     private void loadPets() {
-        tableModel.setRowCount(0); // Limpa a tabela
-        List<Pet> pets = facade.getPetsCadastrados();
-
-        for (Pet pet : pets) {
-            Object[] rowData = {
-                    pet.getId(),
-                    pet.getNome(),
-                    pet.getEspecie(),
-                    pet.getRaca(),
-                    pet.getIdade(),
-                    (pet.getProprietario() != null) ? pet.getProprietario().getNome() : "N/A"
-            };
-            tableModel.addRow(rowData);
-        }
+        indicador.executar("Carregando pets", facade.getPetsCadastrados(), tableModel::recarregar, btnRemover);
     }
 
     /**
@@ -197,15 +218,7 @@ public class GerenciarPetsGUI extends JFrame {
             return;
         }
 
-        int petId = (int) tableModel.getValueAt(selectedRow, 0); // Pega o ID do pet da linha selecionada
-
-        Pet petParaRemover = null;
-        for (Pet pet : facade.getPetsCadastrados()) {
-            if (pet.getId() == petId) {
-                petParaRemover = pet;
-                break;
-            }
-        }
+        Pet petParaRemover = tableModel.getEntidade(petsTable.convertRowIndexToModel(selectedRow));
 
         if (petParaRemover != null) {
             int confirm = JOptionPane.showConfirmDialog(this,
@@ -213,9 +226,10 @@ public class GerenciarPetsGUI extends JFrame {
                     "Confirmar Remoção", JOptionPane.YES_NO_OPTION);
 
             if (confirm == JOptionPane.YES_OPTION) {
-                facade.removerPet(petParaRemover); // Chama a facade para remover
-                loadPets(); // Recarrega a tabela
-                JOptionPane.showMessageDialog(this, "Pet removido com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                // A linha sai pelo evento PET_REMOVIDO
+                indicador.executar("Removendo pet", facade.removerPet(petParaRemover), ok -> {
+                    JOptionPane.showMessageDialog(this, "Pet removido com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                }, btnRemover);
             }
         } else {
             JOptionPane.showMessageDialog(this, "Erro: Pet não encontrado para remoção.", "Erro", JOptionPane.ERROR_MESSAGE);
@@ -1,25 +1,25 @@
 package br.com.veterinaria.gui;
 
-import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
+import br.com.veterinaria.facade.TipoEvento;
 import br.com.veterinaria.model.Veterinario;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.List;
 
 public class GerenciarVeterinariosGUI extends JFrame {
-    private ClinicaFacade facade;
+    private ClinicaFacadeAsync facade;
     private JTable veterinariosTable;
-    private DefaultTableModel tableModel;
+    private TabelaEntidadesModel<Veterinario> tableModel;
 
     // Botões para as novas funcionalidades
     private JButton btnAdicionar; // Botão para adicionar (opcional, pode levar a outra GUI)
     private JButton btnRemover;   // Botão para remover
+    private IndicadorCarregamento indicador; // Andamento das operações em segundo plano
 
-    public GerenciarVeterinariosGUI(ClinicaFacade facade) {
+    public GerenciarVeterinariosGUI(ClinicaFacadeAsync facade) {
         this.facade = facade;
         setTitle("Gerenciar Veterinários");
         setSize(600, 400);
@@ -27,6 +27,7 @@ public class GerenciarVeterinariosGUI extends JFrame {
         setLocationRelativeTo(null);
 
         initComponents();
+        assinarEventos();   // Antes da carga, para não perder alterações feitas enquanto ela acontece
         loadVeterinarios(); // Carrega os veterinários ao iniciar a tela
         addListeners();     // Adiciona os listeners para os novos botões
     }
@@ -35,18 +36,23 @@ public class GerenciarVeterinariosGUI extends JFrame {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
         panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
-        String[] columnNames = {"ID", "Nome", "CRMV"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false; // Células da tabela não editáveis
-            }
-        };
+        // As células são lidas do veterinário apenas quando a linha é exibida
+        tableModel = new TabelaEntidadesModel<Veterinario>()
+                .coluna("ID", Integer.class, Veterinario::getId)
+                .coluna("Nome", String.class, Veterinario::getNome)
+                .coluna("CRMV", String.class, Veterinario::getCrmv);
         veterinariosTable = new JTable(tableModel);
         veterinariosTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION); // Permite selecionar apenas uma linha
         JScrollPane scrollPane = new JScrollPane(veterinariosTable);
         panel.add(scrollPane, BorderLayout.CENTER);
 
+        // Busca por nome: a sugestão escolhida é selecionada na tabela
+        JPanel buscaPanel = new JPanel(new BorderLayout(5, 0));
+        buscaPanel.add(new JLabel("Buscar por nome:"), BorderLayout.WEST);
+        buscaPanel.add(new CampoBusca<Veterinario>(facade::sugerirVeterinarios, veterinario -> tableModel.selecionar(veterinariosTable, veterinario)), BorderLayout.CENTER);
+        panel.add(buscaPanel, BorderLayout.NORTH);
+
+
         // Painel de botões
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
 
@@ -56,7 +62,11 @@ public class GerenciarVeterinariosGUI extends JFrame {
         buttonPanel.add(btnAdicionar);
         buttonPanel.add(btnRemover);
 
-        panel.add(buttonPanel, BorderLayout.SOUTH);
+        indicador = new IndicadorCarregamento();
+        JPanel rodapePanel = new JPanel(new BorderLayout());
+        rodapePanel.add(indicador, BorderLayout.CENTER);
+        rodapePanel.add(buttonPanel, BorderLayout.EAST);
+        panel.add(rodapePanel, BorderLayout.SOUTH);
 
         add(panel);
     }
@@ -78,9 +88,11 @@ public class GerenciarVeterinariosGUI extends JFrame {
                 }
 
                 // Cria e cadastra o novo veterinário usando a facade
-                facade.cadastrarVeterinario(new Veterinario(nome, crmv));
-                loadVeterinarios(); // Recarrega a tabela para mostrar o novo veterinário
-                JOptionPane.showMessageDialog(GerenciarVeterinariosGUI.this, "Veterinário " + nome + " cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                Veterinario novoVeterinario = new Veterinario(nome, crmv);
+                // A nova linha chega pelo evento VETERINARIO_CADASTRADO
+                indicador.executar("Cadastrando veterinário", facade.cadastrarVeterinario(novoVeterinario), ok -> {
+                    JOptionPane.showMessageDialog(GerenciarVeterinariosGUI.this, "Veterinário " + nome + " cadastrado com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                }, btnAdicionar);
             }
         });
 
@@ -93,27 +105,22 @@ public class GerenciarVeterinariosGUI extends JFrame {
         });
     }
 
+    /**
+     * Aplica na tabela, linha a linha, os cadastros e remoções de veterinários
+     * feitos nesta ou em outras telas.
+     */
+    private void assinarEventos() {
+        OuvintesTela ouvintes = new OuvintesTela(this, facade.getEventos());
+        ouvintes.aoOcorrer(TipoEvento.VETERINARIO_CADASTRADO, tableModel::adicionar);
+        ouvintes.aoOcorrer(TipoEvento.VETERINARIO_REMOVIDO, tableModel::remover);
+    }
+
     /**
      * Carrega todos os veterinários da ClinicaFacade e os exibe na tabela.
      */
     private void loadVeterinarios() {
-        tableModel.setRowCount(0); // Limpa a tabela
-
-        List<Veterinario> veterinarios = facade.getVeterinariosCadastrados();
-        if (veterinarios.isEmpty()) {
-            // Não exibe um JOptionPane se a lista estiver vazia ao iniciar, apenas ao tentar remover.
-            // JOptionPane.showMessageDialog(this, "Nenhum veterinário cadastrado no momento.", "Informação", JOptionPane.INFORMATION_MESSAGE);
-            return;
-        }
-
-        for (Veterinario vet : veterinarios) {
-            Object[] rowData = {
-                    vet.getId(),
-                    vet.getNome(),
-                    vet.getCrmv()
-            };
-            tableModel.addRow(rowData);
-        }
+        // Não exibe um JOptionPane se a lista estiver vazia ao iniciar, apenas ao tentar remover.
+        indicador.executar("Carregando veterinários", facade.getVeterinariosCadastrados(), tableModel::recarregar, btnRemover);
     }
 
     /**
@@ -126,17 +133,8 @@ public class GerenciarVeterinariosGUI extends JFrame {
             return;
         }
 
-        // Obtém o ID do veterinário da linha selecionada (coluna ID)
-        int veterinarioId = (int) tableModel.getValueAt(selectedRow, 0);
-
-        // Busca o objeto Veterinario real pela facade
-        Veterinario veterinarioParaRemover = null;
-        for (Veterinario vet : facade.getVeterinariosCadastrados()) {
-            if (vet.getId() == veterinarioId) {
-                veterinarioParaRemover = vet;
-                break;
-            }
-        }
+        // O modelo guarda o próprio objeto Veterinario de cada linha
+        Veterinario veterinarioParaRemover = tableModel.getEntidade(veterinariosTable.convertRowIndexToModel(selectedRow));
 
         if (veterinarioParaRemover != null) {
             int confirm = JOptionPane.showConfirmDialog(this,
@@ -144,9 +142,10 @@ public class GerenciarVeterinariosGUI extends JFrame {
                     "Confirmar Remoção", JOptionPane.YES_NO_OPTION);
 
             if (confirm == JOptionPane.YES_OPTION) {
-                facade.removerVeterinario(veterinarioParaRemover); // Chama a facade para remover
-                loadVeterinarios(); // Recarrega a tabela para atualizar a visualização
-                JOptionPane.showMessageDialog(this, "Veterinário removido com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                // A linha sai pelo evento VETERINARIO_REMOVIDO
+                indicador.executar("Removendo veterinário", facade.removerVeterinario(veterinarioParaRemover), ok -> {
+                    JOptionPane.showMessageDialog(this, "Veterinário removido com sucesso!", "Sucesso", JOptionPane.INFORMATION_MESSAGE);
+                }, btnRemover);
             }
         } else {
             JOptionPane.showMessageDialog(this, "Veterinário não encontrado para remoção.", "Erro", JOptionPane.ERROR_MESSAGE);
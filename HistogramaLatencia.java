@@ -0,0 +1,142 @@
+package br.com.veterinaria.metricas;
+
+/**
+ * Histograma de latências com faixas de largura proporcional ao valor: cada
+ * potência de 2 é dividida em {@value #SUBDIVISOES} faixas iguais, então os
+ * percentis têm erro relativo menor que 1/{@value #SUBDIVISOES} (cerca de 3%)
+ * de 1 ns a centenas de anos, em um vetor fixo de 15 KB. Registrar um valor
+ * não aloca memória.
+ *
+ * Não é thread-safe: cada thread do teste de carga usa os seus histogramas,
+ * que são somados com {@link #adicionar} no final. Para registrar de várias
+ * threads use um {@link Medidor}, que fornece histogramas desta classe como
+ * retrato.
+ */
+public final class HistogramaLatencia {
+    private static final int BITS_SUBDIVISAO = 5;
+    private static final int SUBDIVISOES = 1 << BITS_SUBDIVISAO;
+    // Valores menores que SUBDIVISOES têm faixa própria; os demais, SUBDIVISOES faixas por potência de 2
+    static final int FAIXAS = SUBDIVISOES + (Long.SIZE - 1 - BITS_SUBDIVISAO) * SUBDIVISOES;
+
+    private final long[] contagens;
+    private long quantidade;
+    private long soma;
+    private long minimo = Long.MAX_VALUE;
+    private long maximo;
+
+    /** Cria um histograma vazio. */
+    public HistogramaLatencia() {
+        this(new long[FAIXAS]);
+    }
+
+    private HistogramaLatencia(long[] contagens) {
+        this.contagens = contagens;
+    }
+
+    /**
+     * Registra um valor.
+     * @param valor O valor (negativos contam como 0).
+     */
+    public void registrar(long valor) {
+        long v = Math.max(valor, 0);
+        contagens[faixa(v)]++;
+        quantidade++;
+        soma += v;
+        minimo = Math.min(minimo, v);
+        maximo = Math.max(maximo, v);
+    }
+
+    /**
+     * Soma a este histograma os valores registrados em outro.
+     * @param outro O outro histograma (não é alterado).
+     */
+    public void adicionar(HistogramaLatencia outro) {
+        for (int i = 0; i < FAIXAS; i++) {
+            contagens[i] += outro.contagens[i];
+        }
+        quantidade += outro.quantidade;
+        soma += outro.soma;
+        minimo = Math.min(minimo, outro.minimo);
+        maximo = Math.max(maximo, outro.maximo);
+    }
+
+    /**
+     * Retorna o valor abaixo do qual está um percentual dos registros (o maior
+     * valor da faixa em que ele cai, limitado ao máximo registrado).
+     * @param percentual O percentual, de 0 a 100 (ex: 99.9).
+     * @return O percentil, ou 0 se não houver registros.
+     */
+    public long percentil(double percentual) {
+        if (quantidade == 0) {
+            return 0;
+        }
+        long posicao = Math.max(1, (long) Math.ceil(quantidade * percentual / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < FAIXAS; i++) {
+            acumulado += contagens[i];
+            if (acumulado >= posicao) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+
+    public long getMinimo() {
+        return quantidade == 0 ? 0 : minimo;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    public double getMedia() {
+        return quantidade == 0 ? 0 : (double) soma / quantidade;
+    }
+
+    /**
+     * Cria o retrato de um {@link Medidor}.
+     * @param contagens A quantidade de registros em cada faixa (o vetor passa a ser do histograma).
+     * @param soma A soma dos valores.
+     * @param maximo O maior valor.
+     */
+    static HistogramaLatencia deContagens(long[] contagens, long soma, long maximo) {
+        HistogramaLatencia histograma = new HistogramaLatencia(contagens);
+        for (int i = 0; i < FAIXAS; i++) {
+            if (contagens[i] != 0) {
+                histograma.minimo = Math.min(histograma.minimo, limiteInferior(i));
+                histograma.quantidade += contagens[i];
+            }
+        }
+        histograma.soma = soma;
+        histograma.maximo = maximo;
+        return histograma;
+    }
+
+    static int faixa(long valor) {
+        if (valor < SUBDIVISOES) {
+            return (int) valor;
+        }
+        int deslocamento = Long.SIZE - 1 - Long.numberOfLeadingZeros(valor) - BITS_SUBDIVISAO;
+        int subdivisao = (int) (valor >>> deslocamento) & (SUBDIVISOES - 1);
+        return SUBDIVISOES + deslocamento * SUBDIVISOES + subdivisao;
+    }
+
+    private static long limiteInferior(int faixa) {
+        if (faixa < SUBDIVISOES) {
+            return faixa;
+        }
+        int deslocamento = (faixa - SUBDIVISOES) / SUBDIVISOES;
+        return (long) (SUBDIVISOES + (faixa - SUBDIVISOES) % SUBDIVISOES) << deslocamento;
+    }
+
+    private static long limiteSuperior(int faixa) {
+        if (faixa < SUBDIVISOES) {
+            return faixa;
+        }
+        return limiteInferior(faixa) + (1L << ((faixa - SUBDIVISOES) / SUBDIVISOES)) - 1;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package br.com.veterinaria.gui;
+
+import br.com.veterinaria.adapter.DataAdapter;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
+import br.com.veterinaria.facade.TipoEvento;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * Tela do histórico clínico de um pet: lista os atendimentos já realizados
+ * (data, veterinário, diagnóstico e medicamentos) e abre a prescrição de
+ * qualquer um deles na {@link PrescricaoGUI}.
+ */
+public class HistoricoPetGUI extends JFrame {
+    private ClinicaFacadeAsync facade;
+
+    private JComboBox<Cliente> cmbCliente;
+    private JComboBox<Pet> cmbPet;
+    private JTable tabelaHistorico;
+    private TabelaEntidadesModel<Prescricao> tableModel;
+    private JButton btnAbrirPrescricao;
+    private IndicadorCarregamento indicador; // Andamento das operações em segundo plano
+
+    /**
+     * Construtor da tela de histórico.
+     * @param facade A facade assíncrona para interagir com a lógica de negócio.
+     */
+    public HistoricoPetGUI(ClinicaFacadeAsync facade) {
+        this.facade = facade;
+        setTitle("Histórico Clínico do Pet");
+        setSize(750, 450);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        initComponents();
+        assinarEventos(); // Antes da carga, para não perder alterações feitas enquanto ela acontece
+        addListeners();
+        loadClientes();
+    }
+
+    private void initComponents() {
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel selecaoPanel = new JPanel(new GridLayout(2, 2, 10, 10));
+        selecaoPanel.setBorder(BorderFactory.createTitledBorder("Pet"));
+        selecaoPanel.add(new JLabel("Cliente:"));
+        cmbCliente = new JComboBox<>();
+        selecaoPanel.add(cmbCliente);
+        selecaoPanel.add(new JLabel("Pet:"));
+        cmbPet = new JComboBox<>();
+        selecaoPanel.add(cmbPet);
+        mainPanel.add(selecaoPanel, BorderLayout.NORTH);
+
+        // As células são calculadas a partir da prescrição só quando a linha é exibida
+        tableModel = new TabelaEntidadesModel<Prescricao>()
+                .coluna("Data", String.class, p -> DataAdapter.formatarDataHora(p.getConsulta().getDataMillis()))
+                .coluna("Veterinário", String.class, p -> p.getConsulta().getVeterinario() != null ? p.getConsulta().getVeterinario().getNome() : "N/A")
+                .coluna("Diagnóstico", String.class, p -> p.getDiagnostico() != null ? p.getDiagnostico().getDescricao() : "")
+                .coluna("Medicamentos", Integer.class, p -> p.getMedicamentos().size());
+        tabelaHistorico = new JTable(tableModel);
+        tabelaHistorico.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        JScrollPane scrollPane = new JScrollPane(tabelaHistorico);
+        scrollPane.setBorder(BorderFactory.createTitledBorder("Atendimentos Realizados"));
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        JPanel sulPanel = new JPanel(new BorderLayout(10, 10));
+        btnAbrirPrescricao = new JButton("Abrir Prescrição");
+        btnAbrirPrescricao.setEnabled(false); // Habilitado quando um atendimento é selecionado
+        JPanel botoesPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        botoesPanel.add(btnAbrirPrescricao);
+        sulPanel.add(botoesPanel, BorderLayout.NORTH);
+        indicador = new IndicadorCarregamento();
+        sulPanel.add(indicador, BorderLayout.SOUTH);
+        mainPanel.add(sulPanel, BorderLayout.SOUTH);
+
+        add(mainPanel);
+    }
+
+    /**
+     * Mantém as listas em dia: atendimentos do pet selecionado entram no final
+     * do histórico, e clientes e pets cadastrados ou removidos em outras telas
+     * aparecem ou saem das caixas de seleção.
+     */
+    private void assinarEventos() {
+        OuvintesTela ouvintes = new OuvintesTela(this, facade.getEventos());
+        ouvintes.aoOcorrer(TipoEvento.ATENDIMENTO_REALIZADO, prescricao -> {
+            if (prescricao.getConsulta().getPet() == cmbPet.getSelectedItem()) {
+                tableModel.adicionar(prescricao);
+            }
+        });
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_CADASTRADO, cmbCliente::addItem);
+        ouvintes.aoOcorrer(TipoEvento.CLIENTE_REMOVIDO, cmbCliente::removeItem);
+        ouvintes.aoOcorrer(TipoEvento.PET_CADASTRADO, pet -> {
+            if (pet.getProprietario() == cmbCliente.getSelectedItem()) {
+                cmbPet.addItem(pet);
+            }
+        });
+        ouvintes.aoOcorrer(TipoEvento.PET_REMOVIDO, cmbPet::removeItem);
+    }
+
+    private void addListeners() {
+        cmbCliente.addActionListener(e -> loadPetsForSelectedCliente());
+        cmbPet.addActionListener(e -> loadHistorico());
+        tabelaHistorico.getSelectionModel().addListSelectionListener(e ->
+                btnAbrirPrescricao.setEnabled(tabelaHistorico.getSelectedRow() != -1));
+        btnAbrirPrescricao.addActionListener(e -> abrirPrescricaoSelecionada());
+        // Duplo clique em um atendimento também abre a prescrição
+        tabelaHistorico.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && tabelaHistorico.getSelectedRow() != -1) {
+                    abrirPrescricaoSelecionada();
+                }
+            }
+        });
+    }
+
+    private void loadClientes() {
+        indicador.executar("Carregando clientes", facade.getClientesCadastrados(), clientes -> {
+            cmbCliente.removeAllItems(); // Descarta o que algum evento já tenha incluído
+            for (Cliente cliente : clientes) {
+                cmbCliente.addItem(cliente);
+            }
+        });
+    }
+
+    private void loadPetsForSelectedCliente() {
+        cmbPet.removeAllItems();
+        tableModel.recarregar(null);
+        Cliente selectedCliente = (Cliente) cmbCliente.getSelectedItem();
+        if (selectedCliente != null) {
+            indicador.executar("Carregando pets", facade.getPetsDoCliente(selectedCliente), pets -> {
+                if (cmbCliente.getSelectedItem() != selectedCliente) {
+                    return; // O usuário já escolheu outro cliente
+                }
+                for (Pet pet : pets) {
+                    cmbPet.addItem(pet);
+                }
+            });
+        }
+    }
+
+    private void loadHistorico() {
+        Pet selectedPet = (Pet) cmbPet.getSelectedItem();
+        if (selectedPet == null) {
+            tableModel.recarregar(null);
+            return;
+        }
+        indicador.executar("Carregando histórico", facade.getHistoricoDoPet(selectedPet), historico -> {
+            if (cmbPet.getSelectedItem() == selectedPet) { // Ignora se o usuário já escolheu outro pet
+                tableModel.recarregar(historico);
+            }
+        });
+    }
+
+    private void abrirPrescricaoSelecionada() {
+        int linha = tabelaHistorico.getSelectedRow();
+        if (linha == -1) {
+            JOptionPane.showMessageDialog(this, "Selecione um atendimento para abrir a prescrição.", "Aviso", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        Prescricao prescricao = tableModel.getEntidade(tabelaHistorico.convertRowIndexToModel(linha));
+        new PrescricaoGUI(prescricao).setVisible(true);
+    }
+}
\ No newline at end of file
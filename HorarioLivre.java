@@ -0,0 +1,43 @@
+package br.com.veterinaria.facade;
+
+import br.com.veterinaria.adapter.DataAdapter;
+import br.com.veterinaria.model.Veterinario;
+
+import java.util.Date;
+
+/**
+ * Um horário em que um veterinário está livre para uma consulta, devolvido
+ * pela busca de horários da {@link ClinicaFacade}.
+ */
+public class HorarioLivre {
+    private final Veterinario veterinario;
+    private final long inicio; // Milissegundos desde 01/01/1970
+    private final int duracaoMinutos;
+
+    public HorarioLivre(Veterinario veterinario, long inicio, int duracaoMinutos) {
+        this.veterinario = veterinario;
+        this.inicio = inicio;
+        this.duracaoMinutos = duracaoMinutos;
+    }
+
+    public Veterinario getVeterinario() {
+        return veterinario;
+    }
+
+    public Date getInicio() {
+        return new Date(inicio);
+    }
+
+    public long getInicioMillis() {
+        return inicio;
+    }
+
+    public int getDuracaoMinutos() {
+        return duracaoMinutos;
+    }
+
+    @Override
+    public String toString() {
+        return DataAdapter.formatarDataHora(inicio) + " - " + veterinario.getNome();
+    }
+}
\ No newline at end of file
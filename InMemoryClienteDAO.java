@@ -1,10 +1,11 @@
 package br.com.veterinaria.dao;
 
+import br.com.veterinaria.busca.IndicePrefixos;
+import br.com.veterinaria.log.Registrador;
 import br.com.veterinaria.model.Cliente;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Iterator; // Importa Iterator para remoção segura
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementação do Data Access Object (DAO) para a entidade Cliente.
@@ -12,18 +13,23 @@ import java.util.Iterator; // Importa Iterator para remoção segura
  * Esta é uma versão simplificada para demonstração; em um sistema real,
  * ela interagira com um banco de dados persistente.
  */
-public class InMemoryClienteDAO {
-    // Lista para armazenar os objetos Cliente em memória
-    private List<Cliente> clientes;
-    // Contador para gerar IDs únicos para novos clientes
-    private static int nextId = 1;
+public class InMemoryClienteDAO implements ClienteDAO {
+    private static final Registrador LOG = Registrador.para("DAO");
+
+    // Índice por ID que armazena os objetos Cliente em memória, preservando a ordem de inserção
+    private IndicePorId<Cliente> clientes;
+    // Índice ordenado pelo nome normalizado, para a busca por prefixo
+    private IndicePrefixos<Cliente> porNome;
+    // Contador para gerar IDs únicos para novos clientes (atômico, seguro para uso por várias threads)
+    private static final AtomicInteger nextId = new AtomicInteger(1);
 
     /**
      * Construtor da InMemoryClienteDAO.
-     * Inicializa a lista de clientes.
+     * Inicializa o índice de clientes.
      */
     public InMemoryClienteDAO() {
-        this.clientes = new ArrayList<>();
+        this.clientes = new IndicePorId<>();
+        this.porNome = new IndicePrefixos<>();
     }
 
     /**
@@ -33,15 +39,16 @@ public class InMemoryClienteDAO {
      */
     public void adicionar(Cliente cliente) {
         if (cliente == null) {
-            System.err.println("Erro: Não é possível adicionar um cliente nulo.");
+            LOG.aviso("Não é possível adicionar um cliente nulo.");
             return;
         }
         // Atribui um ID se o cliente ainda não tiver um (assumindo que 0 é o ID padrão para um novo objeto)
         if (cliente.getId() == 0) {
-            cliente.setId(nextId++);
+            cliente.setId(nextId.getAndIncrement());
         }
-        this.clientes.add(cliente);
-        System.out.println("[DAO] Cliente '" + cliente.getNome() + "' adicionado. ID: " + cliente.getId());
+        this.clientes.colocar(cliente.getId(), cliente);
+        this.porNome.indexar(cliente.getNome(), cliente.getId(), cliente);
+        LOG.debug("Cliente '{}' adicionado. ID: {}", cliente.getNome(), cliente.getId());
     }
 
     /**
@@ -49,8 +56,18 @@ public class InMemoryClienteDAO {
      * @return Uma lista contendo todos os objetos Cliente.
      */
     public List<Cliente> listarTodos() {
-        // Retorna uma nova ArrayList para evitar modificações externas diretas na lista interna
-        return new ArrayList<>(this.clientes);
+        // Retorna uma nova lista, na ordem de inserção, para evitar modificações externas no índice
+        return this.clientes.valores();
+    }
+
+    /**
+     * Lista um trecho dos clientes, na ordem de inserção, sem copiar os demais.
+     * @param deslocamento Quantos clientes pular desde o início.
+     * @param limite A quantidade máxima de clientes.
+     * @return Uma nova lista com até {@code limite} clientes.
+     */
+    public List<Cliente> listar(int deslocamento, int limite) {
+        return this.clientes.valores(deslocamento, limite);
     }
 
     /**
@@ -59,12 +76,11 @@ public class InMemoryClienteDAO {
      * @return O objeto Cliente se encontrado, ou null caso contrário.
      */
     public Cliente buscarPorId(int id) {
-        for (Cliente cliente : this.clientes) {
-            if (cliente.getId() == id) {
-                return cliente;
-            }
+        Cliente encontrado = this.clientes.obter(id);
+        if (encontrado != null) {
+            return encontrado;
         }
-        System.out.println("[DAO] Cliente com ID " + id + " não encontrado.");
+        LOG.debug("Cliente com ID {} não encontrado.", id);
         return null;
     }
 
@@ -72,22 +88,19 @@ public class InMemoryClienteDAO {
      * Remove um cliente da lista.
      * @param cliente O objeto Cliente a ser removido.
      */
-    public void remover(Cliente cliente) {
+    public boolean remover(Cliente cliente) {
         if (cliente == null) {
-            System.err.println("Erro: Não é possível remover um cliente nulo.");
-            return;
+            LOG.aviso("Não é possível remover um cliente nulo.");
+            return false;
         }
-        // Usa Iterator para remoção segura durante a iteração
-        Iterator<Cliente> iterator = this.clientes.iterator();
-        while (iterator.hasNext()) {
-            Cliente c = iterator.next();
-            if (c.getId() == cliente.getId()) { // Compara pelo ID para garantir que é o mesmo objeto
-                iterator.remove();
-                System.out.println("[DAO] Cliente '" + cliente.getNome() + "' removido.");
-                return;
-            }
+        // Remove pelo ID em tempo constante
+        if (this.clientes.remover(cliente.getId()) != null) {
+            this.porNome.remover(cliente.getId());
+            LOG.debug("Cliente '{}' removido.", cliente.getNome());
+            return true;
         }
-        System.out.println("[DAO] Cliente '" + cliente.getNome() + "' não encontrado para remoção.");
+        LOG.debug("Cliente '{}' não encontrado para remoção.", cliente.getNome());
+        return false;
     }
 
     /**
@@ -96,16 +109,34 @@ public class InMemoryClienteDAO {
      */
     public void atualizar(Cliente cliente) {
         if (cliente == null) {
-            System.err.println("Erro: Não é possível atualizar um cliente nulo.");
+            LOG.aviso("Não é possível atualizar um cliente nulo.");
             return;
         }
-        for (int i = 0; i < this.clientes.size(); i++) {
-            if (this.clientes.get(i).getId() == cliente.getId()) {
-                this.clientes.set(i, cliente); // Substitui o objeto existente pelo atualizado
-                System.out.println("[DAO] Cliente '" + cliente.getNome() + "' atualizado.");
-                return;
-            }
+        if (this.clientes.contem(cliente.getId())) {
+            this.clientes.colocar(cliente.getId(), cliente); // Substitui o objeto existente pelo atualizado
+            this.porNome.indexar(cliente.getNome(), cliente.getId(), cliente); // O nome pode ter mudado
+            LOG.debug("Cliente '{}' atualizado.", cliente.getNome());
+            return;
         }
-        System.out.println("[DAO] Cliente '" + cliente.getNome() + "' não encontrado para atualização.");
+        LOG.debug("Cliente '{}' não encontrado para atualização.", cliente.getNome());
+    }
+
+    /**
+     * Lista os clientes cujo nome começa com o prefixo, usando o índice ordenado por nome.
+     * O custo é proporcional ao tamanho do resultado, não ao total de clientes.
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de resultados.
+     * @return Uma nova lista com até {@code limite} clientes, em ordem alfabética.
+     */
+    public List<Cliente> listarPorPrefixo(String prefixo, int limite) {
+        return this.porNome.buscar(prefixo, limite);
+    }
+
+    /**
+     * Retorna a quantidade de clientes armazenados.
+     * @return O número de clientes.
+     */
+    public int contar() {
+        return this.clientes.tamanho();
     }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package br.com.veterinaria.dao;
 
+import br.com.veterinaria.log.Registrador;
 import br.com.veterinaria.model.Consulta;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Iterator; // Importa Iterator para remoção segura
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementação do Data Access Object (DAO) para a entidade Consulta.
@@ -12,18 +14,30 @@ import java.util.List;
  * Esta é uma versão simplificada para demonstração; em um sistema real,
  * ela interagira com um banco de dados persistente.
  */
-public class InMemoryConsultaDAO {
-    // Lista para armazenar os objetos Consulta em memória
-    private List<Consulta> consultas;
-    // Contador para gerar IDs únicos para novas consultas
-    private static int nextId = 1;
+public class InMemoryConsultaDAO implements ConsultaDAO {
+    private static final Registrador LOG = Registrador.para("DAO");
+
+    // Índice por ID que armazena os objetos Consulta em memória, preservando a ordem de inserção
+    private IndicePorId<Consulta> consultas;
+    // Índices secundários: consultas por veterinário, por pet e por dia do calendário
+    private IndiceMultiplo<Consulta> consultasPorVeterinario;
+    private IndiceMultiplo<Consulta> consultasPorPet;
+    private IndiceMultiplo<Consulta> consultasPorDia;
+    // Agenda: índice ordenado pelo horário e mapa de ocupação dos veterinários
+    private AgendaConsultas agenda;
+    // Contador para gerar IDs únicos para novas consultas (atômico, seguro para uso por várias threads)
+    private static final AtomicInteger nextId = new AtomicInteger(1);
 
     /**
      * Construtor da InMemoryConsultaDAO.
-     * Inicializa a lista de consultas.
+     * Inicializa os índices de consultas.
      */
     public InMemoryConsultaDAO() {
-        this.consultas = new ArrayList<>();
+        this.consultas = new IndicePorId<>();
+        this.consultasPorVeterinario = new IndiceMultiplo<>();
+        this.consultasPorPet = new IndiceMultiplo<>();
+        this.consultasPorDia = new IndiceMultiplo<>();
+        this.agenda = new AgendaConsultas();
     }
 
     /**
@@ -33,15 +47,16 @@ public class InMemoryConsultaDAO {
      */
     public void adicionar(Consulta consulta) {
         if (consulta == null) {
-            System.err.println("Erro: Não é possível adicionar uma consulta nula.");
+            LOG.aviso("Não é possível adicionar uma consulta nula.");
             return;
         }
         // Atribui um ID se a consulta ainda não tiver um (assumindo que 0 é o ID padrão para um novo objeto)
         if (consulta.getId() == 0) { // Você precisará ter um getId() e setId() na sua classe Consulta
-            consulta.setId(nextId++);
+            consulta.setId(nextId.getAndIncrement());
         }
-        this.consultas.add(consulta);
-        System.out.println("[DAO] Consulta para Pet '" + consulta.getPet().getNome() + "' adicionada. ID: " + consulta.getId());
+        this.consultas.colocar(consulta.getId(), consulta);
+        indexar(consulta);
+        LOG.debug("Consulta para Pet '{}' adicionada. ID: {}", consulta.getPet().getNome(), consulta.getId());
     }
 
     /**
@@ -49,8 +64,18 @@ public class InMemoryConsultaDAO {
      * @return Uma lista contendo todos os objetos Consulta.
      */
     public List<Consulta> listarTodos() {
-        // Retorna uma nova ArrayList para evitar modificações externas diretas na lista interna
-        return new ArrayList<>(this.consultas);
+        // Retorna uma nova lista, na ordem de inserção, para evitar modificações externas no índice
+        return this.consultas.valores();
+    }
+
+    /**
+     * Lista um trecho dos consultas, na ordem de inserção, sem copiar os demais.
+     * @param deslocamento Quantos consultas pular desde o início.
+     * @param limite A quantidade máxima de consultas.
+     * @return Uma nova lista com até {@code limite} consultas.
+     */
+    public List<Consulta> listar(int deslocamento, int limite) {
+        return this.consultas.valores(deslocamento, limite);
     }
 
     /**
@@ -59,12 +84,11 @@ public class InMemoryConsultaDAO {
      * @return O objeto Consulta se encontrado, ou null caso contrário.
      */
     public Consulta buscarPorId(int id) {
-        for (Consulta consulta : this.consultas) {
-            if (consulta.getId() == id) {
-                return consulta;
-            }
+        Consulta encontrado = this.consultas.obter(id);
+        if (encontrado != null) {
+            return encontrado;
         }
-        System.out.println("[DAO] Consulta com ID " + id + " não encontrada.");
+        LOG.debug("Consulta com ID {} não encontrada.", id);
         return null;
     }
 
@@ -72,22 +96,19 @@ public class InMemoryConsultaDAO {
      * Remove uma consulta da lista.
      * @param consulta O objeto Consulta a ser removido.
      */
-    public void remover(Consulta consulta) {
+    public boolean remover(Consulta consulta) {
         if (consulta == null) {
-            System.err.println("Erro: Não é possível remover uma consulta nula.");
-            return;
+            LOG.aviso("Não é possível remover uma consulta nula.");
+            return false;
         }
-        // Usa Iterator para remoção segura durante a iteração
-        Iterator<Consulta> iterator = this.consultas.iterator();
-        while (iterator.hasNext()) {
-            Consulta c = iterator.next();
-            if (c.getId() == consulta.getId()) { // Compara pelo ID para garantir que é o mesmo objeto
-                iterator.remove();
-                System.out.println("[DAO] Consulta para Pet '" + consulta.getPet().getNome() + "' removida.");
-                return;
-            }
+        // Remove pelo ID em tempo constante
+        if (this.consultas.remover(consulta.getId()) != null) {
+            desindexar(consulta.getId());
+            LOG.debug("Consulta para Pet '{}' removida.", consulta.getPet().getNome());
+            return true;
         }
-        System.out.println("[DAO] Consulta para Pet '" + consulta.getPet().getNome() + "' não encontrada para remoção.");
+        LOG.debug("Consulta para Pet '{}' não encontrada para remoção.", consulta.getPet().getNome());
+        return false;
     }
 
     /**
@@ -96,16 +117,177 @@ public class InMemoryConsultaDAO {
      */
     public void atualizar(Consulta consulta) {
         if (consulta == null) {
-            System.err.println("Erro: Não é possível atualizar uma consulta nula.");
+            LOG.aviso("Não é possível atualizar uma consulta nula.");
             return;
         }
-        for (int i = 0; i < this.consultas.size(); i++) {
-            if (this.consultas.get(i).getId() == consulta.getId()) {
-                this.consultas.set(i, consulta); // Substitui o objeto existente pelo atualizado
-                System.out.println("[DAO] Consulta para Pet '" + consulta.getPet().getNome() + "' atualizada.");
-                return;
+        if (this.consultas.contem(consulta.getId())) {
+            this.consultas.colocar(consulta.getId(), consulta); // Substitui o objeto existente pelo atualizado
+            indexar(consulta); // Pet, veterinário ou data podem ter mudado
+            LOG.debug("Consulta para Pet '{}' atualizada.", consulta.getPet().getNome());
+            return;
+        }
+        LOG.debug("Consulta para Pet '{}' não encontrada para atualização.", consulta.getPet().getNome());
+    }
+
+    /**
+     * Lista as consultas de um veterinário usando o índice secundário.
+     * @param veterinarioId O ID do veterinário.
+     * @return Uma lista com as consultas do veterinário.
+     */
+    public List<Consulta> listarPorVeterinario(int veterinarioId) {
+        return this.consultasPorVeterinario.listar(veterinarioId);
+    }
+
+    /**
+     * Lista as consultas de um pet usando o índice secundário.
+     * @param petId O ID do pet.
+     * @return Uma lista com as consultas do pet.
+     */
+    public List<Consulta> listarPorPet(int petId) {
+        return this.consultasPorPet.listar(petId);
+    }
+
+    /**
+     * Lista as consultas marcadas para um dia do calendário (fuso horário do sistema).
+     * @param dia O dia desejado.
+     * @return Uma lista com as consultas do dia.
+     */
+    public List<Consulta> listarPorDia(LocalDate dia) {
+        return this.consultasPorDia.listar((int) dia.toEpochDay());
+    }
+
+    /**
+     * Lista as consultas de um veterinário em um dia.
+     * Percorre o menor dos dois grupos (as consultas do dia ou as do veterinário),
+     * então o custo nunca depende do total de consultas armazenadas.
+     * @param veterinarioId O ID do veterinário.
+     * @param dia O dia desejado.
+     * @return Uma lista com as consultas do veterinário no dia.
+     */
+    public List<Consulta> listarPorVeterinarioEDia(int veterinarioId, LocalDate dia) {
+        int chaveDia = (int) dia.toEpochDay();
+        List<Consulta> resultado = new ArrayList<>();
+        if (this.consultasPorDia.contar(chaveDia) <= this.consultasPorVeterinario.contar(veterinarioId)) {
+            for (Consulta consulta : this.consultasPorDia.listar(chaveDia)) {
+                if (consulta.getVeterinario() != null && consulta.getVeterinario().getId() == veterinarioId) {
+                    resultado.add(consulta);
+                }
+            }
+        } else {
+            for (Consulta consulta : this.consultasPorVeterinario.listar(veterinarioId)) {
+                if (consulta.temData() && ConsultaDAO.diaDe(consulta.getDataMillis()) == chaveDia) {
+                    resultado.add(consulta);
+                }
             }
         }
-        System.out.println("[DAO] Consulta para Pet '" + consulta.getPet().getNome() + "' não encontrada para atualização.");
+        return resultado;
+    }
+
+    /**
+     * Lista as consultas que começam em um intervalo, usando o índice ordenado por horário.
+     * @param inicio O início do intervalo, em milissegundos (inclusivo).
+     * @param fim O fim do intervalo, em milissegundos (exclusivo).
+     * @return Uma lista com as consultas do período, em ordem cronológica.
+     */
+    public List<Consulta> listarPorPeriodo(long inicio, long fim) {
+        return this.agenda.listarEntre(inicio, fim);
+    }
+
+    /**
+     * Lista as próximas consultas de um veterinário a partir de um instante.
+     * @param veterinarioId O ID do veterinário.
+     * @param aPartirDe O instante inicial, em milissegundos (inclusivo).
+     * @param quantidade A quantidade máxima de consultas.
+     * @return Uma lista com até {@code quantidade} consultas, em ordem cronológica.
+     */
+    public List<Consulta> listarProximasDoVeterinario(int veterinarioId, long aPartirDe, int quantidade) {
+        return this.agenda.proximasDoVeterinario(veterinarioId, aPartirDe, quantidade);
+    }
+
+    /**
+     * Lista as consultas em andamento em um instante, considerando a duração de cada uma.
+     * @param instante O instante, em milissegundos.
+     * @return Uma lista com as consultas em andamento, em ordem cronológica.
+     */
+    public List<Consulta> listarEmAndamento(long instante) {
+        return this.agenda.listarEmAndamento(instante);
+    }
+
+    /**
+     * Lista as consultas do mesmo veterinário ou do mesmo pet que se sobrepõem a um intervalo.
+     * @param veterinarioId O ID do veterinário.
+     * @param petId O ID do pet.
+     * @param inicio O início do intervalo, em milissegundos.
+     * @param fim O fim do intervalo, em milissegundos.
+     * @return Uma lista com as consultas em conflito, em ordem cronológica.
+     */
+    public List<Consulta> listarConflitos(int veterinarioId, int petId, long inicio, long fim) {
+        return this.agenda.conflitos(veterinarioId, inicio, fim, this.consultasPorPet.listar(petId));
+    }
+
+    /**
+     * Verifica se um veterinário está livre em um intervalo, usando o mapa de ocupação.
+     * @param veterinarioId O ID do veterinário.
+     * @param inicio O início do intervalo, em milissegundos.
+     * @param fim O fim do intervalo, em milissegundos.
+     * @return true se nenhuma consulta do veterinário se sobrepõe ao intervalo.
+     */
+    public boolean veterinarioLivre(int veterinarioId, long inicio, long fim) {
+        return this.agenda.veterinarioLivre(veterinarioId, inicio, fim);
+    }
+
+    /**
+     * Calcula o primeiro instante em que pode começar um intervalo livre do veterinário.
+     * @param veterinarioId O ID do veterinário.
+     * @param aPartirDe O instante inicial, em milissegundos.
+     * @param duracao A duração procurada, em milissegundos.
+     * @param limite O fim da busca, em milissegundos.
+     * @return O instante encontrado, ou -1 se não houver até o limite.
+     */
+    public long proximoInicioPossivel(int veterinarioId, long aPartirDe, long duracao, long limite) {
+        return this.agenda.proximoInicioPossivel(veterinarioId, aPartirDe, duracao, limite);
+    }
+
+    /**
+     * Atualiza os índices secundários com o estado atual da consulta.
+     * @param consulta A consulta recém-adicionada ou atualizada.
+     */
+    private void indexar(Consulta consulta) {
+        int id = consulta.getId();
+        if (consulta.getVeterinario() != null) {
+            this.consultasPorVeterinario.indexar(consulta.getVeterinario().getId(), id, consulta);
+        } else {
+            this.consultasPorVeterinario.remover(id);
+        }
+        if (consulta.getPet() != null) {
+            this.consultasPorPet.indexar(consulta.getPet().getId(), id, consulta);
+        } else {
+            this.consultasPorPet.remover(id);
+        }
+        if (consulta.temData()) {
+            this.consultasPorDia.indexar(ConsultaDAO.diaDe(consulta.getDataMillis()), id, consulta);
+        } else {
+            this.consultasPorDia.remover(id);
+        }
+        this.agenda.indexar(consulta);
+    }
+
+    /**
+     * Remove a consulta de todos os índices secundários.
+     * @param id O ID da consulta removida.
+     */
+    private void desindexar(int id) {
+        this.consultasPorVeterinario.remover(id);
+        this.consultasPorPet.remover(id);
+        this.consultasPorDia.remover(id);
+        this.agenda.remover(id);
+    }
+
+    /**
+     * Retorna a quantidade de consultas armazenadas.
+     * @return O número de consultas.
+     */
+    public int contar() {
+        return this.consultas.tamanho();
     }
 }
\ No newline at end of file
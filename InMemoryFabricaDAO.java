@@ -0,0 +1,42 @@
+package br.com.veterinaria.dao;
+
+/**
+ * Fábrica dos DAOs em memória, indexados por ID e por chaves secundárias.
+ * Não são thread-safe e não persistem dados entre execuções.
+ */
+public class InMemoryFabricaDAO implements FabricaDAO {
+    @Override
+    public PetDAO criarPetDAO() {
+        return new InMemoryPetDAO();
+    }
+
+    @Override
+    public ClienteDAO criarClienteDAO() {
+        return new InMemoryClienteDAO();
+    }
+
+    @Override
+    public VeterinarioDAO criarVeterinarioDAO() {
+        return new InMemoryVeterinarioDAO();
+    }
+
+    @Override
+    public ConsultaDAO criarConsultaDAO() {
+        return new InMemoryConsultaDAO();
+    }
+
+    @Override
+    public DiagnosticoDAO criarDiagnosticoDAO() {
+        return new InMemoryDiagnosticoDAO();
+    }
+
+    @Override
+    public PrescricaoDAO criarPrescricaoDAO() {
+        return new InMemoryPrescricaoDAO();
+    }
+
+    @Override
+    public MedicamentoDAO criarMedicamentoDAO() {
+        return new InMemoryMedicamentoDAO();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.model.Consulta;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base dos DAOs em memória do histórico clínico (diagnósticos e prescrições).
+ *
+ * Os registros do histórico são gerados um por atendimento e praticamente
+ * nunca alterados, então o armazenamento é só de inclusão no final: o índice
+ * por ID e os índices por consulta, pet e veterinário guardam os registros na
+ * ordem de inclusão, e o histórico de um pet é lido direto do seu grupo, com
+ * custo proporcional à quantidade de atendimentos do pet e não ao total.
+ *
+ * Assim como os demais DAOs em memória, não é thread-safe.
+ * @param <T> O tipo de registro armazenado.
+ */
+public abstract class InMemoryHistoricoDAO<T> implements Repositorio<T> {
+    private static final Registrador LOG = Registrador.para("DAO");
+
+    // Índice por ID, na ordem de inclusão
+    private final IndicePorId<T> registros = new IndicePorId<>();
+    // Índices secundários pelos dados da consulta atendida
+    private final IndiceMultiplo<T> porConsulta = new IndiceMultiplo<>();
+    private final IndiceMultiplo<T> porPet = new IndiceMultiplo<>();
+    private final IndiceMultiplo<T> porVeterinario = new IndiceMultiplo<>();
+    // Contador para registros que chegam sem ID
+    private final AtomicInteger proximoId = new AtomicInteger(1);
+
+    /** Retorna o ID do registro. */
+    protected abstract int idDe(T registro);
+
+    /** Atribui um ID a um registro novo. */
+    protected abstract void definirId(T registro, int id);
+
+    /** Retorna a consulta atendida a que o registro se refere. */
+    protected abstract Consulta consultaDe(T registro);
+
+    /** Nome do registro usado nas mensagens (ex: "diagnóstico"). */
+    protected abstract String descricao();
+
+    /** Chamado depois que um registro é incluído ou atualizado, para índices próprios da subclasse. */
+    protected void aoIndexar(T registro) {
+    }
+
+    /** Chamado depois que um registro é removido. */
+    protected void aoDesindexar(int id) {
+    }
+
+    @Override
+    public void adicionar(T registro) {
+        if (registro == null) {
+            LOG.aviso("Não é possível adicionar um registro de {} nulo.", descricao());
+            return;
+        }
+        if (idDe(registro) == 0) {
+            definirId(registro, proximoId.getAndIncrement());
+        }
+        registros.colocar(idDe(registro), registro);
+        indexar(registro);
+        aoIndexar(registro);
+        LOG.debug("Registro de {} adicionado. ID: {}", descricao(), idDe(registro));
+    }
+
+    @Override
+    public T buscarPorId(int id) {
+        return registros.obter(id);
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return registros.valores();
+    }
+
+    @Override
+    public List<T> listar(int deslocamento, int limite) {
+        return registros.valores(deslocamento, limite);
+    }
+
+    @Override
+    public void atualizar(T registro) {
+        if (registro == null) {
+            LOG.aviso("Não é possível atualizar um registro de {} nulo.", descricao());
+            return;
+        }
+        if (registros.contem(idDe(registro))) {
+            registros.colocar(idDe(registro), registro); // Mantém a posição original na ordem
+            indexar(registro);
+            aoIndexar(registro);
+            LOG.debug("Registro de {} {} atualizado.", descricao(), idDe(registro));
+            return;
+        }
+        LOG.debug("Registro de {} {} não encontrado para atualização.", descricao(), idDe(registro));
+    }
+
+    @Override
+    public boolean remover(T registro) {
+        if (registro == null) {
+            LOG.aviso("Não é possível remover um registro de {} nulo.", descricao());
+            return false;
+        }
+        int id = idDe(registro);
+        if (registros.remover(id) != null) {
+            porConsulta.remover(id);
+            porPet.remover(id);
+            porVeterinario.remover(id);
+            aoDesindexar(id);
+            LOG.debug("Registro de {} {} removido.", descricao(), id);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int contar() {
+        return registros.tamanho();
+    }
+
+    public List<T> listarPorConsulta(int consultaId) {
+        return porConsulta.listar(consultaId);
+    }
+
+    public List<T> listarPorPet(int petId) {
+        return porPet.listar(petId);
+    }
+
+    public List<T> listarPorVeterinario(int veterinarioId) {
+        return porVeterinario.listar(veterinarioId);
+    }
+
+    /**
+     * Mantém os índices secundários em dia com a consulta do registro.
+     * @param registro O registro recém-adicionado ou atualizado.
+     */
+    private void indexar(T registro) {
+        int id = idDe(registro);
+        Consulta consulta = consultaDe(registro);
+        if (consulta == null) {
+            porConsulta.remover(id);
+            porPet.remover(id);
+            porVeterinario.remover(id);
+            return;
+        }
+        porConsulta.indexar(consulta.getId(), id, registro);
+        if (consulta.getPet() != null) {
+            porPet.indexar(consulta.getPet().getId(), id, registro);
+        } else {
+            porPet.remover(id);
+        }
+        if (consulta.getVeterinario() != null) {
+            porVeterinario.indexar(consulta.getVeterinario().getId(), id, registro);
+        } else {
+            porVeterinario.remover(id);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,105 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.busca.IndicePrefixos;
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.model.Medicamento;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Implementação em memória do catálogo de medicamentos, indexado por ID e
+ * pelo nome (para busca exata e por prefixo). Não é thread-safe.
+ */
+public class InMemoryMedicamentoDAO implements MedicamentoDAO {
+    private static final Registrador LOG = Registrador.para("DAO");
+
+    // Índice por ID, na ordem de inclusão no catálogo
+    private IndicePorId<Medicamento> medicamentos;
+    // Índice ordenado pelo nome normalizado
+    private IndicePrefixos<Medicamento> porNome;
+    // Contador para gerar IDs únicos para novos medicamentos
+    private static final AtomicInteger nextId = new AtomicInteger(1);
+
+    /**
+     * Construtor da InMemoryMedicamentoDAO.
+     * Inicializa os índices do catálogo.
+     */
+    public InMemoryMedicamentoDAO() {
+        this.medicamentos = new IndicePorId<>();
+        this.porNome = new IndicePrefixos<>();
+    }
+
+    @Override
+    public void adicionar(Medicamento medicamento) {
+        if (medicamento == null) {
+            LOG.aviso("Não é possível adicionar um medicamento nulo.");
+            return;
+        }
+        if (medicamento.getId() == 0) {
+            medicamento.setId(nextId.getAndIncrement());
+        }
+        this.medicamentos.colocar(medicamento.getId(), medicamento);
+        this.porNome.indexar(medicamento.getNome(), medicamento.getId(), medicamento);
+        LOG.debug("Medicamento '{}' adicionado ao catálogo. ID: {}", medicamento.getNome(), medicamento.getId());
+    }
+
+    @Override
+    public Medicamento buscarPorId(int id) {
+        return this.medicamentos.obter(id);
+    }
+
+    @Override
+    public List<Medicamento> listarTodos() {
+        return this.medicamentos.valores();
+    }
+
+    @Override
+    public List<Medicamento> listar(int deslocamento, int limite) {
+        return this.medicamentos.valores(deslocamento, limite);
+    }
+
+    @Override
+    public void atualizar(Medicamento medicamento) {
+        if (medicamento == null) {
+            LOG.aviso("Não é possível atualizar um medicamento nulo.");
+            return;
+        }
+        if (this.medicamentos.contem(medicamento.getId())) {
+            this.medicamentos.colocar(medicamento.getId(), medicamento);
+            this.porNome.indexar(medicamento.getNome(), medicamento.getId(), medicamento); // O nome pode ter mudado
+            LOG.debug("Medicamento '{}' atualizado.", medicamento.getNome());
+            return;
+        }
+        LOG.debug("Medicamento '{}' não encontrado para atualização.", medicamento.getNome());
+    }
+
+    @Override
+    public boolean remover(Medicamento medicamento) {
+        if (medicamento == null) {
+            LOG.aviso("Não é possível remover um medicamento nulo.");
+            return false;
+        }
+        if (this.medicamentos.remover(medicamento.getId()) != null) {
+            this.porNome.remover(medicamento.getId());
+            LOG.debug("Medicamento '{}' removido do catálogo.", medicamento.getNome());
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public int contar() {
+        return this.medicamentos.tamanho();
+    }
+
+    @Override
+    public Medicamento buscarPorNome(String nome) {
+        return this.porNome.buscarExato(nome);
+    }
+
+    @Override
+    public List<Medicamento> listarPorPrefixo(String prefixo, int limite) {
+        return this.porNome.buscar(prefixo, limite);
+    }
+}
\ No newline at end of file
@@ -1,10 +1,12 @@
 package br.com.veterinaria.dao;
 
+import br.com.veterinaria.busca.IndicePrefixos;
+import br.com.veterinaria.log.Registrador;
 import br.com.veterinaria.model.Pet;
 
-import java.util.ArrayList;
-import java.util.Iterator; // Importa Iterator para remoção segura
+import java.util.BitSet;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementação do Data Access Object (DAO) para a entidade Pet.
@@ -12,18 +14,26 @@ import java.util.List;
  * Esta é uma versão simplificada para demonstração; em um sistema real,
  * ela interagira com um banco de dados persistente.
  */
-public class InMemoryPetDAO {
-    // Lista para armazenar os objetos Pet em memória
-    private List<Pet> pets;
-    // Contador para gerar IDs únicos para novos pets
-    private static int nextId = 1;
+public class InMemoryPetDAO implements PetDAO {
+    private static final Registrador LOG = Registrador.para("DAO");
+
+    // Índice por ID que armazena os objetos Pet em memória, preservando a ordem de inserção
+    private IndicePorId<Pet> pets;
+    // Índice ordenado pelo nome normalizado, para a busca por prefixo
+    private IndicePrefixos<Pet> porNome;
+    // Índice secundário: pets agrupados pelo ID do proprietário
+    private IndiceMultiplo<Pet> petsPorProprietario;
+    // Contador para gerar IDs únicos para novos pets (atômico, seguro para uso por várias threads)
+    private static final AtomicInteger nextId = new AtomicInteger(1);
 
     /**
      * Construtor da InMemoryPetDAO.
-     * Inicializa a lista de pets.
+     * Inicializa os índices de pets.
      */
     public InMemoryPetDAO() {
-        this.pets = new ArrayList<>();
+        this.pets = new IndicePorId<>();
+        this.porNome = new IndicePrefixos<>();
+        this.petsPorProprietario = new IndiceMultiplo<>();
     }
 
     /**
@@ -33,15 +43,17 @@ public class InMemoryPetDAO {
      */
     public void adicionar(Pet pet) {
         if (pet == null) {
-            System.err.println("Erro: Não é possível adicionar um pet nulo.");
+            LOG.aviso("Não é possível adicionar um pet nulo.");
             return;
         }
         // Atribui um ID se o pet ainda não tiver um (assumindo que 0 é o ID padrão para um novo objeto)
         if (pet.getId() == 0) {
-            pet.setId(nextId++);
+            pet.setId(nextId.getAndIncrement());
         }
-        this.pets.add(pet);
-        System.out.println("[DAO] Pet '" + pet.getNome() + "' adicionado. ID: " + pet.getId());
+        this.pets.colocar(pet.getId(), pet);
+        this.porNome.indexar(pet.getNome(), pet.getId(), pet);
+        indexarProprietario(pet);
+        LOG.debug("Pet '{}' adicionado. ID: {}", pet.getNome(), pet.getId());
     }
 
     /**
@@ -49,8 +61,18 @@ public class InMemoryPetDAO {
      * @return Uma lista contendo todos os objetos Pet.
      */
     public List<Pet> listarTodos() {
-        // Retorna uma nova ArrayList para evitar modificações externas diretas na lista interna
-        return new ArrayList<>(this.pets);
+        // Retorna uma nova lista, na ordem de inserção, para evitar modificações externas no índice
+        return this.pets.valores();
+    }
+
+    /**
+     * Lista um trecho dos pets, na ordem de inserção, sem copiar os demais.
+     * @param deslocamento Quantos pets pular desde o início.
+     * @param limite A quantidade máxima de pets.
+     * @return Uma nova lista com até {@code limite} pets.
+     */
+    public List<Pet> listar(int deslocamento, int limite) {
+        return this.pets.valores(deslocamento, limite);
     }
 
     /**
@@ -59,12 +81,11 @@ public class InMemoryPetDAO {
      * @return O objeto Pet se encontrado, ou null caso contrário.
      */
     public Pet buscarPorId(int id) {
-        for (Pet pet : this.pets) {
-            if (pet.getId() == id) {
-                return pet;
-            }
+        Pet encontrado = this.pets.obter(id);
+        if (encontrado != null) {
+            return encontrado;
         }
-        System.out.println("[DAO] Pet com ID " + id + " não encontrado.");
+        LOG.debug("Pet com ID {} não encontrado.", id);
         return null;
     }
 
@@ -72,22 +93,20 @@ public class InMemoryPetDAO {
      * Remove um pet da lista.
      * @param pet O objeto Pet a ser removido.
      */
-    public void remover(Pet pet) {
+    public boolean remover(Pet pet) {
         if (pet == null) {
-            System.err.println("Erro: Não é possível remover um pet nulo.");
-            return;
+            LOG.aviso("Não é possível remover um pet nulo.");
+            return false;
         }
-        // Usa Iterator para remoção segura durante a iteração
-        Iterator<Pet> iterator = this.pets.iterator();
-        while (iterator.hasNext()) {
-            Pet p = iterator.next();
-            if (p.getId() == pet.getId()) { // Compara pelo ID para garantir que é o mesmo objeto
-                iterator.remove();
-                System.out.println("[DAO] Pet '" + pet.getNome() + "' removido.");
-                return;
-            }
+        // Remove pelo ID em tempo constante
+        if (this.pets.remover(pet.getId()) != null) {
+            this.porNome.remover(pet.getId());
+            this.petsPorProprietario.remover(pet.getId());
+            LOG.debug("Pet '{}' removido.", pet.getNome());
+            return true;
         }
-        System.out.println("[DAO] Pet '" + pet.getNome() + "' não encontrado para remoção.");
+        LOG.debug("Pet '{}' não encontrado para remoção.", pet.getNome());
+        return false;
     }
 
     /**
@@ -96,16 +115,105 @@ public class InMemoryPetDAO {
      */
     public void atualizar(Pet pet) {
         if (pet == null) {
-            System.err.println("Erro: Não é possível atualizar um pet nulo.");
+            LOG.aviso("Não é possível atualizar um pet nulo.");
             return;
         }
-        for (int i = 0; i < this.pets.size(); i++) {
-            if (this.pets.get(i).getId() == pet.getId()) {
-                this.pets.set(i, pet); // Substitui o objeto existente pelo atualizado
-                System.out.println("[DAO] Pet '" + pet.getNome() + "' atualizado.");
-                return;
-            }
+        if (this.pets.contem(pet.getId())) {
+            this.pets.colocar(pet.getId(), pet); // Substitui o objeto existente pelo atualizado
+            this.porNome.indexar(pet.getNome(), pet.getId(), pet); // O nome pode ter mudado
+            indexarProprietario(pet); // O proprietário pode ter mudado
+            LOG.debug("Pet '{}' atualizado.", pet.getNome());
+            return;
         }
-        System.out.println("[DAO] Pet '" + pet.getNome() + "' não encontrado para atualização.");
+        LOG.debug("Pet '{}' não encontrado para atualização.", pet.getNome());
+    }
+
+    /**
+     * Lista os pets de um proprietário usando o índice secundário.
+     * O custo é proporcional à quantidade de pets do cliente, não ao total de pets.
+     * @param clienteId O ID do cliente proprietário.
+     * @return Uma lista com os pets do cliente (vazia se não houver nenhum).
+     */
+    public List<Pet> listarPorProprietario(int clienteId) {
+        return this.petsPorProprietario.listar(clienteId);
+    }
+
+    /**
+     * Conta os pets de um proprietário sem copiar a lista.
+     * @param clienteId O ID do cliente proprietário.
+     * @return A quantidade de pets do cliente.
+     */
+    public int contarPorProprietario(int clienteId) {
+        return this.petsPorProprietario.contar(clienteId);
+    }
+
+    /**
+     * Mantém o índice por proprietário em dia com o estado atual do pet.
+     * @param pet O pet recém-adicionado ou atualizado.
+     */
+    private void indexarProprietario(Pet pet) {
+        if (pet.getProprietario() != null) {
+            this.petsPorProprietario.indexar(pet.getProprietario().getId(), pet.getId(), pet);
+        } else {
+            this.petsPorProprietario.remover(pet.getId());
+        }
+    }
+
+    /**
+     * Lista os pets cujo nome começa com o prefixo, usando o índice ordenado por nome.
+     * O custo é proporcional ao tamanho do resultado, não ao total de pets.
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de resultados.
+     * @return Uma nova lista com até {@code limite} pets, em ordem alfabética.
+     */
+    public List<Pet> listarPorPrefixo(String prefixo, int limite) {
+        return this.porNome.buscar(prefixo, limite);
+    }
+
+    /**
+     * Lista os pets de um conjunto de espécies e raças percorrendo o índice
+     * por ID; só os pets encontrados são copiados.
+     * @param especies Os códigos de espécie aceitos; null aceita qualquer uma.
+     * @param racas Os códigos de raça aceitos; null aceita qualquer uma.
+     * @return Uma nova lista com os pets encontrados, na ordem de inserção.
+     */
+    public List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas) {
+        return this.pets.valoresQue(pet -> atende(pet, especies, racas));
+    }
+
+    /**
+     * Lista um trecho dos pets de um conjunto de espécies e raças percorrendo
+     * o índice por ID; só os pets do trecho são copiados.
+     * @param especies Os códigos de espécie aceitos; null aceita qualquer uma.
+     * @param racas Os códigos de raça aceitos; null aceita qualquer uma.
+     * @param deslocamento Quantos pets encontrados pular desde o início.
+     * @param limite A quantidade máxima de pets.
+     * @return Uma nova lista com até {@code limite} pets, na ordem de inserção.
+     */
+    public List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas, int deslocamento, int limite) {
+        return this.pets.valoresQue(pet -> atende(pet, especies, racas), deslocamento, limite);
+    }
+
+    /**
+     * Conta os pets de um conjunto de espécies e raças, sem copiá-los.
+     * @param especies Os códigos de espécie aceitos; null aceita qualquer uma.
+     * @param racas Os códigos de raça aceitos; null aceita qualquer uma.
+     * @return O número de pets encontrados.
+     */
+    public int contarPorEspecieERaca(BitSet especies, BitSet racas) {
+        return this.pets.contarQue(pet -> atende(pet, especies, racas));
+    }
+
+    private static boolean atende(Pet pet, BitSet especies, BitSet racas) {
+        return (especies == null || especies.get(pet.getCodigoEspecie()))
+                && (racas == null || racas.get(pet.getCodigoRaca()));
+    }
+
+    /**
+     * Retorna a quantidade de pets armazenados.
+     * @return O número de pets.
+     */
+    public int contar() {
+        return this.pets.tamanho();
     }
 }
\ No newline at end of file
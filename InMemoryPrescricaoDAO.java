@@ -0,0 +1,29 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Prescricao;
+
+/**
+ * DAO em memória da entidade Prescricao, indexado por consulta, pet e veterinário.
+ */
+public class InMemoryPrescricaoDAO extends InMemoryHistoricoDAO<Prescricao> implements PrescricaoDAO {
+    @Override
+    protected int idDe(Prescricao prescricao) {
+        return prescricao.getId();
+    }
+
+    @Override
+    protected void definirId(Prescricao prescricao, int id) {
+        prescricao.setId(id);
+    }
+
+    @Override
+    protected Consulta consultaDe(Prescricao prescricao) {
+        return prescricao.getConsulta();
+    }
+
+    @Override
+    protected String descricao() {
+        return "prescrição";
+    }
+}
\ No newline at end of file
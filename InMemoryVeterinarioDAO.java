@@ -1,10 +1,11 @@
 package br.com.veterinaria.dao;
 
+import br.com.veterinaria.busca.IndicePrefixos;
+import br.com.veterinaria.log.Registrador;
 import br.com.veterinaria.model.Veterinario;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Iterator; // Importa Iterator para remoção segura
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Implementação do Data Access Object (DAO) para a entidade Veterinario.
@@ -12,18 +13,23 @@ import java.util.Iterator; // Importa Iterator para remoção segura
  * Esta é uma versão simplificada para demonstração; em um sistema real,
  * ela interagira com um banco de dados.
  */
-public class InMemoryVeterinarioDAO {
-    // Lista para armazenar os objetos Veterinario em memória
-    private List<Veterinario> veterinarios;
-    // Contador para gerar IDs únicos para novos veterinários
-    private static int nextId = 1;
+public class InMemoryVeterinarioDAO implements VeterinarioDAO {
+    private static final Registrador LOG = Registrador.para("DAO");
+
+    // Índice por ID que armazena os objetos Veterinario em memória, preservando a ordem de inserção
+    private IndicePorId<Veterinario> veterinarios;
+    // Índice ordenado pelo nome normalizado, para a busca por prefixo
+    private IndicePrefixos<Veterinario> porNome;
+    // Contador para gerar IDs únicos para novos veterinários (atômico, seguro para uso por várias threads)
+    private static final AtomicInteger nextId = new AtomicInteger(1);
 
     /**
      * Construtor da InMemoryVeterinarioDAO.
-     * Inicializa a lista de veterinários.
+     * Inicializa o índice de veterinários.
      */
     public InMemoryVeterinarioDAO() {
-        this.veterinarios = new ArrayList<>();
+        this.veterinarios = new IndicePorId<>();
+        this.porNome = new IndicePrefixos<>();
     }
 
     /**
@@ -33,16 +39,17 @@ public class InMemoryVeterinarioDAO {
      */
     public void adicionar(Veterinario veterinario) {
         if (veterinario == null) {
-            System.err.println("Erro: Não é possível adicionar um veterinário nulo.");
+            LOG.aviso("Não é possível adicionar um veterinário nulo.");
             return;
         }
         // Atribui um ID se o veterinário ainda não tiver um (assumindo 0 ou valor padrão para "novo")
         // Ou você pode garantir que o ID é atribuído apenas uma vez no construtor do Veterinario
         if (veterinario.getId() == 0) { // Supondo que 0 é o ID padrão para um objeto novo
-            veterinario.setId(nextId++);
+            veterinario.setId(nextId.getAndIncrement());
         }
-        this.veterinarios.add(veterinario);
-        System.out.println("[DAO] Veterinário '" + veterinario.getNome() + "' adicionado. ID: " + veterinario.getId());
+        this.veterinarios.colocar(veterinario.getId(), veterinario);
+        this.porNome.indexar(veterinario.getNome(), veterinario.getId(), veterinario);
+        LOG.debug("Veterinário '{}' adicionado. ID: {}", veterinario.getNome(), veterinario.getId());
     }
 
     /**
@@ -50,8 +57,18 @@ public class InMemoryVeterinarioDAO {
      * @return Uma lista contendo todos os objetos Veterinario.
      */
     public List<Veterinario> listarTodos() {
-        // Retorna uma nova ArrayList para evitar modificações externas diretas na lista interna
-        return new ArrayList<>(this.veterinarios);
+        // Retorna uma nova lista, na ordem de inserção, para evitar modificações externas no índice
+        return this.veterinarios.valores();
+    }
+
+    /**
+     * Lista um trecho dos veterinários, na ordem de inserção, sem copiar os demais.
+     * @param deslocamento Quantos veterinários pular desde o início.
+     * @param limite A quantidade máxima de veterinários.
+     * @return Uma nova lista com até {@code limite} veterinários.
+     */
+    public List<Veterinario> listar(int deslocamento, int limite) {
+        return this.veterinarios.valores(deslocamento, limite);
     }
 
     /**
@@ -60,12 +77,11 @@ public class InMemoryVeterinarioDAO {
      * @return O objeto Veterinario se encontrado, ou null caso contrário.
      */
     public Veterinario buscarPorId(int id) {
-        for (Veterinario vet : this.veterinarios) {
-            if (vet.getId() == id) {
-                return vet;
-            }
+        Veterinario encontrado = this.veterinarios.obter(id);
+        if (encontrado != null) {
+            return encontrado;
         }
-        System.out.println("[DAO] Veterinário com ID " + id + " não encontrado.");
+        LOG.debug("Veterinário com ID {} não encontrado.", id);
         return null;
     }
 
@@ -73,22 +89,19 @@ public class InMemoryVeterinarioDAO {
      * Remove um veterinário da lista.
      * @param veterinario O objeto Veterinario a ser removido.
      */
-    public void remover(Veterinario veterinario) {
+    public boolean remover(Veterinario veterinario) {
         if (veterinario == null) {
-            System.err.println("Erro: Não é possível remover um veterinário nulo.");
-            return;
+            LOG.aviso("Não é possível remover um veterinário nulo.");
+            return false;
         }
-        // Usa Iterator para remoção segura durante a iteração
-        Iterator<Veterinario> iterator = this.veterinarios.iterator();
-        while (iterator.hasNext()) {
-            Veterinario v = iterator.next();
-            if (v.getId() == veterinario.getId()) { // Compara pelo ID para garantir que é o mesmo objeto
-                iterator.remove();
-                System.out.println("[DAO] Veterinário '" + veterinario.getNome() + "' removido.");
-                return;
-            }
+        // Remove pelo ID em tempo constante
+        if (this.veterinarios.remover(veterinario.getId()) != null) {
+            this.porNome.remover(veterinario.getId());
+            LOG.debug("Veterinário '{}' removido.", veterinario.getNome());
+            return true;
         }
-        System.out.println("[DAO] Veterinário '" + veterinario.getNome() + "' não encontrado para remoção.");
+        LOG.debug("Veterinário '{}' não encontrado para remoção.", veterinario.getNome());
+        return false;
     }
 
     /**
@@ -97,16 +110,34 @@ public class InMemoryVeterinarioDAO {
      */
     public void atualizar(Veterinario veterinario) {
         if (veterinario == null) {
-            System.err.println("Erro: Não é possível atualizar um veterinário nulo.");
+            LOG.aviso("Não é possível atualizar um veterinário nulo.");
             return;
         }
-        for (int i = 0; i < this.veterinarios.size(); i++) {
-            if (this.veterinarios.get(i).getId() == veterinario.getId()) {
-                this.veterinarios.set(i, veterinario); // Substitui o objeto existente pelo atualizado
-                System.out.println("[DAO] Veterinário '" + veterinario.getNome() + "' atualizado.");
-                return;
-            }
+        if (this.veterinarios.contem(veterinario.getId())) {
+            this.veterinarios.colocar(veterinario.getId(), veterinario); // Substitui o objeto existente pelo atualizado
+            this.porNome.indexar(veterinario.getNome(), veterinario.getId(), veterinario); // O nome pode ter mudado
+            LOG.debug("Veterinário '{}' atualizado.", veterinario.getNome());
+            return;
         }
-        System.out.println("[DAO] Veterinário '" + veterinario.getNome() + "' não encontrado para atualização.");
+        LOG.debug("Veterinário '{}' não encontrado para atualização.", veterinario.getNome());
+    }
+
+    /**
+     * Lista os veterinários cujo nome começa com o prefixo, usando o índice ordenado por nome.
+     * O custo é proporcional ao tamanho do resultado, não ao total de veterinários.
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de resultados.
+     * @return Uma nova lista com até {@code limite} veterinários, em ordem alfabética.
+     */
+    public List<Veterinario> listarPorPrefixo(String prefixo, int limite) {
+        return this.porNome.buscar(prefixo, limite);
+    }
+
+    /**
+     * Retorna a quantidade de veterinários armazenados.
+     * @return O número de veterinários.
+     */
+    public int contar() {
+        return this.veterinarios.tamanho();
     }
 }
\ No newline at end of file
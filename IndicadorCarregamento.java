@@ -0,0 +1,116 @@
+package br.com.veterinaria.gui;
+
+import br.com.veterinaria.log.Registrador;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Barra de status das telas que acompanha as operações assíncronas da facade.
+ *
+ * {@link #executar} recebe o CompletableFuture de uma operação que já está
+ * rodando em segundo plano (ver ClinicaFacadeAsync), mostra uma barra de
+ * progresso com a descrição da operação, desabilita os componentes indicados
+ * e, quando a operação termina, aplica o resultado (ou trata o erro) na thread
+ * de eventos do Swing. A thread de eventos nunca fica esperando o armazenamento.
+ *
+ * Deve ser usado apenas na thread de eventos.
+ */
+public class IndicadorCarregamento extends JPanel {
+    private static final Registrador LOG = Registrador.para("GUI");
+
+    private final JLabel lblStatus = new JLabel(" ");
+    private final JProgressBar barra = new JProgressBar();
+    private int emAndamento; // Quantidade de operações ainda não concluídas
+
+    public IndicadorCarregamento() {
+        super(new BorderLayout(10, 0));
+        barra.setIndeterminate(true); // A facade não informa percentual, só o andamento
+        barra.setVisible(false);
+        add(lblStatus, BorderLayout.CENTER);
+        add(barra, BorderLayout.EAST);
+    }
+
+    /**
+     * Acompanha uma operação; erros são mostrados em uma caixa de diálogo.
+     * @param descricao O texto exibido enquanto a operação está em andamento.
+     * @param operacao A operação em andamento.
+     * @param aoConcluir Recebe o resultado, na thread de eventos.
+     * @param bloquear Componentes desabilitados enquanto a operação não termina.
+     * @param <T> O tipo do resultado.
+     */
+    public <T> void executar(String descricao, CompletableFuture<T> operacao, Consumer<? super T> aoConcluir,
+                             JComponent... bloquear) {
+        executar(descricao, operacao, aoConcluir, this::mostrarErro, bloquear);
+    }
+
+    /**
+     * Acompanha uma operação com tratamento de erro próprio.
+     * @param descricao O texto exibido enquanto a operação está em andamento.
+     * @param operacao A operação em andamento.
+     * @param aoConcluir Recebe o resultado, na thread de eventos.
+     * @param aoFalhar Recebe a exceção lançada pela operação, na thread de eventos.
+     * @param bloquear Componentes desabilitados enquanto a operação não termina.
+     * @param <T> O tipo do resultado.
+     */
+    public <T> void executar(String descricao, CompletableFuture<T> operacao, Consumer<? super T> aoConcluir,
+                             Consumer<Throwable> aoFalhar, JComponent... bloquear) {
+        iniciar(descricao, bloquear);
+        operacao.whenCompleteAsync((resultado, erro) -> {
+            terminar(bloquear);
+            if (erro != null) {
+                aoFalhar.accept(causa(erro));
+            } else {
+                aoConcluir.accept(resultado);
+            }
+        }, SwingUtilities::invokeLater); // Resultado aplicado na thread de eventos
+    }
+
+    /**
+     * Retorna se há operações em andamento.
+     * @return true enquanto alguma operação acompanhada não terminou.
+     */
+    public boolean isOcupado() {
+        return emAndamento > 0;
+    }
+
+    private void iniciar(String descricao, JComponent[] bloquear) {
+        emAndamento++;
+        lblStatus.setText(descricao + "...");
+        barra.setVisible(true);
+        for (JComponent componente : bloquear) {
+            componente.setEnabled(false);
+        }
+        revalidate();
+    }
+
+    private void terminar(JComponent[] bloquear) {
+        emAndamento--;
+        if (emAndamento == 0) {
+            lblStatus.setText(" ");
+            barra.setVisible(false);
+            revalidate();
+        }
+        for (JComponent componente : bloquear) {
+            componente.setEnabled(true);
+        }
+    }
+
+    private void mostrarErro(Throwable erro) {
+        LOG.aviso("Falha em operação assíncrona: {}", erro);
+        JOptionPane.showMessageDialog(SwingUtilities.getWindowAncestor(this),
+                "Não foi possível concluir a operação: " + erro.getMessage(), "Erro", JOptionPane.ERROR_MESSAGE);
+    }
+
+    // Remove os invólucros que o CompletableFuture coloca em volta da exceção original
+    private static Throwable causa(Throwable erro) {
+        while ((erro instanceof CompletionException || erro instanceof ExecutionException) && erro.getCause() != null) {
+            erro = erro.getCause();
+        }
+        return erro;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package br.com.veterinaria.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Índice secundário mantido pelos DAOs em memória.
+ * Agrupa objetos por uma chave inteira que não é única (por exemplo, o ID do
+ * proprietário de um pet ou o dia de uma consulta). Cada grupo é um
+ * {@link IndicePorId} indexado pelo ID do objeto, então incluir, mover e
+ * remover um objeto custa O(1), e listar um grupo custa o tamanho do grupo.
+ *
+ * O índice também lembra em qual chave cada objeto foi indexado. Assim, quando
+ * um objeto é alterado e reindexado, ele sai do grupo antigo mesmo que o campo
+ * de origem da chave já tenha sido modificado.
+ * @param <T> O tipo de objeto indexado.
+ */
+public class IndiceMultiplo<T> {
+    // Grupos de objetos por chave secundária
+    private IndicePorId<IndicePorId<T>> grupos;
+    // Chave em que cada objeto (pelo seu ID) está indexado atualmente
+    private IndicePorId<Integer> chavePorId;
+
+    /**
+     * Construtor do IndiceMultiplo.
+     * Inicializa os grupos e o mapa reverso de chaves.
+     */
+    public IndiceMultiplo() {
+        this.grupos = new IndicePorId<>();
+        this.chavePorId = new IndicePorId<>();
+    }
+
+    /**
+     * Indexa (ou reindexa) um objeto sob uma chave.
+     * Se o objeto já estava em outra chave, ele é movido.
+     * @param chave A chave secundária.
+     * @param id O ID do objeto.
+     * @param valor O objeto.
+     */
+    public void indexar(int chave, int id, T valor) {
+        Integer chaveAnterior = chavePorId.obter(id);
+        if (chaveAnterior != null && chaveAnterior != chave) {
+            removerDoGrupo(chaveAnterior, id);
+        }
+        IndicePorId<T> grupo = grupos.obter(chave);
+        if (grupo == null) {
+            grupo = new IndicePorId<>();
+            grupos.colocar(chave, grupo);
+        }
+        grupo.colocar(id, valor);
+        chavePorId.colocar(id, chave);
+    }
+
+    /**
+     * Remove um objeto do índice, qualquer que seja a chave em que ele esteja.
+     * @param id O ID do objeto.
+     */
+    public void remover(int id) {
+        Integer chave = chavePorId.remover(id);
+        if (chave != null) {
+            removerDoGrupo(chave, id);
+        }
+    }
+
+    /**
+     * Lista os objetos de uma chave, na ordem em que foram indexados.
+     * @param chave A chave secundária.
+     * @return Uma nova lista (vazia se a chave não tiver objetos).
+     */
+    public List<T> listar(int chave) {
+        IndicePorId<T> grupo = grupos.obter(chave);
+        return grupo != null ? grupo.valores() : new ArrayList<>();
+    }
+
+    /**
+     * Conta os objetos de uma chave sem copiá-los.
+     * @param chave A chave secundária.
+     * @return A quantidade de objetos na chave.
+     */
+    public int contar(int chave) {
+        IndicePorId<T> grupo = grupos.obter(chave);
+        return grupo != null ? grupo.tamanho() : 0;
+    }
+
+    private void removerDoGrupo(int chave, int id) {
+        IndicePorId<T> grupo = grupos.obter(chave);
+        if (grupo != null) {
+            grupo.remover(id);
+            if (grupo.tamanho() == 0) {
+                grupos.remover(chave); // Libera grupos vazios
+            }
+        }
+    }
+}
\ No newline at end of file
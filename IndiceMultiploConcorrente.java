@@ -0,0 +1,93 @@
+package br.com.veterinaria.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Versão thread-safe do {@link IndiceMultiplo}, usada pelos DAOs concorrentes.
+ * As leituras (listar e contar) não usam locks. As escritas de um mesmo objeto
+ * devem ser serializadas pelo chamador (os DAOs concorrentes fazem isso com o
+ * lock da listra do ID); escritas de objetos diferentes podem ocorrer em paralelo.
+ * Os grupos são ConcurrentHashMaps (inclusão e remoção O(1)); a listagem
+ * ordena o resultado pelo ID, que acompanha a ordem de cadastro.
+ * @param <T> O tipo de objeto indexado.
+ */
+public class IndiceMultiploConcorrente<T> {
+    private final ConcurrentHashMap<Integer, ConcurrentHashMap<Integer, T>> grupos = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Integer> chavePorId = new ConcurrentHashMap<>();
+    private final ToIntFunction<T> idDe;
+
+    /**
+     * Construtor do IndiceMultiploConcorrente.
+     * @param idDe Função que extrai o ID de um objeto, usada para ordenar as listagens.
+     */
+    public IndiceMultiploConcorrente(ToIntFunction<T> idDe) {
+        this.idDe = idDe;
+    }
+
+    /**
+     * Indexa (ou reindexa) um objeto sob uma chave.
+     * @param chave A chave secundária.
+     * @param id O ID do objeto.
+     * @param valor O objeto.
+     */
+    public void indexar(int chave, int id, T valor) {
+        Integer chaveAnterior = chavePorId.put(id, chave);
+        if (chaveAnterior != null && chaveAnterior != chave) {
+            removerDoGrupo(chaveAnterior, id);
+        }
+        // compute é atômico por chave, então não disputa com a remoção de um grupo vazio
+        grupos.compute(chave, (k, grupo) -> {
+            if (grupo == null) {
+                grupo = new ConcurrentHashMap<>();
+            }
+            grupo.put(id, valor);
+            return grupo;
+        });
+    }
+
+    /**
+     * Remove um objeto do índice.
+     * @param id O ID do objeto.
+     */
+    public void remover(int id) {
+        Integer chave = chavePorId.remove(id);
+        if (chave != null) {
+            removerDoGrupo(chave, id);
+        }
+    }
+
+    /**
+     * Lista os objetos de uma chave, ordenados pelo ID.
+     * @param chave A chave secundária.
+     * @return Uma nova lista (vazia se a chave não tiver objetos).
+     */
+    public List<T> listar(int chave) {
+        ConcurrentHashMap<Integer, T> grupo = grupos.get(chave);
+        if (grupo == null) {
+            return new ArrayList<>();
+        }
+        List<T> lista = new ArrayList<>(grupo.values());
+        lista.sort((a, b) -> Integer.compare(idDe.applyAsInt(a), idDe.applyAsInt(b)));
+        return lista;
+    }
+
+    /**
+     * Conta os objetos de uma chave.
+     * @param chave A chave secundária.
+     * @return A quantidade de objetos na chave.
+     */
+    public int contar(int chave) {
+        ConcurrentHashMap<Integer, T> grupo = grupos.get(chave);
+        return grupo != null ? grupo.size() : 0;
+    }
+
+    private void removerDoGrupo(int chave, int id) {
+        grupos.computeIfPresent(chave, (k, grupo) -> {
+            grupo.remove(id);
+            return grupo.isEmpty() ? null : grupo; // Retornar null descarta o grupo vazio
+        });
+    }
+}
\ No newline at end of file
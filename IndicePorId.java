@@ -0,0 +1,349 @@
+package br.com.veterinaria.dao;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Índice de chave primária usado pelos DAOs em memória.
+ * Mapeia uma chave inteira para o objeto armazenado usando endereçamento aberto
+ * (sondagem linear), sem criar objetos Integer nem nós de lista por entrada.
+ * Busca, substituição e remoção custam O(1) em média. Qualquer valor int é
+ * aceito como chave (o 0, usado como marca de slot livre, é guardado à parte),
+ * o que permite reutilizar o índice para chaves secundárias como dias.
+ *
+ * A ordem de inserção é preservada em um vetor paralelo: cada chave guarda a
+ * posição do seu objeto nesse vetor. Remoções deixam um "buraco" (null) que é
+ * eliminado por uma compactação quando os buracos passam da metade do vetor.
+ *
+ * Esta classe não é thread-safe, assim como os DAOs que a utilizam.
+ * @param <T> O tipo de objeto indexado.
+ */
+public class IndicePorId<T> {
+    // Marca de posição livre na tabela de chaves; a chave 0 é tratada separadamente
+    private static final int LIVRE = 0;
+    // Slot fictício que representa a chave 0
+    private static final int SLOT_ZERO = -2;
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Tabela de hash: chaves e, para cada chave, a posição do objeto no vetor de ordem
+    private int[] chaves;
+    private int[] posicoes;
+    private int ocupadas;
+    // Estado da chave 0, que não pode ser gravada na tabela
+    private boolean temZero;
+    private int posicaoZero;
+
+    // Objetos na ordem de inserção (pode conter buracos após remoções)
+    private Object[] ordem;
+    private int fimOrdem;
+    private int buracos;
+
+    /**
+     * Construtor do IndicePorId.
+     * Inicializa as tabelas com a capacidade padrão.
+     */
+    public IndicePorId() {
+        this.chaves = new int[CAPACIDADE_INICIAL];
+        this.posicoes = new int[CAPACIDADE_INICIAL];
+        this.ordem = new Object[CAPACIDADE_INICIAL];
+    }
+
+    /**
+     * Associa um objeto a um ID. Se o ID já existir, o objeto é substituído
+     * mantendo a sua posição original na ordem de inserção.
+     * @param id O ID ou chave.
+     * @param valor O objeto a ser armazenado.
+     * @return O objeto anteriormente associado ao ID, ou null se não havia nenhum.
+     */
+    @SuppressWarnings("unchecked")
+    public T colocar(int id, T valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("Não é possível indexar um valor nulo.");
+        }
+        int slot = localizar(id);
+        if (slot != -1) {
+            int pos = posicao(slot);
+            T anterior = (T) ordem[pos];
+            ordem[pos] = valor;
+            return anterior;
+        }
+        if ((ocupadas + 1) * 4 > chaves.length * 3) { // Fator de carga máximo de 75%
+            redimensionar(chaves.length * 2);
+        }
+        if (fimOrdem == ordem.length) {
+            if (buracos > 0 && buracos * 2 >= fimOrdem) {
+                compactar();
+            } else {
+                ordem = Arrays.copyOf(ordem, ordem.length * 2);
+            }
+        }
+        ordem[fimOrdem] = valor;
+        inserirChave(id, fimOrdem);
+        fimOrdem++;
+        ocupadas++;
+        return null;
+    }
+
+    /**
+     * Busca o objeto associado a um ID.
+     * @param id O ID procurado.
+     * @return O objeto, ou null se o ID não estiver indexado.
+     */
+    @SuppressWarnings("unchecked")
+    public T obter(int id) {
+        int slot = localizar(id);
+        return slot != -1 ? (T) ordem[posicao(slot)] : null;
+    }
+
+    /**
+     * Verifica se um ID está indexado.
+     * @param id O ID procurado.
+     * @return true se o ID estiver presente.
+     */
+    public boolean contem(int id) {
+        return localizar(id) != -1;
+    }
+
+    /**
+     * Remove o objeto associado a um ID.
+     * @param id O ID a ser removido.
+     * @return O objeto removido, ou null se o ID não estava indexado.
+     */
+    @SuppressWarnings("unchecked")
+    public T remover(int id) {
+        int slot = localizar(id);
+        if (slot == -1) {
+            return null;
+        }
+        int pos = posicao(slot);
+        T removido = (T) ordem[pos];
+        ordem[pos] = null;
+        buracos++;
+        ocupadas--;
+        if (slot == SLOT_ZERO) {
+            temZero = false;
+        } else {
+            removerSlot(slot);
+        }
+        if (ocupadas == 0) {
+            // Índice vazio: reinicia o vetor de ordem sem precisar compactar
+            Arrays.fill(ordem, 0, fimOrdem, null);
+            fimOrdem = 0;
+            buracos = 0;
+        }
+        return removido;
+    }
+
+    /**
+     * Retorna a quantidade de objetos indexados.
+     * @return O número de entradas.
+     */
+    public int tamanho() {
+        return ocupadas;
+    }
+
+    /**
+     * Retorna uma cópia dos objetos indexados, na ordem de inserção.
+     * @return Uma nova lista com os objetos.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> valores() {
+        List<T> lista = new ArrayList<>(ocupadas);
+        for (int i = 0; i < fimOrdem; i++) {
+            if (ordem[i] != null) {
+                lista.add((T) ordem[i]);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Retorna um trecho dos objetos indexados, na ordem de inserção, sem
+     * copiar os demais. Sem buracos no vetor de ordem, o trecho começa
+     * direto na posição do deslocamento.
+     * @param deslocamento Quantos objetos pular desde o início.
+     * @param limite A quantidade máxima de objetos.
+     * @return Uma nova lista com até {@code limite} objetos.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> valores(int deslocamento, int limite) {
+        List<T> lista = new ArrayList<>(Math.max(Math.min(limite, ocupadas - deslocamento), 0));
+        int i = 0;
+        if (buracos == 0) {
+            i = Math.min(deslocamento, fimOrdem);
+        } else {
+            for (int pulados = 0; i < fimOrdem && pulados < deslocamento; i++) {
+                if (ordem[i] != null) {
+                    pulados++;
+                }
+            }
+        }
+        for (; i < fimOrdem && lista.size() < limite; i++) {
+            if (ordem[i] != null) {
+                lista.add((T) ordem[i]);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Retorna os objetos indexados que atendem uma condição, na ordem de
+     * inserção, sem copiar os demais.
+     * @param condicao A condição.
+     * @return Uma nova lista com os objetos aceitos.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> valoresQue(Predicate<? super T> condicao) {
+        List<T> lista = new ArrayList<>();
+        for (int i = 0; i < fimOrdem; i++) {
+            if (ordem[i] != null && condicao.test((T) ordem[i])) {
+                lista.add((T) ordem[i]);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Retorna um trecho dos objetos que atendem uma condição, na ordem de
+     * inserção; só os objetos do trecho são copiados.
+     * @param condicao A condição.
+     * @param deslocamento Quantos objetos aceitos pular desde o início.
+     * @param limite A quantidade máxima de objetos.
+     * @return Uma nova lista com até {@code limite} objetos aceitos.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> valoresQue(Predicate<? super T> condicao, int deslocamento, int limite) {
+        List<T> lista = new ArrayList<>();
+        int pulados = 0;
+        for (int i = 0; i < fimOrdem && lista.size() < limite; i++) {
+            if (ordem[i] != null && condicao.test((T) ordem[i]) && pulados++ >= deslocamento) {
+                lista.add((T) ordem[i]);
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Conta os objetos indexados que atendem uma condição, sem copiá-los.
+     * @param condicao A condição.
+     * @return O número de objetos aceitos.
+     */
+    @SuppressWarnings("unchecked")
+    public int contarQue(Predicate<? super T> condicao) {
+        int quantidade = 0;
+        for (int i = 0; i < fimOrdem; i++) {
+            if (ordem[i] != null && condicao.test((T) ordem[i])) {
+                quantidade++;
+            }
+        }
+        return quantidade;
+    }
+
+    // --- Métodos auxiliares da tabela de hash ---
+
+    private static int espalhar(int id) {
+        // Mistura os bits do ID para que IDs sequenciais não formem agrupamentos
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private int posicao(int slot) {
+        return slot == SLOT_ZERO ? posicaoZero : posicoes[slot];
+    }
+
+    private int localizar(int id) {
+        if (id == LIVRE) {
+            return temZero ? SLOT_ZERO : -1;
+        }
+        int mascara = chaves.length - 1;
+        int slot = espalhar(id) & mascara;
+        while (chaves[slot] != LIVRE) {
+            if (chaves[slot] == id) {
+                return slot;
+            }
+            slot = (slot + 1) & mascara;
+        }
+        return -1;
+    }
+
+    private void inserirChave(int id, int pos) {
+        if (id == LIVRE) {
+            temZero = true;
+            posicaoZero = pos;
+            return;
+        }
+        int mascara = chaves.length - 1;
+        int slot = espalhar(id) & mascara;
+        while (chaves[slot] != LIVRE) {
+            slot = (slot + 1) & mascara;
+        }
+        chaves[slot] = id;
+        posicoes[slot] = pos;
+    }
+
+    /**
+     * Remove a chave de um slot usando deslocamento para trás (backward shift),
+     * o que evita marcadores de remoção e mantém as sondagens curtas.
+     */
+    private void removerSlot(int slot) {
+        int mascara = chaves.length - 1;
+        int vazio = slot;
+        int atual = slot;
+        while (true) {
+            atual = (atual + 1) & mascara;
+            int chave = chaves[atual];
+            if (chave == LIVRE) {
+                break;
+            }
+            int ideal = espalhar(chave) & mascara;
+            // Move a chave se o slot vazio estiver entre a posição ideal e a atual (circularmente)
+            boolean mover = (vazio <= atual) ? (ideal <= vazio || ideal > atual) : (ideal <= vazio && ideal > atual);
+            if (mover) {
+                chaves[vazio] = chave;
+                posicoes[vazio] = posicoes[atual];
+                vazio = atual;
+            }
+        }
+        chaves[vazio] = LIVRE;
+        posicoes[vazio] = 0;
+    }
+
+    private void redimensionar(int novaCapacidade) {
+        int[] chavesAntigas = chaves;
+        int[] posicoesAntigas = posicoes;
+        chaves = new int[novaCapacidade];
+        posicoes = new int[novaCapacidade];
+        for (int i = 0; i < chavesAntigas.length; i++) {
+            if (chavesAntigas[i] != LIVRE) {
+                inserirChave(chavesAntigas[i], posicoesAntigas[i]);
+            }
+        }
+    }
+
+    /**
+     * Remove os buracos do vetor de ordem e corrige as posições na tabela de hash.
+     */
+    private void compactar() {
+        int[] novaPosicao = new int[fimOrdem];
+        int destino = 0;
+        for (int i = 0; i < fimOrdem; i++) {
+            if (ordem[i] != null) {
+                novaPosicao[i] = destino;
+                ordem[destino++] = ordem[i];
+            }
+        }
+        Arrays.fill(ordem, destino, fimOrdem, null);
+        for (int i = 0; i < chaves.length; i++) {
+            if (chaves[i] != LIVRE) {
+                posicoes[i] = novaPosicao[posicoes[i]];
+            }
+        }
+        if (temZero) {
+            posicaoZero = novaPosicao[posicaoZero];
+        }
+        fimOrdem = destino;
+        buracos = 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package br.com.veterinaria.busca;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice ordenado de nomes para busca por prefixo (autocompletar).
+ *
+ * Cada objeto é guardado sob a chave "nome normalizado + separador + ID" em um
+ * ConcurrentSkipListMap, então nomes repetidos não colidem e a busca de um
+ * prefixo é uma descida até a primeira chave >= prefixo seguida da leitura das
+ * próximas k entradas: O(log n + k), sem percorrer o restante do índice. Os
+ * nomes são comparados já normalizados ({@link NormalizadorTexto}), ou seja,
+ * sem diferenciar maiúsculas nem acentos.
+ *
+ * Leituras não usam locks. As escritas de um mesmo objeto devem ser
+ * serializadas pelo chamador (os DAOs fazem isso); escritas de objetos
+ * diferentes podem ocorrer em paralelo.
+ * @param <T> O tipo de objeto indexado.
+ */
+public class IndicePrefixos<T> {
+    // Separa o nome do ID na chave; não aparece em textos normalizados (controles viram espaço)
+    private static final char SEPARADOR = '\u0000';
+
+    private final ConcurrentSkipListMap<String, T> porChave = new ConcurrentSkipListMap<>();
+    // Chave atual de cada objeto, para reindexar ou remover mesmo depois de o nome mudar
+    private final ConcurrentHashMap<Integer, String> chavePorId = new ConcurrentHashMap<>();
+
+    /**
+     * Indexa (ou reindexa) um objeto sob um nome.
+     * @param nome O nome original (é normalizado aqui).
+     * @param id O ID do objeto.
+     * @param valor O objeto.
+     */
+    public void indexar(String nome, int id, T valor) {
+        String chave = chave(NormalizadorTexto.normalizar(nome), id);
+        String anterior = chavePorId.put(id, chave);
+        if (anterior != null && !anterior.equals(chave)) {
+            porChave.remove(anterior);
+        }
+        porChave.put(chave, valor);
+    }
+
+    /**
+     * Remove um objeto do índice.
+     * @param id O ID do objeto.
+     */
+    public void remover(int id) {
+        String chave = chavePorId.remove(id);
+        if (chave != null) {
+            porChave.remove(chave);
+        }
+    }
+
+    /**
+     * Lista os primeiros objetos, em ordem alfabética, cujo nome começa com o prefixo.
+     * @param prefixo O prefixo digitado (normalizado aqui; vazio lista os primeiros do índice).
+     * @param limite A quantidade máxima de resultados.
+     * @return Uma nova lista com até {@code limite} objetos.
+     */
+    public List<T> buscar(String prefixo, int limite) {
+        String normalizado = NormalizadorTexto.normalizar(prefixo);
+        List<T> resultado = new ArrayList<>(Math.min(limite, 16));
+        if (limite <= 0) {
+            return resultado;
+        }
+        for (Map.Entry<String, T> entrada : porChave.tailMap(normalizado).entrySet()) {
+            if (!entrada.getKey().startsWith(normalizado)) {
+                break; // Chaves ordenadas: acabaram as que têm o prefixo
+            }
+            resultado.add(entrada.getValue());
+            if (resultado.size() == limite) {
+                break;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca um objeto cujo nome normalizado é igual ao do nome informado.
+     * Se houver vários, devolve o de menor ID.
+     * @param nome O nome procurado.
+     * @return O objeto, ou null se nenhum tiver esse nome.
+     */
+    public T buscarExato(String nome) {
+        String inicio = NormalizadorTexto.normalizar(nome) + SEPARADOR;
+        Map.Entry<String, T> entrada = porChave.ceilingEntry(inicio);
+        return entrada != null && entrada.getKey().startsWith(inicio) ? entrada.getValue() : null;
+    }
+
+    /**
+     * Retorna a quantidade de objetos indexados.
+     * @return O número de objetos.
+     */
+    public int tamanho() {
+        return chavePorId.size();
+    }
+
+    // O ID vai em dois chars (big-endian) para que nomes iguais fiquem em ordem de ID
+    private static String chave(String normalizado, int id) {
+        return new StringBuilder(normalizado.length() + 3)
+                .append(normalizado)
+                .append(SEPARADOR)
+                .append((char) (id >>> 16))
+                .append((char) id)
+                .toString();
+    }
+}
\ No newline at end of file
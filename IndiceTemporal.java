@@ -0,0 +1,151 @@
+package br.com.veterinaria.dao;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice ordenado por instante (milissegundos desde 01/01/1970), usado para
+ * consultas de agenda. Os objetos ficam em uma skip list ordenada por
+ * (instante, ID), então listar um intervalo [inicio, fim) custa O(log n) para
+ * localizar o início mais o tamanho do resultado.
+ *
+ * Opcionalmente cada objeto pertence a um grupo (por exemplo, o veterinário
+ * da consulta), com a sua própria skip list, o que permite buscar os próximos
+ * objetos de um grupo sem percorrer os dos outros grupos.
+ *
+ * Assim como o {@link IndiceMultiploConcorrente}, as leituras não usam locks e
+ * as escritas de um mesmo objeto devem ser serializadas pelo chamador.
+ * @param <T> O tipo de objeto indexado.
+ */
+public class IndiceTemporal<T> {
+    /** Grupo usado para objetos que não pertencem a nenhum grupo. */
+    public static final int SEM_GRUPO = 0;
+
+    // Chave de ordenação: instante e, para desempatar, o ID do objeto
+    private static final class Chave implements Comparable<Chave> {
+        final long instante;
+        final int id;
+        final int grupo;
+
+        Chave(long instante, int id, int grupo) {
+            this.instante = instante;
+            this.id = id;
+            this.grupo = grupo;
+        }
+
+        @Override
+        public int compareTo(Chave outra) {
+            int c = Long.compare(instante, outra.instante);
+            return c != 0 ? c : Integer.compare(id, outra.id);
+        }
+    }
+
+    private final ConcurrentSkipListMap<Chave, T> porInstante = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<Integer, ConcurrentSkipListMap<Chave, T>> porGrupo = new ConcurrentHashMap<>();
+    // Chave em que cada objeto (pelo seu ID) está indexado atualmente
+    private final ConcurrentHashMap<Integer, Chave> chavePorId = new ConcurrentHashMap<>();
+
+    /**
+     * Indexa (ou reindexa) um objeto em um instante.
+     * @param id O ID do objeto.
+     * @param instante O instante, em milissegundos desde 01/01/1970.
+     * @param grupo O grupo do objeto, ou {@link #SEM_GRUPO}.
+     * @param valor O objeto.
+     */
+    public void indexar(int id, long instante, int grupo, T valor) {
+        Chave nova = new Chave(instante, id, grupo);
+        Chave anterior = chavePorId.put(id, nova);
+        if (anterior != null && (anterior.instante != instante || anterior.grupo != grupo)) {
+            desindexar(anterior);
+        }
+        porInstante.put(nova, valor);
+        if (grupo != SEM_GRUPO) {
+            // compute é atômico por grupo, então não disputa com a remoção de um grupo vazio
+            porGrupo.compute(grupo, (g, doGrupo) -> {
+                if (doGrupo == null) {
+                    doGrupo = new ConcurrentSkipListMap<>();
+                }
+                doGrupo.put(nova, valor);
+                return doGrupo;
+            });
+        }
+    }
+
+    /**
+     * Remove um objeto do índice.
+     * @param id O ID do objeto.
+     */
+    public void remover(int id) {
+        Chave chave = chavePorId.remove(id);
+        if (chave != null) {
+            desindexar(chave);
+        }
+    }
+
+    /**
+     * Lista os objetos com instante no intervalo [inicio, fim), em ordem cronológica.
+     * @param inicio O início do intervalo (inclusivo).
+     * @param fim O fim do intervalo (exclusivo).
+     * @return Uma nova lista (vazia se não houver objetos no intervalo).
+     */
+    public List<T> listarEntre(long inicio, long fim) {
+        if (inicio >= fim) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(porInstante.subMap(limite(inicio), limite(fim)).values());
+    }
+
+    /**
+     * Lista os próximos objetos de um grupo a partir de um instante, em ordem cronológica.
+     * @param grupo O grupo.
+     * @param aPartirDe O instante inicial (inclusivo).
+     * @param quantidade A quantidade máxima de objetos.
+     * @return Uma nova lista com até {@code quantidade} objetos.
+     */
+    public List<T> proximosDoGrupo(int grupo, long aPartirDe, int quantidade) {
+        List<T> resultado = new ArrayList<>();
+        ConcurrentSkipListMap<Chave, T> doGrupo = porGrupo.get(grupo);
+        if (doGrupo == null || quantidade <= 0) {
+            return resultado;
+        }
+        for (T valor : doGrupo.tailMap(limite(aPartirDe)).values()) {
+            resultado.add(valor);
+            if (resultado.size() == quantidade) {
+                break;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Lista os objetos de um grupo com instante no intervalo [inicio, fim), em ordem cronológica.
+     * @param grupo O grupo.
+     * @param inicio O início do intervalo (inclusivo).
+     * @param fim O fim do intervalo (exclusivo).
+     * @return Uma nova lista (vazia se não houver objetos no intervalo).
+     */
+    public List<T> listarDoGrupoEntre(int grupo, long inicio, long fim) {
+        ConcurrentSkipListMap<Chave, T> doGrupo = porGrupo.get(grupo);
+        if (doGrupo == null || inicio >= fim) {
+            return new ArrayList<>();
+        }
+        return new ArrayList<>(doGrupo.subMap(limite(inicio), limite(fim)).values());
+    }
+
+    // Menor chave possível para um instante, usada como limite de intervalos
+    private static Chave limite(long instante) {
+        return new Chave(instante, Integer.MIN_VALUE, SEM_GRUPO);
+    }
+
+    private void desindexar(Chave chave) {
+        porInstante.remove(chave);
+        if (chave.grupo != SEM_GRUPO) {
+            porGrupo.computeIfPresent(chave.grupo, (g, doGrupo) -> {
+                doGrupo.remove(chave);
+                return doGrupo.isEmpty() ? null : doGrupo; // Retornar null descarta o grupo vazio
+            });
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,411 @@
+package br.com.veterinaria.busca;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido para busca textual: para cada termo (ver
+ * {@link AnalisadorTexto}), a {@link ListaPostagens} comprimida com os
+ * documentos que o contêm e as posições em cada um. Uma busca lê apenas as
+ * listas dos termos da consulta, em vez de percorrer todos os textos.
+ *
+ * O índice é incremental. Cada vez que um documento é indexado ele recebe um
+ * número interno novo, sempre maior que os anteriores, e as listas guardam
+ * esses números: indexar só acrescenta bytes no final das listas dos seus
+ * termos, mesmo quando o documento já existia. Reindexar ou remover apenas
+ * marca o número antigo como removido; as postagens antigas são ignoradas nas
+ * buscas e descartadas quando as marcas passam de um quarto dos documentos,
+ * reescrevendo só as listas dos termos dos documentos marcados. Quando os
+ * números já usados passam do dobro dos documentos, a compactação também
+ * renumera os documentos na ordem dos IDs.
+ *
+ * É thread-safe: buscas são feitas em paralelo e alterações são exclusivas.
+ */
+public class IndiceTexto {
+    private static final int[] NENHUM = new int[0];
+
+    private final Map<String, ListaPostagens> postagens = new HashMap<>();
+    private final BitSet presentes = new BitSet(); // Números internos indexados
+    private final BitSet removidos = new BitSet(); // Números internos que ainda têm postagens antigas nas listas
+    private int quantidadePresentes;
+    private int quantidadeRemovidos;
+    // Numeração interna: número + 1 de cada ID (0 se não indexado), ID de cada número,
+    // e as listas com postagens de cada número (null depois de descartadas)
+    private int[] internoPorId = new int[64];
+    private int[] idPorInterno = new int[64];
+    private ListaPostagens[][] listasPorInterno = new ListaPostagens[64][];
+    private int proximoInterno;
+    private int maiorId = -1;
+    private boolean foraDeOrdem; // Os números internos não seguem a ordem dos IDs: resultados precisam ser ordenados
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    /**
+     * Indexa (ou reindexa) o texto de um documento.
+     * @param id O ID do documento (não negativo).
+     * @param texto O texto.
+     */
+    public void indexar(int id, String texto) {
+        List<String> termos = AnalisadorTexto.termos(texto);
+        // Posições de cada termo no texto, em ordem crescente; a posição 0 de cada vetor guarda a quantidade
+        Map<String, int[]> posicoesPorTermo = new HashMap<>();
+        for (int posicao = 0; posicao < termos.size(); posicao++) {
+            String termo = termos.get(posicao);
+            if (termo == null) {
+                continue;
+            }
+            int[] posicoes = posicoesPorTermo.get(termo);
+            if (posicoes == null) {
+                posicoes = new int[4];
+            } else if (posicoes[0] + 1 == posicoes.length) {
+                posicoes = Arrays.copyOf(posicoes, posicoes.length * 2);
+            }
+            posicoes[++posicoes[0]] = posicao;
+            posicoesPorTermo.put(termo, posicoes);
+        }
+
+        trava.writeLock().lock();
+        try {
+            marcarRemovido(id);
+            int interno = proximoInterno++;
+            if (interno == idPorInterno.length) {
+                idPorInterno = Arrays.copyOf(idPorInterno, interno * 2);
+                listasPorInterno = Arrays.copyOf(listasPorInterno, interno * 2);
+            }
+            if (id >= internoPorId.length) {
+                internoPorId = Arrays.copyOf(internoPorId, Math.max(id + 1, internoPorId.length * 2));
+            }
+            ListaPostagens[] listas = new ListaPostagens[posicoesPorTermo.size()];
+            int quantidade = 0;
+            for (Map.Entry<String, int[]> entrada : posicoesPorTermo.entrySet()) {
+                int[] posicoes = entrada.getValue();
+                ListaPostagens lista = postagens.computeIfAbsent(entrada.getKey(), ListaPostagens::new);
+                lista.adicionar(interno, Arrays.copyOfRange(posicoes, 1, posicoes[0] + 1), posicoes[0]);
+                listas[quantidade++] = lista;
+            }
+            listasPorInterno[interno] = listas;
+            idPorInterno[interno] = id;
+            internoPorId[id] = interno + 1;
+            if (id < maiorId) {
+                foraDeOrdem = true; // Reindexado, ou indexado depois de um ID maior
+            }
+            maiorId = Math.max(maiorId, id);
+            presentes.set(interno);
+            quantidadePresentes++;
+            compactarSeNecessario();
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove um documento do índice.
+     * @param id O ID do documento.
+     */
+    public void remover(int id) {
+        trava.writeLock().lock();
+        try {
+            if (marcarRemovido(id)) {
+                compactarSeNecessario();
+            }
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os documentos que atendem uma consulta.
+     * @param consulta A consulta.
+     * @return Um novo vetor com os IDs encontrados, em ordem crescente.
+     */
+    public int[] buscar(ConsultaTexto consulta) {
+        trava.readLock().lock();
+        try {
+            int[] resultado = NENHUM;
+            for (ConsultaTexto.Alternativa alternativa : consulta.getAlternativas()) {
+                int[] encontrados = null;
+                for (List<String> frase : alternativa.exigidas) {
+                    int[] daFrase = buscarFrase(frase);
+                    encontrados = encontrados == null ? daFrase : intersecao(encontrados, daFrase);
+                    if (encontrados.length == 0) {
+                        break;
+                    }
+                }
+                for (List<String> frase : alternativa.excluidas) {
+                    if (encontrados.length == 0) {
+                        break;
+                    }
+                    encontrados = diferenca(encontrados, buscarFrase(frase));
+                }
+                resultado = uniao(resultado, encontrados);
+            }
+            return paraIds(quantidadeRemovidos > 0 ? semRemovidos(resultado) : resultado);
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Busca os documentos que atendem o texto de uma consulta.
+     * @see ConsultaTexto#interpretar(String)
+     * @param consulta O texto da consulta.
+     * @return Um novo vetor com os IDs encontrados, em ordem crescente.
+     */
+    public int[] buscar(String consulta) {
+        return buscar(ConsultaTexto.interpretar(consulta));
+    }
+
+    /**
+     * Retorna a quantidade de documentos indexados.
+     * @return A quantidade de documentos.
+     */
+    public int getDocumentos() {
+        trava.readLock().lock();
+        try {
+            return quantidadePresentes;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de termos distintos indexados.
+     * @return A quantidade de termos.
+     */
+    public int getTermos() {
+        trava.readLock().lock();
+        try {
+            return postagens.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de termos distintos e o espaço das listas de postagens.
+     * @return Um texto como "1234 termos, 56789 bytes".
+     */
+    public String getResumo() {
+        trava.readLock().lock();
+        try {
+            long bytes = 0;
+            for (ListaPostagens lista : postagens.values()) {
+                bytes += lista.getBytes();
+            }
+            return postagens.size() + " termos, " + bytes + " bytes";
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // Documentos que contêm os termos da frase em posições consecutivas (null ocupa uma posição qualquer)
+    private int[] buscarFrase(List<String> frase) {
+        if (frase.size() == 1) {
+            ListaPostagens lista = postagens.get(frase.get(0));
+            return lista != null ? lista.ids() : NENHUM;
+        }
+        int quantidade = 0;
+        ListaPostagens.Decodificadas[] listas = new ListaPostagens.Decodificadas[frase.size()];
+        int[] deslocamentos = new int[frase.size()];
+        for (int i = 0; i < frase.size(); i++) {
+            if (frase.get(i) == null) {
+                continue;
+            }
+            ListaPostagens lista = postagens.get(frase.get(i));
+            if (lista == null) {
+                return NENHUM;
+            }
+            listas[quantidade] = lista.decodificar();
+            deslocamentos[quantidade++] = i;
+        }
+        int[] candidatos = listas[0].ids;
+        for (int i = 1; i < quantidade; i++) {
+            candidatos = intersecao(candidatos, listas[i].ids);
+        }
+        int[] encontrados = new int[candidatos.length];
+        int total = 0;
+        int[] indices = new int[quantidade];
+        for (int id : candidatos) {
+            for (int i = 0; i < quantidade; i++) {
+                indices[i] = Arrays.binarySearch(listas[i].ids, id);
+            }
+            if (contemFrase(listas, deslocamentos, indices, quantidade)) {
+                encontrados[total++] = id;
+            }
+        }
+        return Arrays.copyOf(encontrados, total);
+    }
+
+    // Verdadeiro se, para alguma posição do primeiro termo, os demais estão nas posições seguintes esperadas
+    private static boolean contemFrase(ListaPostagens.Decodificadas[] listas, int[] deslocamentos, int[] indices, int quantidade) {
+        ListaPostagens.Decodificadas primeira = listas[0];
+        for (int p = primeira.inicio[indices[0]]; p < primeira.inicio[indices[0] + 1]; p++) {
+            int base = primeira.posicoes[p] - deslocamentos[0];
+            boolean todos = true;
+            for (int i = 1; i < quantidade && todos; i++) {
+                todos = listas[i].contemPosicao(indices[i], base + deslocamentos[i]);
+            }
+            if (todos) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Marca como removido o número interno atual de um ID, se houver; as postagens ficam até a compactação
+    private boolean marcarRemovido(int id) {
+        if (id >= internoPorId.length || internoPorId[id] == 0) {
+            return false;
+        }
+        int interno = internoPorId[id] - 1;
+        internoPorId[id] = 0;
+        presentes.clear(interno);
+        quantidadePresentes--;
+        removidos.set(interno);
+        quantidadeRemovidos++;
+        return true;
+    }
+
+    private void compactarSeNecessario() {
+        if (quantidadeRemovidos > quantidadePresentes / 4) {
+            if (proximoInterno > 2 * quantidadePresentes + 64) {
+                renumerar();
+            } else {
+                compactar();
+            }
+        }
+    }
+
+    // Reescreve, uma vez cada, as listas que têm postagens dos números removidos
+    private void compactar() {
+        Map<String, ListaPostagens> afetadas = new HashMap<>();
+        for (int interno = removidos.nextSetBit(0); interno >= 0; interno = removidos.nextSetBit(interno + 1)) {
+            for (ListaPostagens lista : listasPorInterno[interno]) {
+                afetadas.put(lista.getTermo(), lista);
+            }
+            listasPorInterno[interno] = null;
+        }
+        for (ListaPostagens lista : afetadas.values()) {
+            if (lista.remover(removidos) && lista.getDocumentos() == 0) {
+                postagens.remove(lista.getTermo()); // Libera termos sem documentos
+            }
+        }
+        removidos.clear();
+        quantidadeRemovidos = 0;
+    }
+
+    // Numera de novo os documentos presentes, na ordem dos IDs, reescrevendo todas as listas sem os removidos
+    private void renumerar() {
+        int[] novoPorInterno = new int[proximoInterno];
+        Arrays.fill(novoPorInterno, -1);
+        int[] novoIdPorInterno = new int[Math.max(quantidadePresentes, 64)];
+        ListaPostagens[][] novasListas = new ListaPostagens[novoIdPorInterno.length][];
+        int novo = 0;
+        for (int id = 0; id < internoPorId.length; id++) {
+            if (internoPorId[id] != 0) {
+                int interno = internoPorId[id] - 1;
+                novoPorInterno[interno] = novo;
+                novoIdPorInterno[novo] = id;
+                novasListas[novo] = listasPorInterno[interno];
+                internoPorId[id] = ++novo;
+            }
+        }
+        postagens.values().removeIf(lista -> lista.renumerar(novoPorInterno) == 0);
+        idPorInterno = novoIdPorInterno;
+        listasPorInterno = novasListas;
+        proximoInterno = novo;
+        presentes.clear();
+        presentes.set(0, novo);
+        removidos.clear();
+        quantidadeRemovidos = 0;
+        foraDeOrdem = false;
+    }
+
+    private int[] semRemovidos(int[] internos) {
+        int total = 0;
+        int[] filtrados = new int[internos.length];
+        for (int interno : internos) {
+            if (presentes.get(interno)) {
+                filtrados[total++] = interno;
+            }
+        }
+        return total == internos.length ? internos : Arrays.copyOf(filtrados, total);
+    }
+
+    // Troca os números internos pelos IDs, em ordem crescente
+    private int[] paraIds(int[] internos) {
+        int[] ids = new int[internos.length];
+        if (!foraDeOrdem) {
+            for (int i = 0; i < internos.length; i++) {
+                ids[i] = idPorInterno[internos[i]];
+            }
+            return ids;
+        }
+        // Ordena marcando os IDs em um BitSet: mais rápido que ordenar resultados grandes
+        BitSet marcados = new BitSet(maiorId + 1);
+        for (int interno : internos) {
+            marcados.set(idPorInterno[interno]);
+        }
+        int total = 0;
+        for (int id = marcados.nextSetBit(0); id >= 0; id = marcados.nextSetBit(id + 1)) {
+            ids[total++] = id;
+        }
+        return ids;
+    }
+
+    // Operações sobre vetores de IDs em ordem crescente, por intercalação
+
+    private static int[] intersecao(int[] a, int[] b) {
+        int[] r = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                r[n++] = a[i++];
+                j++;
+            }
+        }
+        return n == r.length ? r : Arrays.copyOf(r, n);
+    }
+
+    private static int[] uniao(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        int[] r = new int[a.length + b.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length || j < b.length) {
+            if (j == b.length || (i < a.length && a[i] < b[j])) {
+                r[n++] = a[i++];
+            } else if (i == a.length || b[j] < a[i]) {
+                r[n++] = b[j++];
+            } else {
+                r[n++] = a[i++];
+                j++;
+            }
+        }
+        return Arrays.copyOf(r, n);
+    }
+
+    private static int[] diferenca(int[] a, int[] b) {
+        int[] r = new int[a.length];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length) {
+            if (j == b.length || a[i] < b[j]) {
+                r[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        return n == r.length ? r : Arrays.copyOf(r, n);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,273 @@
+package br.com.veterinaria.api;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Leitura e escrita de JSON para a {@link ApiClinica}, sem dependências.
+ *
+ * Valores lidos: objetos viram LinkedHashMap (na ordem do texto), listas
+ * viram ArrayList, números inteiros viram Long e os demais Double, além de
+ * String, Boolean e null. Na escrita são aceitos Map, Collection, String,
+ * Number, Boolean e null. A profundidade do texto lido é limitada, para que
+ * um corpo malicioso não esgote a pilha da thread.
+ */
+public final class Json {
+    private static final int PROFUNDIDADE_MAXIMA = 32;
+
+    private final String texto;
+    private int posicao;
+
+    private Json(String texto) {
+        this.texto = texto;
+    }
+
+    /**
+     * Interpreta um texto JSON.
+     * @param texto O texto.
+     * @return O valor.
+     * @throws IllegalArgumentException Se o texto não for JSON válido.
+     */
+    public static Object ler(String texto) {
+        Json leitor = new Json(texto);
+        Object valor = leitor.lerValor(0);
+        leitor.pularEspacos();
+        if (leitor.posicao < texto.length()) {
+            throw leitor.erro("Conteúdo após o fim do valor");
+        }
+        return valor;
+    }
+
+    /**
+     * Escreve um valor como texto JSON.
+     * @param valor O valor.
+     * @return O texto.
+     * @throws IllegalArgumentException Se o valor (ou algum item dele) não tiver representação em JSON.
+     */
+    public static String escrever(Object valor) {
+        StringBuilder saida = new StringBuilder();
+        escrever(valor, saida);
+        return saida.toString();
+    }
+
+    private static void escrever(Object valor, StringBuilder saida) {
+        if (valor == null) {
+            saida.append("null");
+        } else if (valor instanceof String) {
+            escreverTexto((String) valor, saida);
+        } else if (valor instanceof Double || valor instanceof Float) {
+            double numero = ((Number) valor).doubleValue();
+            if (Double.isNaN(numero) || Double.isInfinite(numero)) {
+                saida.append("null"); // JSON não tem NaN nem infinito
+            } else {
+                saida.append(numero);
+            }
+        } else if (valor instanceof Number || valor instanceof Boolean) {
+            saida.append(valor);
+        } else if (valor instanceof Map) {
+            saida.append('{');
+            boolean primeiro = true;
+            for (Map.Entry<?, ?> campo : ((Map<?, ?>) valor).entrySet()) {
+                if (!primeiro) {
+                    saida.append(',');
+                }
+                primeiro = false;
+                escreverTexto(String.valueOf(campo.getKey()), saida);
+                saida.append(':');
+                escrever(campo.getValue(), saida);
+            }
+            saida.append('}');
+        } else if (valor instanceof Collection) {
+            saida.append('[');
+            boolean primeiro = true;
+            for (Object item : (Collection<?>) valor) {
+                if (!primeiro) {
+                    saida.append(',');
+                }
+                primeiro = false;
+                escrever(item, saida);
+            }
+            saida.append(']');
+        } else {
+            throw new IllegalArgumentException("Tipo sem representação em JSON: " + valor.getClass().getName());
+        }
+    }
+
+    private static void escreverTexto(String texto, StringBuilder saida) {
+        saida.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"': saida.append("\\\""); break;
+                case '\\': saida.append("\\\\"); break;
+                case '\n': saida.append("\\n"); break;
+                case '\r': saida.append("\\r"); break;
+                case '\t': saida.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        saida.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        saida.append(c);
+                    }
+            }
+        }
+        saida.append('"');
+    }
+
+    private Object lerValor(int profundidade) {
+        if (profundidade > PROFUNDIDADE_MAXIMA) {
+            throw erro("Aninhamento acima de " + PROFUNDIDADE_MAXIMA + " níveis");
+        }
+        pularEspacos();
+        if (posicao >= texto.length()) {
+            throw erro("Fim inesperado do texto");
+        }
+        char c = texto.charAt(posicao);
+        switch (c) {
+            case '{': return lerObjeto(profundidade);
+            case '[': return lerLista(profundidade);
+            case '"': return lerTexto();
+            case 't': return lerPalavra("true", Boolean.TRUE);
+            case 'f': return lerPalavra("false", Boolean.FALSE);
+            case 'n': return lerPalavra("null", null);
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return lerNumero();
+                }
+                throw erro("Caractere inesperado '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> lerObjeto(int profundidade) {
+        Map<String, Object> objeto = new LinkedHashMap<>();
+        posicao++; // {
+        pularEspacos();
+        if (consumir('}')) {
+            return objeto;
+        }
+        do {
+            pularEspacos();
+            if (posicao >= texto.length() || texto.charAt(posicao) != '"') {
+                throw erro("Esperado o nome de um campo");
+            }
+            String nome = lerTexto();
+            pularEspacos();
+            if (!consumir(':')) {
+                throw erro("Esperado ':'");
+            }
+            objeto.put(nome, lerValor(profundidade + 1));
+            pularEspacos();
+        } while (consumir(','));
+        if (!consumir('}')) {
+            throw erro("Esperado ',' ou '}'");
+        }
+        return objeto;
+    }
+
+    private List<Object> lerLista(int profundidade) {
+        List<Object> lista = new ArrayList<>();
+        posicao++; // [
+        pularEspacos();
+        if (consumir(']')) {
+            return lista;
+        }
+        do {
+            lista.add(lerValor(profundidade + 1));
+            pularEspacos();
+        } while (consumir(','));
+        if (!consumir(']')) {
+            throw erro("Esperado ',' ou ']'");
+        }
+        return lista;
+    }
+
+    private String lerTexto() {
+        StringBuilder valor = new StringBuilder();
+        posicao++; // "
+        while (posicao < texto.length()) {
+            char c = texto.charAt(posicao++);
+            if (c == '"') {
+                return valor.toString();
+            }
+            if (c != '\\') {
+                valor.append(c);
+                continue;
+            }
+            if (posicao >= texto.length()) {
+                break;
+            }
+            char escape = texto.charAt(posicao++);
+            switch (escape) {
+                case '"': case '\\': case '/': valor.append(escape); break;
+                case 'b': valor.append('\b'); break;
+                case 'f': valor.append('\f'); break;
+                case 'n': valor.append('\n'); break;
+                case 'r': valor.append('\r'); break;
+                case 't': valor.append('\t'); break;
+                case 'u':
+                    if (posicao + 4 > texto.length()) {
+                        throw erro("Escape \\u incompleto");
+                    }
+                    try {
+                        valor.append((char) Integer.parseInt(texto.substring(posicao, posicao + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw erro("Escape \\u inválido");
+                    }
+                    posicao += 4;
+                    break;
+                default:
+                    throw erro("Escape inválido '\\" + escape + "'");
+            }
+        }
+        throw erro("Texto sem aspas de fechamento");
+    }
+
+    private Object lerNumero() {
+        int inicio = posicao;
+        boolean inteiro = true;
+        while (posicao < texto.length()) {
+            char c = texto.charAt(posicao);
+            if (c == '.' || c == 'e' || c == 'E') {
+                inteiro = false;
+            } else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9'))) {
+                break;
+            }
+            posicao++;
+        }
+        String numero = texto.substring(inicio, posicao);
+        try {
+            return inteiro ? (Object) Long.parseLong(numero) : (Object) Double.parseDouble(numero);
+        } catch (NumberFormatException e) {
+            throw erro("Número inválido '" + numero + "'");
+        }
+    }
+
+    private Object lerPalavra(String palavra, Object valor) {
+        if (!texto.startsWith(palavra, posicao)) {
+            throw erro("Valor inválido");
+        }
+        posicao += palavra.length();
+        return valor;
+    }
+
+    private void pularEspacos() {
+        while (posicao < texto.length() && Character.isWhitespace(texto.charAt(posicao))) {
+            posicao++;
+        }
+    }
+
+    private boolean consumir(char esperado) {
+        if (posicao < texto.length() && texto.charAt(posicao) == esperado) {
+            posicao++;
+            return true;
+        }
+        return false;
+    }
+
+    private IllegalArgumentException erro(String mensagem) {
+        return new IllegalArgumentException("JSON inválido na posição " + posicao + ": " + mensagem + ".");
+    }
+}
\ No newline at end of file
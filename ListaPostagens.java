@@ -0,0 +1,240 @@
+package br.com.veterinaria.busca;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Lista de postagens comprimida de um termo do {@link IndiceTexto}: os
+ * documentos que contêm o termo e as posições do termo em cada um.
+ *
+ * Tudo fica em um único vetor de bytes, com inteiros de tamanho variável
+ * (7 bits por byte, como no protocolo do Lucene) guardados como diferenças em
+ * relação ao anterior. Para cada documento: a diferença para o ID anterior, a
+ * quantidade de posições e as diferenças entre as posições. Como os IDs dos
+ * diagnósticos crescem um a um e os textos são curtos, a maioria dos
+ * documentos ocupa 3 bytes, contra 12 ou mais de um int[] de IDs e posições.
+ *
+ * Documentos chegam em ordem crescente de número (o índice numera cada
+ * indexação) e são acrescentados no final; um número fora de ordem, uma
+ * remoção ou a renumeração reescreve a lista inteira.
+ *
+ * Não é thread-safe; o {@link IndiceTexto} controla o acesso.
+ */
+final class ListaPostagens {
+    private final String termo;
+    private byte[] dados = new byte[8];
+    private int tamanho;      // Bytes usados em dados
+    private int documentos;   // Quantidade de documentos na lista
+    private int ultimoId;     // Maior ID da lista (base da próxima diferença)
+
+    /**
+     * Postagens descomprimidas: IDs crescentes e, para o documento i, as
+     * posições em posicoes[inicio[i]] até posicoes[inicio[i + 1] - 1].
+     */
+    static final class Decodificadas {
+        final int[] ids;
+        final int[] inicio;
+        final int[] posicoes;
+
+        Decodificadas(int[] ids, int[] inicio, int[] posicoes) {
+            this.ids = ids;
+            this.inicio = inicio;
+            this.posicoes = posicoes;
+        }
+
+        /** Verdadeiro se o documento da posição i contém o termo na posição informada. */
+        boolean contemPosicao(int i, int posicao) {
+            return Arrays.binarySearch(posicoes, inicio[i], inicio[i + 1], posicao) >= 0;
+        }
+    }
+
+    ListaPostagens(String termo) {
+        this.termo = termo;
+    }
+
+    String getTermo() {
+        return termo;
+    }
+
+    int getDocumentos() {
+        return documentos;
+    }
+
+    int getBytes() {
+        return tamanho;
+    }
+
+    /**
+     * Inclui um documento.
+     * @param id O ID do documento (ainda não presente na lista).
+     * @param posicoes As posições do termo no documento, em ordem crescente.
+     * @param quantidade Quantas posições do vetor são usadas.
+     */
+    void adicionar(int id, int[] posicoes, int quantidade) {
+        if (documentos > 0 && id <= ultimoId) {
+            BitSet substituido = new BitSet();
+            substituido.set(id);
+            reescrever(substituido, id, posicoes, quantidade); // Fora de ordem (raro)
+            return;
+        }
+        escreverDocumento(id, posicoes, 0, quantidade);
+    }
+
+    /**
+     * Remove de uma vez os documentos cujos IDs estão no conjunto.
+     * @param ids Os IDs a remover.
+     * @return true se algum documento foi removido.
+     */
+    boolean remover(BitSet ids) {
+        boolean algum = false;
+        for (int id : ids()) {
+            if (ids.get(id)) {
+                algum = true;
+                break;
+            }
+        }
+        if (algum) {
+            reescrever(ids, -1, null, 0);
+        }
+        return algum;
+    }
+
+    /**
+     * Reescreve a lista com os documentos renumerados, sem os que não têm
+     * número novo.
+     * @param novos O número novo de cada ID da lista, ou -1 para descartá-lo.
+     * @return A quantidade de documentos que ficaram na lista.
+     */
+    int renumerar(int[] novos) {
+        Decodificadas atual = decodificar();
+        // Número novo nos 32 bits altos e posição atual nos baixos: ordenar dá a ordem nova
+        long[] ordem = new long[atual.ids.length];
+        int quantidade = 0;
+        for (int i = 0; i < atual.ids.length; i++) {
+            int novo = novos[atual.ids[i]];
+            if (novo >= 0) {
+                ordem[quantidade++] = ((long) novo << 32) | i;
+            }
+        }
+        Arrays.sort(ordem, 0, quantidade);
+        dados = new byte[Math.max(tamanho, 8)];
+        tamanho = 0;
+        documentos = 0;
+        ultimoId = 0;
+        for (int k = 0; k < quantidade; k++) {
+            int i = (int) ordem[k];
+            escreverDocumento((int) (ordem[k] >>> 32), atual.posicoes, atual.inicio[i], atual.inicio[i + 1] - atual.inicio[i]);
+        }
+        return documentos;
+    }
+
+    /**
+     * Lê apenas os IDs dos documentos, sem montar as posições.
+     * @return Um novo vetor com os IDs em ordem crescente.
+     */
+    int[] ids() {
+        int[] ids = new int[documentos];
+        int[] cursor = {0};
+        int id = 0;
+        for (int i = 0; i < documentos; i++) {
+            id += lerInteiro(cursor);
+            ids[i] = id;
+            int quantidade = lerInteiro(cursor);
+            for (int p = 0; p < quantidade; p++) {
+                pularInteiro(cursor);
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Descomprime a lista inteira, com as posições (usado nas buscas por frase).
+     * @return As postagens descomprimidas.
+     */
+    Decodificadas decodificar() {
+        int[] ids = new int[documentos];
+        int[] inicio = new int[documentos + 1];
+        int[] posicoes = new int[Math.max(tamanho - 2 * documentos, 0)]; // Cada posição ocupa ao menos 1 byte
+        int total = 0;
+        int[] cursor = {0};
+        int id = 0;
+        for (int i = 0; i < documentos; i++) {
+            id += lerInteiro(cursor);
+            ids[i] = id;
+            inicio[i] = total;
+            int quantidade = lerInteiro(cursor);
+            int posicao = 0;
+            for (int p = 0; p < quantidade; p++) {
+                posicao += lerInteiro(cursor);
+                posicoes[total++] = posicao;
+            }
+        }
+        inicio[documentos] = total;
+        return new Decodificadas(ids, inicio, posicoes);
+    }
+
+    // Reescreve a lista sem os IDs excluídos e, se posicoes não for null, com o documento novo no lugar certo
+    private void reescrever(BitSet excluir, int id, int[] posicoes, int quantidade) {
+        Decodificadas atual = decodificar();
+        dados = new byte[Math.max(tamanho + 8, 8)];
+        tamanho = 0;
+        documentos = 0;
+        ultimoId = 0;
+        boolean incluido = posicoes == null;
+        for (int i = 0; i < atual.ids.length; i++) {
+            int existente = atual.ids[i];
+            if (!incluido && id < existente) {
+                escreverDocumento(id, posicoes, 0, quantidade);
+                incluido = true;
+            }
+            if (!excluir.get(existente)) {
+                escreverDocumento(existente, atual.posicoes, atual.inicio[i], atual.inicio[i + 1] - atual.inicio[i]);
+            }
+        }
+        if (!incluido) {
+            escreverDocumento(id, posicoes, 0, quantidade);
+        }
+    }
+
+    private void escreverDocumento(int id, int[] posicoes, int de, int quantidade) {
+        escreverInteiro(id - ultimoId);
+        escreverInteiro(quantidade);
+        int anterior = 0;
+        for (int i = de; i < de + quantidade; i++) {
+            escreverInteiro(posicoes[i] - anterior);
+            anterior = posicoes[i];
+        }
+        ultimoId = id;
+        documentos++;
+    }
+
+    private void escreverInteiro(int valor) {
+        if (tamanho + 5 > dados.length) {
+            dados = Arrays.copyOf(dados, Math.max(dados.length * 2, tamanho + 5));
+        }
+        while ((valor & ~0x7F) != 0) {
+            dados[tamanho++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        dados[tamanho++] = (byte) valor;
+    }
+
+    // O cursor é um vetor de uma posição para poder avançar dentro do método
+    private int lerInteiro(int[] cursor) {
+        int valor = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            b = dados[cursor[0]++];
+            valor |= (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while (b < 0);
+        return valor;
+    }
+
+    private void pularInteiro(int[] cursor) {
+        while (dados[cursor[0]++] < 0) {
+            // Bytes com o bit mais alto ligado continuam o inteiro
+        }
+    }
+}
\ No newline at end of file
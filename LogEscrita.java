@@ -0,0 +1,383 @@
+package br.com.veterinaria.persistencia;
+
+import br.com.veterinaria.log.Registrador;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Log de escrita antecipada (write-ahead log) usado pelo armazenamento persistente.
+ *
+ * Cada registro é gravado no final do arquivo como um quadro binário:
+ * [int tamanho][int CRC32 do conteúdo][conteúdo]. O CRC permite descartar,
+ * na próxima abertura, um registro que ficou pela metade por causa de uma queda.
+ *
+ * Commit em grupo: {@link #anexar} apenas copia o registro para um buffer em
+ * memória e devolve um número de sequência. Uma thread de descarga grava o
+ * buffer acumulado de uma só vez e chama fsync; {@link #aguardar} bloqueia até
+ * que a sequência pedida esteja em disco. Assim, vários escritores simultâneos
+ * dividem o custo de um único fsync.
+ *
+ * Rotação: {@link #rotacionar} marca um ponto de corte no buffer. Tudo o que
+ * foi anexado antes do corte vai para o arquivo atual; o que vier depois vai
+ * para o novo arquivo. Os escritores não são bloqueados pela troca de arquivo.
+ */
+public class LogEscrita implements AutoCloseable {
+    private static final Registrador LOG = Registrador.para("WAL");
+
+    private static final int CABECALHO = 8; // tamanho + CRC
+    private static final int TRECHO_LEITURA = 1024 * 1024; // Bytes lidos por vez ao reproduzir um arquivo
+
+    private volatile Path arquivo;
+    private volatile FileChannel canal;
+    private final boolean sincronizar;
+
+    private final ReentrantLock trava = new ReentrantLock();
+    private final Condition temDados = trava.newCondition();
+    private final Condition gravado = trava.newCondition();
+
+    // Buffer onde os escritores acumulam registros e buffer que está sendo gravado
+    private ByteBuffer acumulando = ByteBuffer.allocate(64 * 1024);
+    private ByteBuffer gravando = ByteBuffer.allocate(64 * 1024);
+    private long ultimaSequencia;   // Última sequência entregue por anexar
+    private long sequenciaDuravel;  // Última sequência já gravada (e sincronizada)
+    private IOException falha;
+    private boolean fechado;
+    // Rotação pendente: novo arquivo e posição de corte no buffer de acumulação
+    private FileChannel proximoCanal;
+    private Path proximoArquivo;
+    private int posicaoCorte = -1;
+
+    private final Thread descarga;
+
+    /**
+     * Abre (ou cria) o arquivo de log e inicia a thread de descarga.
+     * @param arquivo O caminho do arquivo de log.
+     * @param sincronizar Se true, cada lote é sincronizado com fsync antes de ser confirmado.
+     * @throws IOException Se o arquivo não puder ser aberto.
+     */
+    public LogEscrita(Path arquivo, boolean sincronizar) throws IOException {
+        this.arquivo = arquivo;
+        this.sincronizar = sincronizar;
+        this.canal = FileChannel.open(arquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.canal.position(this.canal.size());
+        this.descarga = new Thread(this::lacoDescarga, "wal-descarga");
+        this.descarga.setDaemon(true);
+        this.descarga.start();
+    }
+
+    /**
+     * Lê todos os registros válidos de um arquivo de log, em ordem, em trechos
+     * de tamanho fixo (o arquivo pode ser maior que a memória disponível).
+     * Se o final do arquivo estiver incompleto ou corrompido (queda durante uma
+     * gravação), o arquivo é truncado no último registro válido. O conteúdo
+     * entregue ao consumidor só vale durante a chamada.
+     * @param arquivo O arquivo de log (se não existir, nada é lido).
+     * @param consumidor Recebe o conteúdo de cada registro.
+     * @return A quantidade de registros lidos.
+     * @throws IOException Se o arquivo não puder ser lido.
+     */
+    public static int reproduzir(Path arquivo, Consumer<ByteBuffer> consumidor) throws IOException {
+        if (!arquivo.toFile().exists()) {
+            return 0;
+        }
+        try (FileChannel leitura = FileChannel.open(arquivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long tamanhoArquivo = leitura.size();
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(tamanhoArquivo, TRECHO_LEITURA));
+            buffer.limit(0); // Nada lido ainda
+            CRC32 crc = new CRC32();
+            int registros = 0;
+            long posicaoValida = 0; // Início do próximo registro no arquivo
+            String motivo = null;
+            while (posicaoValida < tamanhoArquivo) {
+                long restante = tamanhoArquivo - posicaoValida;
+                if (restante < CABECALHO) {
+                    motivo = "cabeçalho incompleto";
+                    break;
+                }
+                buffer = disponibilizar(leitura, buffer, CABECALHO);
+                int tamanho = buffer.getInt(buffer.position());
+                int crcEsperado = buffer.getInt(buffer.position() + 4);
+                if (tamanho < 0 || tamanho > restante - CABECALHO) {
+                    motivo = "registro incompleto"; // Só o tamanho já gravado, ou um tamanho corrompido
+                    break;
+                }
+                buffer = disponibilizar(leitura, buffer, CABECALHO + tamanho);
+                ByteBuffer conteudo = buffer.slice(buffer.position() + CABECALHO, tamanho);
+                crc.reset();
+                crc.update(conteudo.duplicate());
+                if ((int) crc.getValue() != crcEsperado) {
+                    motivo = "CRC inválido"; // Registro corrompido: descarta dali em diante
+                    break;
+                }
+                consumidor.accept(conteudo);
+                buffer.position(buffer.position() + CABECALHO + tamanho);
+                posicaoValida += CABECALHO + tamanho;
+                registros++;
+            }
+            if (motivo != null) {
+                LOG.aviso("Descartando {} bytes inválidos ({}) no final de {}", tamanhoArquivo - posicaoValida, motivo, arquivo);
+                leitura.truncate(posicaoValida);
+            }
+            return registros;
+        }
+    }
+
+    /*
+     * Garante que o buffer tenha ao menos 'necessarios' bytes lidos a partir da
+     * sua posição: move o que falta ler para o início e lê o próximo trecho,
+     * trocando o buffer por um maior se um registro não couber nele. Quem chama
+     * já verificou que o arquivo tem esses bytes.
+     */
+    private static ByteBuffer disponibilizar(FileChannel leitura, ByteBuffer buffer, int necessarios) throws IOException {
+        if (buffer.remaining() >= necessarios) {
+            return buffer;
+        }
+        if (buffer.capacity() < necessarios) {
+            ByteBuffer maior = ByteBuffer.allocate(necessarios);
+            maior.put(buffer);
+            buffer = maior;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < necessarios) {
+            if (leitura.read(buffer) < 0) {
+                throw new EOFException("Fim inesperado ao reproduzir o log de escrita.");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Anexa um registro ao log sem esperar a gravação em disco.
+     * @param conteudo O conteúdo binário do registro.
+     * @return O número de sequência do registro, para usar em {@link #aguardar}.
+     */
+    public long anexar(byte[] conteudo) {
+        CRC32 crc = new CRC32();
+        crc.update(conteudo);
+        trava.lock();
+        try {
+            if (fechado) {
+                throw new IllegalStateException("O log de escrita já foi fechado.");
+            }
+            garantirEspaco(CABECALHO + conteudo.length);
+            acumulando.putInt(conteudo.length);
+            acumulando.putInt((int) crc.getValue());
+            acumulando.put(conteudo);
+            ultimaSequencia++;
+            temDados.signal();
+            return ultimaSequencia;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Bloqueia até que o registro com a sequência informada esteja gravado.
+     * @param sequencia A sequência devolvida por {@link #anexar}.
+     * @throws UncheckedIOException Se a gravação do log falhou.
+     */
+    public void aguardar(long sequencia) {
+        trava.lock();
+        try {
+            while (sequenciaDuravel < sequencia) {
+                if (falha != null) {
+                    throw new UncheckedIOException("Falha ao gravar o log de escrita " + arquivo, falha);
+                }
+                gravado.awaitUninterruptibly();
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Anexa um registro e espera que ele esteja gravado.
+     * @param conteudo O conteúdo binário do registro.
+     */
+    public void registrar(byte[] conteudo) {
+        aguardar(anexar(conteudo));
+    }
+
+    /**
+     * Passa a gravar os próximos registros em um novo arquivo.
+     * Retorna imediatamente; use {@link #aguardarRotacao} para esperar até que
+     * todos os registros anteriores estejam gravados e o arquivo antigo fechado.
+     * @param novoArquivo O arquivo que receberá os próximos registros.
+     * @throws IOException Se o novo arquivo não puder ser aberto.
+     */
+    public void rotacionar(Path novoArquivo) throws IOException {
+        FileChannel novoCanal = FileChannel.open(novoArquivo, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        novoCanal.position(novoCanal.size());
+        trava.lock();
+        try {
+            if (fechado || proximoCanal != null) {
+                novoCanal.close();
+                throw new IllegalStateException("Rotação do log indisponível (log fechado ou rotação em andamento).");
+            }
+            proximoCanal = novoCanal;
+            proximoArquivo = novoArquivo;
+            posicaoCorte = acumulando.position();
+            temDados.signal();
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Espera a conclusão da rotação iniciada por {@link #rotacionar}.
+     * @throws UncheckedIOException Se a gravação do log falhou.
+     */
+    public void aguardarRotacao() {
+        trava.lock();
+        try {
+            while (proximoCanal != null) {
+                if (falha != null) {
+                    throw new UncheckedIOException("Falha ao rotacionar o log de escrita " + arquivo, falha);
+                }
+                gravado.awaitUninterruptibly();
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Retorna o tamanho atual do arquivo de log, em bytes.
+     * @return O tamanho do arquivo.
+     */
+    public long tamanho() {
+        try {
+            return canal.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Grava o que estiver pendente, encerra a thread de descarga e fecha o arquivo.
+     */
+    @Override
+    public void close() throws IOException {
+        trava.lock();
+        try {
+            if (fechado) {
+                return;
+            }
+            fechado = true;
+            temDados.signal();
+        } finally {
+            trava.unlock();
+        }
+        try {
+            descarga.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        canal.close();
+    }
+
+    private void garantirEspaco(int bytes) {
+        if (acumulando.remaining() < bytes) {
+            int novaCapacidade = Math.max(acumulando.capacity() * 2, acumulando.position() + bytes);
+            ByteBuffer maior = ByteBuffer.allocate(novaCapacidade);
+            acumulando.flip();
+            maior.put(acumulando);
+            acumulando = maior;
+        }
+    }
+
+    /**
+     * Laço da thread de descarga: troca os buffers, grava o lote acumulado,
+     * sincroniza e libera todos os escritores que esperavam por ele.
+     * Se houver uma rotação pendente, a parte do lote anterior ao corte vai para
+     * o arquivo atual, que é sincronizado e fechado, e o restante para o novo.
+     */
+    private void lacoDescarga() {
+        while (true) {
+            long alvo;
+            int corte;
+            FileChannel novoCanal;
+            Path novoArquivo;
+            trava.lock();
+            try {
+                while (acumulando.position() == 0 && proximoCanal == null && !fechado) {
+                    temDados.awaitUninterruptibly();
+                }
+                if (acumulando.position() == 0 && proximoCanal == null && fechado) {
+                    return;
+                }
+                // Troca os buffers: os escritores seguem acumulando enquanto o lote é gravado
+                ByteBuffer lote = acumulando;
+                acumulando = gravando;
+                gravando = lote;
+                alvo = ultimaSequencia;
+                corte = posicaoCorte;
+                novoCanal = proximoCanal;
+                novoArquivo = proximoArquivo;
+            } finally {
+                trava.unlock();
+            }
+
+            IOException erro = null;
+            try {
+                gravando.flip();
+                if (novoCanal != null) {
+                    ByteBuffer anterior = gravando.duplicate();
+                    anterior.limit(corte);
+                    while (anterior.hasRemaining()) {
+                        canal.write(anterior);
+                    }
+                    canal.force(false); // O arquivo antigo será substituído por um snapshot: precisa estar completo
+                    canal.close();
+                    canal = novoCanal;
+                    arquivo = novoArquivo;
+                    gravando.position(corte);
+                }
+                while (gravando.hasRemaining()) {
+                    canal.write(gravando);
+                }
+                if (sincronizar) {
+                    canal.force(false);
+                }
+            } catch (IOException e) {
+                erro = e;
+            } finally {
+                gravando.clear();
+            }
+
+            trava.lock();
+            try {
+                if (erro != null) {
+                    falha = erro;
+                    LOG.erro("Erro ao gravar o log {}: {}", arquivo, erro.getMessage());
+                } else {
+                    sequenciaDuravel = alvo;
+                }
+                if (novoCanal != null && erro == null) {
+                    proximoCanal = null;
+                    proximoArquivo = null;
+                    posicaoCorte = -1;
+                }
+                gravado.signalAll();
+                if (erro != null) {
+                    return;
+                }
+            } finally {
+                trava.unlock();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -1,23 +1,60 @@
 package br.com.veterinaria;
 
+import br.com.veterinaria.api.ServidorApi;
+import br.com.veterinaria.carga.TesteCarga;
+import br.com.veterinaria.dao.FabricaDAO;
 import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
 import br.com.veterinaria.gui.MenuPrincipalGUI;
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.log.SistemaLog;
 import javax.swing.SwingUtilities;
+import java.io.IOException;
+import java.util.Arrays;
 
 public class Main {
-    public static void main(String[] args) {
+    private static final Registrador LOG = Registrador.para("Main");
+
+    public static void main(String[] args) throws InterruptedException, IOException {
+        // Modo sem interface gráfica: teste de carga sobre uma clínica sintética (ver TesteCarga)
+        if (Arrays.asList(args).contains("--carga")) {
+            TesteCarga.main(args);
+            return;
+        }
+        // Modo sem interface gráfica: API HTTP sobre a facade (ver ServidorApi)
+        if (Arrays.asList(args).contains("--servidor")) {
+            ServidorApi.main(args);
+            return;
+        }
+
+        // 0. Permite escolher o mecanismo de armazenamento na linha de comando
+        // (ex: --armazenamento=memoria), como alternativa a -Dclinica.armazenamento.
+        for (String arg : args) {
+            if (arg.startsWith("--armazenamento=")) {
+                System.setProperty(FabricaDAO.PROPRIEDADE_ARMAZENAMENTO, arg.substring("--armazenamento=".length()));
+            }
+        }
+
         // 1. Instancia a fachada da clínica.
         // É crucial que a fachada seja criada aqui e passada para as GUIs,
         // garantindo que todas as telas usem a mesma lógica de negócio centralizada.
         ClinicaFacade clinica = new ClinicaFacade();
+        // As telas usam a versão assíncrona, que executa as operações fora da thread de eventos
+        ClinicaFacadeAsync clinicaAsync = new ClinicaFacadeAsync(clinica);
+        // Garante que as operações pendentes terminem e o armazenamento seja fechado (log gravado) ao encerrar o programa
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            clinicaAsync.fechar();
+            clinica.fechar();
+            SistemaLog.fechar(); // Por último, para gravar as mensagens do encerramento
+        }));
 
         // 2. Lançamento da Interface Gráfica (GUI)
         // ESSENCIAL: A criação e exibição de componentes Swing DEVE ser feita
         // dentro da Event Dispatch Thread (EDT) para garantir estabilidade e responsividade.
         SwingUtilities.invokeLater(() -> {
-            System.out.println("Iniciando interface gráfica do Sistema de Gestão Veterinária...");
+            LOG.info("Iniciando interface gráfica do Sistema de Gestão Veterinária...");
             // Cria e exibe a janela principal do seu sistema (o menu)
-            MenuPrincipalGUI menuPrincipal = new MenuPrincipalGUI(clinica); // Passa a fachada para o menu
+            MenuPrincipalGUI menuPrincipal = new MenuPrincipalGUI(clinicaAsync); // Passa a fachada para o menu
             menuPrincipal.setVisible(true); // Torna a janela visível
         });
 
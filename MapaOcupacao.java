@@ -0,0 +1,202 @@
+package br.com.veterinaria.dao;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Mapa de ocupação em bits, usado para detectar conflitos de agenda sem
+ * percorrer consultas. O tempo é dividido em slots de {@value #MINUTOS_POR_SLOT}
+ * minutos e, para cada grupo (por exemplo, um veterinário) e cada dia, um
+ * vetor de 5 longs guarda um bit por slot (288 slots por dia).
+ *
+ * Um intervalo ocupa todos os slots que ele toca, então o mapa é um
+ * superconjunto da ocupação real: um slot livre garante que não há conflito,
+ * e um slot ocupado indica apenas que vale a pena conferir as consultas.
+ * Os dias são contados em UTC, já que só servem para agrupar os slots.
+ *
+ * Leituras não usam locks: cada dia é um vetor imutável, substituído por
+ * inteiro (cópia na escrita). As escritas de um mesmo grupo devem ser
+ * serializadas pelo chamador.
+ */
+public class MapaOcupacao {
+    /** Tamanho de cada slot, em minutos. */
+    public static final int MINUTOS_POR_SLOT = 5;
+    static final long MILLIS_POR_SLOT = TimeUnit.MINUTES.toMillis(MINUTOS_POR_SLOT);
+    static final int SLOTS_POR_DIA = 24 * 60 / MINUTOS_POR_SLOT;
+    private static final int PALAVRAS_POR_DIA = (SLOTS_POR_DIA + 63) / 64;
+
+    // Bits de ocupação por (grupo, dia)
+    private final ConcurrentHashMap<Long, long[]> dias = new ConcurrentHashMap<>();
+
+    /**
+     * Verifica se nenhum slot tocado pelo intervalo está ocupado no grupo.
+     * @param grupo O grupo.
+     * @param inicio O início do intervalo, em milissegundos (inclusivo).
+     * @param fim O fim do intervalo, em milissegundos (exclusivo).
+     * @return true se o intervalo certamente não conflita com nada no grupo.
+     */
+    public boolean livre(int grupo, long inicio, long fim) {
+        long slotFim = slotFim(fim);
+        long slot = slot(inicio);
+        while (slot < slotFim) {
+            int dia = (int) Math.floorDiv(slot, SLOTS_POR_DIA);
+            long fimDoDia = Math.min(slotFim, (dia + 1L) * SLOTS_POR_DIA);
+            long[] bits = dias.get(chave(grupo, dia));
+            if (bits != null && algumBit(bits, (int) (slot - (long) dia * SLOTS_POR_DIA), (int) (fimDoDia - (long) dia * SLOTS_POR_DIA))) {
+                return false;
+            }
+            slot = fimDoDia;
+        }
+        return true;
+    }
+
+    /**
+     * Procura, a partir de um instante, o primeiro slot livre do grupo.
+     * Percorre os bits uma palavra (64 slots) por vez, então pular semanas de
+     * agenda lotada custa poucas leituras de memória.
+     * @param grupo O grupo.
+     * @param aPartirDe O instante inicial, em milissegundos.
+     * @param limite O instante em que a busca termina, em milissegundos.
+     * @return O primeiro instante livre (>= aPartirDe), ou -1 se não houver até o limite.
+     */
+    public long proximoLivre(int grupo, long aPartirDe, long limite) {
+        long slotLimite = slotFim(limite);
+        long slot = slot(aPartirDe);
+        while (slot < slotLimite) {
+            int dia = (int) Math.floorDiv(slot, SLOTS_POR_DIA);
+            long inicioDoDia = (long) dia * SLOTS_POR_DIA;
+            long[] bits = dias.get(chave(grupo, dia));
+            int livre = bits == null ? (int) (slot - inicioDoDia) : proximoZero(bits, (int) (slot - inicioDoDia));
+            if (livre < SLOTS_POR_DIA) {
+                long encontrado = inicioDoDia + livre;
+                return encontrado < slotLimite ? Math.max(aPartirDe, encontrado * MILLIS_POR_SLOT) : -1;
+            }
+            slot = inicioDoDia + SLOTS_POR_DIA;
+        }
+        return -1;
+    }
+
+    /**
+     * Marca como ocupados os slots tocados por um intervalo.
+     * @param grupo O grupo.
+     * @param inicio O início do intervalo, em milissegundos (inclusivo).
+     * @param fim O fim do intervalo, em milissegundos (exclusivo).
+     */
+    public void marcar(int grupo, long inicio, long fim) {
+        long slotFim = slotFim(fim);
+        long slot = slot(inicio);
+        while (slot < slotFim) {
+            int dia = (int) Math.floorDiv(slot, SLOTS_POR_DIA);
+            long fimDoDia = Math.min(slotFim, (dia + 1L) * SLOTS_POR_DIA);
+            int de = (int) (slot - (long) dia * SLOTS_POR_DIA);
+            int ate = (int) (fimDoDia - (long) dia * SLOTS_POR_DIA);
+            dias.compute(chave(grupo, dia), (k, bits) -> {
+                long[] novos = bits != null ? bits.clone() : new long[PALAVRAS_POR_DIA];
+                definirBits(novos, de, ate);
+                return novos;
+            });
+            slot = fimDoDia;
+        }
+    }
+
+    /**
+     * Reconstrói os dias tocados por um intervalo a partir das ocupações que
+     * restaram nesses dias. Usado quando uma ocupação é removida ou movida,
+     * já que um bit não diz quantas ocupações o compartilham.
+     * @param grupo O grupo.
+     * @param inicio O início do intervalo liberado, em milissegundos.
+     * @param fim O fim do intervalo liberado, em milissegundos.
+     * @param ocupantes As ocupações restantes do grupo que podem tocar esses dias.
+     * @param inicioDe Extrai o início de uma ocupação.
+     * @param fimDe Extrai o fim de uma ocupação.
+     * @param <T> O tipo de ocupação.
+     */
+    public <T> void recalcular(int grupo, long inicio, long fim, List<T> ocupantes,
+                               ToLongFunction<T> inicioDe, ToLongFunction<T> fimDe) {
+        int primeiroDia = (int) Math.floorDiv(slot(inicio), SLOTS_POR_DIA);
+        int ultimoDia = (int) Math.floorDiv(slotFim(fim) - 1, SLOTS_POR_DIA);
+        for (int dia = primeiroDia; dia <= ultimoDia; dia++) {
+            long inicioDoDia = (long) dia * SLOTS_POR_DIA;
+            long[] novos = new long[PALAVRAS_POR_DIA];
+            boolean vazio = true;
+            for (T ocupante : ocupantes) {
+                long de = Math.max(slot(inicioDe.applyAsLong(ocupante)), inicioDoDia);
+                long ate = Math.min(slotFim(fimDe.applyAsLong(ocupante)), inicioDoDia + SLOTS_POR_DIA);
+                if (de < ate) {
+                    definirBits(novos, (int) (de - inicioDoDia), (int) (ate - inicioDoDia));
+                    vazio = false;
+                }
+            }
+            if (vazio) {
+                dias.remove(chave(grupo, dia)); // Libera dias sem nenhuma ocupação
+            } else {
+                dias.put(chave(grupo, dia), novos);
+            }
+        }
+    }
+
+    /**
+     * Retorna o início, em milissegundos, do dia (UTC) que contém um instante.
+     * @param instante O instante, em milissegundos.
+     * @return O início do dia.
+     */
+    static long inicioDoDia(long instante) {
+        return Math.floorDiv(slot(instante), SLOTS_POR_DIA) * SLOTS_POR_DIA * MILLIS_POR_SLOT;
+    }
+
+    // --- Auxiliares ---
+
+    private static long chave(int grupo, int dia) {
+        return ((long) grupo << 32) | (dia & 0xFFFFFFFFL);
+    }
+
+    private static long slot(long instante) {
+        return Math.floorDiv(instante, MILLIS_POR_SLOT);
+    }
+
+    // Primeiro slot após o intervalo: um fim no meio de um slot ainda ocupa esse slot
+    private static long slotFim(long instante) {
+        return -Math.floorDiv(-instante, MILLIS_POR_SLOT);
+    }
+
+    private static boolean algumBit(long[] bits, int de, int ate) {
+        for (int palavra = de >>> 6; palavra <= (ate - 1) >>> 6; palavra++) {
+            if ((bits[palavra] & mascara(palavra, de, ate)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Primeiro slot livre do dia a partir de "de", ou SLOTS_POR_DIA se não houver
+    private static int proximoZero(long[] bits, int de) {
+        for (int palavra = de >>> 6; palavra < PALAVRAS_POR_DIA; palavra++) {
+            long livres = ~bits[palavra] & mascara(palavra, de, SLOTS_POR_DIA);
+            if (livres != 0) {
+                return (palavra << 6) + Long.numberOfTrailingZeros(livres);
+            }
+        }
+        return SLOTS_POR_DIA;
+    }
+
+    private static void definirBits(long[] bits, int de, int ate) {
+        for (int palavra = de >>> 6; palavra <= (ate - 1) >>> 6; palavra++) {
+            bits[palavra] |= mascara(palavra, de, ate);
+        }
+    }
+
+    // Bits da palavra que estão dentro de [de, ate)
+    private static long mascara(int palavra, int de, int ate) {
+        int base = palavra << 6;
+        long mascara = -1L;
+        if (de > base) {
+            mascara &= -1L << (de - base);
+        }
+        if (ate < base + 64) {
+            mascara &= -1L >>> (base + 64 - ate);
+        }
+        return mascara;
+    }
+}
\ No newline at end of file
@@ -1,14 +1,16 @@
 package br.com.veterinaria.model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Medicamento {
-    private static int nextId = 1;
+    private static final AtomicInteger nextId = new AtomicInteger(1); // Atômico: seguro para uso por várias threads
     private int id;
     private String nome;
     private String descricao; // Ex: "anti-inflamatório"
     private String dosagem;   // Ex: "1 comprimido a cada 12h"
 
     public Medicamento(String nome, String descricao, String dosagem) {
-        this.id = nextId++;
+        this.id = nextId.getAndIncrement();
         this.nome = nome;
         this.descricao = descricao;
         this.dosagem = dosagem;
@@ -24,6 +26,15 @@ public class Medicamento {
     public void setDescricao(String descricao) { this.descricao = descricao; }
     public void setDosagem(String dosagem) { this.dosagem = dosagem; }
 
+    /**
+     * Garante que os próximos IDs gerados sejam maiores que o ID informado.
+     * Usado ao recarregar dados persistidos, para não repetir IDs já gravados.
+     * @param id O maior ID já existente.
+     */
+    public static void reservarIdsAte(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
     @Override
     public String toString() {
         return nome + " (" + dosagem + ")";
@@ -0,0 +1,28 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Medicamento;
+
+import java.util.List;
+
+/**
+ * Contrato de armazenamento do catálogo de medicamentos.
+ * Cada medicamento aparece uma única vez no catálogo e as prescrições
+ * referenciam essas entradas, em vez de criar um objeto por atendimento.
+ * Nomes são comparados sem diferenciar maiúsculas, acentos nem espaços extras.
+ */
+public interface MedicamentoDAO extends Repositorio<Medicamento> {
+    /**
+     * Busca um medicamento do catálogo pelo nome.
+     * @param nome O nome do medicamento.
+     * @return O medicamento, ou null se não estiver no catálogo.
+     */
+    Medicamento buscarPorNome(String nome);
+
+    /**
+     * Lista os medicamentos cujo nome começa com o prefixo, em ordem alfabética (autocompletar).
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de resultados.
+     * @return Uma nova lista com até {@code limite} medicamentos.
+     */
+    List<Medicamento> listarPorPrefixo(String prefixo, int limite);
+}
\ No newline at end of file
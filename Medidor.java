@@ -0,0 +1,132 @@
+package br.com.veterinaria.metricas;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registra as latências de uma operação, chamada por qualquer quantidade de
+ * threads ao mesmo tempo, sem locks: cada registro incrementa atomicamente a
+ * faixa do valor (as mesmas faixas do {@link HistogramaLatencia}) e soma a
+ * duração em um LongAdder. O custo por operação medida é o de duas leituras
+ * do relógio e três operações atômicas (perto de 100 ns), e nada é alocado.
+ *
+ * Uso, sempre com finally para medir também as operações que falham:
+ * <pre>
+ *   long inicioMedicao = MEDIDOR.iniciar();
+ *   try {
+ *       ...
+ *   } finally {
+ *       MEDIDOR.registrar(inicioMedicao);
+ *   }
+ * </pre>
+ * Com as métricas desligadas ({@link Metricas#setAtivas}) o relógio não é lido.
+ *
+ * Operações muito curtas e frequentes (as dos DAOs, de dezenas de
+ * nanossegundos) podem ser amostradas: só uma em cada N chamadas, sorteada,
+ * é medida, e as outras custam só o sorteio (nenhuma operação atômica). Os
+ * percentis continuam representativos e a quantidade de chamadas é estimada
+ * como N vezes a de chamadas medidas.
+ */
+public final class Medidor {
+    // Devolvido por iniciar() com as métricas desligadas: registrar() ignora
+    private static final long DESLIGADO = Long.MIN_VALUE;
+
+    private final String nome;
+    private final int amostragem; // Mede uma em cada N chamadas (1: todas)
+    private final AtomicLongArray contagens = new AtomicLongArray(HistogramaLatencia.FAIXAS);
+    private final LongAdder soma = new LongAdder();
+    private final AtomicLong maximo = new AtomicLong();
+
+    Medidor(String nome, int amostragem) {
+        this.nome = nome;
+        this.amostragem = Math.max(1, amostragem);
+    }
+
+    /**
+     * Marca o início de uma operação.
+     * @return O instante de início, a ser passado para {@link #registrar}.
+     */
+    public long iniciar() {
+        if (!Metricas.isAtivas()) {
+            return DESLIGADO;
+        }
+        if (amostragem > 1 && ThreadLocalRandom.current().nextInt(amostragem) != 0) {
+            return DESLIGADO;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Registra o fim de uma operação iniciada com {@link #iniciar}.
+     * @param inicio O valor devolvido por {@link #iniciar}.
+     */
+    public void registrar(long inicio) {
+        if (inicio != DESLIGADO) {
+            registrarDuracao(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Registra uma duração medida por quem chamou.
+     * @param nanos A duração, em nanossegundos.
+     */
+    public void registrarDuracao(long nanos) {
+        long duracao = Math.max(nanos, 0);
+        contagens.incrementAndGet(HistogramaLatencia.faixa(duracao));
+        soma.add(duracao);
+        long atual = maximo.get();
+        // Quase sempre a duração não é a maior: só lê, sem CAS
+        while (duracao > atual && !maximo.compareAndSet(atual, duracao)) {
+            atual = maximo.get();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de chamadas desde o início (ou desde {@link #zerar});
+     * com amostragem, uma estimativa.
+     * @return A quantidade de chamadas.
+     */
+    public long getChamadas() {
+        long medidas = 0;
+        for (int i = 0; i < contagens.length(); i++) {
+            medidas += contagens.get(i);
+        }
+        return medidas * amostragem;
+    }
+
+    /**
+     * Retorna uma cópia das latências registradas até agora (com amostragem,
+     * só as das chamadas medidas). Registros simultâneos à cópia podem entrar
+     * só em parte (por exemplo, na contagem mas não na soma), o que não altera
+     * os percentis de forma perceptível.
+     * @return Um novo histograma, em nanossegundos.
+     */
+    public HistogramaLatencia getRetrato() {
+        long[] copia = new long[HistogramaLatencia.FAIXAS];
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = contagens.get(i);
+        }
+        return HistogramaLatencia.deContagens(copia, soma.sum(), maximo.get());
+    }
+
+    /**
+     * Descarta as latências registradas.
+     */
+    public void zerar() {
+        for (int i = 0; i < contagens.length(); i++) {
+            contagens.set(i, 0);
+        }
+        soma.reset();
+        maximo.set(0);
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getAmostragem() {
+        return amostragem;
+    }
+}
\ No newline at end of file
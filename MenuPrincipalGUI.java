@@ -1,6 +1,7 @@
 package br.com.veterinaria.gui;
 
 import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
 
 import javax.swing.*;
 import java.awt.*;
@@ -8,7 +9,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 
 public class MenuPrincipalGUI extends JFrame {
-    private ClinicaFacade facade;
+    private ClinicaFacadeAsync facade;
 
     // Declaração dos botões como atributos da classe
     // Os botões btnCadastrarCliente e btnCadastrarPet foram removidos daqui
@@ -17,15 +18,18 @@ public class MenuPrincipalGUI extends JFrame {
     private JButton btnGerenciarVeterinarios;
     private JButton btnAgendarConsulta;
     private JButton btnRealizarAtendimento;
+    private JButton btnHistoricoPet;
+    private JButton btnBuscarDiagnosticos;
+    private JButton btnMetricas;
 
     /**
      * Construtor da MenuPrincipalGUI.
-     * @param facade A instância da ClinicaFacade para interagir com a lógica de negócio.
+     * @param facade A facade assíncrona, compartilhada por todas as telas, para interagir com a lógica de negócio.
      */
-    public MenuPrincipalGUI(ClinicaFacade facade) {
+    public MenuPrincipalGUI(ClinicaFacadeAsync facade) {
         this.facade = facade;
         setTitle("Sistema de Gestão de Clínica Veterinária");
-        setSize(400, 400); // Tamanho ajustado, pois há menos botões
+        setSize(400, 510); // Tamanho ajustado, pois há menos botões
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
 
@@ -39,7 +43,7 @@ public class MenuPrincipalGUI extends JFrame {
     private void initComponents() {
         JPanel panel = new JPanel();
         // O GridLayout agora terá menos linhas, pois alguns botões foram removidos
-        panel.setLayout(new GridLayout(5, 1, 10, 10)); // 5 linhas para os 5 botões restantes
+        panel.setLayout(new GridLayout(8, 1, 10, 10)); // Uma linha por botão
         panel.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
 
         // Inicialização dos botões restantes
@@ -48,6 +52,9 @@ public class MenuPrincipalGUI extends JFrame {
         btnGerenciarVeterinarios = new JButton("Gerenciar Veterinários (Adicionar/Remover)");
         btnAgendarConsulta = new JButton("Agendar/Gerenciar Consultas");
         btnRealizarAtendimento = new JButton("Realizar Atendimento");
+        btnHistoricoPet = new JButton("Histórico Clínico do Pet");
+        btnBuscarDiagnosticos = new JButton("Buscar Diagnósticos");
+        btnMetricas = new JButton("Métricas e Diagnóstico");
 
         // Adição dos botões ao painel
         panel.add(btnGerenciarClientes);
@@ -55,6 +62,9 @@ public class MenuPrincipalGUI extends JFrame {
         panel.add(btnGerenciarVeterinarios);
         panel.add(btnAgendarConsulta);
         panel.add(btnRealizarAtendimento);
+        panel.add(btnHistoricoPet);
+        panel.add(btnBuscarDiagnosticos);
+        panel.add(btnMetricas);
 
         add(panel, BorderLayout.CENTER);
     }
@@ -85,6 +95,18 @@ public class MenuPrincipalGUI extends JFrame {
         btnRealizarAtendimento.addActionListener(e -> {
             new RealizarAtendimentoGUI(facade).setVisible(true);
         });
+
+        btnHistoricoPet.addActionListener(e -> {
+            new HistoricoPetGUI(facade).setVisible(true);
+        });
+
+        btnBuscarDiagnosticos.addActionListener(e -> {
+            new BuscaDiagnosticosGUI(facade).setVisible(true);
+        });
+
+        btnMetricas.addActionListener(e -> {
+            new MetricasGUI().setVisible(true);
+        });
     }
 
     /**
@@ -92,7 +114,7 @@ public class MenuPrincipalGUI extends JFrame {
      * @param args Argumentos da linha de comando (não utilizados neste caso).
      */
     public static void main(String[] args) {
-        ClinicaFacade facade = new ClinicaFacade();
+        ClinicaFacadeAsync facade = new ClinicaFacadeAsync(new ClinicaFacade());
         SwingUtilities.invokeLater(() -> {
             new MenuPrincipalGUI(facade).setVisible(true);
         });
@@ -0,0 +1,35 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.metricas.EventoDAO;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.model.Cliente;
+
+import java.util.List;
+
+/**
+ * DAO medido da entidade Cliente.
+ */
+public class MeteredClienteDAO extends MeteredRepositorio<Cliente, ClienteDAO> implements ClienteDAO {
+    private final Medidor medidorListarPorPrefixo = medidor("listarPorPrefixo");
+
+    public MeteredClienteDAO(ClienteDAO interno) {
+        super(interno, "cliente");
+    }
+
+    @Override
+    protected int idDe(Cliente cliente) {
+        return cliente != null ? cliente.getId() : 0;
+    }
+
+    @Override
+    public List<Cliente> listarPorPrefixo(String prefixo, int limite) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorPrefixo");
+        long inicioMedicao = medidorListarPorPrefixo.iniciar();
+        try {
+            return evento.resultados(interno.listarPorPrefixo(prefixo, limite));
+        } finally {
+            medidorListarPorPrefixo.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,160 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.metricas.EventoDAO;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.model.Consulta;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DAO medido da entidade Consulta.
+ */
+public class MeteredConsultaDAO extends MeteredRepositorio<Consulta, ConsultaDAO> implements ConsultaDAO {
+    private final Medidor medidorListarPorVeterinario = medidor("listarPorVeterinario");
+    private final Medidor medidorListarPorPet = medidor("listarPorPet");
+    private final Medidor medidorListarPorDia = medidor("listarPorDia");
+    private final Medidor medidorListarPorVeterinarioEDia = medidor("listarPorVeterinarioEDia");
+    private final Medidor medidorListarPorPeriodo = medidor("listarPorPeriodo");
+    private final Medidor medidorListarProximasDoVeterinario = medidor("listarProximasDoVeterinario");
+    private final Medidor medidorListarEmAndamento = medidor("listarEmAndamento");
+    private final Medidor medidorListarConflitos = medidor("listarConflitos");
+    private final Medidor medidorVeterinarioLivre = medidor("veterinarioLivre");
+    private final Medidor medidorProximoInicioPossivel = medidor("proximoInicioPossivel");
+
+    public MeteredConsultaDAO(ConsultaDAO interno) {
+        super(interno, "consulta");
+    }
+
+    @Override
+    protected int idDe(Consulta consulta) {
+        return consulta != null ? consulta.getId() : 0;
+    }
+
+    @Override
+    public List<Consulta> listarPorVeterinario(int veterinarioId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorVeterinario");
+        evento.setId(veterinarioId);
+        long inicioMedicao = medidorListarPorVeterinario.iniciar();
+        try {
+            return evento.resultados(interno.listarPorVeterinario(veterinarioId));
+        } finally {
+            medidorListarPorVeterinario.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Consulta> listarPorPet(int petId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorPet");
+        evento.setId(petId);
+        long inicioMedicao = medidorListarPorPet.iniciar();
+        try {
+            return evento.resultados(interno.listarPorPet(petId));
+        } finally {
+            medidorListarPorPet.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Consulta> listarPorDia(LocalDate dia) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorDia");
+        long inicioMedicao = medidorListarPorDia.iniciar();
+        try {
+            return evento.resultados(interno.listarPorDia(dia));
+        } finally {
+            medidorListarPorDia.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Consulta> listarPorVeterinarioEDia(int veterinarioId, LocalDate dia) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorVeterinarioEDia");
+        evento.setId(veterinarioId);
+        long inicioMedicao = medidorListarPorVeterinarioEDia.iniciar();
+        try {
+            return evento.resultados(interno.listarPorVeterinarioEDia(veterinarioId, dia));
+        } finally {
+            medidorListarPorVeterinarioEDia.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Consulta> listarPorPeriodo(long inicio, long fim) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorPeriodo");
+        long inicioMedicao = medidorListarPorPeriodo.iniciar();
+        try {
+            return evento.resultados(interno.listarPorPeriodo(inicio, fim));
+        } finally {
+            medidorListarPorPeriodo.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Consulta> listarProximasDoVeterinario(int veterinarioId, long aPartirDe, int quantidade) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarProximasDoVeterinario");
+        evento.setId(veterinarioId);
+        long inicioMedicao = medidorListarProximasDoVeterinario.iniciar();
+        try {
+            return evento.resultados(interno.listarProximasDoVeterinario(veterinarioId, aPartirDe, quantidade));
+        } finally {
+            medidorListarProximasDoVeterinario.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Consulta> listarEmAndamento(long instante) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarEmAndamento");
+        long inicioMedicao = medidorListarEmAndamento.iniciar();
+        try {
+            return evento.resultados(interno.listarEmAndamento(instante));
+        } finally {
+            medidorListarEmAndamento.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Consulta> listarConflitos(int veterinarioId, int petId, long inicio, long fim) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarConflitos");
+        evento.setId(veterinarioId);
+        long inicioMedicao = medidorListarConflitos.iniciar();
+        try {
+            return evento.resultados(interno.listarConflitos(veterinarioId, petId, inicio, fim));
+        } finally {
+            medidorListarConflitos.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public boolean veterinarioLivre(int veterinarioId, long inicio, long fim) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "veterinarioLivre");
+        evento.setId(veterinarioId);
+        long inicioMedicao = medidorVeterinarioLivre.iniciar();
+        try {
+            return interno.veterinarioLivre(veterinarioId, inicio, fim);
+        } finally {
+            medidorVeterinarioLivre.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public long proximoInicioPossivel(int veterinarioId, long aPartirDe, long duracao, long limite) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "proximoInicioPossivel");
+        evento.setId(veterinarioId);
+        long inicioMedicao = medidorProximoInicioPossivel.iniciar();
+        try {
+            return interno.proximoInicioPossivel(veterinarioId, aPartirDe, duracao, limite);
+        } finally {
+            medidorProximoInicioPossivel.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.metricas.EventoDAO;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.model.Diagnostico;
+
+import java.util.List;
+
+/**
+ * DAO medido da entidade Diagnostico.
+ */
+public class MeteredDiagnosticoDAO extends MeteredRepositorio<Diagnostico, DiagnosticoDAO> implements DiagnosticoDAO {
+    private final Medidor medidorListarPorConsulta = medidor("listarPorConsulta");
+    private final Medidor medidorListarPorPet = medidor("listarPorPet");
+    private final Medidor medidorListarPorVeterinario = medidor("listarPorVeterinario");
+    private final Medidor medidorBuscarPorTexto = medidor("buscarPorTexto");
+    private final Medidor medidorContarTermosIndexados = medidor("contarTermosIndexados");
+
+    public MeteredDiagnosticoDAO(DiagnosticoDAO interno) {
+        super(interno, "diagnostico");
+    }
+
+    @Override
+    protected int idDe(Diagnostico diagnostico) {
+        return diagnostico != null ? diagnostico.getId() : 0;
+    }
+
+    @Override
+    public List<Diagnostico> listarPorConsulta(int consultaId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorConsulta");
+        evento.setId(consultaId);
+        long inicioMedicao = medidorListarPorConsulta.iniciar();
+        try {
+            return evento.resultados(interno.listarPorConsulta(consultaId));
+        } finally {
+            medidorListarPorConsulta.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Diagnostico> listarPorPet(int petId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorPet");
+        evento.setId(petId);
+        long inicioMedicao = medidorListarPorPet.iniciar();
+        try {
+            return evento.resultados(interno.listarPorPet(petId));
+        } finally {
+            medidorListarPorPet.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Diagnostico> listarPorVeterinario(int veterinarioId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorVeterinario");
+        evento.setId(veterinarioId);
+        long inicioMedicao = medidorListarPorVeterinario.iniciar();
+        try {
+            return evento.resultados(interno.listarPorVeterinario(veterinarioId));
+        } finally {
+            medidorListarPorVeterinario.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Diagnostico> buscarPorTexto(String consulta) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "buscarPorTexto");
+        long inicioMedicao = medidorBuscarPorTexto.iniciar();
+        try {
+            return evento.resultados(interno.buscarPorTexto(consulta));
+        } finally {
+            medidorBuscarPorTexto.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public int contarTermosIndexados() {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "contarTermosIndexados");
+        long inicioMedicao = medidorContarTermosIndexados.iniciar();
+        try {
+            int quantidade = interno.contarTermosIndexados();
+            evento.setResultados(quantidade);
+            return quantidade;
+        } finally {
+            medidorContarTermosIndexados.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package br.com.veterinaria.dao;
+
+/**
+ * Fábrica que decora os DAOs de outra fábrica com os DAOs medidos
+ * ({@link MeteredRepositorio}), para que as operações de qualquer mecanismo
+ * de armazenamento apareçam nas métricas e nas gravações do Java Flight
+ * Recorder sem alterar as implementações.
+ */
+public class MeteredFabricaDAO implements FabricaDAO {
+    private final FabricaDAO fabrica;
+
+    public MeteredFabricaDAO(FabricaDAO fabrica) {
+        this.fabrica = fabrica;
+    }
+
+    @Override
+    public PetDAO criarPetDAO() {
+        return new MeteredPetDAO(fabrica.criarPetDAO());
+    }
+
+    @Override
+    public ClienteDAO criarClienteDAO() {
+        return new MeteredClienteDAO(fabrica.criarClienteDAO());
+    }
+
+    @Override
+    public VeterinarioDAO criarVeterinarioDAO() {
+        return new MeteredVeterinarioDAO(fabrica.criarVeterinarioDAO());
+    }
+
+    @Override
+    public ConsultaDAO criarConsultaDAO() {
+        return new MeteredConsultaDAO(fabrica.criarConsultaDAO());
+    }
+
+    @Override
+    public DiagnosticoDAO criarDiagnosticoDAO() {
+        return new MeteredDiagnosticoDAO(fabrica.criarDiagnosticoDAO());
+    }
+
+    @Override
+    public PrescricaoDAO criarPrescricaoDAO() {
+        return new MeteredPrescricaoDAO(fabrica.criarPrescricaoDAO());
+    }
+
+    @Override
+    public MedicamentoDAO criarMedicamentoDAO() {
+        return new MeteredMedicamentoDAO(fabrica.criarMedicamentoDAO());
+    }
+
+    @Override
+    public void fechar() {
+        fabrica.fechar();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.metricas.EventoDAO;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.model.Medicamento;
+
+import java.util.List;
+
+/**
+ * DAO medido da entidade Medicamento.
+ */
+public class MeteredMedicamentoDAO extends MeteredRepositorio<Medicamento, MedicamentoDAO> implements MedicamentoDAO {
+    private final Medidor medidorBuscarPorNome = medidor("buscarPorNome");
+    private final Medidor medidorListarPorPrefixo = medidor("listarPorPrefixo");
+
+    public MeteredMedicamentoDAO(MedicamentoDAO interno) {
+        super(interno, "medicamento");
+    }
+
+    @Override
+    protected int idDe(Medicamento medicamento) {
+        return medicamento != null ? medicamento.getId() : 0;
+    }
+
+    @Override
+    public Medicamento buscarPorNome(String nome) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "buscarPorNome");
+        long inicioMedicao = medidorBuscarPorNome.iniciar();
+        try {
+            return evento.encontrada(interno.buscarPorNome(nome));
+        } finally {
+            medidorBuscarPorNome.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Medicamento> listarPorPrefixo(String prefixo, int limite) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorPrefixo");
+        long inicioMedicao = medidorListarPorPrefixo.iniciar();
+        try {
+            return evento.resultados(interno.listarPorPrefixo(prefixo, limite));
+        } finally {
+            medidorListarPorPrefixo.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+}
\ No newline at end of file
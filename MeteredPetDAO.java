@@ -0,0 +1,106 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.metricas.EventoDAO;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.model.Pet;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * DAO medido da entidade Pet.
+ */
+public class MeteredPetDAO extends MeteredRepositorio<Pet, PetDAO> implements PetDAO {
+    private final Medidor medidorListarPorProprietario = medidor("listarPorProprietario");
+    private final Medidor medidorContarPorProprietario = medidor("contarPorProprietario");
+    private final Medidor medidorListarPorPrefixo = medidor("listarPorPrefixo");
+    private final Medidor medidorListarPorEspecieERaca = medidor("listarPorEspecieERaca");
+    private final Medidor medidorContarPorEspecieERaca = medidor("contarPorEspecieERaca");
+
+    public MeteredPetDAO(PetDAO interno) {
+        super(interno, "pet");
+    }
+
+    @Override
+    protected int idDe(Pet pet) {
+        return pet != null ? pet.getId() : 0;
+    }
+
+    @Override
+    public List<Pet> listarPorProprietario(int clienteId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorProprietario");
+        evento.setId(clienteId);
+        long inicioMedicao = medidorListarPorProprietario.iniciar();
+        try {
+            return evento.resultados(interno.listarPorProprietario(clienteId));
+        } finally {
+            medidorListarPorProprietario.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public int contarPorProprietario(int clienteId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "contarPorProprietario");
+        evento.setId(clienteId);
+        long inicioMedicao = medidorContarPorProprietario.iniciar();
+        try {
+            int quantidade = interno.contarPorProprietario(clienteId);
+            evento.setResultados(quantidade);
+            return quantidade;
+        } finally {
+            medidorContarPorProprietario.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Pet> listarPorPrefixo(String prefixo, int limite) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorPrefixo");
+        long inicioMedicao = medidorListarPorPrefixo.iniciar();
+        try {
+            return evento.resultados(interno.listarPorPrefixo(prefixo, limite));
+        } finally {
+            medidorListarPorPrefixo.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorEspecieERaca");
+        long inicioMedicao = medidorListarPorEspecieERaca.iniciar();
+        try {
+            return evento.resultados(interno.listarPorEspecieERaca(especies, racas));
+        } finally {
+            medidorListarPorEspecieERaca.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas, int deslocamento, int limite) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorEspecieERaca");
+        long inicioMedicao = medidorListarPorEspecieERaca.iniciar();
+        try {
+            return evento.resultados(interno.listarPorEspecieERaca(especies, racas, deslocamento, limite));
+        } finally {
+            medidorListarPorEspecieERaca.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public int contarPorEspecieERaca(BitSet especies, BitSet racas) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "contarPorEspecieERaca");
+        long inicioMedicao = medidorContarPorEspecieERaca.iniciar();
+        try {
+            int quantidade = interno.contarPorEspecieERaca(especies, racas);
+            evento.setResultados(quantidade);
+            return quantidade;
+        } finally {
+            medidorContarPorEspecieERaca.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+}
\ No newline at end of file
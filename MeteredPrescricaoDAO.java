@@ -0,0 +1,64 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.metricas.EventoDAO;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.model.Prescricao;
+
+import java.util.List;
+
+/**
+ * DAO medido da entidade Prescricao.
+ */
+public class MeteredPrescricaoDAO extends MeteredRepositorio<Prescricao, PrescricaoDAO> implements PrescricaoDAO {
+    private final Medidor medidorListarPorConsulta = medidor("listarPorConsulta");
+    private final Medidor medidorListarPorPet = medidor("listarPorPet");
+    private final Medidor medidorListarPorVeterinario = medidor("listarPorVeterinario");
+
+    public MeteredPrescricaoDAO(PrescricaoDAO interno) {
+        super(interno, "prescricao");
+    }
+
+    @Override
+    protected int idDe(Prescricao prescricao) {
+        return prescricao != null ? prescricao.getId() : 0;
+    }
+
+    @Override
+    public List<Prescricao> listarPorConsulta(int consultaId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorConsulta");
+        evento.setId(consultaId);
+        long inicioMedicao = medidorListarPorConsulta.iniciar();
+        try {
+            return evento.resultados(interno.listarPorConsulta(consultaId));
+        } finally {
+            medidorListarPorConsulta.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Prescricao> listarPorPet(int petId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorPet");
+        evento.setId(petId);
+        long inicioMedicao = medidorListarPorPet.iniciar();
+        try {
+            return evento.resultados(interno.listarPorPet(petId));
+        } finally {
+            medidorListarPorPet.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<Prescricao> listarPorVeterinario(int veterinarioId) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorVeterinario");
+        evento.setId(veterinarioId);
+        long inicioMedicao = medidorListarPorVeterinario.iniciar();
+        try {
+            return evento.resultados(interno.listarPorVeterinario(veterinarioId));
+        } finally {
+            medidorListarPorVeterinario.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.metricas.EventoDAO;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.metricas.Metricas;
+
+import java.util.List;
+
+/**
+ * Base dos DAOs medidos. Decora o DAO de qualquer mecanismo de armazenamento
+ * e mede cada operação em um {@link Medidor} chamado
+ * "dao.&lt;entidade&gt;.&lt;operação&gt;", amostrado como definido em
+ * {@link Metricas#getAmostragemDAO()}, e emite um {@link EventoDAO} para o
+ * Java Flight Recorder, com o ID e a quantidade de resultados.
+ *
+ * Os medidores são resolvidos na criação do DAO, e cada chamada custa só a
+ * medição, sem reflexão nem alocação: operações como proximoInicioPossivel
+ * são chamadas dezenas de vezes em uma única busca de horários livres.
+ * @param <T> O tipo de entidade.
+ * @param <D> O tipo do DAO interno.
+ */
+public abstract class MeteredRepositorio<T, D extends Repositorio<T>> implements Repositorio<T> {
+    protected final D interno;
+    protected final String entidade;
+    private final Medidor medidorAdicionar;
+    private final Medidor medidorAdicionarTodos;
+    private final Medidor medidorBuscarPorId;
+    private final Medidor medidorListarTodos;
+    private final Medidor medidorListar;
+    private final Medidor medidorAtualizar;
+    private final Medidor medidorRemover;
+    private final Medidor medidorContar;
+
+    protected MeteredRepositorio(D interno, String entidade) {
+        this.interno = interno;
+        this.entidade = entidade;
+        this.medidorAdicionar = medidor("adicionar");
+        this.medidorAdicionarTodos = medidor("adicionarTodos");
+        this.medidorBuscarPorId = medidor("buscarPorId");
+        this.medidorListarTodos = medidor("listarTodos");
+        this.medidorListar = medidor("listar");
+        this.medidorAtualizar = medidor("atualizar");
+        this.medidorRemover = medidor("remover");
+        this.medidorContar = medidor("contar");
+    }
+
+    /** Retorna o ID da entidade, ou 0 se ela for null. */
+    protected abstract int idDe(T entidade);
+
+    /**
+     * Retorna o medidor de uma operação desta entidade.
+     * @param operacao O nome da operação (ex: "listarPorPrefixo").
+     * @return O medidor.
+     */
+    protected final Medidor medidor(String operacao) {
+        return Metricas.medidor("dao." + entidade + "." + operacao, Metricas.getAmostragemDAO());
+    }
+
+    @Override
+    public void adicionar(T entidade) {
+        EventoDAO evento = EventoDAO.iniciar(this.entidade, "adicionar");
+        long inicioMedicao = medidorAdicionar.iniciar();
+        try {
+            interno.adicionar(entidade);
+            evento.setId(idDe(entidade));
+        } finally {
+            medidorAdicionar.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public void adicionarTodos(List<T> entidades) {
+        EventoDAO evento = EventoDAO.iniciar(this.entidade, "adicionarTodos");
+        long inicioMedicao = medidorAdicionarTodos.iniciar();
+        try {
+            interno.adicionarTodos(entidades); // O DAO interno pode ter uma versão em lote
+            evento.resultados(entidades);
+        } finally {
+            medidorAdicionarTodos.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public T buscarPorId(int id) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "buscarPorId");
+        evento.setId(id);
+        long inicioMedicao = medidorBuscarPorId.iniciar();
+        try {
+            return evento.encontrada(interno.buscarPorId(id));
+        } finally {
+            medidorBuscarPorId.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarTodos");
+        long inicioMedicao = medidorListarTodos.iniciar();
+        try {
+            return evento.resultados(interno.listarTodos());
+        } finally {
+            medidorListarTodos.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public List<T> listar(int deslocamento, int limite) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listar");
+        long inicioMedicao = medidorListar.iniciar();
+        try {
+            return evento.resultados(interno.listar(deslocamento, limite));
+        } finally {
+            medidorListar.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public void atualizar(T entidade) {
+        EventoDAO evento = EventoDAO.iniciar(this.entidade, "atualizar");
+        long inicioMedicao = medidorAtualizar.iniciar();
+        try {
+            interno.atualizar(entidade);
+            evento.setId(idDe(entidade));
+        } finally {
+            medidorAtualizar.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public boolean remover(T entidade) {
+        EventoDAO evento = EventoDAO.iniciar(this.entidade, "remover");
+        long inicioMedicao = medidorRemover.iniciar();
+        try {
+            boolean removida = interno.remover(entidade);
+            evento.setId(idDe(entidade));
+            return removida;
+        } finally {
+            medidorRemover.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+
+    @Override
+    public int contar() {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "contar");
+        long inicioMedicao = medidorContar.iniciar();
+        try {
+            int quantidade = interno.contar();
+            evento.setResultados(quantidade);
+            return quantidade;
+        } finally {
+            medidorContar.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+}
\ No newline at end of file
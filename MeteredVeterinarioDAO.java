@@ -0,0 +1,35 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.metricas.EventoDAO;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.model.Veterinario;
+
+import java.util.List;
+
+/**
+ * DAO medido da entidade Veterinario.
+ */
+public class MeteredVeterinarioDAO extends MeteredRepositorio<Veterinario, VeterinarioDAO> implements VeterinarioDAO {
+    private final Medidor medidorListarPorPrefixo = medidor("listarPorPrefixo");
+
+    public MeteredVeterinarioDAO(VeterinarioDAO interno) {
+        super(interno, "veterinario");
+    }
+
+    @Override
+    protected int idDe(Veterinario veterinario) {
+        return veterinario != null ? veterinario.getId() : 0;
+    }
+
+    @Override
+    public List<Veterinario> listarPorPrefixo(String prefixo, int limite) {
+        EventoDAO evento = EventoDAO.iniciar(entidade, "listarPorPrefixo");
+        long inicioMedicao = medidorListarPorPrefixo.iniciar();
+        try {
+            return evento.resultados(interno.listarPorPrefixo(prefixo, limite));
+        } finally {
+            medidorListarPorPrefixo.registrar(inicioMedicao);
+            evento.commit();
+        }
+    }
+}
\ No newline at end of file
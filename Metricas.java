@@ -0,0 +1,210 @@
+package br.com.veterinaria.metricas;
+
+import br.com.veterinaria.adapter.DataAdapter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Registro central das métricas da aplicação, compartilhado por todas as
+ * classes (como o {@link br.com.veterinaria.log.SistemaLog}):
+ * <ul>
+ *   <li>medidores de latência ({@link Medidor}), um por operação da facade
+ *       ("facade.agendarConsulta") e de cada DAO ("dao.consulta.adicionar");</li>
+ *   <li>contadores de eventos ({@link Contador});</li>
+ *   <li>indicadores: valores lidos só quando as métricas são exibidas, como a
+ *       quantidade de registros de cada entidade e o tamanho dos índices.</li>
+ * </ul>
+ * Medidores e contadores são criados uma vez (normalmente em campos static) e
+ * depois só registram valores, sem consultar o registro.
+ *
+ * As métricas podem ser desligadas pela propriedade de sistema
+ * {@value #PROPRIEDADE_ATIVAS} ("false") ou por {@link #setAtivas}; desligadas,
+ * os medidores não leem o relógio e os DAOs não são decorados pelo
+ * {@link br.com.veterinaria.dao.MeteredFabricaDAO}.
+ *
+ * As chamadas aos DAOs são amostradas (propriedade
+ * {@value #PROPRIEDADE_AMOSTRAGEM_DAO}, padrão uma em cada
+ * {@value #AMOSTRAGEM_DAO_PADRAO}): são muitas por operação da facade e
+ * duram pouco mais do que a própria medição. Com 0 os DAOs não são medidos,
+ * só a facade.
+ */
+public final class Metricas {
+    /** Propriedade de sistema que liga ou desliga as métricas (padrão true). */
+    public static final String PROPRIEDADE_ATIVAS = "clinica.metricas";
+    /** Propriedade de sistema com a amostragem das latências dos DAOs (1 mede todas as chamadas, 0 nenhuma). */
+    public static final String PROPRIEDADE_AMOSTRAGEM_DAO = "clinica.metricas.amostragemDAO";
+    static final int AMOSTRAGEM_DAO_PADRAO = 16;
+
+    private static volatile boolean ativas = !"false".equalsIgnoreCase(System.getProperty(PROPRIEDADE_ATIVAS, "true").trim());
+    private static final Map<String, Medidor> medidores = new ConcurrentHashMap<>();
+    private static final Map<String, Contador> contadores = new ConcurrentHashMap<>();
+    private static final Map<String, LongSupplier> indicadores = new ConcurrentHashMap<>();
+
+    private Metricas() {
+    }
+
+    /**
+     * Retorna o medidor de latência com um nome, criando-o na primeira chamada.
+     * @param nome O nome (ex: "facade.agendarConsulta").
+     * @return O medidor.
+     */
+    public static Medidor medidor(String nome) {
+        return medidor(nome, 1);
+    }
+
+    /**
+     * Retorna o medidor de latência com um nome, criando-o na primeira chamada
+     * com a amostragem informada (se já existir, mantém a original).
+     * @param nome O nome (ex: "dao.pet.buscarPorId").
+     * @param amostragem Mede uma em cada quantas chamadas (1: todas).
+     * @return O medidor.
+     */
+    public static Medidor medidor(String nome, int amostragem) {
+        return medidores.computeIfAbsent(nome, n -> new Medidor(n, amostragem));
+    }
+
+    /**
+     * Retorna a amostragem dos medidores dos DAOs, lida da propriedade
+     * {@value #PROPRIEDADE_AMOSTRAGEM_DAO}.
+     * @return Mede uma em cada quantas chamadas; 0 se os DAOs não devem ser medidos.
+     */
+    public static int getAmostragemDAO() {
+        try {
+            return Math.max(0, Integer.parseInt(System.getProperty(PROPRIEDADE_AMOSTRAGEM_DAO,
+                    String.valueOf(AMOSTRAGEM_DAO_PADRAO)).trim()));
+        } catch (NumberFormatException e) {
+            return AMOSTRAGEM_DAO_PADRAO;
+        }
+    }
+
+    /**
+     * Retorna o contador com um nome, criando-o na primeira chamada.
+     * @param nome O nome (ex: "facade.conflitosAgendamento").
+     * @return O contador.
+     */
+    public static Contador contador(String nome) {
+        return contadores.computeIfAbsent(nome, Contador::new);
+    }
+
+    /**
+     * Registra um indicador, substituindo o anterior com o mesmo nome.
+     * @param nome O nome (ex: "entidades.pets").
+     * @param valor Calcula o valor atual; chamado só quando as métricas são lidas.
+     */
+    public static void indicador(String nome, LongSupplier valor) {
+        indicadores.put(nome, valor);
+    }
+
+    public static boolean isAtivas() {
+        return ativas;
+    }
+
+    /**
+     * Liga ou desliga o registro de latências e contadores (os valores já
+     * registrados são mantidos).
+     * @param ativas true para registrar.
+     */
+    public static void setAtivas(boolean ativas) {
+        Metricas.ativas = ativas;
+    }
+
+    /**
+     * Retorna os medidores que já foram chamados.
+     * @return Os medidores, por nome, em ordem alfabética.
+     */
+    public static SortedMap<String, Medidor> getMedidores() {
+        SortedMap<String, Medidor> usados = new TreeMap<>();
+        for (Medidor medidor : medidores.values()) {
+            if (medidor.getChamadas() > 0) {
+                usados.put(medidor.getNome(), medidor);
+            }
+        }
+        return usados;
+    }
+
+    /**
+     * Retorna os valores atuais dos contadores.
+     * @return Os valores, por nome, em ordem alfabética.
+     */
+    public static SortedMap<String, Long> getContadores() {
+        SortedMap<String, Long> valores = new TreeMap<>();
+        for (Contador contador : contadores.values()) {
+            valores.put(contador.getNome(), contador.getValor());
+        }
+        return valores;
+    }
+
+    /**
+     * Calcula os valores atuais dos indicadores. Um indicador que falhar é omitido.
+     * @return Os valores, por nome, em ordem alfabética.
+     */
+    public static SortedMap<String, Long> getIndicadores() {
+        SortedMap<String, Long> valores = new TreeMap<>();
+        for (Map.Entry<String, LongSupplier> indicador : indicadores.entrySet()) {
+            try {
+                valores.put(indicador.getKey(), indicador.getValue().getAsLong());
+            } catch (RuntimeException e) {
+                // Por exemplo, o armazenamento já foi fechado
+            }
+        }
+        return valores;
+    }
+
+    /**
+     * Descarta as latências e zera os contadores (os indicadores não mudam).
+     */
+    public static void zerar() {
+        medidores.values().forEach(Medidor::zerar);
+        contadores.values().forEach(Contador::zerar);
+    }
+
+    /**
+     * Monta um relatório em texto com todas as métricas, com as latências em microssegundos.
+     * @return O relatório.
+     */
+    public static String getRelatorio() {
+        StringBuilder texto = new StringBuilder();
+        texto.append("Métricas da clínica em ").append(DataAdapter.formatarData(new Date())).append('\n');
+        texto.append(String.format(Locale.ROOT, "%n%-45s %10s %8s %10s %10s %10s %10s %10s %10s%n",
+                "Latências (µs)", "Chamadas", "Amostra", "média", "p50", "p90", "p99", "p99,9", "máx"));
+        for (Medidor medidor : getMedidores().values()) {
+            HistogramaLatencia h = medidor.getRetrato();
+            texto.append(String.format(Locale.ROOT, "%-45s %10d %8s %10.1f %10.1f %10.1f %10.1f %10.1f %10.1f%n",
+                    medidor.getNome(), medidor.getChamadas(), "1/" + medidor.getAmostragem(), h.getMedia() / 1000,
+                    h.percentil(50) / 1000.0, h.percentil(90) / 1000.0, h.percentil(99) / 1000.0,
+                    h.percentil(99.9) / 1000.0, h.getMaximo() / 1000.0));
+        }
+        texto.append(String.format("%n%-45s %10s%n", "Contadores", "Valor"));
+        for (Map.Entry<String, Long> contador : getContadores().entrySet()) {
+            texto.append(String.format("%-45s %10d%n", contador.getKey(), contador.getValue()));
+        }
+        texto.append(String.format("%n%-45s %10s%n", "Indicadores", "Valor"));
+        for (Map.Entry<String, Long> indicador : getIndicadores().entrySet()) {
+            texto.append(String.format("%-45s %10d%n", indicador.getKey(), indicador.getValue()));
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Grava o {@link #getRelatorio() relatório} em um arquivo (UTF-8), substituindo o conteúdo anterior.
+     * @param arquivo O arquivo.
+     * @throws IOException Se não for possível gravar.
+     */
+    public static void gravar(Path arquivo) throws IOException {
+        Path diretorio = arquivo.toAbsolutePath().getParent();
+        if (diretorio != null) {
+            Files.createDirectories(diretorio);
+        }
+        Files.write(arquivo, getRelatorio().getBytes(StandardCharsets.UTF_8));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package br.com.veterinaria.gui;
+
+import br.com.veterinaria.metricas.HistogramaLatencia;
+import br.com.veterinaria.metricas.Medidor;
+import br.com.veterinaria.metricas.Metricas;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Tela de diagnóstico com as métricas da aplicação ({@link Metricas}): a
+ * latência de cada operação da facade e dos DAOs, os contadores e os
+ * indicadores (registros por entidade, tamanho dos índices). Atualiza
+ * sozinha a cada {@value #INTERVALO_ATUALIZACAO_MS} ms enquanto está aberta.
+ */
+public class MetricasGUI extends JFrame {
+    private static final int INTERVALO_ATUALIZACAO_MS = 2000;
+
+    private JButton btnAtualizar;
+    private JButton btnZerar;
+    private JButton btnGravar;
+    private JCheckBox chkAtivas;
+    private JCheckBox chkAutomatico;
+    private TabelaEntidadesModel<LinhaMetrica> tableModel;
+    private IndicadorCarregamento indicador; // Andamento das operações em segundo plano
+    private Timer atualizacao;
+
+    /** Uma linha da tabela: uma latência, um contador ou um indicador. */
+    private static final class LinhaMetrica {
+        final String nome;
+        final String tipo;
+        final long valor; // Chamadas, para latências
+        final HistogramaLatencia latencias; // null para contadores e indicadores
+
+        LinhaMetrica(String nome, String tipo, long valor, HistogramaLatencia latencias) {
+            this.nome = nome;
+            this.tipo = tipo;
+            this.valor = valor;
+            this.latencias = latencias;
+        }
+    }
+
+    public MetricasGUI() {
+        setTitle("Métricas e Diagnóstico");
+        setSize(950, 550);
+        setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        setLocationRelativeTo(null);
+
+        initComponents();
+        addListeners();
+        atualizar();
+    }
+
+    private void initComponents() {
+        JPanel mainPanel = new JPanel(new BorderLayout(10, 10));
+        mainPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        JPanel botoesPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 10, 0));
+        btnAtualizar = new JButton("Atualizar");
+        btnZerar = new JButton("Zerar");
+        btnGravar = new JButton("Gravar em Arquivo...");
+        chkAtivas = new JCheckBox("Medir", Metricas.isAtivas());
+        chkAtivas.setToolTipText("Desligado, as operações não são medidas (os valores já registrados são mantidos)");
+        chkAutomatico = new JCheckBox("Atualizar automaticamente", true);
+        botoesPanel.add(btnAtualizar);
+        botoesPanel.add(btnZerar);
+        botoesPanel.add(btnGravar);
+        botoesPanel.add(chkAtivas);
+        botoesPanel.add(chkAutomatico);
+        mainPanel.add(botoesPanel, BorderLayout.NORTH);
+
+        // Latências em microssegundos; contadores e indicadores só têm o valor
+        tableModel = new TabelaEntidadesModel<LinhaMetrica>()
+                .coluna("Métrica", String.class, l -> l.nome)
+                .coluna("Tipo", String.class, l -> l.tipo)
+                .coluna("Chamadas / Valor", Long.class, l -> l.valor)
+                .coluna("Média (µs)", String.class, l -> l.latencias != null ? micros(l.latencias.getMedia()) : "")
+                .coluna("p50", String.class, percentil(h -> h.percentil(50)))
+                .coluna("p90", String.class, percentil(h -> h.percentil(90)))
+                .coluna("p99", String.class, percentil(h -> h.percentil(99)))
+                .coluna("p99,9", String.class, percentil(h -> h.percentil(99.9)))
+                .coluna("Máx", String.class, percentil(HistogramaLatencia::getMaximo));
+        JTable tabela = new JTable(tableModel);
+        tabela.setAutoCreateRowSorter(true);
+        tabela.getColumnModel().getColumn(0).setPreferredWidth(280);
+        JScrollPane scrollPane = new JScrollPane(tabela);
+        scrollPane.setBorder(BorderFactory.createTitledBorder("Métricas"));
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+
+        indicador = new IndicadorCarregamento();
+        mainPanel.add(indicador, BorderLayout.SOUTH);
+
+        add(mainPanel);
+    }
+
+    private static Function<LinhaMetrica, Object> percentil(ToLongFunction<HistogramaLatencia> valor) {
+        return l -> l.latencias != null ? micros(valor.applyAsLong(l.latencias)) : "";
+    }
+
+    private static String micros(double nanos) {
+        return String.format("%.1f", nanos / 1000);
+    }
+
+    private void addListeners() {
+        btnAtualizar.addActionListener(e -> atualizar());
+        btnZerar.addActionListener(e -> {
+            Metricas.zerar();
+            atualizar();
+        });
+        btnGravar.addActionListener(e -> gravar());
+        chkAtivas.addActionListener(e -> Metricas.setAtivas(chkAtivas.isSelected()));
+
+        atualizacao = new Timer(INTERVALO_ATUALIZACAO_MS, e -> {
+            if (chkAutomatico.isSelected() && !indicador.isOcupado()) {
+                atualizar();
+            }
+        });
+        atualizacao.start();
+        // Para de ler as métricas quando a janela é fechada
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                atualizacao.stop();
+            }
+        });
+    }
+
+    private void atualizar() {
+        // Os retratos e indicadores são lidos fora da thread de eventos
+        indicador.executar("Lendo métricas", CompletableFuture.supplyAsync(MetricasGUI::lerMetricas),
+                linhas -> tableModel.recarregar(linhas), btnAtualizar);
+    }
+
+    private static List<LinhaMetrica> lerMetricas() {
+        List<LinhaMetrica> linhas = new ArrayList<>();
+        for (Medidor medidor : Metricas.getMedidores().values()) {
+            String tipo = medidor.getAmostragem() > 1 ? "Latência (1/" + medidor.getAmostragem() + ")" : "Latência";
+            linhas.add(new LinhaMetrica(medidor.getNome(), tipo, medidor.getChamadas(), medidor.getRetrato()));
+        }
+        for (Map.Entry<String, Long> contador : Metricas.getContadores().entrySet()) {
+            linhas.add(new LinhaMetrica(contador.getKey(), "Contador", contador.getValue(), null));
+        }
+        for (Map.Entry<String, Long> valor : Metricas.getIndicadores().entrySet()) {
+            linhas.add(new LinhaMetrica(valor.getKey(), "Indicador", valor.getValue(), null));
+        }
+        return linhas;
+    }
+
+    private void gravar() {
+        JFileChooser escolha = new JFileChooser();
+        escolha.setSelectedFile(new File("metricas.txt"));
+        if (escolha.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File arquivo = escolha.getSelectedFile();
+        indicador.executar("Gravando métricas", CompletableFuture.supplyAsync(() -> {
+            try {
+                Metricas.gravar(arquivo.toPath());
+                return arquivo;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Não foi possível gravar " + arquivo + ": " + ex.getMessage(), ex);
+            }
+        }), gravado -> JOptionPane.showMessageDialog(this, "Métricas gravadas em " + gravado + ".",
+                "Métricas", JOptionPane.INFORMATION_MESSAGE), btnGravar);
+    }
+}
\ No newline at end of file
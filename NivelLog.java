@@ -0,0 +1,19 @@
+package br.com.veterinaria.log;
+
+/**
+ * Níveis de severidade das mensagens de log, do mais detalhado ao mais grave.
+ * Uma mensagem só é registrada se o seu nível for igual ou mais grave que o
+ * nível configurado em {@link SistemaLog}.
+ */
+public enum NivelLog {
+    /** Detalhes de cada operação (por exemplo, cada gravação de um DAO). */
+    DEBUG,
+    /** Operações de negócio concluídas (cadastros, agendamentos, atendimentos). */
+    INFO,
+    /** Situações inesperadas que não impedem a operação. */
+    AVISO,
+    /** Falhas. */
+    ERRO,
+    /** Desliga o log (usado apenas como nível configurado). */
+    DESLIGADO
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package br.com.veterinaria.busca;
+
+import java.text.Normalizer;
+
+/**
+ * Normaliza textos para comparação e busca: letras minúsculas, sem acentos
+ * ("João" vira "joao", "Ração" vira "racao"), sem espaços nas pontas e com
+ * espaços repetidos reduzidos a um só. Caracteres de controle viram espaço.
+ *
+ * A remoção de acentos dos caracteres Latin-1 (os usados em português) vem de
+ * uma tabela calculada uma única vez; só caracteres fora dessa faixa passam
+ * pelo java.text.Normalizer. Um texto que já está normalizado é devolvido sem
+ * criar uma nova String.
+ */
+public final class NormalizadorTexto {
+    // Forma normalizada de cada caractere até U+00FF
+    private static final char[] LATIN1 = new char[256];
+
+    static {
+        for (char c = 0; c < LATIN1.length; c++) {
+            LATIN1[c] = dobrar(c);
+        }
+    }
+
+    private NormalizadorTexto() {
+    }
+
+    /**
+     * Normaliza um texto.
+     * @param texto O texto original (pode ser null).
+     * @return O texto normalizado ("" para null).
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        int tamanho = texto.length();
+        if (jaNormalizado(texto)) {
+            return texto;
+        }
+        StringBuilder sb = new StringBuilder(tamanho);
+        boolean espacoPendente = false;
+        for (int i = 0; i < tamanho; i++) {
+            char c = texto.charAt(i);
+            char n = c < LATIN1.length ? LATIN1[c] : dobrar(c);
+            if (n == ' ') {
+                espacoPendente = sb.length() > 0; // Ignora espaços no início
+                continue;
+            }
+            if (espacoPendente) {
+                sb.append(' ');
+                espacoPendente = false;
+            }
+            sb.append(n);
+        }
+        return sb.toString();
+    }
+
+    // Verdadeiro se normalizar não mudaria o texto (caso comum nas buscas já digitadas em minúsculas)
+    private static boolean jaNormalizado(String texto) {
+        char anterior = ' ';
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= LATIN1.length || LATIN1[c] != c || (c == ' ' && anterior == ' ')) {
+                return false;
+            }
+            anterior = c;
+        }
+        return anterior != ' ' || texto.isEmpty();
+    }
+
+    // Forma normalizada de um único caractere
+    private static char dobrar(char c) {
+        if (Character.isWhitespace(c) || Character.isISOControl(c) || Character.isSpaceChar(c)) {
+            return ' ';
+        }
+        if (c < 0x80) {
+            return Character.toLowerCase(c);
+        }
+        String decomposto = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+        return Character.toLowerCase(decomposto.charAt(0)); // Letra base, sem as marcas de acento
+    }
+}
\ No newline at end of file
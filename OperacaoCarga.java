@@ -0,0 +1,47 @@
+package br.com.veterinaria.carga;
+
+/**
+ * Operações executadas pelo {@link TesteCarga}, com o peso padrão de cada uma
+ * na mistura (a chance de ser sorteada é o peso dividido pela soma dos pesos).
+ */
+public enum OperacaoCarga {
+    /** Busca o primeiro horário livre de um veterinário em um dia sorteado e agenda um pet nele. */
+    AGENDAR("agendar", 45),
+    /** Cancela (remove) uma consulta agendada. */
+    CANCELAR("cancelar", 15),
+    /** Atende uma consulta agendada: diagnóstico, prescrição e remoção da agenda. */
+    ATENDER("atender", 30),
+    /** Lista a agenda de um veterinário em um dia, como a tela de agendamento. */
+    CONSULTAR_AGENDA("agenda", 10);
+
+    private final String nome;
+    private final int pesoPadrao;
+
+    OperacaoCarga(String nome, int pesoPadrao) {
+        this.nome = nome;
+        this.pesoPadrao = pesoPadrao;
+    }
+
+    /**
+     * Retorna a operação com um nome.
+     * @param nome O nome usado na linha de comando (ex: "agendar").
+     * @return A operação.
+     * @throws IllegalArgumentException Se não houver operação com esse nome.
+     */
+    public static OperacaoCarga porNome(String nome) {
+        for (OperacaoCarga operacao : values()) {
+            if (operacao.nome.equalsIgnoreCase(nome.trim())) {
+                return operacao;
+            }
+        }
+        throw new IllegalArgumentException("Operação desconhecida: '" + nome + "'.");
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    public int getPesoPadrao() {
+        return pesoPadrao;
+    }
+}
\ No newline at end of file
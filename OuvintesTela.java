@@ -0,0 +1,57 @@
+package br.com.veterinaria.gui;
+
+import br.com.veterinaria.facade.BarramentoEventos;
+import br.com.veterinaria.facade.TipoEvento;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Assinaturas de eventos da facade feitas por uma tela.
+ * Os eventos são entregues na thread de eventos do Swing e as assinaturas são
+ * canceladas quando a janela é fechada, para que telas descartadas não
+ * continuem recebendo (nem sendo mantidas em memória pelo barramento).
+ */
+public class OuvintesTela {
+    private final BarramentoEventos eventos;
+    private final List<BarramentoEventos.Assinatura> assinaturas = new ArrayList<>();
+
+    /**
+     * @param janela A janela dona das assinaturas.
+     * @param eventos O barramento de eventos da facade.
+     */
+    public OuvintesTela(Window janela, BarramentoEventos eventos) {
+        this.eventos = eventos;
+        janela.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                cancelarTodas();
+            }
+        });
+    }
+
+    /**
+     * Executa uma ação, na thread de eventos, sempre que um evento do tipo for publicado.
+     * @param tipo O tipo de evento.
+     * @param acao Recebe a entidade do evento.
+     * @param <T> O tipo da entidade do evento.
+     */
+    public <T> void aoOcorrer(TipoEvento<T> tipo, Consumer<? super T> acao) {
+        assinaturas.add(eventos.assinar(tipo, acao, SwingUtilities::invokeLater));
+    }
+
+    /**
+     * Cancela todas as assinaturas da tela.
+     */
+    public void cancelarTodas() {
+        for (BarramentoEventos.Assinatura assinatura : assinaturas) {
+            assinatura.cancelar();
+        }
+        assinaturas.clear();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package br.com.veterinaria.facade;
+
+import java.util.List;
+
+/**
+ * Um trecho de uma listagem devolvido pela {@link ClinicaFacade}: os itens do
+ * trecho e o total de itens da listagem inteira, contado sem copiá-la.
+ * @param <T> O tipo dos itens.
+ */
+public class Pagina<T> {
+    private final List<T> itens;
+    private final int total;
+
+    public Pagina(List<T> itens, int total) {
+        this.itens = itens;
+        this.total = total;
+    }
+
+    public List<T> getItens() {
+        return itens;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+}
\ No newline at end of file
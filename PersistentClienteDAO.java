@@ -0,0 +1,36 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.persistencia.CodificadorRegistros;
+import br.com.veterinaria.persistencia.LogEscrita;
+
+import java.util.List;
+
+/**
+ * DAO persistente da entidade Cliente.
+ */
+public class PersistentClienteDAO extends PersistentRepositorio<Cliente, ClienteDAO> implements ClienteDAO {
+    public PersistentClienteDAO(ClienteDAO interno, LogEscrita log) {
+        super(interno, log);
+    }
+
+    @Override
+    protected int idDe(Cliente cliente) {
+        return cliente.getId();
+    }
+
+    @Override
+    protected byte[] registroSalvar(Cliente cliente) {
+        return CodificadorRegistros.salvar(cliente);
+    }
+
+    @Override
+    protected byte[] registroRemover(int id) {
+        return CodificadorRegistros.remover(CodificadorRegistros.TIPO_CLIENTE, id);
+    }
+
+    @Override
+    public List<Cliente> listarPorPrefixo(String prefixo, int limite) {
+        return interno.listarPorPrefixo(prefixo, limite);
+    }
+}
\ No newline at end of file
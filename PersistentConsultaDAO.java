@@ -0,0 +1,82 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.persistencia.CodificadorRegistros;
+import br.com.veterinaria.persistencia.LogEscrita;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * DAO persistente da entidade Consulta.
+ */
+public class PersistentConsultaDAO extends PersistentRepositorio<Consulta, ConsultaDAO> implements ConsultaDAO {
+    public PersistentConsultaDAO(ConsultaDAO interno, LogEscrita log) {
+        super(interno, log);
+    }
+
+    @Override
+    protected int idDe(Consulta consulta) {
+        return consulta.getId();
+    }
+
+    @Override
+    protected byte[] registroSalvar(Consulta consulta) {
+        return CodificadorRegistros.salvar(consulta);
+    }
+
+    @Override
+    protected byte[] registroRemover(int id) {
+        return CodificadorRegistros.remover(CodificadorRegistros.TIPO_CONSULTA, id);
+    }
+
+    @Override
+    public List<Consulta> listarPorVeterinario(int veterinarioId) {
+        return interno.listarPorVeterinario(veterinarioId);
+    }
+
+    @Override
+    public List<Consulta> listarPorPet(int petId) {
+        return interno.listarPorPet(petId);
+    }
+
+    @Override
+    public List<Consulta> listarPorDia(LocalDate dia) {
+        return interno.listarPorDia(dia);
+    }
+
+    @Override
+    public List<Consulta> listarPorVeterinarioEDia(int veterinarioId, LocalDate dia) {
+        return interno.listarPorVeterinarioEDia(veterinarioId, dia);
+    }
+
+    @Override
+    public List<Consulta> listarPorPeriodo(long inicio, long fim) {
+        return interno.listarPorPeriodo(inicio, fim);
+    }
+
+    @Override
+    public List<Consulta> listarProximasDoVeterinario(int veterinarioId, long aPartirDe, int quantidade) {
+        return interno.listarProximasDoVeterinario(veterinarioId, aPartirDe, quantidade);
+    }
+
+    @Override
+    public List<Consulta> listarEmAndamento(long instante) {
+        return interno.listarEmAndamento(instante);
+    }
+
+    @Override
+    public List<Consulta> listarConflitos(int veterinarioId, int petId, long inicio, long fim) {
+        return interno.listarConflitos(veterinarioId, petId, inicio, fim);
+    }
+
+    @Override
+    public boolean veterinarioLivre(int veterinarioId, long inicio, long fim) {
+        return interno.veterinarioLivre(veterinarioId, inicio, fim);
+    }
+
+    @Override
+    public long proximoInicioPossivel(int veterinarioId, long aPartirDe, long duracao, long limite) {
+        return interno.proximoInicioPossivel(veterinarioId, aPartirDe, duracao, limite);
+    }
+}
\ No newline at end of file
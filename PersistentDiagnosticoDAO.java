@@ -0,0 +1,56 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.persistencia.CodificadorRegistros;
+import br.com.veterinaria.persistencia.LogEscrita;
+
+import java.util.List;
+
+/**
+ * DAO persistente da entidade Diagnostico.
+ */
+public class PersistentDiagnosticoDAO extends PersistentRepositorio<Diagnostico, DiagnosticoDAO> implements DiagnosticoDAO {
+    public PersistentDiagnosticoDAO(DiagnosticoDAO interno, LogEscrita log) {
+        super(interno, log);
+    }
+
+    @Override
+    protected int idDe(Diagnostico diagnostico) {
+        return diagnostico.getId();
+    }
+
+    @Override
+    protected byte[] registroSalvar(Diagnostico diagnostico) {
+        return CodificadorRegistros.salvar(diagnostico);
+    }
+
+    @Override
+    protected byte[] registroRemover(int id) {
+        return CodificadorRegistros.remover(CodificadorRegistros.TIPO_DIAGNOSTICO, id);
+    }
+
+    @Override
+    public List<Diagnostico> listarPorConsulta(int consultaId) {
+        return interno.listarPorConsulta(consultaId);
+    }
+
+    @Override
+    public List<Diagnostico> listarPorPet(int petId) {
+        return interno.listarPorPet(petId);
+    }
+
+    @Override
+    public List<Diagnostico> listarPorVeterinario(int veterinarioId) {
+        return interno.listarPorVeterinario(veterinarioId);
+    }
+
+    @Override
+    public List<Diagnostico> buscarPorTexto(String consulta) {
+        return interno.buscarPorTexto(consulta);
+    }
+
+    @Override
+    public int contarTermosIndexados() {
+        return interno.contarTermosIndexados();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,347 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.model.Veterinario;
+import br.com.veterinaria.persistencia.CodificadorRegistros;
+import br.com.veterinaria.persistencia.LogEscrita;
+import br.com.veterinaria.persistencia.Snapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fábrica do armazenamento persistente.
+ * Os dados ficam nos DAOs concorrentes em memória e cada alteração é gravada
+ * em um log de escrita antecipada no diretório de dados.
+ *
+ * O log é dividido em segmentos numerados (clinica-000001.wal, ...). De tempos
+ * em tempos é gerado um snapshot das tabelas (clinica-NNNNNN.snap, ver
+ * {@link Snapshot}) que substitui todos os segmentos anteriores ao NNNNNN,
+ * que são então apagados. Na abertura, o snapshot mais recente é carregado e
+ * só os segmentos posteriores a ele são reproduzidos.
+ *
+ * Gerar um snapshot não bloqueia os escritores: os locks de todas as listras
+ * ficam adquiridos apenas enquanto o log é rotacionado para um novo segmento.
+ * A cópia das tabelas é feita depois, com as escritas em andamento; como os
+ * registros do log são "upserts", reproduzir o novo segmento sobre essa cópia
+ * leva ao mesmo estado final.
+ */
+public class PersistentFabricaDAO implements FabricaDAO {
+    private static final Registrador LOG = Registrador.para("Persistência");
+
+    /** Nome do arquivo de log usado antes da divisão em segmentos (migrado na abertura). */
+    public static final String ARQUIVO_LOG = "clinica.wal";
+    /** Intervalo padrão entre snapshots, em minutos. */
+    public static final long INTERVALO_SNAPSHOT_PADRAO = 10;
+    /** Tamanho do segmento de log atual, em MB, que provoca um snapshot antecipado. */
+    public static final long LIMITE_LOG_PADRAO_MB = 64;
+
+    private static final String PREFIXO = "clinica-";
+    private static final String EXTENSAO_LOG = ".wal";
+    private static final String EXTENSAO_SNAPSHOT = ".snap";
+    private static final long VERIFICACAO_SEGUNDOS = 30;
+
+    private final Path diretorio;
+    private final LogEscrita log;
+    private final PersistentPetDAO petDAO;
+    private final PersistentClienteDAO clienteDAO;
+    private final PersistentVeterinarioDAO veterinarioDAO;
+    private final PersistentConsultaDAO consultaDAO;
+    private final PersistentDiagnosticoDAO diagnosticoDAO;
+    private final PersistentPrescricaoDAO prescricaoDAO;
+    private final PersistentMedicamentoDAO medicamentoDAO;
+
+    private final long intervaloSnapshotMillis;
+    private final long limiteLogBytes;
+    private final ScheduledExecutorService agendador;
+    private long segmentoAtual;
+    private long ultimoSnapshot;
+
+    /**
+     * Abre o armazenamento persistente com a política de snapshots padrão.
+     * @param diretorio O diretório de dados (criado se não existir).
+     * @param sincronizar Se true, cada lote do log é sincronizado com fsync.
+     * @throws IOException Se o diretório, o snapshot ou o log não puderem ser abertos.
+     */
+    public PersistentFabricaDAO(Path diretorio, boolean sincronizar) throws IOException {
+        this(diretorio, sincronizar, INTERVALO_SNAPSHOT_PADRAO, LIMITE_LOG_PADRAO_MB);
+    }
+
+    /**
+     * Abre o armazenamento persistente: carrega o snapshot mais recente e
+     * reproduz os segmentos de log posteriores a ele.
+     * @param diretorio O diretório de dados (criado se não existir).
+     * @param sincronizar Se true, cada lote do log é sincronizado com fsync.
+     * @param intervaloSnapshotMinutos Intervalo entre snapshots periódicos (0 desativa).
+     * @param limiteLogMB Tamanho do segmento atual que provoca um snapshot (0 desativa).
+     * @throws IOException Se o diretório, o snapshot ou o log não puderem ser abertos.
+     */
+    public PersistentFabricaDAO(Path diretorio, boolean sincronizar, long intervaloSnapshotMinutos, long limiteLogMB) throws IOException {
+        Files.createDirectories(diretorio);
+        this.diretorio = diretorio;
+        migrarLogLegado();
+
+        ClienteDAO clientes = new ConcurrentClienteDAO();
+        VeterinarioDAO veterinarios = new ConcurrentVeterinarioDAO();
+        PetDAO pets = new ConcurrentPetDAO();
+        ConsultaDAO consultas = new ConcurrentConsultaDAO();
+        DiagnosticoDAO diagnosticos = new ConcurrentDiagnosticoDAO();
+        PrescricaoDAO prescricoes = new ConcurrentPrescricaoDAO();
+        MedicamentoDAO medicamentos = new ConcurrentMedicamentoDAO();
+
+        long inicio = System.nanoTime();
+        int[] maiorId = new int[CodificadorRegistros.TIPO_MEDICAMENTO + 1];
+        List<Long> snapshots = listar(EXTENSAO_SNAPSHOT);
+        long segmentoInicial = 0;
+        if (!snapshots.isEmpty()) {
+            long ultimo = snapshots.get(snapshots.size() - 1);
+            segmentoInicial = Snapshot.carregar(arquivo(ultimo, EXTENSAO_SNAPSHOT), clientes, veterinarios, pets, consultas,
+                    medicamentos, diagnosticos, prescricoes, maiorId);
+            LOG.info("Snapshot {} carregado em {} ms.", arquivo(ultimo, EXTENSAO_SNAPSHOT).getFileName(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        }
+
+        int registros = 0;
+        long ultimoSegmento = segmentoInicial;
+        for (long segmento : listar(EXTENSAO_LOG)) {
+            if (segmento < segmentoInicial) {
+                apagar(arquivo(segmento, EXTENSAO_LOG)); // Já incluído no snapshot
+                continue;
+            }
+            registros += LogEscrita.reproduzir(arquivo(segmento, EXTENSAO_LOG), registro -> {
+                int[] afetado = CodificadorRegistros.aplicar(registro, clientes, veterinarios, pets, consultas,
+                        medicamentos, diagnosticos, prescricoes);
+                maiorId[afetado[0]] = Math.max(maiorId[afetado[0]], afetado[1]);
+            });
+            ultimoSegmento = segmento;
+        }
+        apagarSnapshotsAnteriores(segmentoInicial);
+        // Os próximos objetos criados não podem reutilizar IDs já gravados
+        Cliente.reservarIdsAte(maiorId[CodificadorRegistros.TIPO_CLIENTE]);
+        Veterinario.reservarIdsAte(maiorId[CodificadorRegistros.TIPO_VETERINARIO]);
+        Pet.reservarIdsAte(maiorId[CodificadorRegistros.TIPO_PET]);
+        Consulta.reservarIdsAte(maiorId[CodificadorRegistros.TIPO_CONSULTA]);
+        Diagnostico.reservarIdsAte(maiorId[CodificadorRegistros.TIPO_DIAGNOSTICO]);
+        Prescricao.reservarIdsAte(maiorId[CodificadorRegistros.TIPO_PRESCRICAO]);
+        reservarIdsDeMedicamentos(medicamentos);
+        LOG.info("{} registros de log reproduzidos em {} ms (total da abertura).", registros, (System.nanoTime() - inicio) / 1_000_000);
+
+        this.segmentoAtual = ultimoSegmento;
+        this.log = new LogEscrita(arquivo(segmentoAtual, EXTENSAO_LOG), sincronizar);
+        this.clienteDAO = new PersistentClienteDAO(clientes, log);
+        this.veterinarioDAO = new PersistentVeterinarioDAO(veterinarios, log);
+        this.petDAO = new PersistentPetDAO(pets, log);
+        this.consultaDAO = new PersistentConsultaDAO(consultas, log);
+        this.diagnosticoDAO = new PersistentDiagnosticoDAO(diagnosticos, log);
+        this.prescricaoDAO = new PersistentPrescricaoDAO(prescricoes, log);
+        this.medicamentoDAO = new PersistentMedicamentoDAO(medicamentos, log);
+
+        this.intervaloSnapshotMillis = TimeUnit.MINUTES.toMillis(intervaloSnapshotMinutos);
+        this.limiteLogBytes = limiteLogMB * 1024 * 1024;
+        this.ultimoSnapshot = System.currentTimeMillis();
+        if (intervaloSnapshotMillis > 0 || limiteLogBytes > 0) {
+            this.agendador = Executors.newSingleThreadScheduledExecutor(tarefa -> {
+                Thread thread = new Thread(tarefa, "snapshot");
+                thread.setDaemon(true);
+                return thread;
+            });
+            agendador.scheduleWithFixedDelay(this::verificarSnapshot, VERIFICACAO_SEGUNDOS, VERIFICACAO_SEGUNDOS, TimeUnit.SECONDS);
+        } else {
+            this.agendador = null;
+        }
+    }
+
+    /**
+     * Gera um snapshot das tabelas e apaga os segmentos de log que ele substitui.
+     * As escritas continuam durante a geração, exceto pelo breve instante da rotação do log.
+     * @throws UncheckedIOException Se o snapshot não puder ser gravado.
+     */
+    public synchronized void gerarSnapshot() {
+        long inicio = System.nanoTime();
+        long novoSegmento = segmentoAtual + 1;
+        try {
+            // Ponto de corte: nenhuma escrita fica entre o log e os DAOs enquanto o log é rotacionado
+            clienteDAO.travarTodas();
+            veterinarioDAO.travarTodas();
+            petDAO.travarTodas();
+            consultaDAO.travarTodas();
+            medicamentoDAO.travarTodas();
+            diagnosticoDAO.travarTodas();
+            prescricaoDAO.travarTodas();
+            try {
+                log.rotacionar(arquivo(novoSegmento, EXTENSAO_LOG));
+            } finally {
+                prescricaoDAO.destravarTodas();
+                diagnosticoDAO.destravarTodas();
+                medicamentoDAO.destravarTodas();
+                consultaDAO.destravarTodas();
+                petDAO.destravarTodas();
+                veterinarioDAO.destravarTodas();
+                clienteDAO.destravarTodas();
+            }
+            log.aguardarRotacao();
+            segmentoAtual = novoSegmento;
+
+            Snapshot.gravar(arquivo(novoSegmento, EXTENSAO_SNAPSHOT), novoSegmento,
+                    clienteDAO.interno.listarTodos(), veterinarioDAO.interno.listarTodos(),
+                    petDAO.interno.listarTodos(), consultaDAO.interno.listarTodos(), medicamentoDAO.interno.listarTodos(),
+                    diagnosticoDAO.interno.listarTodos(), prescricaoDAO.interno.listarTodos());
+            for (long segmento : listar(EXTENSAO_LOG)) {
+                if (segmento < novoSegmento) {
+                    apagar(arquivo(segmento, EXTENSAO_LOG));
+                }
+            }
+            apagarSnapshotsAnteriores(novoSegmento);
+            ultimoSnapshot = System.currentTimeMillis();
+            LOG.info("Snapshot {} gerado em {} ms.", arquivo(novoSegmento, EXTENSAO_SNAPSHOT).getFileName(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível gerar o snapshot", e);
+        }
+    }
+
+    @Override
+    public PetDAO criarPetDAO() {
+        return petDAO;
+    }
+
+    @Override
+    public ClienteDAO criarClienteDAO() {
+        return clienteDAO;
+    }
+
+    @Override
+    public VeterinarioDAO criarVeterinarioDAO() {
+        return veterinarioDAO;
+    }
+
+    @Override
+    public ConsultaDAO criarConsultaDAO() {
+        return consultaDAO;
+    }
+
+    @Override
+    public DiagnosticoDAO criarDiagnosticoDAO() {
+        return diagnosticoDAO;
+    }
+
+    @Override
+    public PrescricaoDAO criarPrescricaoDAO() {
+        return prescricaoDAO;
+    }
+
+    @Override
+    public MedicamentoDAO criarMedicamentoDAO() {
+        return medicamentoDAO;
+    }
+
+    /**
+     * Encerra os snapshots periódicos, gera um snapshot final (se houver algo
+     * no log) e fecha o log, para que a próxima abertura seja rápida.
+     */
+    @Override
+    public void fechar() {
+        if (agendador != null) {
+            agendador.shutdownNow();
+        }
+        try {
+            if (log.tamanho() > 0) {
+                gerarSnapshot();
+            }
+        } catch (RuntimeException e) {
+            LOG.erro("Erro ao gerar o snapshot final: {}", e.getMessage());
+        }
+        try {
+            log.close();
+        } catch (IOException e) {
+            LOG.erro("Erro ao fechar o log: {}", e.getMessage());
+        }
+    }
+
+    // --- Auxiliares ---
+
+    private void verificarSnapshot() {
+        try {
+            boolean logGrande = limiteLogBytes > 0 && log.tamanho() >= limiteLogBytes;
+            boolean intervaloVencido = intervaloSnapshotMillis > 0 && log.tamanho() > 0
+                    && System.currentTimeMillis() - ultimoSnapshot >= intervaloSnapshotMillis;
+            if (logGrande || intervaloVencido) {
+                gerarSnapshot();
+            }
+        } catch (RuntimeException e) {
+            // Não interrompe o agendamento: o log continua garantindo a durabilidade
+            LOG.erro("Erro ao gerar o snapshot: {}", e.getMessage());
+        }
+    }
+
+    /** Inclui os medicamentos que entraram no catálogo a partir de prescrições gravadas antes dele. */
+    private static void reservarIdsDeMedicamentos(MedicamentoDAO catalogo) {
+        int maior = 0;
+        for (Medicamento medicamento : catalogo.listarTodos()) {
+            maior = Math.max(maior, medicamento.getId());
+        }
+        Medicamento.reservarIdsAte(maior);
+    }
+
+    private Path arquivo(long segmento, String extensao) {
+        return diretorio.resolve(String.format("%s%06d%s", PREFIXO, segmento, extensao));
+    }
+
+    /** Lista os números dos arquivos com a extensão informada, em ordem crescente. */
+    private List<Long> listar(String extensao) throws IOException {
+        List<Long> numeros = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, PREFIXO + "*" + extensao)) {
+            for (Path arquivo : arquivos) {
+                String nome = arquivo.getFileName().toString();
+                try {
+                    numeros.add(Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - extensao.length())));
+                } catch (NumberFormatException e) {
+                    LOG.aviso("Ignorando arquivo desconhecido: {}", arquivo);
+                }
+            }
+        }
+        Collections.sort(numeros);
+        return numeros;
+    }
+
+    private void apagarSnapshotsAnteriores(long segmento) throws IOException {
+        for (long anterior : listar(EXTENSAO_SNAPSHOT)) {
+            if (anterior < segmento) {
+                apagar(arquivo(anterior, EXTENSAO_SNAPSHOT));
+            }
+        }
+    }
+
+    private static void apagar(Path arquivo) {
+        try {
+            Files.deleteIfExists(arquivo);
+        } catch (IOException e) {
+            // Ex: snapshot ainda mapeado em memória no Windows; será apagado na próxima abertura
+            LOG.aviso("Não foi possível apagar {}: {}", arquivo, e.getMessage());
+        }
+    }
+
+    /** Renomeia o log de antes da divisão em segmentos para o segmento 0. */
+    private void migrarLogLegado() throws IOException {
+        Path legado = diretorio.resolve(ARQUIVO_LOG);
+        if (Files.exists(legado)) {
+            Files.move(legado, arquivo(0, EXTENSAO_LOG), StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+}
\ No newline at end of file
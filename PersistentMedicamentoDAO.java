@@ -0,0 +1,41 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.persistencia.CodificadorRegistros;
+import br.com.veterinaria.persistencia.LogEscrita;
+
+import java.util.List;
+
+/**
+ * DAO persistente do catálogo de medicamentos.
+ */
+public class PersistentMedicamentoDAO extends PersistentRepositorio<Medicamento, MedicamentoDAO> implements MedicamentoDAO {
+    public PersistentMedicamentoDAO(MedicamentoDAO interno, LogEscrita log) {
+        super(interno, log);
+    }
+
+    @Override
+    protected int idDe(Medicamento medicamento) {
+        return medicamento.getId();
+    }
+
+    @Override
+    protected byte[] registroSalvar(Medicamento medicamento) {
+        return CodificadorRegistros.salvar(medicamento);
+    }
+
+    @Override
+    protected byte[] registroRemover(int id) {
+        return CodificadorRegistros.remover(CodificadorRegistros.TIPO_MEDICAMENTO, id);
+    }
+
+    @Override
+    public Medicamento buscarPorNome(String nome) {
+        return interno.buscarPorNome(nome);
+    }
+
+    @Override
+    public List<Medicamento> listarPorPrefixo(String prefixo, int limite) {
+        return interno.listarPorPrefixo(prefixo, limite);
+    }
+}
\ No newline at end of file
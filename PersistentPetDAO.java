@@ -0,0 +1,62 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.persistencia.CodificadorRegistros;
+import br.com.veterinaria.persistencia.LogEscrita;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * DAO persistente da entidade Pet.
+ */
+public class PersistentPetDAO extends PersistentRepositorio<Pet, PetDAO> implements PetDAO {
+    public PersistentPetDAO(PetDAO interno, LogEscrita log) {
+        super(interno, log);
+    }
+
+    @Override
+    protected int idDe(Pet pet) {
+        return pet.getId();
+    }
+
+    @Override
+    protected byte[] registroSalvar(Pet pet) {
+        return CodificadorRegistros.salvar(pet);
+    }
+
+    @Override
+    protected byte[] registroRemover(int id) {
+        return CodificadorRegistros.remover(CodificadorRegistros.TIPO_PET, id);
+    }
+
+    @Override
+    public List<Pet> listarPorProprietario(int clienteId) {
+        return interno.listarPorProprietario(clienteId);
+    }
+
+    @Override
+    public int contarPorProprietario(int clienteId) {
+        return interno.contarPorProprietario(clienteId);
+    }
+
+    @Override
+    public List<Pet> listarPorPrefixo(String prefixo, int limite) {
+        return interno.listarPorPrefixo(prefixo, limite);
+    }
+
+    @Override
+    public List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas) {
+        return interno.listarPorEspecieERaca(especies, racas);
+    }
+
+    @Override
+    public List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas, int deslocamento, int limite) {
+        return interno.listarPorEspecieERaca(especies, racas, deslocamento, limite);
+    }
+
+    @Override
+    public int contarPorEspecieERaca(BitSet especies, BitSet racas) {
+        return interno.contarPorEspecieERaca(especies, racas);
+    }
+}
\ No newline at end of file
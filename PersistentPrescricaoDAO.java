@@ -0,0 +1,46 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.persistencia.CodificadorRegistros;
+import br.com.veterinaria.persistencia.LogEscrita;
+
+import java.util.List;
+
+/**
+ * DAO persistente da entidade Prescricao.
+ */
+public class PersistentPrescricaoDAO extends PersistentRepositorio<Prescricao, PrescricaoDAO> implements PrescricaoDAO {
+    public PersistentPrescricaoDAO(PrescricaoDAO interno, LogEscrita log) {
+        super(interno, log);
+    }
+
+    @Override
+    protected int idDe(Prescricao prescricao) {
+        return prescricao.getId();
+    }
+
+    @Override
+    protected byte[] registroSalvar(Prescricao prescricao) {
+        return CodificadorRegistros.salvar(prescricao);
+    }
+
+    @Override
+    protected byte[] registroRemover(int id) {
+        return CodificadorRegistros.remover(CodificadorRegistros.TIPO_PRESCRICAO, id);
+    }
+
+    @Override
+    public List<Prescricao> listarPorConsulta(int consultaId) {
+        return interno.listarPorConsulta(consultaId);
+    }
+
+    @Override
+    public List<Prescricao> listarPorPet(int petId) {
+        return interno.listarPorPet(petId);
+    }
+
+    @Override
+    public List<Prescricao> listarPorVeterinario(int veterinarioId) {
+        return interno.listarPorVeterinario(veterinarioId);
+    }
+}
\ No newline at end of file
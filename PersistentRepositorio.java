@@ -0,0 +1,150 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.persistencia.LogEscrita;
+
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Base dos DAOs persistentes. Decora um DAO concorrente em memória e grava
+ * cada adicionar/atualizar/remover no {@link LogEscrita} antes de aplicá-lo.
+ *
+ * A ordem no log precisa ser a mesma ordem em que as alterações de uma mesma
+ * entidade foram aplicadas, então anexar ao log e aplicar acontecem sob o lock
+ * da listra do ID. O ID já vem da entidade (o DAO interno não gera IDs), então
+ * o registro anexado antes de aplicar tem o mesmo ID com que a entidade é
+ * guardada. A espera pela gravação em disco (commit em grupo) acontece depois
+ * de liberar o lock, para que outras escritas sigam em paralelo.
+ * Leituras são repassadas diretamente ao DAO interno.
+ * @param <T> O tipo de entidade.
+ * @param <D> O tipo do DAO interno.
+ */
+public abstract class PersistentRepositorio<T, D extends Repositorio<T>> implements Repositorio<T> {
+    private static final int LISTRAS = 64; // Potência de 2
+
+    protected final D interno;
+    private final LogEscrita log;
+    private final ReentrantLock[] listras = new ReentrantLock[LISTRAS];
+
+    protected PersistentRepositorio(D interno, LogEscrita log) {
+        this.interno = interno;
+        this.log = log;
+        for (int i = 0; i < LISTRAS; i++) {
+            listras[i] = new ReentrantLock();
+        }
+    }
+
+    /** Retorna o ID da entidade. */
+    protected abstract int idDe(T entidade);
+
+    /** Codifica o estado completo da entidade como registro de log. */
+    protected abstract byte[] registroSalvar(T entidade);
+
+    /** Codifica a remoção da entidade como registro de log. */
+    protected abstract byte[] registroRemover(int id);
+
+    /**
+     * Adquire os locks de todas as listras, em ordem. Enquanto estiverem
+     * adquiridos, nenhuma escrita está entre anexar ao log e aplicar no DAO
+     * interno: é o ponto de corte usado para gerar um snapshot.
+     */
+    void travarTodas() {
+        for (ReentrantLock lock : listras) {
+            lock.lock();
+        }
+    }
+
+    /** Libera os locks adquiridos por {@link #travarTodas}. */
+    void destravarTodas() {
+        for (int i = LISTRAS - 1; i >= 0; i--) {
+            listras[i].unlock();
+        }
+    }
+
+    private ReentrantLock listra(int id) {
+        int h = id * 0x9E3779B9;
+        return listras[(h ^ (h >>> 16)) & (LISTRAS - 1)];
+    }
+
+    @Override
+    public void adicionar(T entidade) {
+        if (entidade == null) {
+            interno.adicionar(null); // O DAO interno reporta o erro
+            return;
+        }
+        long sequencia;
+        ReentrantLock lock = listra(idDe(entidade));
+        lock.lock();
+        try {
+            sequencia = log.anexar(registroSalvar(entidade));
+            interno.adicionar(entidade);
+        } finally {
+            lock.unlock();
+        }
+        log.aguardar(sequencia);
+    }
+
+    @Override
+    public T buscarPorId(int id) {
+        return interno.buscarPorId(id);
+    }
+
+    @Override
+    public List<T> listarTodos() {
+        return interno.listarTodos();
+    }
+
+    @Override
+    public List<T> listar(int deslocamento, int limite) {
+        return interno.listar(deslocamento, limite);
+    }
+
+    @Override
+    public void atualizar(T entidade) {
+        if (entidade == null) {
+            interno.atualizar(null);
+            return;
+        }
+        int id = idDe(entidade);
+        long sequencia;
+        ReentrantLock lock = listra(id);
+        lock.lock();
+        try {
+            if (interno.buscarPorId(id) == null) {
+                return; // Não há o que atualizar nem registrar
+            }
+            sequencia = log.anexar(registroSalvar(entidade));
+            interno.atualizar(entidade);
+        } finally {
+            lock.unlock();
+        }
+        log.aguardar(sequencia);
+    }
+
+    @Override
+    public boolean remover(T entidade) {
+        if (entidade == null) {
+            return interno.remover(null);
+        }
+        int id = idDe(entidade);
+        long sequencia;
+        ReentrantLock lock = listra(id);
+        lock.lock();
+        try {
+            if (interno.buscarPorId(id) == null) {
+                return false;
+            }
+            sequencia = log.anexar(registroRemover(id));
+            interno.remover(entidade);
+        } finally {
+            lock.unlock();
+        }
+        log.aguardar(sequencia);
+        return true;
+    }
+
+    @Override
+    public int contar() {
+        return interno.contar();
+    }
+}
\ No newline at end of file
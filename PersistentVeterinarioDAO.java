@@ -0,0 +1,36 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Veterinario;
+import br.com.veterinaria.persistencia.CodificadorRegistros;
+import br.com.veterinaria.persistencia.LogEscrita;
+
+import java.util.List;
+
+/**
+ * DAO persistente da entidade Veterinario.
+ */
+public class PersistentVeterinarioDAO extends PersistentRepositorio<Veterinario, VeterinarioDAO> implements VeterinarioDAO {
+    public PersistentVeterinarioDAO(VeterinarioDAO interno, LogEscrita log) {
+        super(interno, log);
+    }
+
+    @Override
+    protected int idDe(Veterinario veterinario) {
+        return veterinario.getId();
+    }
+
+    @Override
+    protected byte[] registroSalvar(Veterinario veterinario) {
+        return CodificadorRegistros.salvar(veterinario);
+    }
+
+    @Override
+    protected byte[] registroRemover(int id) {
+        return CodificadorRegistros.remover(CodificadorRegistros.TIPO_VETERINARIO, id);
+    }
+
+    @Override
+    public List<Veterinario> listarPorPrefixo(String prefixo, int limite) {
+        return interno.listarPorPrefixo(prefixo, limite);
+    }
+}
\ No newline at end of file
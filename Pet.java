@@ -1,14 +1,17 @@
 package br.com.veterinaria.model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Pet {
-    // Contador estático para gerar IDs únicos para cada novo pet
-    private static int nextId = 1;
+    // Contador estático para gerar IDs únicos para cada novo pet (atômico, seguro para uso por várias threads)
+    private static final AtomicInteger nextId = new AtomicInteger(1);
 
     // Atributos do pet
     private int id; // ID único do pet
     private String nome;
-    private String especie;
-    private String raca;
+    // Espécie e raça como códigos das tabelas compartilhadas (ver Dicionario), sem sinal
+    private short codigoEspecie;
+    private short codigoRaca;
     private int idade;
     private Cliente proprietario; // O proprietário (cliente) do pet
 
@@ -22,14 +25,23 @@ public class Pet {
      * @param proprietario O objeto Cliente que é o proprietário do pet.
      */
     public Pet(String nome, String especie, String raca, int idade, Cliente proprietario) {
-        this.id = nextId++; // Atribui um ID único e incrementa o contador
+        this.id = nextId.getAndIncrement(); // Atribui um ID único e incrementa o contador
         this.nome = nome;
-        this.especie = especie;
-        this.raca = raca;
+        setEspecie(especie);
+        setRaca(raca);
         this.idade = idade;
         this.proprietario = proprietario;
     }
 
+    /**
+     * Garante que os próximos IDs gerados sejam maiores que o ID informado.
+     * Usado ao recarregar dados persistidos, para não repetir IDs já gravados.
+     * @param id O maior ID já existente.
+     */
+    public static void reservarIdsAte(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
     // --- Getters ---
 
     /**
@@ -53,7 +65,16 @@ public class Pet {
      * @return A espécie do pet.
      */
     public String getEspecie() {
-        return especie;
+        return Dicionario.ESPECIES.texto(getCodigoEspecie());
+    }
+
+    /**
+     * Retorna o código da espécie em {@link Dicionario#ESPECIES}, para filtros
+     * que comparam códigos em vez de textos.
+     * @return O código da espécie (0 se não informada).
+     */
+    public int getCodigoEspecie() {
+        return Short.toUnsignedInt(codigoEspecie);
     }
 
     /**
@@ -61,7 +82,15 @@ public class Pet {
      * @return A raça do pet.
      */
     public String getRaca() {
-        return raca;
+        return Dicionario.RACAS.texto(getCodigoRaca());
+    }
+
+    /**
+     * Retorna o código da raça em {@link Dicionario#RACAS}.
+     * @return O código da raça (0 se não informada).
+     */
+    public int getCodigoRaca() {
+        return Short.toUnsignedInt(codigoRaca);
     }
 
     /**
@@ -103,7 +132,7 @@ public class Pet {
      * @param especie A nova espécie para o pet.
      */
     public void setEspecie(String especie) {
-        this.especie = especie;
+        this.codigoEspecie = (short) Dicionario.ESPECIES.codificar(especie);
     }
 
     /**
@@ -111,7 +140,7 @@ public class Pet {
      * @param raca A nova raça para o pet.
      */
     public void setRaca(String raca) {
-        this.raca = raca;
+        this.codigoRaca = (short) Dicionario.RACAS.codificar(raca);
     }
 
     /**
@@ -137,6 +166,6 @@ public class Pet {
      */
     @Override
     public String toString() {
-        return nome + " (" + especie + ", ID: " + id + ")";
+        return nome + " (" + getEspecie() + ", ID: " + id + ")";
     }
 }
\ No newline at end of file
@@ -0,0 +1,63 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Pet;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Contrato de armazenamento da entidade Pet.
+ */
+public interface PetDAO extends Repositorio<Pet> {
+    /**
+     * Lista os pets de um proprietário.
+     * @param clienteId O ID do cliente proprietário.
+     * @return Uma nova lista com os pets do cliente.
+     */
+    List<Pet> listarPorProprietario(int clienteId);
+
+    /**
+     * Conta os pets de um proprietário.
+     * @param clienteId O ID do cliente proprietário.
+     * @return A quantidade de pets do cliente.
+     */
+    int contarPorProprietario(int clienteId);
+
+    /**
+     * Lista os pets cujo nome começa com o prefixo, em ordem alfabética (busca
+     * enquanto o usuário digita). O nome é comparado sem diferenciar maiúsculas nem acentos.
+     * @param prefixo O início do nome.
+     * @param limite A quantidade máxima de resultados.
+     * @return Uma nova lista com até {@code limite} pets.
+     */
+    List<Pet> listarPorPrefixo(String prefixo, int limite);
+
+    /**
+     * Lista os pets de um conjunto de espécies e raças, comparando só os
+     * códigos da tabela ({@link br.com.veterinaria.model.Dicionario}) de cada
+     * pet; só os encontrados são copiados para a lista.
+     * @param especies Os códigos de espécie aceitos; null aceita qualquer uma.
+     * @param racas Os códigos de raça aceitos; null aceita qualquer uma.
+     * @return Uma nova lista com os pets encontrados, na ordem de inserção.
+     */
+    List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas);
+
+    /**
+     * Lista um trecho dos pets de um conjunto de espécies e raças (a
+     * paginação da busca); só os pets do trecho são copiados.
+     * @param especies Os códigos de espécie aceitos; null aceita qualquer uma.
+     * @param racas Os códigos de raça aceitos; null aceita qualquer uma.
+     * @param deslocamento Quantos pets encontrados pular desde o início.
+     * @param limite A quantidade máxima de pets.
+     * @return Uma nova lista com até {@code limite} pets, na ordem de inserção.
+     */
+    List<Pet> listarPorEspecieERaca(BitSet especies, BitSet racas, int deslocamento, int limite);
+
+    /**
+     * Conta os pets de um conjunto de espécies e raças, sem copiá-los.
+     * @param especies Os códigos de espécie aceitos; null aceita qualquer uma.
+     * @param racas Os códigos de raça aceitos; null aceita qualquer uma.
+     * @return O número de pets encontrados.
+     */
+    int contarPorEspecieERaca(BitSet especies, BitSet racas);
+}
\ No newline at end of file
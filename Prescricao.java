@@ -2,16 +2,17 @@ package br.com.veterinaria.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class Prescricao {
-    private static int nextId = 1;
+    private static final AtomicInteger nextId = new AtomicInteger(1); // Atômico: seguro para uso por várias threads
     private int id;
     private Consulta consulta;
     private Diagnostico diagnostico; // Associar o diagnóstico
     private List<Medicamento> medicamentos;
 
     public Prescricao(Consulta consulta, List<Medicamento> medicamentos) {
-        this.id = nextId++;
+        this.id = nextId.getAndIncrement();
         this.consulta = consulta;
         this.medicamentos = (medicamentos != null) ? new ArrayList<>(medicamentos) : new ArrayList<>();
         // O diagnóstico será setado após a criação no método realizarAtendimento
@@ -29,6 +30,15 @@ public class Prescricao {
         this.medicamentos = (medicamentos != null) ? new ArrayList<>(medicamentos) : new ArrayList<>();
     }
 
+    /**
+     * Garante que os próximos IDs gerados sejam maiores que o ID informado.
+     * Usado ao recarregar dados persistidos, para não repetir IDs já gravados.
+     * @param id O maior ID já existente.
+     */
+    public static void reservarIdsAte(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -0,0 +1,33 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Prescricao;
+
+import java.util.List;
+
+/**
+ * Contrato de armazenamento da entidade Prescricao.
+ * Prescrições só são incluídas (uma por atendimento) e as listagens devolvem
+ * os registros na ordem em que foram incluídos, ou seja, na ordem dos atendimentos.
+ */
+public interface PrescricaoDAO extends Repositorio<Prescricao> {
+    /**
+     * Lista as prescrições de uma consulta.
+     * @param consultaId O ID da consulta atendida.
+     * @return Uma nova lista com as prescrições da consulta.
+     */
+    List<Prescricao> listarPorConsulta(int consultaId);
+
+    /**
+     * Lista as prescrições de um pet (o seu histórico de atendimentos).
+     * @param petId O ID do pet.
+     * @return Uma nova lista com as prescrições do pet.
+     */
+    List<Prescricao> listarPorPet(int petId);
+
+    /**
+     * Lista as prescrições feitas por um veterinário.
+     * @param veterinarioId O ID do veterinário.
+     * @return Uma nova lista com as prescrições do veterinário.
+     */
+    List<Prescricao> listarPorVeterinario(int veterinarioId);
+}
\ No newline at end of file
@@ -19,6 +19,7 @@ public class PrescricaoGUI extends JFrame {
     private JLabel lblClienteNome;
     private JLabel lblVeterinarioNome;
     private JLabel lblDataConsulta;
+    private JLabel lblDiagnostico;
     private JTextArea taMedicamentos; // Para exibir a lista de medicamentos
     private JButton btnFechar;
 
@@ -29,7 +30,7 @@ public class PrescricaoGUI extends JFrame {
     public PrescricaoGUI(Prescricao prescricao) {
         this.prescricao = prescricao;
         setTitle("Detalhes da Prescrição");
-        setSize(450, 400);
+        setSize(450, 430);
         setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
         setLocationRelativeTo(null);
 
@@ -58,6 +59,8 @@ public class PrescricaoGUI extends JFrame {
         panel.add(new JLabel("Veterinário:"), gbc);
         gbc.gridy++;
         panel.add(new JLabel("Data da Consulta:"), gbc);
+        gbc.gridy++;
+        panel.add(new JLabel("Diagnóstico:"), gbc);
 
         // Campos de Exibição das Informações da Consulta
         gbc.gridx = 1;
@@ -78,6 +81,10 @@ public class PrescricaoGUI extends JFrame {
         lblDataConsulta = new JLabel();
         panel.add(lblDataConsulta, gbc);
 
+        gbc.gridy++;
+        lblDiagnostico = new JLabel();
+        panel.add(lblDiagnostico, gbc);
+
         // Rótulo para Medicamentos
         gbc.gridx = 0;
         gbc.gridy++;
@@ -126,6 +133,7 @@ public class PrescricaoGUI extends JFrame {
             lblVeterinarioNome.setText("N/A");
             lblDataConsulta.setText("N/A");
         }
+        lblDiagnostico.setText(prescricao.getDiagnostico() != null ? prescricao.getDiagnostico().getDescricao() : "N/A");
 
         // Exibe a lista de medicamentos
         List<Medicamento> medicamentos = prescricao.getMedicamentos();
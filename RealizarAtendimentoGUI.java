@@ -1,29 +1,37 @@
 package br.com.veterinaria.gui;
 
-import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.adapter.DataAdapter;
+import br.com.veterinaria.facade.ClinicaFacadeAsync;
+import br.com.veterinaria.facade.TipoEvento;
 import br.com.veterinaria.model.Consulta;
 import br.com.veterinaria.model.Medicamento;
 import br.com.veterinaria.model.Prescricao;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.text.SimpleDateFormat;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.List;
 
 public class RealizarAtendimentoGUI extends JFrame {
-    private ClinicaFacade facade;
+    private ClinicaFacadeAsync facade;
 
     private JComboBox<ConsultaComboBoxItem> cmbConsulta; // Changed to use ConsultaComboBoxItem directly
     private JTextArea txtDiagnostico;
     private JTextArea txtMedicamentos;
+    private JList<Medicamento> lstSugestoes; // Medicamentos do catálogo que começam com o nome sendo digitado
+    private DefaultListModel<Medicamento> sugestoesModel;
+    private Timer timerSugestoes; // Espera uma pausa na digitação antes de consultar o catálogo
     private JButton btnFinalizarAtendimento;
+    private static final int MAXIMO_SUGESTOES = 8;
+    private IndicadorCarregamento indicador; // Andamento das operações em segundo plano
 
-    private SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm");
-
-    public RealizarAtendimentoGUI(ClinicaFacade facade) {
+    public RealizarAtendimentoGUI(ClinicaFacadeAsync facade) {
         this.facade = facade;
         setTitle("Realizar Atendimento Veterinário");
         setSize(550, 450);
@@ -31,6 +39,7 @@ public class RealizarAtendimentoGUI extends JFrame {
         setLocationRelativeTo(null);
 
         initComponents();
+        assinarEventos(); // Antes da carga, para não perder alterações feitas enquanto ela acontece
         loadConsultas();
         addListeners();
     }
@@ -54,33 +63,145 @@ public class RealizarAtendimentoGUI extends JFrame {
         formPanel.add(new JLabel("Medicamentos (um por linha/separados por vírgula):"));
         txtMedicamentos = new JTextArea(5, 20);
         JScrollPane scrollMedicamentos = new JScrollPane(txtMedicamentos);
-        formPanel.add(scrollMedicamentos);
+        sugestoesModel = new DefaultListModel<>();
+        lstSugestoes = new JList<>(sugestoesModel);
+        lstSugestoes.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        lstSugestoes.setToolTipText("Clique duas vezes para completar o nome");
+        JScrollPane scrollSugestoes = new JScrollPane(lstSugestoes);
+        scrollSugestoes.setPreferredSize(new Dimension(130, 0));
+        JPanel medicamentosPanel = new JPanel(new BorderLayout(5, 0));
+        medicamentosPanel.add(scrollMedicamentos, BorderLayout.CENTER);
+        medicamentosPanel.add(scrollSugestoes, BorderLayout.EAST);
+        formPanel.add(medicamentosPanel);
 
         btnFinalizarAtendimento = new JButton("Finalizar Atendimento e Gerar Prescrição");
         formPanel.add(new JLabel(""));
         formPanel.add(btnFinalizarAtendimento);
 
         mainPanel.add(formPanel, BorderLayout.CENTER);
+
+        indicador = new IndicadorCarregamento();
+        mainPanel.add(indicador, BorderLayout.SOUTH);
         add(mainPanel);
     }
 
+    /**
+     * Mantém a lista de consultas em dia: consultas agendadas em outras telas
+     * aparecem e consultas atendidas ou removidas saem da lista.
+     */
+    private void assinarEventos() {
+        OuvintesTela ouvintes = new OuvintesTela(this, facade.getEventos());
+        ouvintes.aoOcorrer(TipoEvento.CONSULTA_AGENDADA, consulta -> {
+            cmbConsulta.addItem(new ConsultaComboBoxItem(consulta));
+            btnFinalizarAtendimento.setEnabled(true);
+        });
+        ouvintes.aoOcorrer(TipoEvento.CONSULTA_REMOVIDA, consulta -> {
+            for (int i = 0; i < cmbConsulta.getItemCount(); i++) {
+                if (cmbConsulta.getItemAt(i).getConsulta() == consulta) {
+                    cmbConsulta.removeItemAt(i);
+                    break;
+                }
+            }
+            btnFinalizarAtendimento.setEnabled(cmbConsulta.getItemCount() > 0);
+        });
+    }
+
     private void loadConsultas() {
-        cmbConsulta.removeAllItems();
-        List<Consulta> consultas = facade.buscarTodasAsConsultas();
+        btnFinalizarAtendimento.setEnabled(false); // Habilitado quando as consultas chegarem
+        indicador.executar("Carregando consultas", facade.buscarTodasAsConsultas(), consultas -> {
+            cmbConsulta.removeAllItems(); // A lista carregada já inclui consultas que chegaram por evento
+            if (consultas.isEmpty()) {
+                JOptionPane.showMessageDialog(this, "Não há consultas agendadas para atendimento.", "Aviso", JOptionPane.WARNING_MESSAGE);
+                return;
+            }
 
-        if (consultas.isEmpty()) {
-            JOptionPane.showMessageDialog(this, "Não há consultas agendadas para atendimento.", "Aviso", JOptionPane.WARNING_MESSAGE);
-            btnFinalizarAtendimento.setEnabled(false);
-            return;
-        }
+            for (Consulta consulta : consultas) {
+                cmbConsulta.addItem(new ConsultaComboBoxItem(consulta));
+            }
+            btnFinalizarAtendimento.setEnabled(true);
 
-        for (Consulta consulta : consultas) {
-            cmbConsulta.addItem(new ConsultaComboBoxItem(consulta));
+            // Pré-seleciona a consulta que está acontecendo agora, se houver
+            indicador.executar("Procurando consulta em andamento", facade.getConsultasEmAndamento(), this::selecionarEmAndamento);
+        });
+    }
+
+    private void selecionarEmAndamento(List<Consulta> emAndamento) {
+        if (!emAndamento.isEmpty()) {
+            for (int i = 0; i < cmbConsulta.getItemCount(); i++) {
+                if (cmbConsulta.getItemAt(i).getConsulta().getId() == emAndamento.get(0).getId()) {
+                    cmbConsulta.setSelectedIndex(i);
+                    break;
+                }
+            }
         }
     }
 
     private void addListeners() {
         btnFinalizarAtendimento.addActionListener(e -> finalizarAtendimento());
+
+        // Sugestões do catálogo para o nome sendo digitado (a linha ou trecho entre vírgulas do cursor)
+        timerSugestoes = new Timer(150, e -> loadSugestoes());
+        timerSugestoes.setRepeats(false);
+        txtMedicamentos.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                timerSugestoes.restart();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                timerSugestoes.restart();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+            }
+        });
+        lstSugestoes.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && lstSugestoes.getSelectedValue() != null) {
+                    completarMedicamento(lstSugestoes.getSelectedValue());
+                }
+            }
+        });
+    }
+
+    // Início do nome sendo digitado: do último separador (vírgula ou quebra de linha) antes do cursor até o cursor
+    private int inicioDoNomeAtual() {
+        String texto = txtMedicamentos.getText();
+        int cursor = Math.min(txtMedicamentos.getCaretPosition(), texto.length());
+        int inicio = cursor;
+        while (inicio > 0 && texto.charAt(inicio - 1) != ',' && texto.charAt(inicio - 1) != '\n') {
+            inicio--;
+        }
+        return inicio;
+    }
+
+    private void loadSugestoes() {
+        String texto = txtMedicamentos.getText();
+        int cursor = Math.min(txtMedicamentos.getCaretPosition(), texto.length());
+        String prefixo = texto.substring(inicioDoNomeAtual(), cursor).trim();
+        if (prefixo.isEmpty()) {
+            sugestoesModel.clear();
+            return;
+        }
+        facade.sugerirMedicamentos(prefixo, MAXIMO_SUGESTOES).thenAccept(sugestoes -> SwingUtilities.invokeLater(() -> {
+            sugestoesModel.clear();
+            for (Medicamento medicamento : sugestoes) {
+                sugestoesModel.addElement(medicamento);
+            }
+        }));
+    }
+
+    // Substitui o nome sendo digitado pelo nome completo do medicamento escolhido
+    private void completarMedicamento(Medicamento medicamento) {
+        int inicio = inicioDoNomeAtual();
+        int cursor = Math.min(txtMedicamentos.getCaretPosition(), txtMedicamentos.getText().length());
+        String espaco = inicio > 0 && txtMedicamentos.getText().charAt(inicio - 1) == ',' ? " " : "";
+        txtMedicamentos.replaceRange(espaco + medicamento.getNome(), inicio, cursor);
+        sugestoesModel.clear();
+        txtMedicamentos.requestFocusInWindow();
     }
 
     private void finalizarAtendimento() {
@@ -103,19 +224,24 @@ public class RealizarAtendimentoGUI extends JFrame {
             return;
         }
 
-        List<Medicamento> medicamentos = new ArrayList<>();
+        List<String> nomesMedicamentos = new ArrayList<>();
         if (!medicamentosTexto.isEmpty()) {
             String[] medsArray = medicamentosTexto.split("[,\\n]");
             for (String medName : medsArray) {
                 String trimmedMedName = medName.trim();
                 if (!trimmedMedName.isEmpty()) {
-                    medicamentos.add(new Medicamento(trimmedMedName, "Descrição Padrão", "1x ao dia"));
+                    nomesMedicamentos.add(trimmedMedName);
                 }
             }
         }
 
-        Prescricao prescricaoGerada = facade.realizarAtendimento(consultaSelecionada, diagnosticoDescricao, medicamentos);
+        // Os nomes são trocados pelas entradas do catálogo (incluindo os que ainda não existem) antes do atendimento
+        indicador.executar("Finalizando atendimento", facade.catalogarMedicamentos(nomesMedicamentos)
+                        .thenCompose(medicamentos -> facade.realizarAtendimento(consultaSelecionada, diagnosticoDescricao, medicamentos)),
+                this::mostrarPrescricao, btnFinalizarAtendimento);
+    }
 
+    private void mostrarPrescricao(Prescricao prescricaoGerada) {
         JOptionPane.showMessageDialog(this,
                 "Atendimento finalizado com sucesso!\nDiagnóstico: " + prescricaoGerada.getDiagnostico().getDescricao() +
                         "\nMedicamentos Prescritos: " + prescricaoGerada.getMedicamentos().size(),
@@ -123,8 +249,7 @@ public class RealizarAtendimentoGUI extends JFrame {
 
         txtDiagnostico.setText("");
         txtMedicamentos.setText("");
-        // Consider refreshing the list of consultations if the attended one should disappear
-        // loadConsultas();
+        // A consulta atendida sai da lista pelo evento CONSULTA_REMOVIDA
     }
 
     private class ConsultaComboBoxItem {
@@ -144,7 +269,7 @@ public class RealizarAtendimentoGUI extends JFrame {
                     " | Pet: " + consulta.getPet().getNome() +
                     " (" + consulta.getCliente().getNome() + ")" +
                     " | Vet: " + consulta.getVeterinario().getNome() +
-                    " | Data: " + dateFormat.format(consulta.getData());
+                    " | Data: " + DataAdapter.formatarDataHora(consulta.getDataMillis());
         }
     }
 }
\ No newline at end of file
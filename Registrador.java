@@ -0,0 +1,134 @@
+package br.com.veterinaria.log;
+
+/**
+ * Registra mensagens de log de uma parte da aplicação (a origem, como "DAO"
+ * ou "Facade", aparece entre colchetes em cada linha).
+ *
+ * As mensagens usam um modelo com "{}" no lugar de cada argumento, por exemplo
+ * {@code LOG.info("Pet '{}' cadastrado.", pet.getNome())}. O nível é verificado
+ * antes de qualquer outra coisa e a mensagem só é montada na thread de log,
+ * então uma chamada em um nível desativado não cria objetos e uma chamada em
+ * nível ativo não monta String na thread que registra. Como a formatação
+ * acontece depois, os argumentos devem ser valores que não mudam (nomes,
+ * números, datas que não serão alteradas), não entidades inteiras.
+ *
+ * Há versões com até três argumentos, para evitar o vetor de um varargs, e
+ * cada uma verifica o próprio nível: com DEBUG desativado, o JIT elimina a
+ * chamada inteira, inclusive o boxing de argumentos numéricos.
+ */
+public final class Registrador {
+    private final String origem;
+
+    private Registrador(String origem) {
+        this.origem = origem;
+    }
+
+    /**
+     * Cria o registrador de uma origem; normalmente guardado em um campo static final.
+     * @param origem O nome exibido entre colchetes nas mensagens.
+     * @return O registrador.
+     */
+    public static Registrador para(String origem) {
+        return new Registrador(origem);
+    }
+
+    public boolean isAtivo(NivelLog nivel) {
+        return SistemaLog.isAtivo(nivel);
+    }
+
+    public void debug(String modelo) {
+        if (SistemaLog.isAtivo(NivelLog.DEBUG)) {
+            SistemaLog.registrar(NivelLog.DEBUG, origem, modelo, null, null, null);
+        }
+    }
+
+    public void debug(String modelo, Object arg1) {
+        if (SistemaLog.isAtivo(NivelLog.DEBUG)) {
+            SistemaLog.registrar(NivelLog.DEBUG, origem, modelo, arg1, null, null);
+        }
+    }
+
+    public void debug(String modelo, Object arg1, Object arg2) {
+        if (SistemaLog.isAtivo(NivelLog.DEBUG)) {
+            SistemaLog.registrar(NivelLog.DEBUG, origem, modelo, arg1, arg2, null);
+        }
+    }
+
+    public void debug(String modelo, Object arg1, Object arg2, Object arg3) {
+        if (SistemaLog.isAtivo(NivelLog.DEBUG)) {
+            SistemaLog.registrar(NivelLog.DEBUG, origem, modelo, arg1, arg2, arg3);
+        }
+    }
+
+    public void info(String modelo) {
+        if (SistemaLog.isAtivo(NivelLog.INFO)) {
+            SistemaLog.registrar(NivelLog.INFO, origem, modelo, null, null, null);
+        }
+    }
+
+    public void info(String modelo, Object arg1) {
+        if (SistemaLog.isAtivo(NivelLog.INFO)) {
+            SistemaLog.registrar(NivelLog.INFO, origem, modelo, arg1, null, null);
+        }
+    }
+
+    public void info(String modelo, Object arg1, Object arg2) {
+        if (SistemaLog.isAtivo(NivelLog.INFO)) {
+            SistemaLog.registrar(NivelLog.INFO, origem, modelo, arg1, arg2, null);
+        }
+    }
+
+    public void info(String modelo, Object arg1, Object arg2, Object arg3) {
+        if (SistemaLog.isAtivo(NivelLog.INFO)) {
+            SistemaLog.registrar(NivelLog.INFO, origem, modelo, arg1, arg2, arg3);
+        }
+    }
+
+    public void aviso(String modelo) {
+        if (SistemaLog.isAtivo(NivelLog.AVISO)) {
+            SistemaLog.registrar(NivelLog.AVISO, origem, modelo, null, null, null);
+        }
+    }
+
+    public void aviso(String modelo, Object arg1) {
+        if (SistemaLog.isAtivo(NivelLog.AVISO)) {
+            SistemaLog.registrar(NivelLog.AVISO, origem, modelo, arg1, null, null);
+        }
+    }
+
+    public void aviso(String modelo, Object arg1, Object arg2) {
+        if (SistemaLog.isAtivo(NivelLog.AVISO)) {
+            SistemaLog.registrar(NivelLog.AVISO, origem, modelo, arg1, arg2, null);
+        }
+    }
+
+    public void aviso(String modelo, Object arg1, Object arg2, Object arg3) {
+        if (SistemaLog.isAtivo(NivelLog.AVISO)) {
+            SistemaLog.registrar(NivelLog.AVISO, origem, modelo, arg1, arg2, arg3);
+        }
+    }
+
+    public void erro(String modelo) {
+        if (SistemaLog.isAtivo(NivelLog.ERRO)) {
+            SistemaLog.registrar(NivelLog.ERRO, origem, modelo, null, null, null);
+        }
+    }
+
+    public void erro(String modelo, Object arg1) {
+        if (SistemaLog.isAtivo(NivelLog.ERRO)) {
+            SistemaLog.registrar(NivelLog.ERRO, origem, modelo, arg1, null, null);
+        }
+    }
+
+    public void erro(String modelo, Object arg1, Object arg2) {
+        if (SistemaLog.isAtivo(NivelLog.ERRO)) {
+            SistemaLog.registrar(NivelLog.ERRO, origem, modelo, arg1, arg2, null);
+        }
+    }
+
+    public void erro(String modelo, Object arg1, Object arg2, Object arg3) {
+        if (SistemaLog.isAtivo(NivelLog.ERRO)) {
+            SistemaLog.registrar(NivelLog.ERRO, origem, modelo, arg1, arg2, arg3);
+        }
+    }
+}
\ No newline at end of file
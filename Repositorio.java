@@ -0,0 +1,73 @@
+package br.com.veterinaria.dao;
+
+import java.util.List;
+
+/**
+ * Contrato genérico de armazenamento usado pela ClinicaFacade.
+ * Cada entidade tem a sua própria variante (PetDAO, ClienteDAO, VeterinarioDAO,
+ * ConsultaDAO), e cada mecanismo de armazenamento (em memória, concorrente,
+ * persistente...) fornece implementações dessas variantes através de uma
+ * {@link FabricaDAO}. Assim, o mecanismo pode ser trocado sem alterar a facade
+ * nem as telas.
+ * @param <T> O tipo de entidade armazenada.
+ */
+public interface Repositorio<T> {
+    /**
+     * Adiciona uma nova entidade ao armazenamento.
+     * @param entidade A entidade a ser adicionada.
+     */
+    void adicionar(T entidade);
+
+    /**
+     * Adiciona várias entidades, na ordem da lista. Usado na carga de um
+     * snapshot; mecanismos podem sobrescrever para carregar em paralelo.
+     * @param entidades As entidades a serem adicionadas.
+     */
+    default void adicionarTodos(List<T> entidades) {
+        for (T entidade : entidades) {
+            adicionar(entidade);
+        }
+    }
+
+    /**
+     * Busca uma entidade pelo seu ID.
+     * @param id O ID procurado.
+     * @return A entidade, ou null se não existir.
+     */
+    T buscarPorId(int id);
+
+    /**
+     * Lista todas as entidades, na ordem de inserção.
+     * @return Uma nova lista com as entidades.
+     */
+    List<T> listarTodos();
+
+    /**
+     * Lista um trecho das entidades, na ordem de inserção, sem copiar as
+     * demais: é a paginação das listagens (o total vem de {@link #contar()}).
+     * @param deslocamento Quantas entidades pular desde o início.
+     * @param limite A quantidade máxima de entidades devolvidas.
+     * @return Uma nova lista com até {@code limite} entidades.
+     */
+    List<T> listar(int deslocamento, int limite);
+
+    /**
+     * Atualiza uma entidade existente (identificada pelo ID).
+     * @param entidade A entidade com os dados atualizados.
+     */
+    void atualizar(T entidade);
+
+    /**
+     * Remove uma entidade (identificada pelo ID). Com chamadas simultâneas
+     * para a mesma entidade, só uma delas a remove e recebe true.
+     * @param entidade A entidade a ser removida.
+     * @return true se a entidade existia e foi removida por esta chamada.
+     */
+    boolean remover(T entidade);
+
+    /**
+     * Retorna a quantidade de entidades armazenadas.
+     * @return O número de entidades.
+     */
+    int contar();
+}
\ No newline at end of file
@@ -0,0 +1,262 @@
+package br.com.veterinaria.api;
+
+import br.com.veterinaria.dao.FabricaDAO;
+import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.DadosIniciais;
+import br.com.veterinaria.log.Registrador;
+import br.com.veterinaria.log.SistemaLog;
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servidor HTTP da {@link ApiClinica}, sobre o servidor embutido do JDK
+ * (com.sun.net.httpserver), sem interface gráfica.
+ *
+ * Cada requisição é atendida em uma thread virtual própria quando o JDK as
+ * tem (21 ou mais recente): uma requisição bloqueada no armazenamento
+ * persistente não prende uma thread do sistema, e milhares podem estar em
+ * andamento ao mesmo tempo. Em JDKs mais antigos é usado um pool de
+ * {@value #PROPRIEDADE_THREADS} threads comuns, com fila limitada.
+ *
+ * A memória fica limitada mesmo sob excesso de requisições: no máximo
+ * {@value #PROPRIEDADE_MAX_SIMULTANEAS} requisições são aceitas ao mesmo
+ * tempo (sem threads virtuais, no máximo as threads do pool mais a fila). A
+ * vaga é reservada quando o servidor entrega a requisição ao executor, na
+ * thread que aceita as conexões: sem vaga, a requisição vai para uma única
+ * thread de recusa, que responde 503 com Retry-After sem chegar às rotas, e a
+ * thread das conexões nunca executa requisições. Os corpos são limitados pela
+ * {@link ApiClinica}, e as listagens de clientes, pets, veterinários e
+ * consultas são paginadas pelos próprios DAOs: cada página copia só os seus
+ * itens, nunca a tabela inteira.
+ *
+ * Uso ({@code java -cp clinica-veterinaria.jar br.com.veterinaria.api.ServidorApi}
+ * ou {@code java -jar clinica-veterinaria.jar --servidor}), com as opções:
+ * <pre>
+ *   --porta=8080                 porta (padrão {@value #PROPRIEDADE_PORTA} ou 8080; 0 escolhe uma livre)
+ *   --armazenamento=concorrente  concorrente (padrão) ou persistente; memoria não é thread-safe
+ *   --dados=sintetico            dados iniciais: exemplo (padrão), nenhum ou sintetico
+ *   --simultaneas=10000          requisições aceitas ao mesmo tempo (sem threads virtuais, até threads * 5)
+ *   --threads=200                tamanho do pool, sem threads virtuais
+ * </pre>
+ */
+public final class ServidorApi {
+    private static final Registrador LOG = Registrador.para("ServidorApi");
+
+    /** Propriedade de sistema com a porta do servidor. */
+    public static final String PROPRIEDADE_PORTA = "clinica.api.porta";
+    /** Propriedade de sistema com o máximo de requisições atendidas ao mesmo tempo. */
+    public static final String PROPRIEDADE_MAX_SIMULTANEAS = "clinica.api.maxSimultaneas";
+    /** Propriedade de sistema com o tamanho do pool de threads, quando não há threads virtuais. */
+    public static final String PROPRIEDADE_THREADS = "clinica.api.threads";
+
+    private static final int PORTA_PADRAO = 8080;
+    private static final int MAX_SIMULTANEAS_PADRAO = 10_000;
+    private static final int THREADS_PADRAO = 200;
+    // Fila do pool, sem threads virtuais, em requisições por thread
+    private static final int FILA_POR_THREAD = 4;
+    // Requisições esperando a resposta 503; acima disso a conexão é fechada
+    private static final int FILA_RECUSAS = 1000;
+    // Conexões esperando o accept(): o padrão do sistema (50) recusa rajadas de clientes
+    private static final int FILA_CONEXOES = 1024;
+    private static final int SEGUNDOS_ENCERRAMENTO = 2;
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final ExecutorService recusas;
+    private final int maxSimultaneas;
+    private final boolean threadsVirtuais;
+
+    /**
+     * Cria o servidor, já associado à porta, mas sem atender requisições.
+     * @param facade A facade (com armazenamento thread-safe).
+     * @param porta A porta (0 escolhe uma livre; ver {@link #getPorta}).
+     * @param maxSimultaneas O máximo de requisições aceitas ao mesmo tempo (sem
+     *                       threads virtuais, limitado às threads mais a fila do pool).
+     * @param threads O tamanho do pool de threads, usado só sem threads virtuais.
+     * @throws IOException Se a porta não puder ser usada.
+     */
+    public ServidorApi(ClinicaFacade facade, int porta, int maxSimultaneas, int threads) throws IOException {
+        if (maxSimultaneas < 1 || threads < 1) {
+            throw new IllegalArgumentException("Parâmetros inválidos: " + maxSimultaneas
+                    + " requisições simultâneas, " + threads + " threads.");
+        }
+        ExecutorService virtual = criarExecutorVirtual();
+        this.threadsVirtuais = virtual != null;
+        if (virtual != null) {
+            this.executor = virtual;
+            this.maxSimultaneas = maxSimultaneas;
+        } else {
+            this.maxSimultaneas = Math.min(maxSimultaneas, threads * (1 + FILA_POR_THREAD));
+            // A fila comporta todas as vagas: a vaga é devolvida antes de a thread
+            // pegar a próxima requisição da fila, então a fila nunca enche
+            this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(this.maxSimultaneas));
+        }
+        // Acima da fila de recusas, a thread das conexões fecha a conexão sem responder
+        this.recusas = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(FILA_RECUSAS));
+        this.servidor = HttpServer.create(new InetSocketAddress(porta), FILA_CONEXOES);
+        HttpContext contexto = servidor.createContext(ApiClinica.CAMINHO, new ApiClinica(facade));
+        contexto.getFilters().add(new FiltroRecusa());
+        servidor.setExecutor(new ExecutorLimitado(executor, recusas, this.maxSimultaneas));
+    }
+
+    /**
+     * Executor entregue ao servidor: reserva uma vaga antes de passar a
+     * requisição adiante e, sem vaga, a passa para a thread de recusa, marcada
+     * para o {@link FiltroRecusa} responder 503.
+     */
+    private static final class ExecutorLimitado implements Executor {
+        private static final ThreadLocal<Boolean> RECUSANDO = new ThreadLocal<>();
+
+        private final Executor executor;
+        private final Executor recusas;
+        private final Semaphore vagas;
+
+        ExecutorLimitado(Executor executor, Executor recusas, int vagas) {
+            this.executor = executor;
+            this.recusas = recusas;
+            this.vagas = new Semaphore(vagas);
+        }
+
+        @Override
+        public void execute(Runnable requisicao) {
+            if (!vagas.tryAcquire()) {
+                recusas.execute(() -> {
+                    RECUSANDO.set(Boolean.TRUE);
+                    try {
+                        requisicao.run();
+                    } finally {
+                        RECUSANDO.remove();
+                    }
+                });
+                return;
+            }
+            try {
+                executor.execute(() -> {
+                    try {
+                        requisicao.run();
+                    } finally {
+                        vagas.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                vagas.release(); // Executor encerrado
+                throw e;
+            }
+        }
+
+        static boolean isRecusando() {
+            return RECUSANDO.get() != null;
+        }
+    }
+
+    /** Responde 503 às requisições passadas para a thread de recusa, sem chegar às rotas. */
+    private static final class FiltroRecusa extends Filter {
+        @Override
+        public void doFilter(HttpExchange troca, Chain cadeia) throws IOException {
+            if (ExecutorLimitado.isRecusando()) {
+                troca.getResponseHeaders().set("Retry-After", "1");
+                ApiClinica.recusar(troca, 503, "Servidor ocupado, tente novamente.");
+                return;
+            }
+            cadeia.doFilter(troca);
+        }
+
+        @Override
+        public String description() {
+            return "Recusa das requisições acima do limite de simultâneas";
+        }
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() existe a partir do Java 21; o projeto compila para o 17
+    private static ExecutorService criarExecutorVirtual() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Começa a atender requisições.
+     */
+    public void iniciar() {
+        servidor.start();
+        LOG.info("API da clínica atendendo em {} ({}, até {} requisições simultâneas)",
+                "http://localhost:" + getPorta() + ApiClinica.CAMINHO, threadsVirtuais ? "uma thread virtual por requisição"
+                        : "pool de threads, sem threads virtuais no JDK", maxSimultaneas);
+    }
+
+    /**
+     * Para de aceitar requisições, espera alguns segundos pelas que estão em
+     * andamento e libera as threads.
+     */
+    public void parar() {
+        servidor.stop(SEGUNDOS_ENCERRAMENTO);
+        executor.shutdown();
+        recusas.shutdown();
+        LOG.info("API da clínica encerrada.");
+    }
+
+    public int getPorta() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Retorna o máximo de requisições aceitas ao mesmo tempo; sem threads
+     * virtuais, pode ser menor que o pedido na criação.
+     * @return O máximo de requisições simultâneas.
+     */
+    public int getMaxSimultaneas() {
+        return maxSimultaneas;
+    }
+
+    public boolean isThreadsVirtuais() {
+        return threadsVirtuais;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                opcoes.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        String armazenamento = opcoes.getOrDefault("armazenamento", "concorrente");
+        if (armazenamento.equalsIgnoreCase("memoria")) {
+            throw new IllegalArgumentException("O armazenamento 'memoria' não é thread-safe: use 'concorrente' ou 'persistente'.");
+        }
+        if (opcoes.containsKey("dados")) {
+            System.setProperty(DadosIniciais.PROPRIEDADE_DADOS_INICIAIS, opcoes.get("dados"));
+        }
+
+        ClinicaFacade facade = new ClinicaFacade(FabricaDAO.porNome(armazenamento));
+        ServidorApi servidor = new ServidorApi(facade,
+                Integer.parseInt(opcoes.getOrDefault("porta", String.valueOf(Integer.getInteger(PROPRIEDADE_PORTA, PORTA_PADRAO)))),
+                Integer.parseInt(opcoes.getOrDefault("simultaneas",
+                        String.valueOf(Integer.getInteger(PROPRIEDADE_MAX_SIMULTANEAS, MAX_SIMULTANEAS_PADRAO)))),
+                Integer.parseInt(opcoes.getOrDefault("threads", String.valueOf(Integer.getInteger(PROPRIEDADE_THREADS, THREADS_PADRAO)))));
+        // Encerrado por Ctrl+C ou SIGTERM: termina as requisições e fecha o armazenamento (log gravado)
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            servidor.parar();
+            facade.fechar();
+            SistemaLog.fechar(); // Por último, para gravar as mensagens do encerramento
+        }));
+        servidor.iniciar();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,241 @@
+package br.com.veterinaria.log;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Configuração e thread de gravação do log da aplicação.
+ *
+ * As mensagens registradas pelos {@link Registrador}es vão para uma
+ * {@link FilaRegistros} sem locks; uma thread de fundo ("clinica-log") as
+ * retira, formata e grava em um {@link ArquivoRotativo}. Quem registra não
+ * espera E/S nem monta a mensagem: o modelo e os argumentos só viram texto na
+ * thread de log. Mensagens AVISO e ERRO também são copiadas para System.err.
+ *
+ * Configuração por propriedades de sistema:
+ * {@value #PROPRIEDADE_NIVEL} (DEBUG, INFO, AVISO, ERRO ou DESLIGADO; padrão INFO),
+ * {@value #PROPRIEDADE_ARQUIVO} (padrão "logs/clinica.log"),
+ * {@value #PROPRIEDADE_TAMANHO_MAXIMO} (MB por arquivo; padrão 10),
+ * {@value #PROPRIEDADE_ARQUIVOS} (arquivos antigos mantidos; padrão 5),
+ * {@value #PROPRIEDADE_CAPACIDADE} (mensagens na fila; padrão 8192) e
+ * {@value #PROPRIEDADE_CONSOLE} ("true" copia todas as mensagens para System.out).
+ */
+public final class SistemaLog {
+    /** Propriedade de sistema com o nível mínimo registrado. */
+    public static final String PROPRIEDADE_NIVEL = "clinica.log.nivel";
+    /** Propriedade de sistema com o caminho do arquivo de log. */
+    public static final String PROPRIEDADE_ARQUIVO = "clinica.log.arquivo";
+    /** Propriedade de sistema com o tamanho, em MB, que provoca a rotação do arquivo. */
+    public static final String PROPRIEDADE_TAMANHO_MAXIMO = "clinica.log.tamanhoMaximoMB";
+    /** Propriedade de sistema com a quantidade de arquivos antigos mantidos. */
+    public static final String PROPRIEDADE_ARQUIVOS = "clinica.log.arquivos";
+    /** Propriedade de sistema com a capacidade da fila de mensagens. */
+    public static final String PROPRIEDADE_CAPACIDADE = "clinica.log.capacidade";
+    /** Propriedade de sistema que copia todas as mensagens para o console. */
+    public static final String PROPRIEDADE_CONSOLE = "clinica.log.console";
+
+    // Espera da thread de log quando a fila está vazia; quem registra nunca a acorda
+    private static final long ESPERA_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final DateTimeFormatter FORMATO_INSTANTE =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static volatile int nivelMinimo = nivelConfigurado().ordinal();
+    private static final boolean console = Boolean.getBoolean(PROPRIEDADE_CONSOLE);
+    private static final FilaRegistros fila = new FilaRegistros(Integer.getInteger(PROPRIEDADE_CAPACIDADE, 8192));
+    private static final Thread gravadora = new Thread(SistemaLog::gravar, "clinica-log");
+    private static volatile boolean encerrando;
+
+    // Usados apenas pela thread de log
+    private static final StringBuilder linha = new StringBuilder(256);
+    private static ArquivoRotativo arquivo;
+
+    static {
+        gravadora.setDaemon(true); // Não impede o encerramento; ver fechar()
+        gravadora.start();
+    }
+
+    private SistemaLog() {
+    }
+
+    /**
+     * Verifica se mensagens de um nível estão sendo registradas.
+     * @param nivel O nível.
+     * @return true se o nível é igual ou mais grave que o configurado.
+     */
+    public static boolean isAtivo(NivelLog nivel) {
+        return nivel.ordinal() >= nivelMinimo;
+    }
+
+    public static NivelLog getNivel() {
+        return NivelLog.values()[nivelMinimo];
+    }
+
+    /**
+     * Altera o nível mínimo registrado, inclusive com a aplicação em execução.
+     * @param nivel O novo nível.
+     */
+    public static void setNivel(NivelLog nivel) {
+        nivelMinimo = nivel.ordinal();
+    }
+
+    /**
+     * Grava as mensagens pendentes e fecha o arquivo de log. Mensagens
+     * registradas depois disso vão direto para System.err.
+     */
+    public static void fechar() {
+        encerrando = true;
+        LockSupport.unpark(gravadora);
+        try {
+            gravadora.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static NivelLog nivelConfigurado() {
+        String nome = System.getProperty(PROPRIEDADE_NIVEL, "INFO");
+        try {
+            return NivelLog.valueOf(nome.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("[Log] Nível de log desconhecido: '" + nome + "'. Usando INFO.");
+            return NivelLog.INFO;
+        }
+    }
+
+    // Chamado pelos registradores depois de verificar o nível
+    static void registrar(NivelLog nivel, String origem, String modelo, Object arg1, Object arg2, Object arg3) {
+        if (encerrando && !gravadora.isAlive()) {
+            StringBuilder texto = new StringBuilder();
+            formatar(texto, System.currentTimeMillis(), nivel, origem, Thread.currentThread().getName(), modelo, arg1, arg2, arg3);
+            System.err.print(texto);
+            return;
+        }
+        fila.oferecer(nivel, origem, modelo, arg1, arg2, arg3);
+    }
+
+    // Laço da thread de log
+    private static void gravar() {
+        abrirArquivo();
+        while (true) {
+            boolean encerrar = encerrando; // Lido antes de esvaziar a fila, para não perder mensagens
+            int gravadas = esvaziarFila();
+            if (gravadas == 0) {
+                descarregar();
+                if (encerrar) {
+                    break;
+                }
+                LockSupport.parkNanos(ESPERA_NANOS);
+            }
+        }
+        if (arquivo != null) {
+            try {
+                arquivo.fechar();
+            } catch (IOException e) {
+                System.err.println("[Log] Erro ao fechar o arquivo de log: " + e.getMessage());
+            }
+        }
+    }
+
+    private static void abrirArquivo() {
+        String caminho = System.getProperty(PROPRIEDADE_ARQUIVO, "logs/clinica.log");
+        try {
+            arquivo = new ArquivoRotativo(Paths.get(caminho),
+                    Long.getLong(PROPRIEDADE_TAMANHO_MAXIMO, 10) * 1024 * 1024,
+                    Integer.getInteger(PROPRIEDADE_ARQUIVOS, 5));
+        } catch (IOException e) {
+            System.err.println("[Log] Não foi possível abrir " + caminho + " (" + e.getMessage() + "); o log irá para System.err.");
+        }
+    }
+
+    private static int esvaziarFila() {
+        int gravadas = 0;
+        FilaRegistros.Registro registro;
+        while ((registro = fila.proximo()) != null) {
+            linha.setLength(0);
+            formatar(linha, registro.instante, registro.nivel, registro.origem, registro.thread,
+                    registro.modelo, registro.arg1, registro.arg2, registro.arg3);
+            NivelLog nivel = registro.nivel;
+            fila.liberar(registro); // A posição pode ser reaproveitada enquanto a linha é gravada
+            escrever(nivel);
+            gravadas++;
+        }
+        long descartadas = fila.retirarDescartados();
+        if (descartadas > 0) {
+            linha.setLength(0);
+            formatar(linha, System.currentTimeMillis(), NivelLog.AVISO, "Log", Thread.currentThread().getName(),
+                    "{} mensagens descartadas (fila de log cheia).", descartadas, null, null);
+            escrever(NivelLog.AVISO);
+        }
+        return gravadas;
+    }
+
+    private static void escrever(NivelLog nivel) {
+        if (nivel.compareTo(NivelLog.AVISO) >= 0) {
+            System.err.print(linha);
+        } else if (console) {
+            System.out.print(linha);
+        }
+        if (arquivo == null) {
+            if (nivel.compareTo(NivelLog.AVISO) < 0) {
+                System.err.print(linha); // Sem arquivo, o console é o único destino
+            }
+            return;
+        }
+        try {
+            byte[] bytes = linha.toString().getBytes(StandardCharsets.UTF_8);
+            arquivo.gravar(bytes, bytes.length);
+        } catch (IOException e) {
+            System.err.println("[Log] Erro ao gravar o arquivo de log: " + e.getMessage());
+        }
+    }
+
+    private static void descarregar() {
+        if (arquivo != null) {
+            try {
+                arquivo.descarregar();
+            } catch (IOException e) {
+                System.err.println("[Log] Erro ao gravar o arquivo de log: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Monta a linha "instante NIVEL [origem] (thread) mensagem", trocando cada
+     * "{}" do modelo pelo próximo argumento. Um Throwable que sobra depois dos
+     * "{}" tem o stack trace incluído nas linhas seguintes.
+     */
+    private static void formatar(StringBuilder destino, long instante, NivelLog nivel, String origem, String thread,
+                                 String modelo, Object arg1, Object arg2, Object arg3) {
+        FORMATO_INSTANTE.formatTo(Instant.ofEpochMilli(instante), destino);
+        destino.append(' ').append(nivel.name());
+        for (int i = nivel.name().length(); i < 5; i++) {
+            destino.append(' ');
+        }
+        destino.append(" [").append(origem).append("] (").append(thread).append(") ");
+        int usados = 0;
+        int inicio = 0;
+        int marcador;
+        while ((marcador = modelo.indexOf("{}", inicio)) >= 0 && usados < 3) {
+            destino.append(modelo, inicio, marcador);
+            destino.append(usados == 0 ? arg1 : usados == 1 ? arg2 : arg3);
+            usados++;
+            inicio = marcador + 2;
+        }
+        destino.append(modelo, inicio, modelo.length());
+        destino.append(System.lineSeparator());
+        Object sobra = usados == 0 ? arg1 : usados == 1 ? arg2 : usados == 2 ? arg3 : null;
+        if (sobra instanceof Throwable) {
+            StringWriter pilha = new StringWriter();
+            ((Throwable) sobra).printStackTrace(new PrintWriter(pilha));
+            destino.append(pilha);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,481 @@
+package br.com.veterinaria.persistencia;
+
+import br.com.veterinaria.dao.ClienteDAO;
+import br.com.veterinaria.dao.ConsultaDAO;
+import br.com.veterinaria.dao.DiagnosticoDAO;
+import br.com.veterinaria.dao.MedicamentoDAO;
+import br.com.veterinaria.dao.PetDAO;
+import br.com.veterinaria.dao.PrescricaoDAO;
+import br.com.veterinaria.dao.VeterinarioDAO;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.model.Veterinario;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Arquivo de snapshot das tabelas de clientes, veterinários, pets, consultas
+ * e do histórico clínico (catálogo de medicamentos, diagnósticos e prescrições).
+ *
+ * O formato tem layout fixo para ser lido direto de um arquivo mapeado em
+ * memória (FileChannel.map), sem interpretar registros de tamanho variável:
+ *
+ * [cabeçalho de {@value #TAMANHO_CABECALHO} bytes]
+ * [clientes: id, nome, telefone, email]                     16 bytes cada
+ * [veterinários: id, nome, crmv]                            12 bytes cada
+ * [pets: id, nome, espécie, raça, idade, proprietário]      24 bytes cada
+ * [consultas: id, pet, cliente, veterinário, data (long), duração]  28 bytes cada
+ * [quantidades: catálogo, diagnósticos, prescrições, itens prescritos]  16 bytes
+ * [catálogo de medicamentos: id, nome, descrição, dosagem]  16 bytes cada
+ * [diagnósticos: id, consulta atendida (*), descrição]      36 bytes cada
+ * [prescrições: id, consulta atendida (*), diagnóstico, nº de medicamentos]  40 bytes cada
+ * [itens prescritos, na ordem das prescrições: id do medicamento no catálogo]  4 bytes cada
+ * [área de textos: [int tamanho][UTF-8] ...]
+ *
+ * (*) id da consulta, pet, cliente, veterinário, data (long) e duração: a
+ * consulta já foi removida da agenda, então os seus dados vão no registro.
+ *
+ * Textos são gravados uma única vez na área de textos e referenciados pelo
+ * deslocamento (-1 para null), então nomes de espécie e raça repetidos não
+ * ocupam espaço de novo. O cabeçalho guarda o número do primeiro segmento de
+ * log que ainda precisa ser reproduzido depois do snapshot e um CRC32 de todo
+ * o conteúdo após o cabeçalho.
+ *
+ * A versão 1 do formato não tinha a duração da consulta (24 bytes por
+ * consulta); esses arquivos ainda são lidos, com a duração padrão. As
+ * versões 1 e 2 não tinham o histórico clínico, que fica vazio na leitura. A
+ * versão 3 não tinha o catálogo e gravava cada item prescrito com os seus
+ * textos (16 bytes); na leitura esses itens são incluídos no catálogo.
+ */
+public final class Snapshot {
+    private static final int MAGICO = 0x434C5653; // "CLVS"
+    private static final int VERSAO = 4;
+    private static final int TAMANHO_CABECALHO = 64;
+    private static final int TAMANHO_CLIENTE = 16;
+    private static final int TAMANHO_VETERINARIO = 12;
+    private static final int TAMANHO_PET = 24;
+    private static final int TAMANHO_CONSULTA = 28;
+    private static final int TAMANHO_QUANTIDADES_HISTORICO = 16;
+    private static final int TAMANHO_MEDICAMENTO = 16;
+    private static final int TAMANHO_DIAGNOSTICO = 36;
+    private static final int TAMANHO_PRESCRICAO = 40;
+    private static final int TAMANHO_ITEM_PRESCRITO = 4;
+    private static final int SEM_TEXTO = -1;
+
+    private Snapshot() {
+    }
+
+    /**
+     * Grava um snapshot. O conteúdo vai primeiro para um arquivo temporário,
+     * que é sincronizado e então renomeado sobre o destino, de modo que uma
+     * queda no meio da gravação nunca deixa um snapshot incompleto.
+     * @param arquivo O arquivo de snapshot.
+     * @param segmentoInicial O primeiro segmento de log não incluído no snapshot.
+     * @param clientes Os clientes a gravar.
+     * @param veterinarios Os veterinários a gravar.
+     * @param pets Os pets a gravar.
+     * @param consultas As consultas a gravar.
+     * @param catalogo Os medicamentos do catálogo a gravar.
+     * @param diagnosticos Os diagnósticos a gravar.
+     * @param prescricoes As prescrições a gravar.
+     * @throws IOException Se o arquivo não puder ser gravado.
+     */
+    public static void gravar(Path arquivo, long segmentoInicial, List<Cliente> clientes, List<Veterinario> veterinarios,
+                              List<Pet> pets, List<Consulta> consultas, List<Medicamento> catalogo,
+                              List<Diagnostico> diagnosticos, List<Prescricao> prescricoes) throws IOException {
+        AreaTextos textos = new AreaTextos();
+        int totalItens = 0;
+        for (Prescricao p : prescricoes) {
+            totalItens += p.getMedicamentos().size();
+        }
+        long offsetTextos = TAMANHO_CABECALHO
+                + (long) clientes.size() * TAMANHO_CLIENTE
+                + (long) veterinarios.size() * TAMANHO_VETERINARIO
+                + (long) pets.size() * TAMANHO_PET
+                + (long) consultas.size() * TAMANHO_CONSULTA
+                + TAMANHO_QUANTIDADES_HISTORICO
+                + (long) catalogo.size() * TAMANHO_MEDICAMENTO
+                + (long) diagnosticos.size() * TAMANHO_DIAGNOSTICO
+                + (long) prescricoes.size() * TAMANHO_PRESCRICAO
+                + (long) totalItens * TAMANHO_ITEM_PRESCRITO;
+
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            Gravador saida = new Gravador(canal, TAMANHO_CABECALHO);
+            for (Cliente c : clientes) {
+                saida.reservar(TAMANHO_CLIENTE);
+                saida.buffer.putInt(c.getId());
+                saida.buffer.putInt(textos.referencia(c.getNome()));
+                saida.buffer.putInt(textos.referencia(c.getTelefone()));
+                saida.buffer.putInt(textos.referencia(c.getEmail()));
+            }
+            for (Veterinario v : veterinarios) {
+                saida.reservar(TAMANHO_VETERINARIO);
+                saida.buffer.putInt(v.getId());
+                saida.buffer.putInt(textos.referencia(v.getNome()));
+                saida.buffer.putInt(textos.referencia(v.getCrmv()));
+            }
+            for (Pet p : pets) {
+                saida.reservar(TAMANHO_PET);
+                saida.buffer.putInt(p.getId());
+                saida.buffer.putInt(textos.referencia(p.getNome()));
+                saida.buffer.putInt(textos.referencia(p.getEspecie()));
+                saida.buffer.putInt(textos.referencia(p.getRaca()));
+                saida.buffer.putInt(p.getIdade());
+                saida.buffer.putInt(p.getProprietario() != null ? p.getProprietario().getId() : 0);
+            }
+            for (Consulta c : consultas) {
+                saida.reservar(TAMANHO_CONSULTA);
+                saida.buffer.putInt(c.getId());
+                saida.buffer.putInt(c.getPet() != null ? c.getPet().getId() : 0);
+                saida.buffer.putInt(c.getCliente() != null ? c.getCliente().getId() : 0);
+                saida.buffer.putInt(c.getVeterinario() != null ? c.getVeterinario().getId() : 0);
+                saida.buffer.putLong(c.getDataMillis()); // Consulta.SEM_DATA se não houver data
+                saida.buffer.putInt(c.getDuracaoMinutos());
+            }
+            saida.reservar(TAMANHO_QUANTIDADES_HISTORICO);
+            saida.buffer.putInt(catalogo.size());
+            saida.buffer.putInt(diagnosticos.size());
+            saida.buffer.putInt(prescricoes.size());
+            saida.buffer.putInt(totalItens);
+            for (Medicamento m : catalogo) {
+                saida.reservar(TAMANHO_MEDICAMENTO);
+                saida.buffer.putInt(m.getId());
+                saida.buffer.putInt(textos.referencia(m.getNome()));
+                saida.buffer.putInt(textos.referencia(m.getDescricao()));
+                saida.buffer.putInt(textos.referencia(m.getDosagem()));
+            }
+            for (Diagnostico d : diagnosticos) {
+                saida.reservar(TAMANHO_DIAGNOSTICO);
+                saida.buffer.putInt(d.getId());
+                gravarConsultaAtendida(saida.buffer, d.getConsulta());
+                saida.buffer.putInt(textos.referencia(d.getDescricao()));
+            }
+            for (Prescricao p : prescricoes) {
+                saida.reservar(TAMANHO_PRESCRICAO);
+                saida.buffer.putInt(p.getId());
+                gravarConsultaAtendida(saida.buffer, p.getConsulta());
+                saida.buffer.putInt(p.getDiagnostico() != null ? p.getDiagnostico().getId() : 0);
+                saida.buffer.putInt(p.getMedicamentos().size());
+            }
+            for (Prescricao p : prescricoes) {
+                for (Medicamento m : p.getMedicamentos()) {
+                    saida.reservar(TAMANHO_ITEM_PRESCRITO);
+                    saida.buffer.putInt(m.getId());
+                }
+            }
+            for (byte[] texto : textos.ordem) {
+                saida.reservar(4 + texto.length);
+                saida.buffer.putInt(texto.length);
+                saida.buffer.put(texto);
+            }
+            saida.descarregar();
+
+            ByteBuffer cabecalho = ByteBuffer.allocate(TAMANHO_CABECALHO);
+            cabecalho.putInt(MAGICO);
+            cabecalho.putInt(VERSAO);
+            cabecalho.putLong(segmentoInicial);
+            cabecalho.putLong(System.currentTimeMillis());
+            cabecalho.putInt(clientes.size());
+            cabecalho.putInt(veterinarios.size());
+            cabecalho.putInt(pets.size());
+            cabecalho.putInt(consultas.size());
+            cabecalho.putLong(offsetTextos);
+            cabecalho.putLong(textos.tamanho);
+            cabecalho.putInt((int) saida.crc.getValue());
+            cabecalho.clear();
+            while (cabecalho.hasRemaining()) {
+                canal.write(cabecalho, cabecalho.position());
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Carrega um snapshot nos DAOs, lendo o arquivo mapeado em memória.
+     * @param arquivo O arquivo de snapshot.
+     * @param maiorId Recebe, por tipo de entidade (índices de {@link CodificadorRegistros}), o maior ID carregado.
+     * @return O primeiro segmento de log a reproduzir depois do snapshot, ou -1 se não houver snapshot.
+     * @throws IOException Se o arquivo não puder ser lido ou estiver corrompido.
+     */
+    public static long carregar(Path arquivo, ClienteDAO clientes, VeterinarioDAO veterinarios, PetDAO pets,
+                                ConsultaDAO consultas, MedicamentoDAO catalogo, DiagnosticoDAO diagnosticos,
+                                PrescricaoDAO prescricoes, int[] maiorId) throws IOException {
+        if (!Files.exists(arquivo)) {
+            return -1;
+        }
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            if (canal.size() < TAMANHO_CABECALHO || canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("Tamanho inválido para um snapshot: " + arquivo);
+            }
+            MappedByteBuffer dados = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            int magico = dados.getInt();
+            int versao = dados.getInt();
+            if (magico != MAGICO || versao < 1 || versao > VERSAO) {
+                throw new IOException("Arquivo não é um snapshot reconhecido: " + arquivo);
+            }
+            long segmentoInicial = dados.getLong();
+            dados.getLong(); // Data de criação: apenas informativa
+            int totalClientes = dados.getInt();
+            int totalVeterinarios = dados.getInt();
+            int totalPets = dados.getInt();
+            int totalConsultas = dados.getInt();
+            int offsetTextos = (int) dados.getLong();
+            dados.getLong(); // Tamanho da área de textos (coberto pelo CRC)
+            int crcEsperado = dados.getInt();
+
+            CRC32 crc = new CRC32();
+            crc.update(dados.duplicate().position(TAMANHO_CABECALHO));
+            if ((int) crc.getValue() != crcEsperado) {
+                throw new IOException("Snapshot corrompido (CRC não confere): " + arquivo);
+            }
+
+            // Cada tabela é decodificada do arquivo mapeado e entregue ao DAO em um único lote
+            LeitorTextos textos = new LeitorTextos(dados, offsetTextos);
+            dados.position(TAMANHO_CABECALHO);
+            List<Cliente> lidosClientes = new ArrayList<>(totalClientes);
+            for (int i = 0; i < totalClientes; i++) {
+                int id = dados.getInt();
+                Cliente cliente = new Cliente(textos.ler(dados.getInt()), textos.ler(dados.getInt()), textos.ler(dados.getInt()));
+                cliente.setId(id);
+                lidosClientes.add(cliente);
+                maiorId[CodificadorRegistros.TIPO_CLIENTE] = Math.max(maiorId[CodificadorRegistros.TIPO_CLIENTE], id);
+            }
+            clientes.adicionarTodos(lidosClientes);
+            List<Veterinario> lidosVeterinarios = new ArrayList<>(totalVeterinarios);
+            for (int i = 0; i < totalVeterinarios; i++) {
+                int id = dados.getInt();
+                Veterinario veterinario = new Veterinario(textos.ler(dados.getInt()), textos.ler(dados.getInt()));
+                veterinario.setId(id);
+                lidosVeterinarios.add(veterinario);
+                maiorId[CodificadorRegistros.TIPO_VETERINARIO] = Math.max(maiorId[CodificadorRegistros.TIPO_VETERINARIO], id);
+            }
+            veterinarios.adicionarTodos(lidosVeterinarios);
+            List<Pet> lidosPets = new ArrayList<>(totalPets);
+            for (int i = 0; i < totalPets; i++) {
+                int id = dados.getInt();
+                String nome = textos.ler(dados.getInt());
+                String especie = textos.ler(dados.getInt());
+                String raca = textos.ler(dados.getInt());
+                int idade = dados.getInt();
+                Pet pet = new Pet(nome, especie, raca, idade, clientes.buscarPorId(dados.getInt()));
+                pet.setId(id);
+                lidosPets.add(pet);
+                maiorId[CodificadorRegistros.TIPO_PET] = Math.max(maiorId[CodificadorRegistros.TIPO_PET], id);
+            }
+            pets.adicionarTodos(lidosPets);
+            List<Consulta> lidasConsultas = new ArrayList<>(totalConsultas);
+            for (int i = 0; i < totalConsultas; i++) {
+                int id = dados.getInt();
+                Pet pet = pets.buscarPorId(dados.getInt());
+                Cliente cliente = clientes.buscarPorId(dados.getInt());
+                Veterinario veterinario = veterinarios.buscarPorId(dados.getInt());
+                long millis = dados.getLong();
+                int duracao = versao == 1 ? Consulta.DURACAO_PADRAO_MINUTOS : dados.getInt();
+                Consulta consulta = new Consulta(pet, cliente, veterinario, millis, duracao);
+                consulta.setId(id);
+                lidasConsultas.add(consulta);
+                maiorId[CodificadorRegistros.TIPO_CONSULTA] = Math.max(maiorId[CodificadorRegistros.TIPO_CONSULTA], id);
+            }
+            consultas.adicionarTodos(lidasConsultas);
+            if (versao >= 3) {
+                carregarHistorico(dados, versao, textos, clientes, veterinarios, pets, catalogo, diagnosticos,
+                        prescricoes, maiorId);
+            }
+            return segmentoInicial;
+        }
+    }
+
+    /** Lê o catálogo, os diagnósticos e as prescrições, que começam na posição atual do arquivo mapeado. */
+    private static void carregarHistorico(ByteBuffer dados, int versao, LeitorTextos textos, ClienteDAO clientes,
+                                          VeterinarioDAO veterinarios, PetDAO pets, MedicamentoDAO catalogo,
+                                          DiagnosticoDAO diagnosticos, PrescricaoDAO prescricoes, int[] maiorId) {
+        int totalCatalogo = versao >= 4 ? dados.getInt() : 0;
+        int totalDiagnosticos = dados.getInt();
+        int totalPrescricoes = dados.getInt();
+        dados.getInt(); // Total de itens prescritos: só é usado para calcular o início da área de textos
+
+        List<Medicamento> lidosMedicamentos = new ArrayList<>(totalCatalogo);
+        for (int i = 0; i < totalCatalogo; i++) {
+            int id = dados.getInt();
+            Medicamento medicamento = new Medicamento(textos.ler(dados.getInt()), textos.ler(dados.getInt()),
+                    textos.ler(dados.getInt()));
+            medicamento.setId(id);
+            lidosMedicamentos.add(medicamento);
+        }
+        catalogo.adicionarTodos(lidosMedicamentos);
+
+        List<Diagnostico> lidosDiagnosticos = new ArrayList<>(totalDiagnosticos);
+        Map<Integer, Diagnostico> diagnosticoPorId = new HashMap<>();
+        for (int i = 0; i < totalDiagnosticos; i++) {
+            int id = dados.getInt();
+            Consulta consulta = lerConsultaAtendida(dados, clientes, veterinarios, pets);
+            Diagnostico diagnostico = new Diagnostico(consulta, textos.ler(dados.getInt()));
+            diagnostico.setId(id);
+            lidosDiagnosticos.add(diagnostico);
+            diagnosticoPorId.put(id, diagnostico);
+            maiorId[CodificadorRegistros.TIPO_DIAGNOSTICO] = Math.max(maiorId[CodificadorRegistros.TIPO_DIAGNOSTICO], id);
+        }
+        diagnosticos.adicionarTodos(lidosDiagnosticos);
+
+        // As prescrições vêm antes dos seus medicamentos: guarda as quantidades e lê os medicamentos em seguida
+        List<Prescricao> lidasPrescricoes = new ArrayList<>(totalPrescricoes);
+        int[] quantidades = new int[totalPrescricoes];
+        for (int i = 0; i < totalPrescricoes; i++) {
+            int id = dados.getInt();
+            Consulta consulta = lerConsultaAtendida(dados, clientes, veterinarios, pets);
+            Diagnostico diagnostico = diagnosticoPorId.get(dados.getInt());
+            if (diagnostico != null && consulta != null && diagnostico.getConsulta() != null
+                    && diagnostico.getConsulta().getId() == consulta.getId()) {
+                consulta = diagnostico.getConsulta(); // Mesmo atendimento: compartilha a consulta
+            }
+            quantidades[i] = dados.getInt();
+            Prescricao prescricao = new Prescricao(consulta, null);
+            prescricao.setId(id);
+            prescricao.setDiagnostico(diagnostico);
+            lidasPrescricoes.add(prescricao);
+            maiorId[CodificadorRegistros.TIPO_PRESCRICAO] = Math.max(maiorId[CodificadorRegistros.TIPO_PRESCRICAO], id);
+        }
+        for (int i = 0; i < totalPrescricoes; i++) {
+            List<Medicamento> medicamentos = lidasPrescricoes.get(i).getMedicamentos();
+            for (int j = 0; j < quantidades[i]; j++) {
+                int id = dados.getInt();
+                if (versao >= 4) {
+                    Medicamento medicamento = catalogo.buscarPorId(id);
+                    if (medicamento != null) {
+                        medicamentos.add(medicamento);
+                    }
+                } else {
+                    medicamentos.add(CodificadorRegistros.doCatalogo(catalogo, id, textos.ler(dados.getInt()),
+                            textos.ler(dados.getInt()), textos.ler(dados.getInt())));
+                }
+            }
+        }
+        prescricoes.adicionarTodos(lidasPrescricoes);
+    }
+
+    // --- Auxiliares ---
+
+    /** Grava os 24 bytes da consulta atendida (ID 0 e campos zerados se não houver consulta). */
+    private static void gravarConsultaAtendida(ByteBuffer buffer, Consulta c) {
+        buffer.putInt(c != null ? c.getId() : 0);
+        buffer.putInt(c != null && c.getPet() != null ? c.getPet().getId() : 0);
+        buffer.putInt(c != null && c.getCliente() != null ? c.getCliente().getId() : 0);
+        buffer.putInt(c != null && c.getVeterinario() != null ? c.getVeterinario().getId() : 0);
+        buffer.putLong(c != null ? c.getDataMillis() : Consulta.SEM_DATA);
+        buffer.putInt(c != null ? c.getDuracaoMinutos() : 0);
+    }
+
+    /** Lê a consulta atendida gravada por {@link #gravarConsultaAtendida}, ou null se o ID for 0. */
+    private static Consulta lerConsultaAtendida(ByteBuffer dados, ClienteDAO clientes, VeterinarioDAO veterinarios,
+                                                PetDAO pets) {
+        int consultaId = dados.getInt();
+        Pet pet = pets.buscarPorId(dados.getInt());
+        Cliente cliente = clientes.buscarPorId(dados.getInt());
+        Veterinario veterinario = veterinarios.buscarPorId(dados.getInt());
+        long millis = dados.getLong();
+        int duracao = dados.getInt();
+        if (consultaId == 0) {
+            return null;
+        }
+        Consulta consulta = new Consulta(pet, cliente, veterinario, millis, duracao);
+        consulta.setId(consultaId);
+        return consulta;
+    }
+
+    /** Área de textos em construção: cada texto distinto é gravado uma única vez. */
+    private static final class AreaTextos {
+        final Map<String, Integer> deslocamentos = new HashMap<>();
+        final List<byte[]> ordem = new ArrayList<>();
+        long tamanho;
+
+        int referencia(String texto) {
+            if (texto == null) {
+                return SEM_TEXTO;
+            }
+            Integer existente = deslocamentos.get(texto);
+            if (existente != null) {
+                return existente;
+            }
+            byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+            int deslocamento = (int) tamanho;
+            deslocamentos.put(texto, deslocamento);
+            ordem.add(utf8);
+            tamanho += 4 + utf8.length;
+            return deslocamento;
+        }
+    }
+
+    /** Lê textos da área de textos mapeada, reaproveitando a mesma String para o mesmo deslocamento. */
+    private static final class LeitorTextos {
+        final ByteBuffer area;
+        final Map<Integer, String> lidos = new HashMap<>();
+
+        LeitorTextos(ByteBuffer dados, int offsetTextos) {
+            this.area = dados.duplicate().position(offsetTextos).slice();
+        }
+
+        String ler(int deslocamento) {
+            if (deslocamento == SEM_TEXTO) {
+                return null;
+            }
+            String texto = lidos.get(deslocamento);
+            if (texto == null) {
+                ByteBuffer registro = area.duplicate().position(deslocamento);
+                texto = CodificadorRegistros.lerTexto(registro);
+                lidos.put(deslocamento, texto);
+            }
+            return texto;
+        }
+    }
+
+    /** Grava o corpo do snapshot em blocos, calculando o CRC pelo caminho. */
+    private static final class Gravador {
+        final FileChannel canal;
+        final ByteBuffer buffer = ByteBuffer.allocate(1 << 20);
+        final CRC32 crc = new CRC32();
+        long posicao;
+
+        Gravador(FileChannel canal, long posicaoInicial) {
+            this.canal = canal;
+            this.posicao = posicaoInicial;
+        }
+
+        void reservar(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                descarregar();
+                if (buffer.capacity() < bytes) {
+                    throw new IOException("Texto grande demais para o snapshot: " + bytes + " bytes");
+                }
+            }
+        }
+
+        void descarregar() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                posicao += canal.write(buffer, posicao);
+            }
+            buffer.clear();
+        }
+    }
+}
\ No newline at end of file
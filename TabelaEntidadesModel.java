@@ -0,0 +1,190 @@
+package br.com.veterinaria.gui;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Modelo de tabela que exibe entidades diretamente, sem copiá-las para linhas
+ * de Object[] como o DefaultTableModel.
+ *
+ * O modelo guarda apenas a lista de referências devolvida pela facade (que o
+ * DAO já monta a cada consulta) e calcula cada célula em {@link #getValueAt},
+ * ou seja, só as linhas visíveis são lidas e formatadas quando a tabela é
+ * pintada. Inclusões, alterações e remoções avisam a tabela apenas sobre a
+ * linha afetada, sem redesenhar nem reler o restante.
+ *
+ * A linha de cada entidade fica em um índice por identidade, então achar a
+ * linha de uma entidade alterada ou removida não percorre a tabela. Uma
+ * remoção desloca as linhas seguintes; em vez de corrigi-las na hora, o
+ * índice passa a valer só até a linha removida e o trecho seguinte é
+ * reindexado uma vez, na próxima busca que precisar dele.
+ *
+ * Assim como os componentes Swing, deve ser usado apenas na thread de eventos.
+ * @param <T> O tipo de entidade exibida em cada linha.
+ */
+public class TabelaEntidadesModel<T> extends AbstractTableModel {
+    private final List<String> nomes = new ArrayList<>();
+    private final List<Class<?>> tipos = new ArrayList<>();
+    private final List<Function<? super T, ?>> extratores = new ArrayList<>();
+    private List<T> linhas = new ArrayList<>();
+    // Linha de cada entidade; as posições só são confiáveis abaixo de indexadasAte
+    private final Map<T, Integer> indice = new IdentityHashMap<>();
+    private int indexadasAte;
+
+    /**
+     * Define uma coluna. As colunas devem ser definidas antes de o modelo ser
+     * associado a uma JTable.
+     * @param nome O título da coluna.
+     * @param tipo O tipo dos valores (usado pela JTable para escolher o renderizador).
+     * @param extrator Calcula o valor da célula a partir da entidade.
+     * @return Este modelo, para encadear as definições.
+     */
+    public TabelaEntidadesModel<T> coluna(String nome, Class<?> tipo, Function<? super T, ?> extrator) {
+        nomes.add(nome);
+        tipos.add(tipo);
+        extratores.add(extrator);
+        return this;
+    }
+
+    /**
+     * Substitui todas as linhas. A lista passa a ser usada pelo modelo sem
+     * cópia, então não deve ser alterada por quem a forneceu.
+     * @param entidades As entidades a exibir.
+     */
+    public void recarregar(List<T> entidades) {
+        this.linhas = entidades != null ? entidades : new ArrayList<>();
+        indice.clear();
+        indexadasAte = 0; // Indexadas na primeira busca, não a cada recarga
+        fireTableDataChanged();
+    }
+
+    /**
+     * Acrescenta uma entidade no final da tabela. Se ela já estiver na tabela
+     * (o aviso de inclusão chegou depois de uma recarga que já a trouxe), só a
+     * sua linha é redesenhada: o índice responde sem percorrer a tabela.
+     * @param entidade A entidade incluída.
+     */
+    public void adicionar(T entidade) {
+        int existente = linhaDe(entidade);
+        if (existente != -1) {
+            fireTableRowsUpdated(existente, existente);
+            return;
+        }
+        linhas.add(entidade);
+        if (indexadasAte == linhas.size() - 1) {
+            indice.put(entidade, indexadasAte++);
+        }
+        fireTableRowsInserted(linhas.size() - 1, linhas.size() - 1);
+    }
+
+    /**
+     * Redesenha a linha de uma entidade que foi alterada.
+     * @param entidade A entidade alterada (a mesma instância exibida na tabela).
+     */
+    public void atualizar(T entidade) {
+        int linha = linhaDe(entidade);
+        if (linha != -1) {
+            fireTableRowsUpdated(linha, linha);
+        }
+    }
+
+    /**
+     * Remove uma linha da tabela.
+     * @param linha O índice da linha no modelo.
+     */
+    public void removerLinha(int linha) {
+        T removida = linhas.remove(linha);
+        indice.remove(removida);
+        indexadasAte = Math.min(indexadasAte, linha);
+        fireTableRowsDeleted(linha, linha);
+    }
+
+    /**
+     * Remove a linha de uma entidade, se ela estiver na tabela.
+     * @param entidade A entidade removida.
+     */
+    public void remover(T entidade) {
+        int linha = linhaDe(entidade);
+        if (linha != -1) {
+            removerLinha(linha);
+        }
+    }
+
+    /**
+     * Retorna a entidade exibida em uma linha.
+     * @param linha O índice da linha no modelo.
+     * @return A entidade.
+     */
+    public T getEntidade(int linha) {
+        return linhas.get(linha);
+    }
+
+    /**
+     * Procura a linha de uma entidade (pela identidade do objeto) no índice.
+     * @param entidade A entidade procurada.
+     * @return O índice da linha, ou -1 se ela não estiver na tabela.
+     */
+    public int linhaDe(T entidade) {
+        Integer linha = indice.get(entidade);
+        if (linha != null && linha < indexadasAte) {
+            return linha;
+        }
+        if (indexadasAte < linhas.size()) {
+            // Reindexa as linhas deslocadas por remoções (ou ainda não indexadas após uma recarga)
+            for (int i = indexadasAte; i < linhas.size(); i++) {
+                indice.put(linhas.get(i), i);
+            }
+            indexadasAte = linhas.size();
+            linha = indice.get(entidade);
+        }
+        return linha != null ? linha : -1;
+    }
+
+    /**
+     * Seleciona a linha de uma entidade em uma tabela que usa este modelo e rola
+     * a tabela até ela (por exemplo, quando o usuário escolhe uma sugestão de busca).
+     * @param tabela A tabela associada a este modelo.
+     * @param entidade A entidade a selecionar.
+     * @return true se a entidade estava na tabela.
+     */
+    public boolean selecionar(JTable tabela, T entidade) {
+        int linha = linhaDe(entidade);
+        if (linha == -1) {
+            return false;
+        }
+        int linhaVisivel = tabela.convertRowIndexToView(linha);
+        tabela.setRowSelectionInterval(linhaVisivel, linhaVisivel);
+        tabela.scrollRectToVisible(tabela.getCellRect(linhaVisivel, 0, true));
+        return true;
+    }
+
+    @Override
+    public int getRowCount() {
+        return linhas.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return nomes.size();
+    }
+
+    @Override
+    public String getColumnName(int coluna) {
+        return nomes.get(coluna);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int coluna) {
+        return tipos.get(coluna);
+    }
+
+    @Override
+    public Object getValueAt(int linha, int coluna) {
+        return extratores.get(coluna).apply(linhas.get(linha));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,424 @@
+package br.com.veterinaria.carga;
+
+import br.com.veterinaria.dao.FabricaDAO;
+import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.ConflitoAgendamentoException;
+import br.com.veterinaria.facade.HorarioLivre;
+import br.com.veterinaria.log.NivelLog;
+import br.com.veterinaria.log.SistemaLog;
+import br.com.veterinaria.metricas.HistogramaLatencia;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Veterinario;
+
+import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga sem interface gráfica: várias threads executam, pelo tempo
+ * configurado, uma mistura sorteada de agendamentos, cancelamentos,
+ * atendimentos e consultas de agenda sobre uma {@link ClinicaFacade}
+ * carregada pelo {@link GeradorClinica}. No final imprime a vazão e os
+ * percentis de latência de cada tipo de operação.
+ *
+ * Cada thread tem o seu gerador de números aleatórios, derivado da semente,
+ * e as suas consultas para cancelar ou atender (as consultas geradas são
+ * divididas entre as threads, e cada thread acrescenta as que agenda), então
+ * a sequência de operações de cada thread se repete entre execuções. Duas
+ * threads podem disputar o mesmo horário livre; o perdedor recebe
+ * {@link ConflitoAgendamentoException}, que é contada como falha da operação.
+ *
+ * Uso ({@code java -cp clinica-veterinaria.jar br.com.veterinaria.carga.TesteCarga}
+ * ou {@code java -jar clinica-veterinaria.jar --carga}), com as opções:
+ * <pre>
+ *   --threads=8              threads simultâneas (padrão 4)
+ *   --duracao=60             segundos medidos (padrão 30)
+ *   --aquecimento=10         segundos executados antes da medição (padrão 5)
+ *   --armazenamento=concorrente  concorrente (padrão), persistente, ou memoria (só com 1 thread)
+ *   --mix=agendar:45,cancelar:15,atender:30,agenda:10   pesos das operações
+ *   --semente=42 --clientes=2000 --veterinarios=20 --dias=30 --ocupacao=0.6 --inicio=2030-01-07
+ * </pre>
+ * As opções da clínica têm como padrão as propriedades clinica.carga.* do
+ * {@link GeradorClinica}. O log fica no nível AVISO, a menos que
+ * {@value SistemaLog#PROPRIEDADE_NIVEL} seja definida.
+ */
+public final class TesteCarga {
+    private static final double[] PERCENTIS = {50, 90, 99, 99.9};
+
+    private final ClinicaFacade facade;
+    private final int threads;
+    private final long duracaoNanos;
+    private final long aquecimentoNanos;
+    private final long semente;
+    private final int[] pesos = new int[OperacaoCarga.values().length];
+    private final int somaPesos;
+    // Dias de agenda sorteados pelas operações: [inicio, inicio + dias)
+    private final long inicioAgenda;
+    private final int diasAgenda;
+
+    private final List<Pet> pets;
+    private final List<Veterinario> veterinarios;
+    private final List<Medicamento> catalogo;
+
+    /**
+     * Prepara um teste sobre uma facade já carregada.
+     * @param facade A facade (thread-safe se houver mais de uma thread).
+     * @param threads A quantidade de threads.
+     * @param duracaoSegundos Os segundos medidos.
+     * @param aquecimentoSegundos Os segundos executados antes da medição, sem medir.
+     * @param semente A semente das threads (a thread i usa semente + i).
+     * @param mistura O peso de cada operação (operações ausentes não são executadas).
+     * @param inicioAgenda O primeiro dia de agenda usado pelas operações.
+     * @param diasAgenda Quantos dias de agenda são usados (pelo menos 1).
+     */
+    public TesteCarga(ClinicaFacade facade, int threads, int duracaoSegundos, int aquecimentoSegundos, long semente,
+                      Map<OperacaoCarga, Integer> mistura, LocalDate inicioAgenda, int diasAgenda) {
+        if (threads < 1 || duracaoSegundos < 1 || aquecimentoSegundos < 0) {
+            throw new IllegalArgumentException("Parâmetros inválidos: " + threads + " threads, "
+                    + duracaoSegundos + " s de duração, " + aquecimentoSegundos + " s de aquecimento.");
+        }
+        this.facade = facade;
+        this.threads = threads;
+        this.duracaoNanos = TimeUnit.SECONDS.toNanos(duracaoSegundos);
+        this.aquecimentoNanos = TimeUnit.SECONDS.toNanos(aquecimentoSegundos);
+        this.semente = semente;
+        int soma = 0;
+        for (Map.Entry<OperacaoCarga, Integer> peso : mistura.entrySet()) {
+            if (peso.getValue() < 0) {
+                throw new IllegalArgumentException("Peso negativo para " + peso.getKey().getNome() + ".");
+            }
+            pesos[peso.getKey().ordinal()] = peso.getValue();
+            soma += peso.getValue();
+        }
+        if (soma == 0) {
+            throw new IllegalArgumentException("A mistura não tem nenhuma operação com peso.");
+        }
+        this.somaPesos = soma;
+        this.inicioAgenda = inicioAgenda.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        this.diasAgenda = Math.max(1, diasAgenda);
+
+        // Ordenados por ID: a mesma clínica gerada dá as mesmas listas
+        this.pets = facade.getPetsCadastrados();
+        this.pets.sort(Comparator.comparingInt(Pet::getId));
+        this.veterinarios = facade.getVeterinariosCadastrados();
+        this.veterinarios.sort(Comparator.comparingInt(Veterinario::getId));
+        if (pets.isEmpty() || veterinarios.isEmpty()) {
+            throw new IllegalStateException("A clínica precisa de pelo menos um pet e um veterinário.");
+        }
+        this.catalogo = GeradorClinica.catalogarMedicamentos(facade);
+    }
+
+    /**
+     * Executa o teste: inicia as threads, espera o aquecimento e a duração, e
+     * retorna os resultados medidos.
+     * @return Os resultados, por operação.
+     * @throws InterruptedException Se a thread que chamou for interrompida.
+     */
+    public Resultado executar() throws InterruptedException {
+        List<Consulta> agendadas = facade.buscarTodasAsConsultas();
+        agendadas.sort(Comparator.comparingInt(Consulta::getId));
+        List<Trabalhador> trabalhadores = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            trabalhadores.add(new Trabalhador(new SplittableRandom(semente + i)));
+        }
+        for (int i = 0; i < agendadas.size(); i++) {
+            trabalhadores.get(i % threads).agendadas.add(agendadas.get(i));
+        }
+
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> threadsCarga = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Trabalhador trabalhador = trabalhadores.get(i);
+            Thread thread = new Thread(() -> trabalhador.executar(largada), "Carga-" + i);
+            thread.start();
+            threadsCarga.add(thread);
+        }
+        long inicio = System.nanoTime();
+        for (Trabalhador trabalhador : trabalhadores) {
+            trabalhador.inicioMedicao = inicio + aquecimentoNanos;
+            trabalhador.fim = inicio + aquecimentoNanos + duracaoNanos;
+        }
+        largada.countDown(); // Publica os instantes (happens-before) e libera as threads juntas
+        for (Thread thread : threadsCarga) {
+            thread.join();
+        }
+
+        Resultado resultado = new Resultado(threads, duracaoNanos);
+        for (Trabalhador trabalhador : trabalhadores) {
+            resultado.somar(trabalhador);
+        }
+        return resultado;
+    }
+
+    /** Latências e falhas de cada operação, somadas de todas as threads. */
+    public static final class Resultado {
+        private final int threads;
+        private final long duracaoNanos;
+        private final Map<OperacaoCarga, HistogramaLatencia> latencias = new EnumMap<>(OperacaoCarga.class);
+        private final Map<OperacaoCarga, Long> falhas = new EnumMap<>(OperacaoCarga.class);
+
+        private Resultado(int threads, long duracaoNanos) {
+            this.threads = threads;
+            this.duracaoNanos = duracaoNanos;
+            for (OperacaoCarga operacao : OperacaoCarga.values()) {
+                latencias.put(operacao, new HistogramaLatencia());
+                falhas.put(operacao, 0L);
+            }
+        }
+
+        private void somar(Trabalhador trabalhador) {
+            for (OperacaoCarga operacao : OperacaoCarga.values()) {
+                latencias.get(operacao).adicionar(trabalhador.latencias[operacao.ordinal()]);
+                falhas.merge(operacao, trabalhador.falhas[operacao.ordinal()], Long::sum);
+            }
+        }
+
+        /**
+         * Retorna as latências medidas de uma operação, em nanossegundos.
+         * @param operacao A operação.
+         * @return O histograma (inclui as execuções que falharam).
+         */
+        public HistogramaLatencia getLatencias(OperacaoCarga operacao) {
+            return latencias.get(operacao);
+        }
+
+        /**
+         * Retorna quantas execuções de uma operação falharam (conflito de horário ou agenda lotada).
+         * @param operacao A operação.
+         * @return A quantidade de falhas.
+         */
+        public long getFalhas(OperacaoCarga operacao) {
+            return falhas.get(operacao);
+        }
+
+        /**
+         * Retorna a vazão de uma operação.
+         * @param operacao A operação.
+         * @return As execuções por segundo, somando todas as threads.
+         */
+        public double getVazao(OperacaoCarga operacao) {
+            return latencias.get(operacao).getQuantidade() * 1e9 / duracaoNanos;
+        }
+
+        /**
+         * Imprime a tabela de resultados, com as latências em microssegundos.
+         * @param saida Onde imprimir.
+         */
+        public void imprimir(PrintStream saida) {
+            saida.printf("%-10s %10s %8s %10s %9s %9s %9s %9s %9s %9s%n",
+                    "Operação", "Execuções", "Falhas", "ops/s", "média", "p50", "p90", "p99", "p99,9", "máx");
+            HistogramaLatencia total = new HistogramaLatencia();
+            long totalFalhas = 0;
+            for (OperacaoCarga operacao : OperacaoCarga.values()) {
+                HistogramaLatencia histograma = latencias.get(operacao);
+                if (histograma.getQuantidade() > 0) {
+                    imprimirLinha(saida, operacao.getNome(), histograma, falhas.get(operacao));
+                    total.adicionar(histograma);
+                    totalFalhas += falhas.get(operacao);
+                }
+            }
+            imprimirLinha(saida, "total", total, totalFalhas);
+            saida.printf("Latências em µs; %d threads, %d s medidos.%n", threads, TimeUnit.NANOSECONDS.toSeconds(duracaoNanos));
+        }
+
+        private void imprimirLinha(PrintStream saida, String nome, HistogramaLatencia histograma, long falhas) {
+            saida.printf("%-10s %10d %8d %10.1f %9.1f", nome, histograma.getQuantidade(), falhas,
+                    histograma.getQuantidade() * 1e9 / duracaoNanos, histograma.getMedia() / 1000);
+            for (double percentil : PERCENTIS) {
+                saida.printf(" %9.1f", histograma.percentil(percentil) / 1000.0);
+            }
+            saida.printf(" %9.1f%n", histograma.getMaximo() / 1000.0);
+        }
+    }
+
+    /** Laço de uma thread: sorteia e executa operações até o fim do teste. */
+    private final class Trabalhador {
+        final SplittableRandom aleatorio;
+        // Consultas que esta thread pode cancelar ou atender (nenhuma outra thread as vê)
+        final List<Consulta> agendadas = new ArrayList<>();
+        final HistogramaLatencia[] latencias = new HistogramaLatencia[OperacaoCarga.values().length];
+        final long[] falhas = new long[OperacaoCarga.values().length];
+        long inicioMedicao;
+        long fim;
+
+        Trabalhador(SplittableRandom aleatorio) {
+            this.aleatorio = aleatorio;
+            for (int i = 0; i < latencias.length; i++) {
+                latencias[i] = new HistogramaLatencia();
+            }
+        }
+
+        void executar(CountDownLatch largada) {
+            try {
+                largada.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            long agora = System.nanoTime();
+            while (agora < fim) {
+                OperacaoCarga operacao = sortear();
+                // Sem consultas próprias, cancelar e atender viram agendamentos
+                if ((operacao == OperacaoCarga.CANCELAR || operacao == OperacaoCarga.ATENDER) && agendadas.isEmpty()) {
+                    operacao = OperacaoCarga.AGENDAR;
+                }
+                boolean sucesso = executar(operacao);
+                long depois = System.nanoTime();
+                if (agora >= inicioMedicao) {
+                    latencias[operacao.ordinal()].registrar(depois - agora);
+                    if (!sucesso) {
+                        falhas[operacao.ordinal()]++;
+                    }
+                }
+                agora = depois;
+            }
+        }
+
+        private OperacaoCarga sortear() {
+            int sorteado = aleatorio.nextInt(somaPesos);
+            OperacaoCarga[] operacoes = OperacaoCarga.values();
+            int i = 0;
+            while (sorteado >= pesos[i]) {
+                sorteado -= pesos[i++];
+            }
+            return operacoes[i];
+        }
+
+        private boolean executar(OperacaoCarga operacao) {
+            switch (operacao) {
+                case AGENDAR:
+                    return agendar();
+                case CANCELAR:
+                    facade.removerConsulta(retirarConsulta());
+                    return true;
+                case ATENDER:
+                    List<Medicamento> medicamentos = new ArrayList<>(2);
+                    medicamentos.add(catalogo.get(aleatorio.nextInt(catalogo.size())));
+                    if (aleatorio.nextBoolean()) {
+                        medicamentos.add(catalogo.get(aleatorio.nextInt(catalogo.size())));
+                    }
+                    facade.realizarAtendimento(retirarConsulta(), GeradorClinica.sortearDiagnostico(aleatorio), medicamentos);
+                    return true;
+                case CONSULTAR_AGENDA:
+                    facade.getConsultasDoVeterinario(sortearVeterinario(), new Date(sortearDia()));
+                    return true;
+                default:
+                    throw new IllegalStateException("Operação sem implementação: " + operacao);
+            }
+        }
+
+        // Primeiro horário livre de um veterinário a partir de um dia sorteado, para um pet sorteado
+        private boolean agendar() {
+            Veterinario veterinario = sortearVeterinario();
+            Pet pet = pets.get(aleatorio.nextInt(pets.size()));
+            List<HorarioLivre> livres = facade.getHorariosLivres(veterinario, new Date(sortearDia()), 1,
+                    Consulta.DURACAO_PADRAO_MINUTOS);
+            if (livres.isEmpty()) {
+                return false; // Agenda lotada até o horizonte de busca
+            }
+            try {
+                agendadas.add(facade.agendarConsulta(pet, pet.getProprietario(), veterinario,
+                        livres.get(0).getInicio(), Consulta.DURACAO_PADRAO_MINUTOS));
+                return true;
+            } catch (ConflitoAgendamentoException e) {
+                return false; // Outra thread ocupou o horário, ou o pet já tem consulta nele
+            }
+        }
+
+        // Retira uma consulta sorteada (troca com a última para remover em tempo constante)
+        private Consulta retirarConsulta() {
+            int i = aleatorio.nextInt(agendadas.size());
+            int ultima = agendadas.size() - 1;
+            Consulta consulta = agendadas.get(i);
+            agendadas.set(i, agendadas.get(ultima));
+            agendadas.remove(ultima);
+            return consulta;
+        }
+
+        private Veterinario sortearVeterinario() {
+            return veterinarios.get(aleatorio.nextInt(veterinarios.size()));
+        }
+
+        private long sortearDia() {
+            return inicioAgenda + TimeUnit.DAYS.toMillis(aleatorio.nextInt(diasAgenda));
+        }
+    }
+
+    /**
+     * Executa o teste de carga pela linha de comando (opções na descrição da classe).
+     * @param args As opções.
+     * @throws InterruptedException Se a thread principal for interrompida.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        if (System.getProperty(SistemaLog.PROPRIEDADE_NIVEL) == null) {
+            SistemaLog.setNivel(NivelLog.AVISO); // Uma linha de log por operação distorceria a medição
+        }
+        Map<String, String> opcoes = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                opcoes.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+            }
+        }
+        GeradorClinica padrao = GeradorClinica.porConfiguracao();
+        GeradorClinica gerador = new GeradorClinica(
+                Long.parseLong(opcoes.getOrDefault("semente", String.valueOf(padrao.getSemente()))),
+                Integer.parseInt(opcoes.getOrDefault("clientes", String.valueOf(padrao.getClientes()))),
+                Integer.parseInt(opcoes.getOrDefault("veterinarios", String.valueOf(padrao.getVeterinarios()))),
+                Integer.parseInt(opcoes.getOrDefault("dias", String.valueOf(padrao.getDias()))),
+                Double.parseDouble(opcoes.getOrDefault("ocupacao", String.valueOf(padrao.getOcupacao()))),
+                opcoes.containsKey("inicio") ? LocalDate.parse(opcoes.get("inicio")) : padrao.getInicio());
+        int threads = Integer.parseInt(opcoes.getOrDefault("threads", "4"));
+        String armazenamento = opcoes.getOrDefault("armazenamento", "concorrente");
+        if (threads > 1 && armazenamento.equalsIgnoreCase("memoria")) {
+            throw new IllegalArgumentException("O armazenamento 'memoria' não é thread-safe: use 'concorrente' ou --threads=1.");
+        }
+
+        long comeco = System.nanoTime();
+        ClinicaFacade facade = new ClinicaFacade(FabricaDAO.porNome(armazenamento), gerador);
+        System.out.printf("Clínica carregada em %d ms: %d clientes, %d pets, %d veterinários, %d consultas (semente %d).%n",
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - comeco), facade.getClientesCadastrados().size(),
+                facade.getPetsCadastrados().size(), facade.getVeterinariosCadastrados().size(),
+                facade.buscarTodasAsConsultas().size(), gerador.getSemente());
+        try {
+            TesteCarga teste = new TesteCarga(facade, threads,
+                    Integer.parseInt(opcoes.getOrDefault("duracao", "30")),
+                    Integer.parseInt(opcoes.getOrDefault("aquecimento", "5")),
+                    gerador.getSemente(), lerMistura(opcoes.get("mix")), gerador.getInicio(), gerador.getDias());
+            teste.executar().imprimir(System.out);
+        } finally {
+            facade.fechar();
+            SistemaLog.fechar();
+        }
+    }
+
+    // "agendar:45,cancelar:15" -> pesos; sem a opção, os pesos padrão
+    private static Map<OperacaoCarga, Integer> lerMistura(String texto) {
+        Map<OperacaoCarga, Integer> mistura = new EnumMap<>(OperacaoCarga.class);
+        if (texto == null) {
+            for (OperacaoCarga operacao : OperacaoCarga.values()) {
+                mistura.put(operacao, operacao.getPesoPadrao());
+            }
+            return mistura;
+        }
+        for (String item : texto.split(",")) {
+            String[] partes = item.split(":");
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Item inválido na mistura: '" + item + "' (use operacao:peso).");
+            }
+            mistura.put(OperacaoCarga.porNome(partes[0]), Integer.parseInt(partes[1].trim()));
+        }
+        return mistura;
+    }
+}
\ No newline at end of file
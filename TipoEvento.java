@@ -0,0 +1,52 @@
+package br.com.veterinaria.facade;
+
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.model.Veterinario;
+
+/**
+ * Tipo de um evento de alteração publicado pela {@link ClinicaFacade} no
+ * {@link BarramentoEventos}. O parâmetro de tipo é a entidade que acompanha o
+ * evento, então quem assina recebe, por exemplo, o Pet cadastrado já tipado.
+ *
+ * Cada tipo tem um índice fixo, usado pelo barramento para localizar os
+ * ouvintes em um vetor, sem mapas nem comparação de classes.
+ * @param <T> O tipo da entidade que acompanha o evento.
+ */
+public final class TipoEvento<T> {
+    public static final TipoEvento<Pet> PET_CADASTRADO = new TipoEvento<>(0, "PetCadastrado");
+    public static final TipoEvento<Pet> PET_REMOVIDO = new TipoEvento<>(1, "PetRemovido");
+    public static final TipoEvento<Cliente> CLIENTE_CADASTRADO = new TipoEvento<>(2, "ClienteCadastrado");
+    public static final TipoEvento<Cliente> CLIENTE_REMOVIDO = new TipoEvento<>(3, "ClienteRemovido");
+    public static final TipoEvento<Veterinario> VETERINARIO_CADASTRADO = new TipoEvento<>(4, "VeterinarioCadastrado");
+    public static final TipoEvento<Veterinario> VETERINARIO_REMOVIDO = new TipoEvento<>(5, "VeterinarioRemovido");
+    public static final TipoEvento<Consulta> CONSULTA_AGENDADA = new TipoEvento<>(6, "ConsultaAgendada");
+    public static final TipoEvento<Consulta> CONSULTA_REMOVIDA = new TipoEvento<>(7, "ConsultaRemovida");
+    public static final TipoEvento<Prescricao> ATENDIMENTO_REALIZADO = new TipoEvento<>(8, "AtendimentoRealizado");
+
+    /** Quantidade de tipos de evento (maior índice + 1). */
+    static final int QUANTIDADE = 9;
+
+    private final int indice;
+    private final String nome;
+
+    private TipoEvento(int indice, String nome) {
+        this.indice = indice;
+        this.nome = nome;
+    }
+
+    int getIndice() {
+        return indice;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+
+    @Override
+    public String toString() {
+        return nome;
+    }
+}
\ No newline at end of file
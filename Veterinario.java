@@ -1,8 +1,10 @@
 package br.com.veterinaria.model;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Veterinario {
-    // Contador estático para gerar IDs únicos para cada novo veterinário
-    private static int nextId = 1;
+    // Contador estático para gerar IDs únicos para cada novo veterinário (atômico, seguro para uso por várias threads)
+    private static final AtomicInteger nextId = new AtomicInteger(1);
 
     // Atributos do veterinário
     private int id; // ID único do veterinário
@@ -16,11 +18,20 @@ public class Veterinario {
      * @param crmv O número de registro no Conselho Regional de Medicina Veterinária.
      */
     public Veterinario(String nome, String crmv) {
-        this.id = nextId++; // Atribui um ID único e incrementa o contador
+        this.id = nextId.getAndIncrement(); // Atribui um ID único e incrementa o contador
         this.nome = nome;
         this.crmv = crmv;
     }
 
+    /**
+     * Garante que os próximos IDs gerados sejam maiores que o ID informado.
+     * Usado ao recarregar dados persistidos, para não repetir IDs já gravados.
+     * @param id O maior ID já existente.
+     */
+    public static void reservarIdsAte(int id) {
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
     // --- Getters ---
 
     /**
@@ -0,0 +1,214 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Veterinario;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Várias threads adicionando, atualizando e removendo ao mesmo tempo nos DAOs
+ * concorrentes: nenhuma escrita se perde, os índices secundários continuam de
+ * acordo com a tabela e cada remoção vale uma vez só.
+ */
+class ConcurrentRepositorioTest {
+    private static final int THREADS = 8;
+    private static final int PETS_POR_THREAD = 2_000;
+    private static final long INICIO_CONSULTAS = 1_900_000_000_000L;
+    private static final long HORA = 3_600_000L;
+
+    @Test
+    void adicionarERemoverEmParalelo() throws Exception {
+        verificar(new ConcurrentFabricaDAO());
+    }
+
+    @Test
+    void remocoesSimultaneasDoMesmoPetValemUmaVez() throws Exception {
+        PetDAO pets = new ConcurrentFabricaDAO().criarPetDAO();
+        Cliente dono = new Cliente("Dono", "0000-0000", "dono@exemplo.com");
+        List<Pet> cadastrados = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            Pet pet = new Pet("Pet " + i, "Gato", "SRD", 1, dono);
+            pets.adicionar(pet);
+            cadastrados.add(pet);
+        }
+        AtomicInteger removidos = new AtomicInteger();
+        emParalelo(thread -> {
+            for (Pet pet : cadastrados) {
+                if (pets.remover(pet)) {
+                    removidos.incrementAndGet();
+                }
+            }
+        });
+        assertEquals(cadastrados.size(), removidos.get());
+        assertEquals(0, pets.contar());
+        assertEquals(0, pets.contarPorProprietario(dono.getId()));
+    }
+
+    @Test
+    void atualizacoesERemocoesDaMesmaConsultaNaMesmaListra() throws Exception {
+        ConsultaDAO consultas = new ConcurrentFabricaDAO().criarConsultaDAO();
+        Cliente dono = new Cliente("Dono", "0000-0000", "dono@exemplo.com");
+        Pet pet = new Pet("Pet", "Gato", "SRD", 1, dono);
+        List<Veterinario> veterinarios = new ArrayList<>();
+        for (int v = 0; v < 4; v++) {
+            veterinarios.add(new Veterinario("Veterinário " + v, "CRMV-" + v));
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            Consulta consulta = new Consulta(pet, dono, veterinarios.get(0), INICIO_CONSULTAS + i * HORA, 30);
+            consultas.adicionar(consulta);
+            ids.add(consulta.getId());
+        }
+
+        // Todas as threads escrevem nos mesmos IDs (logo, nas mesmas listras): a última mudança
+        // de veterinário e de dia de cada consulta vale, e a última thread remove uma em cada três
+        emParalelo(thread -> {
+            for (int rodada = 0; rodada < 20; rodada++) {
+                for (int i = 0; i < ids.size(); i++) {
+                    if (thread == THREADS - 1 && rodada == 10 && i % 3 == 0) {
+                        consultas.remover(consultas.buscarPorId(ids.get(i)));
+                        continue;
+                    }
+                    Veterinario veterinario = veterinarios.get((thread + rodada + i) % veterinarios.size());
+                    Consulta versao = new Consulta(pet, dono, veterinario, INICIO_CONSULTAS + (i + thread * 24L) * HORA, 30);
+                    versao.setId(ids.get(i));
+                    consultas.atualizar(versao);
+                }
+            }
+        });
+
+        int restantes = 0;
+        for (int i = 0; i < ids.size(); i++) {
+            Consulta atual = consultas.buscarPorId(ids.get(i));
+            if (i % 3 == 0) {
+                assertNull(atual, "Uma atualização simultânea trouxe de volta uma consulta removida");
+                continue;
+            }
+            restantes++;
+            assertTrue(consultas.listarPorVeterinario(atual.getVeterinario().getId()).contains(atual));
+            assertTrue(consultas.listarPorPeriodo(atual.getDataMillis(), atual.getDataMillis() + 1).contains(atual));
+        }
+        int indexadas = 0;
+        for (Veterinario veterinario : veterinarios) {
+            for (Consulta consulta : consultas.listarPorVeterinario(veterinario.getId())) {
+                assertSame(consulta, consultas.buscarPorId(consulta.getId()));
+                assertEquals(veterinario.getId(), consulta.getVeterinario().getId());
+                indexadas++;
+            }
+        }
+        assertEquals(restantes, indexadas);
+        assertEquals(restantes, consultas.listarPorPet(pet.getId()).size());
+        assertEquals(restantes, consultas.listarPorPeriodo(INICIO_CONSULTAS, INICIO_CONSULTAS + 1_000 * HORA).size());
+        assertEquals(restantes, consultas.contar());
+    }
+
+    // Cada thread cadastra os pets de um dono, atualiza um terço e remove a metade
+    static void verificar(FabricaDAO fabrica) throws Exception {
+        ClienteDAO clientes = fabrica.criarClienteDAO();
+        PetDAO pets = fabrica.criarPetDAO();
+        List<Cliente> donos = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            Cliente dono = new Cliente("Dono " + t, "0000-" + t, "dono" + t + "@exemplo.com");
+            clientes.adicionar(dono);
+            donos.add(dono);
+        }
+        List<List<Pet>> mantidos = new ArrayList<>();
+        List<List<Pet>> removidos = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            mantidos.add(new ArrayList<>());
+            removidos.add(new ArrayList<>());
+        }
+
+        emParalelo(thread -> {
+            Cliente dono = donos.get(thread);
+            List<Pet> daThread = new ArrayList<>();
+            for (int i = 0; i < PETS_POR_THREAD; i++) {
+                Pet pet = new Pet("Pet " + thread + "-" + i, i % 2 == 0 ? "Cachorro" : "Gato", "SRD", i % 10, dono);
+                pets.adicionar(pet);
+                daThread.add(pet);
+                if (i % 3 == 0) {
+                    pet.setIdade(pet.getIdade() + 1);
+                    pets.atualizar(pet);
+                }
+            }
+            for (int i = 0; i < daThread.size(); i++) {
+                Pet pet = daThread.get(i);
+                if (i % 2 == 1) {
+                    assertTrue(pets.remover(pet));
+                    assertFalse(pets.remover(pet));
+                    removidos.get(thread).add(pet);
+                } else {
+                    mantidos.get(thread).add(pet);
+                }
+            }
+        });
+
+        int total = 0;
+        Set<Integer> ids = new HashSet<>();
+        for (int t = 0; t < THREADS; t++) {
+            Cliente dono = donos.get(t);
+            assertEquals(mantidos.get(t).size(), pets.contarPorProprietario(dono.getId()));
+            Set<Integer> doDono = new HashSet<>();
+            for (Pet pet : pets.listarPorProprietario(dono.getId())) {
+                doDono.add(pet.getId());
+            }
+            for (Pet pet : mantidos.get(t)) {
+                assertSame(pet, pets.buscarPorId(pet.getId()));
+                assertTrue(doDono.contains(pet.getId()));
+                assertTrue(ids.add(pet.getId()), "ID repetido: " + pet.getId());
+            }
+            for (Pet pet : removidos.get(t)) {
+                assertNull(pets.buscarPorId(pet.getId()));
+                assertFalse(doDono.contains(pet.getId()));
+            }
+            total += mantidos.get(t).size();
+        }
+        assertEquals(total, pets.contar());
+        assertEquals(total, pets.listarTodos().size());
+    }
+
+    interface Tarefa {
+        void executar(int thread) throws Exception;
+    }
+
+    // Executa a tarefa em todas as threads ao mesmo tempo e repassa a primeira falha
+    static void emParalelo(Tarefa tarefa) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        try {
+            List<Future<?>> resultados = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    tarefa.executar(thread);
+                    return null;
+                }));
+            }
+            largada.countDown();
+            for (Future<?> resultado : resultados) {
+                resultado.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,229 @@
+package br.com.veterinaria.persistencia;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Commit em grupo, rotação de segmentos e recuperação do {@link LogEscrita}
+ * depois de uma queda: registros maiores que o trecho lido por vez, último
+ * registro incompleto e registro corrompido no meio.
+ */
+class LogEscritaTest {
+    private static final int CABECALHO = 8;
+    // Tamanhos dos registros gravados: alguns maiores que o trecho de 1 MiB da reprodução
+    private static final int[] TAMANHOS = {10, 3_000_000, 5, 1_048_576, 2_000_000, 700};
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void reproduzTodosOsRegistrosEmOrdem() throws IOException {
+        Path arquivo = gravar(TAMANHOS);
+        long tamanho = Files.size(arquivo);
+
+        List<byte[]> lidos = reproduzir(arquivo);
+
+        assertEquals(TAMANHOS.length, lidos.size());
+        for (int i = 0; i < TAMANHOS.length; i++) {
+            assertArrayEquals(conteudo(i, TAMANHOS[i]), lidos.get(i));
+        }
+        assertEquals(tamanho, Files.size(arquivo), "Um log íntegro não pode ser truncado");
+    }
+
+    @Test
+    void descartaOUltimoRegistroIncompleto() throws IOException {
+        Path arquivo = gravar(TAMANHOS);
+        long fimPenultimo = fimDoRegistro(TAMANHOS.length - 2);
+        truncar(arquivo, Files.size(arquivo) - 300); // Queda no meio da gravação do último
+
+        List<byte[]> lidos = reproduzir(arquivo);
+
+        assertEquals(TAMANHOS.length - 1, lidos.size());
+        assertArrayEquals(conteudo(TAMANHOS.length - 2, TAMANHOS[TAMANHOS.length - 2]), lidos.get(lidos.size() - 1));
+        assertEquals(fimPenultimo, Files.size(arquivo));
+
+        // O log volta a aceitar registros depois do último válido
+        try (LogEscrita log = new LogEscrita(arquivo, true)) {
+            log.registrar(conteudo(99, 20));
+        }
+        lidos = reproduzir(arquivo);
+        assertEquals(TAMANHOS.length, lidos.size());
+        assertArrayEquals(conteudo(99, 20), lidos.get(lidos.size() - 1));
+    }
+
+    @Test
+    void descartaCabecalhoIncompleto() throws IOException {
+        Path arquivo = gravar(TAMANHOS);
+        long tamanho = Files.size(arquivo);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            canal.write(ByteBuffer.wrap(new byte[] {0, 0, 1})); // Só parte do tamanho do próximo registro
+        }
+
+        assertEquals(TAMANHOS.length, reproduzir(arquivo).size());
+        assertEquals(tamanho, Files.size(arquivo));
+    }
+
+    @Test
+    void paraNoRegistroCorrompidoNoMeio() throws IOException {
+        Path arquivo = gravar(TAMANHOS);
+        long inicioTerceiro = fimDoRegistro(1);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), inicioTerceiro + CABECALHO + 2);
+        }
+
+        List<byte[]> lidos = reproduzir(arquivo);
+
+        assertEquals(2, lidos.size(), "Nada depois do registro corrompido é aplicado");
+        assertArrayEquals(conteudo(1, TAMANHOS[1]), lidos.get(1));
+        assertEquals(inicioTerceiro, Files.size(arquivo));
+    }
+
+    @Test
+    void paraNoTamanhoCorrompido() throws IOException {
+        Path arquivo = gravar(TAMANHOS);
+        long inicioSegundo = fimDoRegistro(0);
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(4).putInt(0, -5), inicioSegundo);
+        }
+
+        assertEquals(1, reproduzir(arquivo).size());
+        assertEquals(inicioSegundo, Files.size(arquivo));
+    }
+
+    @Test
+    void commitEmGrupoGravaOsRegistrosDeTodasAsThreads() throws Exception {
+        Path arquivo = diretorio.resolve("grupo.wal");
+        int threads = 8;
+        int porThread = 500;
+        try (LogEscrita log = new LogEscrita(arquivo, true)) {
+            ExecutorService executor = Executors.newFixedThreadPool(threads);
+            CountDownLatch largada = new CountDownLatch(1);
+            try {
+                List<Future<?>> resultados = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int thread = t;
+                    resultados.add(executor.submit(() -> {
+                        largada.await();
+                        for (int i = 0; i < porThread; i++) {
+                            long sequencia = log.anexar(ByteBuffer.allocate(8).putInt(thread).putInt(i).array());
+                            log.aguardar(sequencia);
+                            // Registros de tamanho fixo: o de sequência n termina no byte n * 16
+                            assertTrue(Files.size(arquivo) >= sequencia * (CABECALHO + 8), "aguardar voltou antes da gravação");
+                        }
+                        return null;
+                    }));
+                }
+                largada.countDown();
+                for (Future<?> resultado : resultados) {
+                    resultado.get(2, TimeUnit.MINUTES);
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        List<byte[]> lidos = reproduzir(arquivo);
+        assertEquals(threads * porThread, lidos.size());
+        int[] proximo = new int[threads];
+        for (byte[] lido : lidos) {
+            ByteBuffer registro = ByteBuffer.wrap(lido);
+            int thread = registro.getInt();
+            assertEquals(proximo[thread]++, registro.getInt(), "Registros de uma thread fora de ordem");
+        }
+    }
+
+    @Test
+    void rotacaoSeparaOsRegistrosNoPontoDeCorte() throws IOException {
+        Path antigo = diretorio.resolve("segmento-1.wal");
+        Path novo = diretorio.resolve("segmento-2.wal");
+        try (LogEscrita log = new LogEscrita(antigo, true)) {
+            for (int i = 0; i < 5; i++) {
+                log.anexar(conteudo(i, 100)); // Sem esperar: parte ainda está no buffer no momento do corte
+            }
+            log.rotacionar(novo);
+            long ultimo = 0;
+            for (int i = 5; i < 8; i++) {
+                ultimo = log.anexar(conteudo(i, 100));
+            }
+            log.aguardarRotacao();
+            log.aguardar(ultimo);
+        }
+
+        List<byte[]> anteriores = reproduzir(antigo);
+        List<byte[]> posteriores = reproduzir(novo);
+        assertEquals(5, anteriores.size());
+        assertEquals(3, posteriores.size());
+        for (int i = 0; i < 8; i++) {
+            assertArrayEquals(conteudo(i, 100), i < 5 ? anteriores.get(i) : posteriores.get(i - 5));
+        }
+    }
+
+    @Test
+    void arquivoVazioOuInexistente() throws IOException {
+        assertEquals(0, LogEscrita.reproduzir(diretorio.resolve("inexistente.wal"), registro -> { }));
+        Path vazio = Files.createFile(diretorio.resolve("vazio.wal"));
+        assertEquals(0, LogEscrita.reproduzir(vazio, registro -> { }));
+    }
+
+    private Path gravar(int[] tamanhos) throws IOException {
+        Path arquivo = diretorio.resolve("teste.wal");
+        try (LogEscrita log = new LogEscrita(arquivo, true)) {
+            for (int i = 0; i < tamanhos.length; i++) {
+                log.registrar(conteudo(i, tamanhos[i]));
+            }
+        }
+        return arquivo;
+    }
+
+    // Posição no arquivo logo depois do registro de índice informado
+    private static long fimDoRegistro(int indice) {
+        long fim = 0;
+        for (int i = 0; i <= indice; i++) {
+            fim += CABECALHO + TAMANHOS[i];
+        }
+        return fim;
+    }
+
+    private static byte[] conteudo(int indice, int tamanho) {
+        byte[] conteudo = new byte[tamanho];
+        Arrays.fill(conteudo, (byte) (indice + 1));
+        conteudo[tamanho - 1] = (byte) tamanho;
+        return conteudo;
+    }
+
+    private static List<byte[]> reproduzir(Path arquivo) throws IOException {
+        List<byte[]> lidos = new ArrayList<>();
+        int registros = LogEscrita.reproduzir(arquivo, registro -> {
+            byte[] copia = new byte[registro.remaining()];
+            registro.get(copia);
+            lidos.add(copia);
+        });
+        assertEquals(lidos.size(), registros);
+        return lidos;
+    }
+
+    private static void truncar(Path arquivo, long tamanho) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.WRITE)) {
+            canal.truncate(tamanho);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,235 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.model.Veterinario;
+import br.com.veterinaria.persistencia.CodificadorRegistros;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Recuperação do armazenamento persistente: o estado recarregado do snapshot
+ * mais os segmentos de log posteriores a ele é igual ao que estava em memória,
+ * inclusive depois de uma queda durante a geração de um snapshot.
+ */
+class PersistentFabricaDAOTest {
+    private static final long INICIO_CONSULTAS = 1_900_000_000_000L;
+
+    @TempDir
+    Path temporario;
+
+    @Test
+    void snapshotMaisLogRecarregaOMesmoEstado() throws IOException {
+        Path dados = temporario.resolve("dados");
+        PersistentFabricaDAO fabrica = abrir(dados);
+        try {
+            popular(fabrica, 0, 40);
+            fabrica.gerarSnapshot();
+            alterar(fabrica);
+            popular(fabrica, 40, 20);
+            String esperado = retrato(fabrica);
+
+            // Queda: a cópia tem o snapshot e o segmento posterior a ele (fechar geraria um snapshot final)
+            Path queda = copiar(dados, temporario.resolve("queda"));
+            assertEquals(List.of("clinica-000001.snap", "clinica-000001.wal"), arquivos(queda));
+            assertTrue(Files.size(queda.resolve("clinica-000001.wal")) > 0);
+            assertEquals(esperado, recarregar(queda));
+        } finally {
+            fabrica.fechar();
+        }
+        // Fechada normalmente: só o snapshot final
+        assertEquals(List.of("clinica-000002.snap", "clinica-000002.wal"), arquivos(dados));
+        assertEquals(0, Files.size(dados.resolve("clinica-000002.wal")));
+        assertEquals(retrato(fabrica), recarregar(dados));
+    }
+
+    @Test
+    void quedaDuranteOSnapshotReproduzOsDoisSegmentos() throws IOException {
+        Path dados = temporario.resolve("dados");
+        PersistentFabricaDAO fabrica = abrir(dados);
+        try {
+            popular(fabrica, 0, 30);
+            fabrica.gerarSnapshot();
+            alterar(fabrica);
+            Path queda = copiar(dados, temporario.resolve("queda")); // clinica-000001.snap + clinica-000001.wal
+
+            fabrica.gerarSnapshot();
+            popular(fabrica, 30, 15);
+            // Log já rotacionado para o segmento 2, mas o snapshot 2 só foi gravado em parte
+            Files.copy(dados.resolve("clinica-000002.wal"), queda.resolve("clinica-000002.wal"));
+            Files.write(queda.resolve("clinica-000002.snap.tmp"), new byte[] {1, 2, 3});
+
+            assertEquals(retrato(fabrica), recarregar(queda));
+        } finally {
+            fabrica.fechar();
+        }
+    }
+
+    @Test
+    void quedaNoMeioDaUltimaGravacaoPerdeSoElas() throws IOException {
+        Path dados = temporario.resolve("dados");
+        PersistentFabricaDAO fabrica = abrir(dados);
+        try {
+            popular(fabrica, 0, 20);
+            fabrica.gerarSnapshot();
+            alterar(fabrica);
+            String antes = retrato(fabrica);
+            Cliente ultimo = new Cliente("Cliente final", "0000-0000", "final@exemplo.com");
+            fabrica.criarClienteDAO().adicionar(ultimo);
+
+            Path queda = copiar(dados, temporario.resolve("queda"));
+            Path segmento = queda.resolve("clinica-000001.wal");
+            try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+                canal.truncate(canal.size() - 3);
+            }
+            assertEquals(antes, recarregar(queda));
+        } finally {
+            fabrica.fechar();
+        }
+    }
+
+    @Test
+    void variasRotacoesDeixamSoOUltimoSegmento() throws IOException {
+        Path dados = temporario.resolve("dados");
+        PersistentFabricaDAO fabrica = abrir(dados);
+        try {
+            popular(fabrica, 0, 20);
+            fabrica.gerarSnapshot();
+            alterar(fabrica);
+            fabrica.gerarSnapshot();
+            popular(fabrica, 20, 20);
+            alterar(fabrica);
+            fabrica.gerarSnapshot();
+            popular(fabrica, 40, 10);
+
+            // Cada snapshot substitui os segmentos anteriores a ele, que são apagados
+            Path queda = copiar(dados, temporario.resolve("queda"));
+            assertEquals(List.of("clinica-000003.snap", "clinica-000003.wal"), arquivos(queda));
+            assertEquals(retrato(fabrica), recarregar(queda));
+        } finally {
+            fabrica.fechar();
+        }
+    }
+
+    // Sem snapshots periódicos: o teste decide quando gerá-los
+    static PersistentFabricaDAO abrir(Path dados) throws IOException {
+        return new PersistentFabricaDAO(dados, false, 0, 0);
+    }
+
+    /**
+     * Cadastra clientes, veterinários, pets, consultas e, para metade das
+     * consultas, o atendimento (diagnóstico e prescrição).
+     */
+    static void popular(FabricaDAO fabrica, int inicio, int quantidade) {
+        Medicamento medicamento = new Medicamento("Medicamento " + inicio, "Descrição", "1x ao dia");
+        fabrica.criarMedicamentoDAO().adicionar(medicamento);
+        Veterinario veterinario = new Veterinario("Veterinário " + inicio, "CRMV-" + inicio);
+        fabrica.criarVeterinarioDAO().adicionar(veterinario);
+        for (int i = inicio; i < inicio + quantidade; i++) {
+            Cliente cliente = new Cliente("Cliente " + i, "1111-" + i, "cliente" + i + "@exemplo.com");
+            fabrica.criarClienteDAO().adicionar(cliente);
+            Pet pet = new Pet("Pet " + i, i % 2 == 0 ? "Cachorro" : "Gato", "Raça " + (i % 5), i % 15, cliente);
+            fabrica.criarPetDAO().adicionar(pet);
+            Consulta consulta = new Consulta(pet, cliente, veterinario, INICIO_CONSULTAS + i * 3_600_000L, 30);
+            fabrica.criarConsultaDAO().adicionar(consulta);
+            if (i % 2 == 0) {
+                Diagnostico diagnostico = new Diagnostico(consulta, "Otite " + i);
+                Prescricao prescricao = new Prescricao(consulta, List.of(medicamento));
+                prescricao.setDiagnostico(diagnostico);
+                fabrica.criarDiagnosticoDAO().adicionar(diagnostico);
+                fabrica.criarPrescricaoDAO().adicionar(prescricao);
+            }
+        }
+    }
+
+    /** Atualiza e remove parte das entidades cadastradas. */
+    static void alterar(FabricaDAO fabrica) {
+        List<Pet> pets = fabrica.criarPetDAO().listarTodos();
+        for (int i = 0; i < pets.size(); i += 3) {
+            Pet pet = pets.get(i);
+            pet.setNome(pet.getNome() + " (alterado)");
+            pet.setIdade(pet.getIdade() + 1);
+            fabrica.criarPetDAO().atualizar(pet);
+        }
+        List<Consulta> consultas = fabrica.criarConsultaDAO().listarTodos();
+        for (int i = 1; i < consultas.size(); i += 4) {
+            fabrica.criarConsultaDAO().remover(consultas.get(i));
+        }
+        List<Cliente> clientes = fabrica.criarClienteDAO().listarTodos();
+        Cliente cliente = clientes.get(clientes.size() - 1);
+        cliente.setTelefone("9999-9999");
+        fabrica.criarClienteDAO().atualizar(cliente);
+    }
+
+    /** O conteúdo de todas as tabelas, como gravado no log, em ordem de ID. */
+    static String retrato(FabricaDAO fabrica) {
+        StringBuilder retrato = new StringBuilder();
+        tabela(retrato, fabrica.criarClienteDAO().listarTodos(), Cliente::getId, CodificadorRegistros::salvar);
+        tabela(retrato, fabrica.criarVeterinarioDAO().listarTodos(), Veterinario::getId, CodificadorRegistros::salvar);
+        tabela(retrato, fabrica.criarPetDAO().listarTodos(), Pet::getId, CodificadorRegistros::salvar);
+        tabela(retrato, fabrica.criarConsultaDAO().listarTodos(), Consulta::getId, CodificadorRegistros::salvar);
+        tabela(retrato, fabrica.criarMedicamentoDAO().listarTodos(), Medicamento::getId, CodificadorRegistros::salvar);
+        tabela(retrato, fabrica.criarDiagnosticoDAO().listarTodos(), Diagnostico::getId, CodificadorRegistros::salvar);
+        tabela(retrato, fabrica.criarPrescricaoDAO().listarTodos(), Prescricao::getId, CodificadorRegistros::salvar);
+        return retrato.toString();
+    }
+
+    private static <T> void tabela(StringBuilder retrato, List<T> entidades, ToIntFunction<T> id, Function<T, byte[]> codificar) {
+        List<T> ordenadas = new ArrayList<>(entidades);
+        ordenadas.sort(Comparator.comparingInt(id));
+        retrato.append(ordenadas.size()).append('\n');
+        for (T entidade : ordenadas) {
+            retrato.append(Arrays.toString(codificar.apply(entidade))).append('\n');
+        }
+    }
+
+    static String recarregar(Path dados) throws IOException {
+        PersistentFabricaDAO recarregada = abrir(dados);
+        try {
+            return retrato(recarregada);
+        } finally {
+            recarregada.fechar();
+        }
+    }
+
+    static Path copiar(Path origem, Path destino) throws IOException {
+        Files.createDirectories(destino);
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(origem)) {
+            for (Path arquivo : arquivos) {
+                Files.copy(arquivo, destino.resolve(arquivo.getFileName()));
+            }
+        }
+        return destino;
+    }
+
+    private static List<String> arquivos(Path diretorio) throws IOException {
+        List<String> nomes = new ArrayList<>();
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio)) {
+            for (Path arquivo : arquivos) {
+                nomes.add(arquivo.getFileName().toString());
+            }
+        }
+        nomes.sort(null);
+        return nomes;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,101 @@
+package br.com.veterinaria.dao;
+
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Pet;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Gravação pelo log de escrita dos DAOs persistentes: só o log, sem snapshot,
+ * reproduz todas as alterações, inclusive as feitas por várias threads ao
+ * mesmo tempo, e operações que não alteram nada não vão para o log.
+ */
+class PersistentRepositorioTest {
+    @TempDir
+    Path temporario;
+
+    @Test
+    void logSemSnapshotReproduzTodasAsAlteracoes() throws IOException {
+        Path dados = temporario.resolve("dados");
+        PersistentFabricaDAO fabrica = PersistentFabricaDAOTest.abrir(dados);
+        try {
+            PersistentFabricaDAOTest.popular(fabrica, 0, 30);
+            PersistentFabricaDAOTest.alterar(fabrica);
+            Path queda = PersistentFabricaDAOTest.copiar(dados, temporario.resolve("queda"));
+            assertEquals(0, contar(queda, ".snap"), "Só o log deve ser reproduzido");
+            assertEquals(PersistentFabricaDAOTest.retrato(fabrica), PersistentFabricaDAOTest.recarregar(queda));
+        } finally {
+            fabrica.fechar();
+        }
+    }
+
+    @Test
+    void escritasEmParaleloReproduzemOMesmoEstado() throws Exception {
+        Path dados = temporario.resolve("dados");
+        PersistentFabricaDAO fabrica = PersistentFabricaDAOTest.abrir(dados);
+        String esperado;
+        try {
+            ConcurrentRepositorioTest.verificar(fabrica);
+            esperado = PersistentFabricaDAOTest.retrato(fabrica);
+            // Os registros das threads chegaram ao log na ordem em que foram aplicados
+            Path queda = PersistentFabricaDAOTest.copiar(dados, temporario.resolve("queda"));
+            assertEquals(esperado, PersistentFabricaDAOTest.recarregar(queda));
+        } finally {
+            fabrica.fechar();
+        }
+        assertEquals(esperado, PersistentFabricaDAOTest.recarregar(dados));
+    }
+
+    @Test
+    void alteracaoDeEntidadeAusenteNaoVaiParaOLog() throws IOException {
+        Path dados = temporario.resolve("dados");
+        PersistentFabricaDAO fabrica = PersistentFabricaDAOTest.abrir(dados);
+        try {
+            Cliente dono = new Cliente("Dono", "0000-0000", "dono@exemplo.com");
+            fabrica.criarClienteDAO().adicionar(dono);
+            long tamanho = tamanhoDoLog(dados);
+
+            Pet ausente = new Pet("Ausente", "Gato", "SRD", 1, dono);
+            fabrica.criarPetDAO().atualizar(ausente);
+            assertFalse(fabrica.criarPetDAO().remover(ausente));
+            assertEquals(tamanho, tamanhoDoLog(dados));
+
+            assertTrue(fabrica.criarClienteDAO().remover(dono));
+            long depoisDaRemocao = tamanhoDoLog(dados);
+            assertTrue(depoisDaRemocao > tamanho);
+            assertFalse(fabrica.criarClienteDAO().remover(dono));
+            assertEquals(depoisDaRemocao, tamanhoDoLog(dados));
+        } finally {
+            fabrica.fechar();
+        }
+    }
+
+    private static long tamanhoDoLog(Path dados) throws IOException {
+        long tamanho = 0;
+        try (DirectoryStream<Path> segmentos = Files.newDirectoryStream(dados, "*.wal")) {
+            for (Path segmento : segmentos) {
+                tamanho += Files.size(segmento);
+            }
+        }
+        return tamanho;
+    }
+
+    private static int contar(Path diretorio, String extensao) throws IOException {
+        int quantidade = 0;
+        try (DirectoryStream<Path> arquivos = Files.newDirectoryStream(diretorio, "*" + extensao)) {
+            for (Path ignorado : arquivos) {
+                quantidade++;
+            }
+        }
+        return quantidade;
+    }
+}
\ No newline at end of file
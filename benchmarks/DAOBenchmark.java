@@ -0,0 +1,90 @@
+package br.com.veterinaria.benchmark;
+
+import br.com.veterinaria.dao.FabricaDAO;
+import br.com.veterinaria.dao.Repositorio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo das operações básicas de cada DAO (ver {@link Repositorio}) com o
+ * DAO já carregado com {@code tamanho} registros.
+ *
+ * adicionar e remover são medidos juntos ({@link #adicionarERemover}) para
+ * que o DAO mantenha o mesmo tamanho durante toda a medição. Os DAOs em
+ * memória não são thread-safe: com mais de uma thread use apenas
+ * {@code armazenamento=concorrente} (o {@link ExecutarBenchmarks} já faz isso).
+ * Para 10 milhões de registros: {@code -p tamanho=10000000 -jvmArgsAppend -Xmx24g}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Dclinica.log.nivel=AVISO"})
+public class DAOBenchmark {
+    @Param({"cliente", "pet", "veterinario", "consulta", "diagnostico", "prescricao", "medicamento"})
+    public String entidade;
+
+    @Param({"memoria", "concorrente"})
+    public String armazenamento;
+
+    @Param({"10000", "1000000"})
+    public int tamanho;
+
+    private FabricaDAO fabrica;
+    private DadosBenchmark dados;
+    private Repositorio<Object> dao;
+    private Object[] registros;
+    private int[] ids;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        fabrica = FabricaDAO.porNome(armazenamento);
+        dados = new DadosBenchmark(fabrica);
+        dao = dados.dao(entidade);
+        registros = new Object[tamanho];
+        ids = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            registros[i] = dados.criar(entidade, i);
+            dao.adicionar(registros[i]);
+            ids[i] = DadosBenchmark.idDe(registros[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        fabrica.fechar();
+    }
+
+    @Benchmark
+    public Object buscarPorId() {
+        return dao.buscarPorId(ids[ThreadLocalRandom.current().nextInt(tamanho)]);
+    }
+
+    @Benchmark
+    public void atualizar() {
+        dao.atualizar(registros[ThreadLocalRandom.current().nextInt(tamanho)]);
+    }
+
+    @Benchmark
+    public Object adicionarERemover() {
+        Object registro = dados.criar(entidade, tamanho + ThreadLocalRandom.current().nextInt(tamanho));
+        dao.adicionar(registro);
+        dao.remover(registro);
+        return registro;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package br.com.veterinaria.benchmark;
+
+import br.com.veterinaria.dao.FabricaDAO;
+import br.com.veterinaria.dao.Repositorio;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Diagnostico;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.model.Veterinario;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gera as entidades usadas pelos benchmarks e dá acesso genérico ao DAO de
+ * cada uma, para que o mesmo benchmark meça todos os DAOs.
+ *
+ * As entidades dependentes (pet, consulta, diagnóstico, prescrição) apontam
+ * para um pequeno conjunto fixo de clientes, pets e veterinários, criado no
+ * construtor, como em uma clínica real com muitas consultas por pet.
+ */
+final class DadosBenchmark {
+    /** Entidades com DAO próprio, na ordem usada pelos parâmetros dos benchmarks. */
+    static final String[] ENTIDADES = {"cliente", "pet", "veterinario", "consulta", "diagnostico", "prescricao", "medicamento"};
+
+    // Primeira consulta gerada: 01/01/2030 00:00 UTC, longe dos dados de exemplo
+    static final long INICIO_AGENDA = 1_893_456_000_000L;
+    private static final String[] ESPECIES = {"Cachorro", "Gato", "Ave", "Coelho"};
+    private static final String[] RACAS = {"SRD", "Poodle", "Siamês", "Persa", "Labrador", "Calopsita"};
+    private static final String[] DIAGNOSTICOS = {
+            "Dermatite alérgica por pulgas", "Otite externa bilateral", "Gastroenterite aguda",
+            "Doença periodontal", "Sarna demodécica", "Fratura de rádio e ulna"};
+    private static final int BASE = 64; // Quantidade de clientes, pets e veterinários de referência
+
+    private final FabricaDAO fabrica;
+    private final Cliente[] clientes = new Cliente[BASE];
+    private final Pet[] pets = new Pet[BASE];
+    private final Veterinario[] veterinarios = new Veterinario[BASE];
+    private final Medicamento medicamento = new Medicamento("Amoxicilina", "Antibiótico", "10 mg/kg");
+
+    DadosBenchmark(FabricaDAO fabrica) {
+        this.fabrica = fabrica;
+        for (int i = 0; i < BASE; i++) {
+            clientes[i] = new Cliente("Cliente Base " + i, "1199999" + i, "base" + i + "@clinica.com");
+            pets[i] = new Pet("Pet Base " + i, ESPECIES[i % ESPECIES.length], RACAS[i % RACAS.length], 1 + i % 15, clientes[i]);
+            veterinarios[i] = new Veterinario("Vet Base " + i, "CRMV-" + i);
+        }
+    }
+
+    /**
+     * Retorna o DAO de uma entidade, visto como um repositório de objetos.
+     * @param entidade O nome da entidade (um de {@link #ENTIDADES}).
+     * @return O DAO criado pela fábrica.
+     */
+    @SuppressWarnings("unchecked")
+    Repositorio<Object> dao(String entidade) {
+        Repositorio<?> dao;
+        switch (entidade) {
+            case "cliente":
+                dao = fabrica.criarClienteDAO();
+                break;
+            case "pet":
+                dao = fabrica.criarPetDAO();
+                break;
+            case "veterinario":
+                dao = fabrica.criarVeterinarioDAO();
+                break;
+            case "consulta":
+                dao = fabrica.criarConsultaDAO();
+                break;
+            case "diagnostico":
+                dao = fabrica.criarDiagnosticoDAO();
+                break;
+            case "prescricao":
+                dao = fabrica.criarPrescricaoDAO();
+                break;
+            case "medicamento":
+                dao = fabrica.criarMedicamentoDAO();
+                break;
+            default:
+                throw new IllegalArgumentException("Entidade desconhecida: " + entidade);
+        }
+        return (Repositorio<Object>) dao;
+    }
+
+    /**
+     * Cria uma entidade nova (com ID novo).
+     * @param entidade O nome da entidade.
+     * @param i Um número que varia os dados (nomes, horários, referências).
+     * @return A entidade.
+     */
+    Object criar(String entidade, int i) {
+        switch (entidade) {
+            case "cliente":
+                return new Cliente("Cliente " + i, "11" + (900000000 + i), "cliente" + i + "@clinica.com");
+            case "pet":
+                return new Pet("Pet " + i, ESPECIES[i % ESPECIES.length], RACAS[i % RACAS.length], 1 + i % 15, clientes[i % BASE]);
+            case "veterinario":
+                return new Veterinario("Veterinário " + i, "CRMV-SP " + i);
+            case "consulta":
+                return consulta(i);
+            case "diagnostico":
+                return new Diagnostico(consulta(i), DIAGNOSTICOS[i % DIAGNOSTICOS.length] + " " + i);
+            case "prescricao":
+                Consulta consulta = consulta(i);
+                Prescricao prescricao = new Prescricao(consulta, List.of(medicamento));
+                prescricao.setDiagnostico(new Diagnostico(consulta, DIAGNOSTICOS[i % DIAGNOSTICOS.length]));
+                return prescricao;
+            case "medicamento":
+                return new Medicamento("Medicamento " + i, "Descrição " + i, "1 comprimido");
+            default:
+                throw new IllegalArgumentException("Entidade desconhecida: " + entidade);
+        }
+    }
+
+    /**
+     * Retorna o ID de uma entidade criada por {@link #criar}.
+     * @param entidade A entidade.
+     * @return O ID.
+     */
+    static int idDe(Object entidade) {
+        if (entidade instanceof Cliente) {
+            return ((Cliente) entidade).getId();
+        }
+        if (entidade instanceof Pet) {
+            return ((Pet) entidade).getId();
+        }
+        if (entidade instanceof Veterinario) {
+            return ((Veterinario) entidade).getId();
+        }
+        if (entidade instanceof Consulta) {
+            return ((Consulta) entidade).getId();
+        }
+        if (entidade instanceof Diagnostico) {
+            return ((Diagnostico) entidade).getId();
+        }
+        if (entidade instanceof Prescricao) {
+            return ((Prescricao) entidade).getId();
+        }
+        return ((Medicamento) entidade).getId();
+    }
+
+    // Consultas de 30 minutos, espalhadas entre os veterinários e pets de referência
+    private Consulta consulta(int i) {
+        long inicio = INICIO_AGENDA + (i / BASE) * TimeUnit.MINUTES.toMillis(30);
+        return new Consulta(pets[i % BASE], clientes[i % BASE], veterinarios[i % BASE], inicio, 30);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,89 @@
+package br.com.veterinaria.benchmark;
+
+import br.com.veterinaria.adapter.DataAdapter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatação e interpretação de datas do {@link DataAdapter}.
+ *
+ * {@code instantes=agenda} repete os horários de uma agenda (quartos de hora
+ * de poucos dias), que é o caso comum das telas e quase sempre acerta o cache
+ * de textos; {@code instantes=aleatorios} espalha os instantes por dez anos e
+ * mede a formatação sem cache. {@code tamanho} é a quantidade de instantes
+ * distintos sorteados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dclinica.log.nivel=AVISO")
+public class DataAdapterBenchmark {
+    private static final long QUINZE_MINUTOS = TimeUnit.MINUTES.toMillis(15);
+    private static final long DEZ_ANOS = TimeUnit.DAYS.toMillis(3653);
+
+    @Param({"agenda", "aleatorios"})
+    public String instantes;
+
+    @Param({"10000", "1000000"})
+    public int tamanho;
+
+    private long[] millis;
+    private Date[] datas;
+    private String[] textos;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        Random random = new Random(42); // Semente fixa: os mesmos instantes em toda execução
+        millis = new long[tamanho];
+        datas = new Date[tamanho];
+        textos = new String[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            if (instantes.equals("agenda")) {
+                // Três dias de agenda, das 8h às 18h, em quartos de hora
+                millis[i] = DadosBenchmark.INICIO_AGENDA + TimeUnit.DAYS.toMillis(random.nextInt(3))
+                        + TimeUnit.HOURS.toMillis(8) + random.nextInt(40) * QUINZE_MINUTOS;
+            } else {
+                millis[i] = DadosBenchmark.INICIO_AGENDA + (long) (random.nextDouble() * DEZ_ANOS);
+            }
+            datas[i] = new Date(millis[i]);
+            textos[i] = DataAdapter.formatarDataHora(millis[i]);
+        }
+    }
+
+    @Benchmark
+    public String formatarData() {
+        return DataAdapter.formatarData(datas[ThreadLocalRandom.current().nextInt(tamanho)]);
+    }
+
+    @Benchmark
+    public String formatarDataHora() {
+        return DataAdapter.formatarDataHora(millis[ThreadLocalRandom.current().nextInt(tamanho)]);
+    }
+
+    @Benchmark
+    public String formatarDia() {
+        return DataAdapter.formatarDia(datas[ThreadLocalRandom.current().nextInt(tamanho)]);
+    }
+
+    @Benchmark
+    public Date interpretarDataHora() {
+        return DataAdapter.interpretarDataHora(textos[ThreadLocalRandom.current().nextInt(tamanho)]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,43 @@
+package br.com.veterinaria.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Ponto de entrada do jar de benchmarks ({@code java -jar benchmarks/target/benchmarks.jar}).
+ *
+ * Executa os benchmarks uma vez para cada quantidade de threads da
+ * propriedade {@code benchmark.threads} (padrão "1,4") e grava os
+ * resultados em JSON, um arquivo por quantidade ({@code resultados-t1.json},
+ * {@code resultados-t4.json}...), no formato lido pelo JMH Visualizer e por
+ * scripts de comparação. Com mais de uma thread só o armazenamento
+ * concorrente é medido, porque os DAOs em memória não são thread-safe.
+ *
+ * Os argumentos são os mesmos do JMH: por exemplo, {@code DAOBenchmark -p
+ * tamanho=10000000} ou {@code -wi 1 -i 1 -f 1} para uma execução rápida.
+ */
+public final class ExecutarBenchmarks {
+    private ExecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions linhaDeComando = new CommandLineOptions(args);
+        for (String valor : System.getProperty("benchmark.threads", "1,4").split(",")) {
+            int threads = Integer.parseInt(valor.trim());
+            ChainedOptionsBuilder opcoes = new OptionsBuilder()
+                    .parent(linhaDeComando)
+                    .threads(threads)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result("resultados-t" + threads + ".json");
+            if (threads > 1) {
+                opcoes.param("armazenamento", "concorrente");
+            }
+            new Runner(opcoes.build()).run();
+        }
+    }
+}
\ No newline at end of file
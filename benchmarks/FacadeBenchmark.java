@@ -0,0 +1,126 @@
+package br.com.veterinaria.benchmark;
+
+import br.com.veterinaria.dao.FabricaDAO;
+import br.com.veterinaria.facade.ClinicaFacade;
+import br.com.veterinaria.facade.HorarioLivre;
+import br.com.veterinaria.model.Cliente;
+import br.com.veterinaria.model.Consulta;
+import br.com.veterinaria.model.Medicamento;
+import br.com.veterinaria.model.Pet;
+import br.com.veterinaria.model.Prescricao;
+import br.com.veterinaria.model.Veterinario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fluxos de agendamento e atendimento da {@link ClinicaFacade}, com a agenda
+ * já carregada com {@code tamanho} consultas distribuídas entre os veterinários.
+ *
+ * Cada agendamento medido usa um horário ainda não ocupado (um contador
+ * compartilhado avança meia hora por operação), então nenhuma operação falha
+ * por conflito. O atendimento remove a consulta da agenda mas acrescenta
+ * diagnóstico e prescrição ao histórico, que cresce durante a medição, como
+ * na clínica.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g", "-Dclinica.log.nivel=AVISO"})
+public class FacadeBenchmark {
+    private static final int VETERINARIOS = 50;
+    private static final long MEIA_HORA = TimeUnit.MINUTES.toMillis(30);
+
+    @Param({"memoria", "concorrente"})
+    public String armazenamento;
+
+    @Param({"10000", "1000000"})
+    public int tamanho;
+
+    private ClinicaFacade facade;
+    private Veterinario[] veterinarios;
+    private Pet[] pets;
+    private List<Medicamento> medicamentos;
+    // Próximo horário livre, em meias horas depois do fim da agenda carregada
+    private final AtomicLong proximoHorario = new AtomicLong();
+    private long fimDaAgenda;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        facade = new ClinicaFacade(FabricaDAO.porNome(armazenamento));
+        veterinarios = new Veterinario[VETERINARIOS];
+        pets = new Pet[VETERINARIOS];
+        for (int i = 0; i < VETERINARIOS; i++) {
+            veterinarios[i] = new Veterinario("Veterinário " + i, "CRMV-" + i);
+            facade.cadastrarVeterinario(veterinarios[i]);
+            Cliente cliente = new Cliente("Cliente " + i, "11900000" + i, "cliente" + i + "@clinica.com");
+            facade.cadastrarCliente(cliente);
+            pets[i] = new Pet("Pet " + i, "Cachorro", "SRD", 3, cliente);
+            facade.cadastrarPet(pets[i]);
+        }
+        // Cada veterinário atende o "seu" pet, em meias horas seguidas
+        for (int i = 0; i < tamanho; i++) {
+            int v = i % VETERINARIOS;
+            long inicio = DadosBenchmark.INICIO_AGENDA + (i / VETERINARIOS) * MEIA_HORA;
+            facade.agendarConsulta(pets[v], pets[v].getProprietario(), veterinarios[v], new Date(inicio), 30);
+        }
+        fimDaAgenda = DadosBenchmark.INICIO_AGENDA + ((long) tamanho / VETERINARIOS + 1) * MEIA_HORA;
+        medicamentos = facade.catalogarMedicamentos(List.of("Amoxicilina", "Meloxicam"));
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        facade.fechar();
+    }
+
+    @Benchmark
+    public Consulta agendarERemover() {
+        Consulta consulta = agendarNovaConsulta();
+        facade.removerConsulta(consulta);
+        return consulta;
+    }
+
+    @Benchmark
+    public Prescricao agendarEAtender() {
+        Consulta consulta = agendarNovaConsulta();
+        return facade.realizarAtendimento(consulta, "Otite externa bilateral", medicamentos);
+    }
+
+    @Benchmark
+    public void cadastrarERemoverCliente() {
+        Cliente cliente = new Cliente("Cliente Temporário", "11999999999", "temp@clinica.com");
+        facade.cadastrarCliente(cliente);
+        facade.removerCliente(cliente);
+    }
+
+    @Benchmark
+    public List<HorarioLivre> horariosLivres() {
+        Veterinario veterinario = veterinarios[ThreadLocalRandom.current().nextInt(VETERINARIOS)];
+        return facade.getHorariosLivres(veterinario, new Date(DadosBenchmark.INICIO_AGENDA), 5, 30);
+    }
+
+    // Cada chamada usa uma meia hora nova depois da agenda carregada, com um veterinário e pet sorteados
+    private Consulta agendarNovaConsulta() {
+        int v = ThreadLocalRandom.current().nextInt(VETERINARIOS);
+        long inicio = fimDaAgenda + proximoHorario.getAndIncrement() * MEIA_HORA;
+        return facade.agendarConsulta(pets[v], pets[v].getProprietario(), veterinarios[v], new Date(inicio), 30);
+    }
+}
\ No newline at end of file